@@ -113,6 +113,16 @@ public interface ConfigurationKeys {
      */
     String SERVER_STORE_LOCK_MODE = SEATA_PREFIX + STORE_PREFIX + "lock." + MODE;
 
+    /**
+     * The constant STORE_LOCK_ENABLE_NEAR_CACHE.
+     */
+    String STORE_LOCK_ENABLE_NEAR_CACHE = STORE_PREFIX + "lock.enableNearCache";
+
+    /**
+     * The constant STORE_LOCK_NEAR_CACHE_SIZE.
+     */
+    String STORE_LOCK_NEAR_CACHE_SIZE = STORE_PREFIX + "lock.nearCacheSize";
+
     /**
      * The constant STORE_SESSION_MODE.
      */
@@ -175,6 +185,16 @@ public interface ConfigurationKeys {
      * The constant CLIENT_ASYNC_COMMIT_BUFFER_LIMIT.
      */
     String CLIENT_ASYNC_COMMIT_BUFFER_LIMIT = CLIENT_RM_PREFIX + "asyncCommitBufferLimit";
+
+    /**
+     * The constant CLIENT_ROLLBACK_THREADS.
+     */
+    String CLIENT_ROLLBACK_THREADS = CLIENT_RM_PREFIX + "rollbackThreads";
+
+    /**
+     * The constant CLIENT_ROLLBACK_QUEUE_SIZE.
+     */
+    String CLIENT_ROLLBACK_QUEUE_SIZE = CLIENT_RM_PREFIX + "rollbackQueueSize";
     /**
      * The constant CLIENT_RM_LOCK_PREFIX.
      */
@@ -354,6 +374,16 @@ public interface ConfigurationKeys {
      */
     String LOCK_DB_TABLE = STORE_DB_PREFIX + "lockTable";
 
+    /**
+     * The constant ENABLE_LOCK_BATCH_ACQUIRE.
+     */
+    String ENABLE_LOCK_BATCH_ACQUIRE = STORE_DB_PREFIX + "enableLockBatchAcquire";
+
+    /**
+     * The constant LOCK_BATCH_ACQUIRE_MAX_SIZE.
+     */
+    String LOCK_BATCH_ACQUIRE_MAX_SIZE = STORE_DB_PREFIX + "lockBatchAcquireMaxSize";
+
     /**
      * The constant SERVER_RPC_PORT.
      */
@@ -419,6 +449,11 @@ public interface ConfigurationKeys {
      */
     String TRANSACTION_UNDO_ONLY_CARE_UPDATE_COLUMNS = CLIENT_UNDO_PREFIX + "onlyCareUpdateColumns";
 
+    /**
+     * The constant TRANSACTION_UNDO_BATCH_SIZE.
+     */
+    String TRANSACTION_UNDO_BATCH_SIZE = CLIENT_UNDO_PREFIX + "batchSize";
+
     /**
      * the constant CLIENT_UNDO_COMPRESS_PREFIX
      */
@@ -568,6 +603,21 @@ public interface ConfigurationKeys {
      */
     String TRANSPORT_HEARTBEAT = TRANSPORT_PREFIX + "heartbeat";
 
+    /**
+     * The constant TRANSPORT_TCP_NO_DELAY
+     */
+    String TRANSPORT_TCP_NO_DELAY = TRANSPORT_PREFIX + "tcpNoDelay";
+
+    /**
+     * The constant TRANSPORT_TCP_QUICK_ACK
+     */
+    String TRANSPORT_TCP_QUICK_ACK = TRANSPORT_PREFIX + "tcpQuickAck";
+
+    /**
+     * The constant TRANSPORT_BUSY_POLL_MICROS
+     */
+    String TRANSPORT_BUSY_POLL_MICROS = TRANSPORT_PREFIX + "busyPollMicros";
+
     /**
      * The constant THREAD_FACTORY_PREFIX
      */
@@ -656,11 +706,31 @@ public interface ConfigurationKeys {
      */
     String ENABLE_RM_CLIENT_BATCH_SEND_REQUEST = TRANSPORT_PREFIX + "enableRmClientBatchSendRequest";
 
+    /**
+     * The constant CLIENT_BATCH_SEND_REQUEST_MAX_SIZE
+     */
+    String CLIENT_BATCH_SEND_REQUEST_MAX_SIZE = TRANSPORT_PREFIX + "clientBatchSendRequestMaxSize";
+
+    /**
+     * The constant CLIENT_BATCH_SEND_REQUEST_MAX_WAIT
+     */
+    String CLIENT_BATCH_SEND_REQUEST_MAX_WAIT = TRANSPORT_PREFIX + "clientBatchSendRequestMaxWait";
+
     /**
      * The constant ENABLE_TC_SERVER_BATCH_SEND_RESPONSE
      */
     String ENABLE_TC_SERVER_BATCH_SEND_RESPONSE = TRANSPORT_PREFIX + "enableTcServerBatchSendResponse";
 
+    /**
+     * The constant ENABLE_TC_SERVER_BATCH_SEND_REQUEST
+     */
+    String ENABLE_TC_SERVER_BATCH_SEND_REQUEST = TRANSPORT_PREFIX + "enableTcServerBatchSendRequest";
+
+    /**
+     * The constant TC_SERVER_BATCH_SEND_REQUEST_MAX_WAIT
+     */
+    String TC_SERVER_BATCH_SEND_REQUEST_MAX_WAIT = TRANSPORT_PREFIX + "tcServerBatchSendRequestMaxWait";
+
     /**
      * The constant DISABLE_GLOBAL_TRANSACTION.
      */
@@ -671,6 +741,11 @@ public interface ConfigurationKeys {
      */
     String SQL_PARSER_TYPE = CLIENT_RM_PREFIX + "sqlParserType";
 
+    /**
+     * The constant SQL_PARSER_CACHE_SIZE.
+     */
+    String SQL_PARSER_CACHE_SIZE = CLIENT_RM_PREFIX + "sqlParserCacheSize";
+
     /**
      * The constant STORE_REDIS_MODE.
      */
@@ -736,6 +811,11 @@ public interface ConfigurationKeys {
      */
     String STORE_REDIS_QUERY_LIMIT = STORE_REDIS_PREFIX + "queryLimit";
 
+    /**
+     * The constant STORE_REDIS_SESSION_ENCODING. hash binary
+     */
+    String STORE_REDIS_SESSION_ENCODING = STORE_REDIS_PREFIX + "sessionEncoding";
+
     /**
      * The constant REDIS_SENTINEL_MODE.
      */
@@ -1010,6 +1090,21 @@ public interface ConfigurationKeys {
      */
     String SERVER_RAFT_COMPRESSOR = SERVER_RAFT + "compressor";
 
+    /**
+     * The constant SERVER_RAFT_SNAPSHOT_CHUNKS.
+     */
+    String SERVER_RAFT_SNAPSHOT_CHUNKS = SERVER_RAFT + "snapshotChunks";
+
+    /**
+     * The constant SERVER_RAFT_SYNC_BATCH_SIZE.
+     */
+    String SERVER_RAFT_SYNC_BATCH_SIZE = SERVER_RAFT + "syncBatchSize";
+
+    /**
+     * The constant SERVER_RAFT_SYNC_BATCH_DELAY_MS.
+     */
+    String SERVER_RAFT_SYNC_BATCH_DELAY_MS = SERVER_RAFT + "syncBatchDelayMs";
+
     /**
      * The constant CLIENT_METADATA_MAX_AGE_MS.
      */
@@ -1051,6 +1146,26 @@ public interface ConfigurationKeys {
      */
     String ENABLE_PARALLEL_HANDLE_BRANCH_KEY = SERVER_PREFIX + "enableParallelHandleBranch";
 
+    /**
+     * The constant ENABLE_PIPELINE_HANDLE_BRANCH_KEY
+     */
+    String ENABLE_PIPELINE_HANDLE_BRANCH_KEY = SERVER_PREFIX + "enablePipelineHandleBranch";
+
+    /**
+     * The constant MAX_BRANCH_IN_FLIGHT_PER_CLIENT_KEY
+     */
+    String MAX_BRANCH_IN_FLIGHT_PER_CLIENT_KEY = SERVER_PREFIX + "maxBranchInFlightPerClient";
+
+    /**
+     * The constant ENABLE_SESSION_SHARDING_KEY
+     */
+    String ENABLE_SESSION_SHARDING_KEY = SERVER_PREFIX + "enableSessionSharding";
+
+    /**
+     * The constant SESSION_SHARD_COUNT_KEY
+     */
+    String SESSION_SHARD_COUNT_KEY = SERVER_PREFIX + "sessionShardCount";
+
     /**
      * The constant RM_APPLICATION_DATA_SIZE_ERROR
      */
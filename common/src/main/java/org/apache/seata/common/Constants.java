@@ -205,6 +205,16 @@ public interface Constants {
      */
     String STORE_REDIS_TYPE_PIPELINE = "pipeline";
 
+    /**
+     * the session encoding of the redis store, the transaction fields as a hash
+     */
+    String STORE_REDIS_SESSION_ENCODING_HASH = "hash";
+
+    /**
+     * the session encoding of the redis store, the transaction fields as a binary blob
+     */
+    String STORE_REDIS_SESSION_ENCODING_BINARY = "binary";
+
     /**
      * The constant FASTJSON_JSON_PARSER_NAME
      */
@@ -46,6 +46,15 @@ public interface DefaultValues {
      * The constant DEFAULT_CLIENT_ASYNC_COMMIT_BUFFER_LIMIT.
      */
     int DEFAULT_CLIENT_ASYNC_COMMIT_BUFFER_LIMIT = 10000;
+    /**
+     * The constant DEFAULT_CLIENT_ROLLBACK_THREADS, 0 rolls back on the rm handler thread,
+     * a negative value takes as many threads as the rm handler pool.
+     */
+    int DEFAULT_CLIENT_ROLLBACK_THREADS = -1;
+    /**
+     * The constant DEFAULT_CLIENT_ROLLBACK_QUEUE_SIZE.
+     */
+    int DEFAULT_CLIENT_ROLLBACK_QUEUE_SIZE = 256;
     /**
      * The constant DEFAULT_TM_DEGRADE_CHECK_PERIOD.
      */
@@ -66,6 +75,10 @@ public interface DefaultValues {
      * The constant DEFAULT_TABLE_META_CHECKER_INTERVAL.
      */
     long DEFAULT_TABLE_META_CHECKER_INTERVAL = 60000L;
+    /**
+     * The constant DEFAULT_SQL_PARSER_CACHE_SIZE, 0 disables the cache.
+     */
+    int DEFAULT_SQL_PARSER_CACHE_SIZE = 2048;
     /**
      * The constant DEFAULT_TM_DEGRADE_CHECK.
      */
@@ -95,6 +108,18 @@ public interface DefaultValues {
      * The constant DEFAULT_RAFT_COMPRESSOR.
      */
     String DEFAULT_RAFT_COMPRESSOR = "none";
+    /**
+     * The constant DEFAULT_RAFT_SNAPSHOT_CHUNKS.
+     */
+    int DEFAULT_RAFT_SNAPSHOT_CHUNKS = 1;
+    /**
+     * The constant DEFAULT_RAFT_SYNC_BATCH_SIZE.
+     */
+    int DEFAULT_RAFT_SYNC_BATCH_SIZE = 1;
+    /**
+     * The constant DEFAULT_RAFT_SYNC_BATCH_DELAY_MS.
+     */
+    int DEFAULT_RAFT_SYNC_BATCH_DELAY_MS = 0;
 
     /**
      * Shutdown timeout default 3s
@@ -130,10 +155,26 @@ public interface DefaultValues {
      * The constant DEFAULT_ENABLE_RM_CLIENT_BATCH_SEND_REQUEST.
      */
     boolean DEFAULT_ENABLE_RM_CLIENT_BATCH_SEND_REQUEST = true;
+    /**
+     * The constant DEFAULT_CLIENT_BATCH_SEND_REQUEST_MAX_SIZE.
+     */
+    int DEFAULT_CLIENT_BATCH_SEND_REQUEST_MAX_SIZE = 1024;
+    /**
+     * The constant DEFAULT_CLIENT_BATCH_SEND_REQUEST_MAX_WAIT.
+     */
+    int DEFAULT_CLIENT_BATCH_SEND_REQUEST_MAX_WAIT = 1;
     /**
      * The constant DEFAULT_ENABLE_TC_SERVER_BATCH_SEND_RESPONSE.
      */
     boolean DEFAULT_ENABLE_TC_SERVER_BATCH_SEND_RESPONSE = false;
+    /**
+     * The constant DEFAULT_ENABLE_TC_SERVER_BATCH_SEND_REQUEST.
+     */
+    boolean DEFAULT_ENABLE_TC_SERVER_BATCH_SEND_REQUEST = false;
+    /**
+     * The constant DEFAULT_TC_SERVER_BATCH_SEND_REQUEST_MAX_WAIT.
+     */
+    int DEFAULT_TC_SERVER_BATCH_SEND_REQUEST_MAX_WAIT = 1;
 
     /**
      * The constant DEFAULT_CLIENT_CHANNEL_CHECK_FAIL_FAST.
@@ -161,6 +202,18 @@ public interface DefaultValues {
      * The constant DEFAULT_TRANSPORT_HEARTBEAT.
      */
     boolean DEFAULT_TRANSPORT_HEARTBEAT = true;
+    /**
+     * The constant DEFAULT_TRANSPORT_TCP_NO_DELAY.
+     */
+    boolean DEFAULT_TRANSPORT_TCP_NO_DELAY = true;
+    /**
+     * The constant DEFAULT_TRANSPORT_TCP_QUICK_ACK.
+     */
+    boolean DEFAULT_TRANSPORT_TCP_QUICK_ACK = true;
+    /**
+     * The constant DEFAULT_TRANSPORT_BUSY_POLL_MICROS.
+     */
+    int DEFAULT_TRANSPORT_BUSY_POLL_MICROS = 0;
     /**
      * The constant DEFAULT_TRANSACTION_UNDO_DATA_VALIDATION.
      */
@@ -173,6 +226,10 @@ public interface DefaultValues {
      * The constant DEFAULT_ONLY_CARE_UPDATE_COLUMNS.
      */
     boolean DEFAULT_ONLY_CARE_UPDATE_COLUMNS = true;
+    /**
+     * The constant DEFAULT_TRANSACTION_UNDO_BATCH_SIZE, 1 executes the undo sql row by row.
+     */
+    int DEFAULT_TRANSACTION_UNDO_BATCH_SIZE = 100;
     /**
      * The constant  DEFAULT_TRANSACTION_UNDO_LOG_TABLE.
      */
@@ -192,6 +249,26 @@ public interface DefaultValues {
      */
     String DEFAULT_LOCK_DB_TABLE = "lock_table";
 
+    /**
+     * the constant DEFAULT_ENABLE_LOCK_BATCH_ACQUIRE
+     */
+    boolean DEFAULT_ENABLE_LOCK_BATCH_ACQUIRE = false;
+
+    /**
+     * the constant DEFAULT_LOCK_BATCH_ACQUIRE_MAX_SIZE
+     */
+    int DEFAULT_LOCK_BATCH_ACQUIRE_MAX_SIZE = 64;
+
+    /**
+     * the constant DEFAULT_ENABLE_LOCK_NEAR_CACHE
+     */
+    boolean DEFAULT_ENABLE_LOCK_NEAR_CACHE = false;
+
+    /**
+     * the constant DEFAULT_LOCK_NEAR_CACHE_SIZE
+     */
+    int DEFAULT_LOCK_NEAR_CACHE_SIZE = 1 << 20;
+
     /**
      * the constant DEFAULT_DISTRIBUTED_LOCK_DB_TABLE
      */
@@ -368,6 +445,21 @@ public interface DefaultValues {
      */
     int DEFAULT_XAER_NOTA_RETRY_TIMEOUT = 60000;
 
+    /**
+     * the constant DEFAULT_MAX_BRANCH_IN_FLIGHT_PER_CLIENT
+     */
+    int DEFAULT_MAX_BRANCH_IN_FLIGHT_PER_CLIENT = 64;
+
+    /**
+     * the constant DEFAULT_ENABLE_SESSION_SHARDING
+     */
+    boolean DEFAULT_ENABLE_SESSION_SHARDING = false;
+
+    /**
+     * the constant DEFAULT_SESSION_SHARD_COUNT, the number of processors if not positive
+     */
+    int DEFAULT_SESSION_SHARD_COUNT = 0;
+
     /**
      * the constant DEFAULT_XA_BRANCH_EXECUTION_TIMEOUT
      */
@@ -398,9 +490,10 @@ public interface DefaultValues {
     int DEFAULT_ROLLBACKING_RETRY_PERIOD = 1000;
 
     /**
-     * the constant DEFAULT_TIMEOUT_RETRY_PERIOD
+     * the constant DEFAULT_TIMEOUT_RETRY_PERIOD, the sessions begun on this server time out on a timing wheel,
+     * the periodic check only catches the ones begun before a restart or on another server.
      */
-    int DEFAULT_TIMEOUT_RETRY_PERIOD = 1000;
+    int DEFAULT_TIMEOUT_RETRY_PERIOD = 60000;
 
     /**
      * the constant DEFAULT_UNDO_LOG_DELETE_PERIOD
@@ -487,6 +580,11 @@ public interface DefaultValues {
      */
     int DEFAULT_QUERY_LIMIT = 1000;
 
+    /**
+     * The constant DEFAULT_STORE_REDIS_SESSION_ENCODING.
+     */
+    String DEFAULT_STORE_REDIS_SESSION_ENCODING = "hash";
+
     /**
      * Default druid location in classpath
      */
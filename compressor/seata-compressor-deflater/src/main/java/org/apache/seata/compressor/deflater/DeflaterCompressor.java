@@ -16,12 +16,14 @@
  */
 package org.apache.seata.compressor.deflater;
 
+import io.netty.buffer.ByteBuf;
 import org.apache.seata.common.loader.LoadLevel;
+import org.apache.seata.core.compressor.ByteBufCompressor;
 import org.apache.seata.core.compressor.Compressor;
 
 
 @LoadLevel(name = "DEFLATER")
-public class DeflaterCompressor implements Compressor {
+public class DeflaterCompressor implements Compressor, ByteBufCompressor {
 
     @Override
     public byte[] compress(byte[] bytes) {
@@ -33,4 +35,14 @@ public class DeflaterCompressor implements Compressor {
         return DeflaterUtil.decompress(bytes);
     }
 
+    @Override
+    public void compress(ByteBuf in, ByteBuf out) {
+        DeflaterUtil.compress(in, out);
+    }
+
+    @Override
+    public void decompress(ByteBuf in, ByteBuf out) {
+        DeflaterUtil.decompress(in, out);
+    }
+
 }
@@ -16,6 +16,10 @@
  */
 package org.apache.seata.compressor.deflater;
 
+import java.nio.charset.StandardCharsets;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -30,4 +34,26 @@ public class DeflaterCompressorTest {
         bytes = compressor.decompress(bytes);
         Assertions.assertEquals(new String(bytes), "seata");
     }
+
+    @Test
+    public void testCompressAndDecompressBuffer() {
+        DeflaterCompressor compressor = new DeflaterCompressor();
+        byte[] bytes = new byte[100000];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte)('a' + i % 7);
+        }
+        ByteBuf compressed = Unpooled.directBuffer();
+        compressor.compress(Unpooled.wrappedBuffer(bytes), compressed);
+        byte[] compressedBytes = new byte[compressed.readableBytes()];
+        compressed.getBytes(compressed.readerIndex(), compressedBytes);
+        // the buffer and the array forms are interchangeable
+        Assertions.assertArrayEquals(bytes, compressor.decompress(compressedBytes));
+
+        ByteBuf decompressed = Unpooled.buffer();
+        compressor.decompress(Unpooled.wrappedBuffer(compressor.compress("seata".getBytes(StandardCharsets.UTF_8))), decompressed);
+        Assertions.assertEquals("seata", decompressed.toString(StandardCharsets.UTF_8));
+        compressor.decompress(compressed, decompressed.clear());
+        Assertions.assertEquals(bytes.length, decompressed.readableBytes());
+        compressed.release();
+    }
 }
@@ -16,12 +16,14 @@
  */
 package org.apache.seata.compressor.gzip;
 
+import io.netty.buffer.ByteBuf;
 import org.apache.seata.common.loader.LoadLevel;
+import org.apache.seata.core.compressor.ByteBufCompressor;
 import org.apache.seata.core.compressor.Compressor;
 
 
 @LoadLevel(name = "GZIP")
-public class GzipCompressor implements Compressor {
+public class GzipCompressor implements Compressor, ByteBufCompressor {
 
     @Override
     public byte[] compress(byte[] bytes) {
@@ -33,4 +35,14 @@ public class GzipCompressor implements Compressor {
         return GzipUtil.decompress(bytes);
     }
 
+    @Override
+    public void compress(ByteBuf in, ByteBuf out) {
+        GzipUtil.compress(in, out);
+    }
+
+    @Override
+    public void decompress(ByteBuf in, ByteBuf out) {
+        GzipUtil.decompress(in, out);
+    }
+
 }
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.compressor;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * A compressor that streams between netty buffers,
+ * a {@link Compressor} implements it to skip the intermediate byte[] of the protocol codec.
+ *
+ */
+public interface ByteBufCompressor {
+
+    /**
+     * compress the readable bytes of the input into the output.
+     * @param in  the bytes to compress
+     * @param out the buffer to write
+     */
+    void compress(ByteBuf in, ByteBuf out);
+
+    /**
+     * decompress the readable bytes of the input into the output.
+     * @param in  the bytes to decompress
+     * @param out the buffer to write
+     */
+    void decompress(ByteBuf in, ByteBuf out);
+
+}
@@ -16,22 +16,29 @@
  */
 package org.apache.seata.core.protocol;
 
-import org.apache.seata.common.exception.ShouldNeverHappenException;
-
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import io.netty.util.Timeout;
+
 /**
  * The type Message future.
+ * <p>
+ * The result is kept in a field and waited for on the monitor of the future, a {@link CompletableFuture}
+ * is only created if the future is converted by {@link #toCompletableFuture()}.
  *
  */
 public class MessageFuture {
+
+    private static final Object NO_RESULT = new Object();
+
     private RpcMessage requestMessage;
     private long timeout;
     private long start = System.currentTimeMillis();
-    private transient CompletableFuture<Object> origin = new CompletableFuture<>();
+    private transient volatile Object result = NO_RESULT;
+    private transient CompletableFuture<Object> resultFuture;
+    private transient volatile Timeout expiration;
 
     /**
      * Is timeout boolean.
@@ -53,16 +60,22 @@ public class MessageFuture {
      */
     public Object get(long timeout, TimeUnit unit) throws TimeoutException,
         InterruptedException {
-        Object result = null;
-        try {
-            result = origin.get(timeout, unit);
-            if (result instanceof TimeoutException) {
-                throw (TimeoutException)result;
+        Object result = this.result;
+        if (result == NO_RESULT) {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            synchronized (this) {
+                while ((result = this.result) == NO_RESULT) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new TimeoutException(String.format("wait response timeout ,cost: %d ms",
+                            System.currentTimeMillis() - start));
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
             }
-        } catch (ExecutionException e) {
-            throw new ShouldNeverHappenException("Should not get results in a multi-threaded environment", e);
-        } catch (TimeoutException e) {
-            throw new TimeoutException(String.format("%s ,cost: %d ms", e.getMessage(), System.currentTimeMillis() - start));
+        }
+        if (result instanceof TimeoutException) {
+            throw (TimeoutException)result;
         }
 
         if (result instanceof RuntimeException) {
@@ -75,12 +88,72 @@ public class MessageFuture {
     }
 
     /**
-     * Sets result message.
+     * Converts to the future of the result message, completed exceptionally if the result is a failure.
+     *
+     * @return the result future
+     */
+    public CompletableFuture<Object> toCompletableFuture() {
+        CompletableFuture<Object> future;
+        Object result;
+        synchronized (this) {
+            if (resultFuture == null) {
+                resultFuture = new CompletableFuture<>();
+            }
+            future = resultFuture;
+            result = this.result;
+        }
+        if (result != NO_RESULT) {
+            complete(future, result);
+        }
+        return future;
+    }
+
+    /**
+     * Sets result message, only the first result is kept.
      *
      * @param obj the obj
      */
     public void setResultMessage(Object obj) {
-        origin.complete(obj);
+        CompletableFuture<Object> future;
+        synchronized (this) {
+            if (result != NO_RESULT) {
+                return;
+            }
+            result = obj;
+            future = resultFuture;
+            notifyAll();
+        }
+        if (future != null) {
+            complete(future, obj);
+        }
+    }
+
+    /**
+     * Bind the timeout that expires the future.
+     *
+     * @param expiration the expiration
+     */
+    public void bindExpiration(Timeout expiration) {
+        this.expiration = expiration;
+    }
+
+    /**
+     * Cancel the timeout that expires the future.
+     */
+    public void cancelExpiration() {
+        Timeout expiration = this.expiration;
+        if (expiration != null) {
+            expiration.cancel();
+            this.expiration = null;
+        }
+    }
+
+    private static void complete(CompletableFuture<Object> future, Object result) {
+        if (result instanceof Throwable) {
+            future.completeExceptionally((Throwable)result);
+        } else {
+            future.complete(result);
+        }
     }
 
     /**
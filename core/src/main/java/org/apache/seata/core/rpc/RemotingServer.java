@@ -21,6 +21,7 @@ import org.apache.seata.core.protocol.RpcMessage;
 import org.apache.seata.core.rpc.processor.RemotingProcessor;
 import org.apache.seata.core.protocol.MessageType;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeoutException;
 
@@ -53,6 +54,26 @@ public interface RemotingServer {
      */
     Object sendSyncRequest(Channel channel, Object msg) throws TimeoutException;
 
+    /**
+     * server send sync request without waiting for the response.
+     *
+     * @param resourceId  rm client resourceId
+     * @param clientId    rm client id
+     * @param msg         transaction message {@code org.apache.seata.core.protocol}
+     * @param tryOtherApp try other app
+     * @return the future of the client result message
+     */
+    default CompletableFuture<Object> sendAsyncRequestWithResponse(String resourceId, String clientId, Object msg,
+                                                                   boolean tryOtherApp) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        try {
+            future.complete(sendSyncRequest(resourceId, clientId, msg, tryOtherApp));
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
     /**
      * server send async request.
      *
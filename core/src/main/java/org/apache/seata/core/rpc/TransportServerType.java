@@ -28,7 +28,11 @@ public enum TransportServerType {
     /**
      * Nio transport server type.
      */
-    NIO("nio");
+    NIO("nio"),
+    /**
+     * Io_uring transport server type, falls back to native when not available.
+     */
+    IO_URING("io_uring");
 
     /**
      * The Name.
@@ -21,7 +21,7 @@ import java.lang.management.ManagementFactory;
 import java.net.SocketAddress;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
@@ -79,7 +79,7 @@ public abstract class AbstractNettyRemoting implements Disposable {
      *
      * @see AbstractNettyRemoting#sendSync
      */
-    protected final ConcurrentHashMap<Integer, MessageFuture> futures = new ConcurrentHashMap<>();
+    protected final MessageFutureTable futures = new MessageFutureTable();
 
     private static final long NOT_WRITEABLE_CHECK_MILLS = 10L;
 
@@ -104,25 +104,9 @@ public abstract class AbstractNettyRemoting implements Disposable {
     protected final List<RpcHook> rpcHooks = EnhancedServiceLoader.loadAll(RpcHook.class);
 
     public void init() {
-        timerExecutor.scheduleAtFixedRate(new Runnable() {
-            @Override
-            public void run() {
-                for (Map.Entry<Integer, MessageFuture> entry : futures.entrySet()) {
-                    MessageFuture future = entry.getValue();
-                    if (future.isTimeout()) {
-                        futures.remove(entry.getKey());
-                        RpcMessage rpcMessage = future.getRequestMessage();
-                        future.setResultMessage(new TimeoutException(String
-                            .format("msgId: %s ,msgType: %s ,msg: %s ,request timeout", rpcMessage.getId(), String.valueOf(rpcMessage.getMessageType()), rpcMessage.getBody().toString())));
-                        if (LOGGER.isDebugEnabled()) {
-                            LOGGER.debug("timeout clear future: {}", entry.getValue().getRequestMessage().getBody());
-                        }
-                    }
-                }
-
-                nowMills = System.currentTimeMillis();
-            }
-        }, TIMEOUT_CHECK_INTERVAL, TIMEOUT_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+        // the futures are expired by the timing wheel of MessageFutureTable
+        timerExecutor.scheduleAtFixedRate(() -> nowMills = System.currentTimeMillis(), TIMEOUT_CHECK_INTERVAL,
+            TIMEOUT_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
     }
 
     public AbstractNettyRemoting(ThreadPoolExecutor messageExecutor) {
@@ -133,10 +117,29 @@ public abstract class AbstractNettyRemoting implements Disposable {
         return idGenerator.incrementAndGet();
     }
 
-    public ConcurrentHashMap<Integer, MessageFuture> getFutures() {
+    public MessageFutureTable getFutureTable() {
         return futures;
     }
 
+    /**
+     * Gets a copy of the futures waiting for their responses.
+     *
+     * @return the futures keyed by the message id
+     * @deprecated the futures are kept in a {@link MessageFutureTable}, changes to the copy do not reach it,
+     * use {@link #getFutureTable()} instead
+     */
+    @Deprecated
+    public ConcurrentHashMap<Integer, MessageFuture> getFutures() {
+        ConcurrentHashMap<Integer, MessageFuture> copy = new ConcurrentHashMap<>();
+        futures.forEachId(id -> {
+            MessageFuture future = futures.get(id);
+            if (future != null) {
+                copy.put(id, future);
+            }
+        });
+        return copy;
+    }
+
     public String getGroup() {
         return group;
     }
@@ -202,6 +205,7 @@ public abstract class AbstractNettyRemoting implements Disposable {
             LOGGER.error("wait response error:{},ip:{},request:{}", exx.getMessage(), channel.remoteAddress(),
                 rpcMessage.getBody());
             if (exx instanceof TimeoutException) {
+                futures.remove(rpcMessage.getId(), messageFuture);
                 throw (TimeoutException) exx;
             } else {
                 throw new RuntimeException(exx);
@@ -209,6 +213,51 @@ public abstract class AbstractNettyRemoting implements Disposable {
         }
     }
 
+    /**
+     * rpc sync request without blocking
+     * Obtain the return result through the future of MessageFuture.
+     *
+     * @param channel       netty channel
+     * @param rpcMessage    rpc message
+     * @param timeoutMillis rpc communication timeout
+     * @return the future of the response message
+     */
+    protected CompletableFuture<Object> sendAsyncWithResponse(Channel channel, RpcMessage rpcMessage,
+                                                              long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            throw new FrameworkException("timeout should more than 0ms");
+        }
+        MessageFuture messageFuture = new MessageFuture();
+        messageFuture.setRequestMessage(rpcMessage);
+        messageFuture.setTimeout(timeoutMillis);
+        futures.put(rpcMessage.getId(), messageFuture);
+
+        channelWritableCheck(channel, rpcMessage.getBody());
+
+        String remoteAddr = ChannelUtil.getAddressFromChannel(channel);
+        doBeforeRpcHooks(remoteAddr, rpcMessage);
+
+        CompletableFuture<Object> resultFuture = messageFuture.toCompletableFuture();
+        resultFuture.whenComplete((result, e) -> {
+            if (e == null) {
+                doAfterRpcHooks(remoteAddr, rpcMessage, result);
+            } else {
+                LOGGER.error("wait response error:{},ip:{},request:{}", e.getMessage(), channel.remoteAddress(),
+                    rpcMessage.getBody());
+            }
+        });
+        channel.writeAndFlush(rpcMessage).addListener((ChannelFutureListener) future -> {
+            if (!future.isSuccess()) {
+                MessageFuture messageFuture1 = futures.remove(rpcMessage.getId());
+                if (messageFuture1 != null) {
+                    messageFuture1.setResultMessage(future.cause());
+                }
+                destroyChannel(future.channel());
+            }
+        });
+        return resultFuture;
+    }
+
     /**
      * rpc async request.
      *
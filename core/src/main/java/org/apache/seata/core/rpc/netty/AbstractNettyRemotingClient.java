@@ -18,12 +18,11 @@ package org.apache.seata.core.rpc.netty;
 
 import java.lang.reflect.Field;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -31,6 +30,7 @@ import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
@@ -39,7 +39,6 @@ import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.util.concurrent.EventExecutorGroup;
 import org.apache.seata.common.exception.FrameworkErrorCode;
 import org.apache.seata.common.exception.FrameworkException;
-import org.apache.seata.common.thread.NamedThreadFactory;
 import org.apache.seata.common.util.CollectionUtils;
 import org.apache.seata.common.util.NetUtil;
 import org.apache.seata.common.util.StringUtils;
@@ -75,14 +74,8 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
     private static final String MSG_ID_PREFIX = "msgId:";
     private static final String FUTURES_PREFIX = "futures:";
     private static final String SINGLE_LOG_POSTFIX = ";";
-    private static final int MAX_MERGE_SEND_MILLS = 1;
-    private static final String THREAD_PREFIX_SPLIT_CHAR = "_";
-    private static final int MAX_MERGE_SEND_THREAD = 1;
-    private static final long KEEP_ALIVE_TIME = Integer.MAX_VALUE;
     private static final long SCHEDULE_DELAY_MILLS = 60 * 1000L;
     private static final long SCHEDULE_INTERVAL_MILLS = 10 * 1000L;
-    private static final String MERGE_THREAD_PREFIX = "rpcMergeMessageSend";
-    protected final Object mergeLock = new Object();
 
     /**
      * When sending message type is {@link MergeMessage}, will be stored to mergeMsgMap.
@@ -92,15 +85,16 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
     protected final Map<Integer, Integer> childToParentMap = new ConcurrentHashMap<>();
 
     /**
-     * When batch sending is enabled, the message will be stored to basketMap
-     * Send via asynchronous thread {@link AbstractNettyRemotingClient.MergedSendRunnable}
+     * When batch sending is enabled, the message will be stored to the queue of its server
+     * and merged on the event loop of the channel, see {@link AbstractNettyRemotingClient#flushMergedSend(MergedSendQueue)}
      * {@link AbstractNettyRemotingClient#isEnableClientBatchSendRequest()}
      */
-    protected final ConcurrentHashMap<String/*serverAddress*/, BlockingQueue<RpcMessage>> basketMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String/*serverAddress*/, MergedSendQueue> mergedSendQueues = new ConcurrentHashMap<>();
+
+    private final LogHistogram mergeBatchSizeHistogram = new LogHistogram();
+    private final LogHistogram mergeQueueDelayHistogram = new LogHistogram();
     private final NettyClientBootstrap clientBootstrap;
     private final NettyClientChannelManager clientChannelManager;
-    private final NettyPoolKey.TransactionRole transactionRole;
-    private ExecutorService mergeSendExecutorService;
     private TransactionMessageHandler transactionMessageHandler;
     protected volatile boolean enableClientBatchSendRequest;
 
@@ -113,14 +107,8 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
                 LOGGER.warn("reconnect server failed. {}", ex.getMessage());
             }
         }, SCHEDULE_DELAY_MILLS, SCHEDULE_INTERVAL_MILLS, TimeUnit.MILLISECONDS);
-        if (this.isEnableClientBatchSendRequest()) {
-            mergeSendExecutorService = new ThreadPoolExecutor(MAX_MERGE_SEND_THREAD,
-                MAX_MERGE_SEND_THREAD,
-                KEEP_ALIVE_TIME, TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<>(),
-                new NamedThreadFactory(getThreadPrefix(), MAX_MERGE_SEND_THREAD));
-            mergeSendExecutorService.submit(new MergedSendRunnable());
-        }
+        timerExecutor.scheduleAtFixedRate(this::printMergeSendStats, SCHEDULE_DELAY_MILLS, SCHEDULE_DELAY_MILLS,
+            TimeUnit.MILLISECONDS);
         super.init();
         clientBootstrap.start();
     }
@@ -128,7 +116,6 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
     public AbstractNettyRemotingClient(NettyClientConfig nettyClientConfig, EventExecutorGroup eventExecutorGroup,
                                        ThreadPoolExecutor messageExecutor, NettyPoolKey.TransactionRole transactionRole) {
         super(messageExecutor);
-        this.transactionRole = transactionRole;
         clientBootstrap = new NettyClientBootstrap(nettyClientConfig, eventExecutorGroup, transactionRole);
         clientBootstrap.setChannelHandlers(new ClientHandler());
         clientChannelManager = new NettyClientChannelManager(
@@ -142,8 +129,10 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
         RpcMessage rpcMessage = buildRequestMessage(msg, ProtocolConstants.MSGTYPE_RESQUEST_SYNC);
 
         // send batch message
-        // put message into basketMap, @see MergedSendRunnable
+        // put message into the queue of the server, @see flushMergedSend
         if (this.isEnableClientBatchSendRequest()) {
+            // acquired by the caller, the event loop must not wait for a connection
+            Channel channel = clientChannelManager.acquireChannel(serverAddress);
 
             // send batch message is sync request, needs to create messageFuture and put it in futures.
             MessageFuture messageFuture = new MessageFuture();
@@ -151,29 +140,27 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
             messageFuture.setTimeout(timeoutMillis);
             futures.put(rpcMessage.getId(), messageFuture);
 
-            // put message into basketMap
-            BlockingQueue<RpcMessage> basket = CollectionUtils.computeIfAbsent(basketMap, serverAddress,
-                key -> new LinkedBlockingQueue<>());
-            if (!basket.offer(rpcMessage)) {
-                LOGGER.error("put message into basketMap offer failed, serverAddress:{},rpcMessage:{}",
-                    serverAddress, rpcMessage);
-                return null;
-            }
+            MergedSendQueue queue = CollectionUtils.computeIfAbsent(mergedSendQueues, serverAddress,
+                MergedSendQueue::new);
+            int size = queue.offer(rpcMessage, channel);
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("offer message: {}", rpcMessage.getBody());
             }
-            if (!isSending) {
-                synchronized (mergeLock) {
-                    mergeLock.notifyAll();
-                }
+            if (size >= NettyClientConfig.getClientBatchSendRequestMaxSize()) {
+                channel.eventLoop().execute(() -> flushMergedSend(queue));
+            } else {
+                scheduleMergedSend(queue);
             }
 
             try {
                 Object response = messageFuture.get(timeoutMillis, TimeUnit.MILLISECONDS);
+                // the before hooks are called when the request is merged, see writeMergedMessage
+                doAfterRpcHooks(serverAddress, rpcMessage, response);
                 return response;
             } catch (Exception exx) {
                 LOGGER.error("wait response error:{},ip:{},request:{}", exx.getMessage(), serverAddress, rpcMessage.getBody());
                 if (exx instanceof TimeoutException) {
+                    futures.remove(rpcMessage.getId(), messageFuture);
                     throw (TimeoutException)exx;
                 } else {
                     throw new RuntimeException(exx);
@@ -205,17 +192,156 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
         RpcMessage rpcMessage = buildRequestMessage(msg, msg instanceof HeartbeatMessage
             ? ProtocolConstants.MSGTYPE_HEARTBEAT_REQUEST
             : ProtocolConstants.MSGTYPE_RESQUEST_ONEWAY);
+        registerMergeMessage(rpcMessage);
+        super.sendAsync(channel, rpcMessage);
+    }
+
+    private void registerMergeMessage(RpcMessage rpcMessage) {
         Object body = rpcMessage.getBody();
         if (body instanceof MergeMessage) {
             Integer parentId = rpcMessage.getId();
-            mergeMsgMap.put(parentId, (MergeMessage)rpcMessage.getBody());
+            mergeMsgMap.put(parentId, (MergeMessage)body);
             if (body instanceof MergedWarpMessage) {
-                for (Integer msgId : ((MergedWarpMessage)rpcMessage.getBody()).msgIds) {
+                for (Integer msgId : ((MergedWarpMessage)body).msgIds) {
                     childToParentMap.put(msgId, parentId);
                 }
             }
         }
-        super.sendAsync(channel, rpcMessage);
+    }
+
+    private void scheduleMergedSend(MergedSendQueue queue) {
+        if (queue.markFlushScheduled()) {
+            queue.getChannel().eventLoop().execute(() -> flushMergedSend(queue));
+        }
+    }
+
+    /**
+     * Merge and write the queued requests of a server, run on the event loop of its channel.
+     * The requests queued while the event loop is busy are merged together, so the batch grows with the load
+     * and a lone request is sent at once. While the channel is not writable the requests are held until it is,
+     * the batch is full, or the oldest of them has waited for the max wait.
+     *
+     * @param queue the queue of the server
+     */
+    private void flushMergedSend(MergedSendQueue queue) {
+        queue.clearFlushScheduled();
+        if (!queue.tryDrain()) {
+            return;
+        }
+        try {
+            Channel channel = queue.getChannel();
+            int maxSize = NettyClientConfig.getClientBatchSendRequestMaxSize();
+            long maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(NettyClientConfig.getClientBatchSendRequestMaxWait());
+            while (queue.size() > 0) {
+                long oldestEnqueueNanos = queue.oldestEnqueueNanos();
+                if (oldestEnqueueNanos < 0) {
+                    // still being linked by its producer
+                    break;
+                }
+                long waitedNanos = System.nanoTime() - oldestEnqueueNanos;
+                if (!channel.isWritable() && queue.size() < maxSize && waitedNanos < maxWaitNanos) {
+                    if (queue.markFlushScheduled()) {
+                        channel.eventLoop().schedule(() -> flushMergedSend(queue), maxWaitNanos - waitedNanos,
+                            TimeUnit.NANOSECONDS);
+                    }
+                    break;
+                }
+                long now = System.nanoTime();
+                MergedWarpMessage mergeMessage = new MergedWarpMessage();
+                List<RpcMessage> requests = new ArrayList<>();
+                MergedSendQueue.Node node;
+                while (mergeMessage.msgIds.size() < maxSize && (node = queue.poll()) != null) {
+                    mergeQueueDelayHistogram.record(TimeUnit.NANOSECONDS.toMicros(now - node.getEnqueueNanos()));
+                    RpcMessage msg = node.take();
+                    requests.add(msg);
+                    mergeMessage.msgs.add((AbstractMessage)msg.getBody());
+                    mergeMessage.msgIds.add(msg.getId());
+                }
+                mergeBatchSizeHistogram.record(mergeMessage.msgIds.size());
+                writeMergedMessage(queue.getAddress(), channel, mergeMessage, requests);
+            }
+        } finally {
+            queue.endDrain();
+        }
+        if (queue.size() > 0) {
+            scheduleMergedSend(queue);
+        }
+    }
+
+    private void writeMergedMessage(String address, Channel channel, MergedWarpMessage mergeMessage,
+                                    List<RpcMessage> requests) {
+        if (mergeMessage.msgIds.size() > 1) {
+            printMergeMessageLog(mergeMessage);
+        }
+        // send batch message is sync request, but there is no need to get the return value.
+        // Since the messageFuture has been created before the message is queued,
+        // the return value will be obtained in ClientOnResponseProcessor.
+        RpcMessage rpcMessage = buildRequestMessage(mergeMessage, ProtocolConstants.MSGTYPE_RESQUEST_ONEWAY);
+        registerMergeMessage(rpcMessage);
+        // the hooks see each merged request as a sync request, its after hooks are called by the sender
+        // once its response arrives, the merged message itself gets no response to close its hooks
+        for (RpcMessage request : requests) {
+            doBeforeRpcHooks(address, request);
+        }
+        channel.writeAndFlush(rpcMessage).addListener((ChannelFutureListener)future -> {
+            if (!future.isSuccess()) {
+                // fast fail
+                for (Integer msgId : mergeMessage.msgIds) {
+                    MessageFuture messageFuture = futures.remove(msgId);
+                    Integer parentId = childToParentMap.remove(msgId);
+                    if (parentId != null) {
+                        mergeMsgMap.remove(parentId);
+                    }
+                    if (messageFuture != null) {
+                        messageFuture.setResultMessage(
+                            new RuntimeException(String.format("%s is unreachable", address), future.cause()));
+                    }
+                }
+                LOGGER.error("client merge call failed: {}", future.cause().getMessage(), future.cause());
+                destroyChannel(address, future.channel());
+            }
+        });
+    }
+
+    private void printMergeMessageLog(MergedWarpMessage mergeMessage) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("merge msg size:{}", mergeMessage.msgIds.size());
+            for (AbstractMessage cm : mergeMessage.msgs) {
+                LOGGER.debug(cm.toString());
+            }
+            StringBuilder sb = new StringBuilder();
+            for (long l : mergeMessage.msgIds) {
+                sb.append(MSG_ID_PREFIX).append(l).append(SINGLE_LOG_POSTFIX);
+            }
+            sb.append("\n");
+            futures.forEachId(id -> sb.append(FUTURES_PREFIX).append(id).append(SINGLE_LOG_POSTFIX));
+            LOGGER.debug(sb.toString());
+        }
+    }
+
+    private void printMergeSendStats() {
+        if (LOGGER.isDebugEnabled() && mergeBatchSizeHistogram.getCount() > 0) {
+            LOGGER.debug("merge send batch size: {}, queue delay(us): {}", mergeBatchSizeHistogram,
+                mergeQueueDelayHistogram);
+        }
+    }
+
+    /**
+     * Gets the histogram of the number of requests in a merged message.
+     *
+     * @return the batch size histogram
+     */
+    public LogHistogram getMergeBatchSizeHistogram() {
+        return mergeBatchSizeHistogram;
+    }
+
+    /**
+     * Gets the histogram of the microseconds a request waits before merged.
+     *
+     * @return the queue delay histogram
+     */
+    public LogHistogram getMergeQueueDelayHistogram() {
+        return mergeQueueDelayHistogram;
     }
 
     @Override
@@ -231,17 +357,62 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
         this.processorTable.put(requestCode, pair);
     }
 
+    @Override
+    protected void processMessage(ChannelHandlerContext ctx, RpcMessage rpcMessage) throws Exception {
+        Object body = rpcMessage.getBody();
+        // the branch requests merged by the server, each of them is handled and responded by its own msgId
+        if (body instanceof MergedWarpMessage) {
+            MergedWarpMessage mergedWarpMessage = (MergedWarpMessage)body;
+            for (int i = 0; i < mergedWarpMessage.msgs.size(); i++) {
+                RpcMessage rpcMsg =
+                    buildRequestMessage(mergedWarpMessage.msgs.get(i), rpcMessage, mergedWarpMessage.msgIds.get(i));
+                super.processMessage(ctx, rpcMsg);
+            }
+        } else {
+            super.processMessage(ctx, rpcMessage);
+        }
+    }
+
+    private RpcMessage buildRequestMessage(AbstractMessage msg, RpcMessage rpcMessage, int id) {
+        RpcMessage rpcMsg = new RpcMessage();
+        rpcMsg.setId(id);
+        rpcMsg.setMessageType(ProtocolConstants.MSGTYPE_RESQUEST_SYNC);
+        rpcMsg.setCodec(rpcMessage.getCodec());
+        rpcMsg.setCompressor(rpcMessage.getCompressor());
+        rpcMsg.setHeadMap(rpcMessage.getHeadMap());
+        rpcMsg.setBody(msg);
+        return rpcMsg;
+    }
+
     @Override
     public void destroyChannel(String serverAddress, Channel channel) {
         clientChannelManager.destroyChannel(serverAddress, channel);
+        releaseMergedSendQueue(channel);
+    }
+
+    private void releaseChannel(Channel channel, String serverAddress) {
+        clientChannelManager.releaseChannel(channel, serverAddress);
+        releaseMergedSendQueue(channel);
+    }
+
+    /**
+     * Remove the queue of the released channel, the next request to its server creates a new one.
+     * The requests left in the queue are still flushed, so their writes fail fast.
+     *
+     * @param channel the released channel
+     */
+    private void releaseMergedSendQueue(Channel channel) {
+        for (Map.Entry<String, MergedSendQueue> entry : mergedSendQueues.entrySet()) {
+            MergedSendQueue queue = entry.getValue();
+            if (queue.getChannel() == channel && mergedSendQueues.remove(entry.getKey(), queue) && queue.size() > 0) {
+                scheduleMergedSend(queue);
+            }
+        }
     }
 
     @Override
     public void destroy() {
         clientBootstrap.shutdown();
-        if (mergeSendExecutorService != null) {
-            mergeSendExecutorService.shutdown();
-        }
         super.destroy();
     }
 
@@ -304,10 +475,6 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
         return StringUtils.isBlank(xid) ? String.valueOf(ThreadLocalRandom.current().nextLong(Long.MAX_VALUE)) : xid;
     }
 
-    private String getThreadPrefix() {
-        return AbstractNettyRemotingClient.MERGE_THREAD_PREFIX + THREAD_PREFIX_SPLIT_CHAR + transactionRole.name();
-    }
-
     /**
      * Get pool key function.
      *
@@ -336,84 +503,6 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
      */
     protected abstract long getRpcRequestTimeout();
 
-    /**
-     * The type Merged send runnable.
-     */
-    private class MergedSendRunnable implements Runnable {
-
-        @Override
-        public void run() {
-            while (true) {
-                synchronized (mergeLock) {
-                    try {
-                        mergeLock.wait(MAX_MERGE_SEND_MILLS);
-                    } catch (InterruptedException e) {
-                    }
-                }
-                isSending = true;
-                basketMap.forEach((address, basket) -> {
-                    if (basket.isEmpty()) {
-                        return;
-                    }
-
-                    MergedWarpMessage mergeMessage = new MergedWarpMessage();
-                    while (!basket.isEmpty()) {
-                        RpcMessage msg = basket.poll();
-                        mergeMessage.msgs.add((AbstractMessage) msg.getBody());
-                        mergeMessage.msgIds.add(msg.getId());
-                    }
-                    if (mergeMessage.msgIds.size() > 1) {
-                        printMergeMessageLog(mergeMessage);
-                    }
-                    Channel sendChannel = null;
-                    try {
-                        // send batch message is sync request, but there is no need to get the return value.
-                        // Since the messageFuture has been created before the message is placed in basketMap,
-                        // the return value will be obtained in ClientOnResponseProcessor.
-                        sendChannel = clientChannelManager.acquireChannel(address);
-                        AbstractNettyRemotingClient.this.sendAsyncRequest(sendChannel, mergeMessage);
-                    } catch (FrameworkException e) {
-                        if (e.getErrcode() == FrameworkErrorCode.ChannelIsNotWritable && sendChannel != null) {
-                            destroyChannel(address, sendChannel);
-                        }
-                        // fast fail
-                        for (Integer msgId : mergeMessage.msgIds) {
-                            MessageFuture messageFuture = futures.remove(msgId);
-                            Integer parentId = childToParentMap.remove(msgId);
-                            if (parentId != null) {
-                                mergeMsgMap.remove(parentId);
-                            }
-                            if (messageFuture != null) {
-                                messageFuture.setResultMessage(
-                                    new RuntimeException(String.format("%s is unreachable", address), e));
-                            }
-                        }
-                        LOGGER.error("client merge call failed: {}", e.getMessage(), e);
-                    }
-                });
-                isSending = false;
-            }
-        }
-
-        private void printMergeMessageLog(MergedWarpMessage mergeMessage) {
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("merge msg size:{}", mergeMessage.msgIds.size());
-                for (AbstractMessage cm : mergeMessage.msgs) {
-                    LOGGER.debug(cm.toString());
-                }
-                StringBuilder sb = new StringBuilder();
-                for (long l : mergeMessage.msgIds) {
-                    sb.append(MSG_ID_PREFIX).append(l).append(SINGLE_LOG_POSTFIX);
-                }
-                sb.append("\n");
-                for (long l : futures.keySet()) {
-                    sb.append(FUTURES_PREFIX).append(l).append(SINGLE_LOG_POSTFIX);
-                }
-                LOGGER.debug(sb.toString());
-            }
-        }
-    }
-
     /**
      * The type ClientHandler.
      */
@@ -436,6 +525,12 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
                     lock.notifyAll();
                 }
             }
+            if (ctx.channel().isWritable()) {
+                MergedSendQueue queue = mergedSendQueues.get(getAddressFromChannel(ctx.channel()));
+                if (queue != null && queue.size() > 0 && queue.getChannel() == ctx.channel()) {
+                    flushMergedSend(queue);
+                }
+            }
             ctx.fireChannelWritabilityChanged();
         }
 
@@ -447,7 +542,7 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.info("channel inactive: {}", ctx.channel());
             }
-            clientChannelManager.releaseChannel(ctx.channel(), NetUtil.toStringAddress(ctx.channel().remoteAddress()));
+            releaseChannel(ctx.channel(), NetUtil.toStringAddress(ctx.channel().remoteAddress()));
             super.channelInactive(ctx);
         }
 
@@ -465,7 +560,7 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
                     } catch (Exception exx) {
                         LOGGER.error(exx.getMessage());
                     } finally {
-                        clientChannelManager.releaseChannel(ctx.channel(), getAddressFromContext(ctx));
+                        releaseChannel(ctx.channel(), getAddressFromContext(ctx));
                     }
                 }
                 if (idleStateEvent == IdleStateEvent.WRITER_IDLE_STATE_EVENT) {
@@ -485,7 +580,7 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
         public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
             LOGGER.error(FrameworkErrorCode.ExceptionCaught.getErrCode(),
                 NetUtil.toStringAddress(ctx.channel().remoteAddress()) + "connect exception. " + cause.getMessage(), cause);
-            clientChannelManager.releaseChannel(ctx.channel(), getAddressFromChannel(ctx.channel()));
+            releaseChannel(ctx.channel(), getAddressFromChannel(ctx.channel()));
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.info("remove exception rm channel:{}", ctx.channel());
             }
@@ -16,8 +16,13 @@
  */
 package org.apache.seata.core.rpc.netty;
 
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import io.netty.channel.Channel;
@@ -28,14 +33,20 @@ import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.DecoderException;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
+import org.apache.seata.common.exception.FrameworkException;
+import org.apache.seata.common.thread.NamedThreadFactory;
+import org.apache.seata.common.util.CollectionUtils;
 import org.apache.seata.common.util.NetUtil;
 import org.apache.seata.common.util.StringUtils;
 import org.apache.seata.core.protocol.AbstractMessage;
 import org.apache.seata.core.protocol.HeartbeatMessage;
 import org.apache.seata.core.protocol.MergedWarpMessage;
+import org.apache.seata.core.protocol.MessageFuture;
 import org.apache.seata.core.protocol.ProtocolConstants;
 import org.apache.seata.core.protocol.RpcMessage;
 import org.apache.seata.core.protocol.Version;
+import org.apache.seata.core.protocol.transaction.BranchCommitRequest;
+import org.apache.seata.core.protocol.transaction.BranchRollbackRequest;
 import org.apache.seata.core.rpc.RemotingServer;
 import org.apache.seata.core.rpc.RpcContext;
 import org.apache.seata.core.rpc.processor.Pair;
@@ -52,10 +63,36 @@ public abstract class AbstractNettyRemotingServer extends AbstractNettyRemoting
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractNettyRemotingServer.class);
 
+    private static final int MAX_MERGE_SEND_THREAD = 1;
+    private static final long KEEP_ALIVE_TIME = Integer.MAX_VALUE;
+    private static final String MERGE_SEND_THREAD_PREFIX = "rpcMergeSendRequest";
+
+    /**
+     * The max sub requests in a merged message, the count is encoded as a short.
+     */
+    private static final int MAX_MERGE_SIZE = 1024;
+
     private final NettyServerBootstrap serverBootstrap;
 
+    /**
+     * When batch sending is enabled, the branch requests to the rm client will be stored to basketMap
+     * Send via asynchronous thread {@link AbstractNettyRemotingServer.MergedSendRunnable}
+     */
+    protected final ConcurrentHashMap<Channel, BlockingQueue<RpcMessage>> basketMap = new ConcurrentHashMap<>();
+    protected final Object mergeLock = new Object();
+    protected volatile boolean isSending = false;
+    private ExecutorService mergeSendExecutorService;
+
     @Override
     public void init() {
+        if (NettyServerConfig.isEnableTcServerBatchSendRequest()) {
+            mergeSendExecutorService = new ThreadPoolExecutor(MAX_MERGE_SEND_THREAD,
+                MAX_MERGE_SEND_THREAD,
+                KEEP_ALIVE_TIME, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new NamedThreadFactory(MERGE_SEND_THREAD_PREFIX, MAX_MERGE_SEND_THREAD));
+            mergeSendExecutorService.submit(new MergedSendRunnable());
+        }
         super.init();
         serverBootstrap.start();
     }
@@ -74,9 +111,87 @@ public abstract class AbstractNettyRemotingServer extends AbstractNettyRemoting
             throw new RuntimeException("rm client is not connected. dbkey:" + resourceId + ",clientId:" + clientId);
         }
         RpcMessage rpcMessage = buildRequestMessage(msg, ProtocolConstants.MSGTYPE_RESQUEST_SYNC);
+        if (isBatchSendRequest(channel, msg)) {
+            return waitMergedResponse(channel, rpcMessage, NettyServerConfig.getRpcRequestTimeout());
+        }
         return super.sendSync(channel, rpcMessage, NettyServerConfig.getRpcRequestTimeout());
     }
 
+    @Override
+    public CompletableFuture<Object> sendAsyncRequestWithResponse(String resourceId, String clientId, Object msg,
+                                                                  boolean tryOtherApp) {
+        Channel channel = ChannelManager.getChannel(resourceId, clientId, tryOtherApp);
+        if (channel == null) {
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            future.completeExceptionally(new RuntimeException(
+                "rm client is not connected. dbkey:" + resourceId + ",clientId:" + clientId));
+            return future;
+        }
+        RpcMessage rpcMessage = buildRequestMessage(msg, ProtocolConstants.MSGTYPE_RESQUEST_SYNC);
+        if (isBatchSendRequest(channel, msg)) {
+            return offerToBasket(channel, rpcMessage, NettyServerConfig.getRpcRequestTimeout()).toCompletableFuture();
+        }
+        return super.sendAsyncWithResponse(channel, rpcMessage, NettyServerConfig.getRpcRequestTimeout());
+    }
+
+    /**
+     * Whether the request could be merged with the other requests to the same rm channel,
+     * only the branch commit and rollback requests to the client which is able to split the merged requests are merged.
+     *
+     * @param channel the rm channel
+     * @param msg     the request
+     * @return true or false
+     */
+    protected boolean isBatchSendRequest(Channel channel, Object msg) {
+        if (!NettyServerConfig.isEnableTcServerBatchSendRequest()
+            || !(msg instanceof BranchCommitRequest || msg instanceof BranchRollbackRequest)) {
+            return false;
+        }
+        RpcContext rpcContext = ChannelManager.getContextFromIdentified(channel);
+        return rpcContext != null && StringUtils.isNotBlank(rpcContext.getVersion())
+            && Version.isAboveOrEqualVersion240(rpcContext.getVersion());
+    }
+
+    private MessageFuture offerToBasket(Channel channel, RpcMessage rpcMessage, long timeoutMillis) {
+        // the merged request is sent one way, the futures of the sub requests are completed by their own responses.
+        MessageFuture messageFuture = new MessageFuture();
+        messageFuture.setRequestMessage(rpcMessage);
+        messageFuture.setTimeout(timeoutMillis);
+        futures.put(rpcMessage.getId(), messageFuture);
+
+        BlockingQueue<RpcMessage> basket = CollectionUtils.computeIfAbsent(basketMap, channel,
+            key -> new LinkedBlockingQueue<>());
+        if (!basket.offer(rpcMessage)) {
+            futures.remove(rpcMessage.getId());
+            messageFuture.setResultMessage(new FrameworkException(
+                String.format("put message into basketMap offer failed, channel:%s", channel)));
+            return messageFuture;
+        }
+        if (!isSending) {
+            synchronized (mergeLock) {
+                mergeLock.notifyAll();
+            }
+        }
+        return messageFuture;
+    }
+
+    private Object waitMergedResponse(Channel channel, RpcMessage rpcMessage, long timeoutMillis)
+        throws TimeoutException {
+        MessageFuture messageFuture = offerToBasket(channel, rpcMessage, timeoutMillis);
+        try {
+            return messageFuture.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (Exception exx) {
+            LOGGER.error("wait response error:{},ip:{},request:{}", exx.getMessage(), channel.remoteAddress(),
+                rpcMessage.getBody());
+            if (exx instanceof TimeoutException) {
+                futures.remove(rpcMessage.getId(), messageFuture);
+                throw (TimeoutException)exx;
+            } else {
+                throw new RuntimeException(exx);
+            }
+        }
+    }
+
     @Override
     public Object sendSyncRequest(Channel channel, Object msg) throws TimeoutException {
         if (channel == null) {
@@ -130,9 +245,77 @@ public abstract class AbstractNettyRemotingServer extends AbstractNettyRemoting
     @Override
     public void destroy() {
         serverBootstrap.shutdown();
+        if (mergeSendExecutorService != null) {
+            mergeSendExecutorService.shutdown();
+        }
         super.destroy();
     }
 
+    /**
+     * The type Merged send runnable.
+     */
+    private class MergedSendRunnable implements Runnable {
+
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                synchronized (mergeLock) {
+                    try {
+                        mergeLock.wait(NettyServerConfig.getTcServerBatchSendRequestMaxWait());
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                isSending = true;
+                basketMap.forEach((channel, basket) -> {
+                    while (!basket.isEmpty()) {
+                        if (basket.size() == 1) {
+                            sendBasket(channel, basket.poll(), null);
+                            continue;
+                        }
+                        MergedWarpMessage mergeMessage = new MergedWarpMessage();
+                        while (!basket.isEmpty() && mergeMessage.msgs.size() < MAX_MERGE_SIZE) {
+                            RpcMessage msg = basket.poll();
+                            mergeMessage.msgs.add((AbstractMessage)msg.getBody());
+                            mergeMessage.msgIds.add(msg.getId());
+                        }
+                        debugLog("merge send request size:{}, channel:{}", mergeMessage.msgIds.size(), channel);
+                        sendBasket(channel, buildRequestMessage(mergeMessage, ProtocolConstants.MSGTYPE_RESQUEST_ONEWAY),
+                            mergeMessage);
+                    }
+                    if (!channel.isActive()) {
+                        basketMap.remove(channel);
+                    }
+                });
+                isSending = false;
+            }
+        }
+
+        private void sendBasket(Channel channel, RpcMessage rpcMessage, MergedWarpMessage mergeMessage) {
+            try {
+                AbstractNettyRemotingServer.this.sendAsync(channel, rpcMessage);
+            } catch (Exception e) {
+                // fast fail
+                if (mergeMessage == null) {
+                    failMergedRequest(rpcMessage.getId(), channel, e);
+                } else {
+                    for (Integer msgId : mergeMessage.msgIds) {
+                        failMergedRequest(msgId, channel, e);
+                    }
+                }
+                LOGGER.error("server merge call failed: {}", e.getMessage(), e);
+            }
+        }
+
+        private void failMergedRequest(Integer msgId, Channel channel, Exception e) {
+            MessageFuture messageFuture = futures.remove(msgId);
+            if (messageFuture != null) {
+                messageFuture.setResultMessage(
+                    new RuntimeException(String.format("%s is unreachable", channel.remoteAddress()), e));
+            }
+        }
+    }
+
     /**
      * Debug log.
      *
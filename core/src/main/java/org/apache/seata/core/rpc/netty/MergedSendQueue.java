@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.rpc.netty;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.netty.channel.Channel;
+import org.apache.seata.core.protocol.RpcMessage;
+
+/**
+ * The requests waiting to be merged and sent to one server.
+ * Any thread may offer, only the thread holding the drain may poll.
+ *
+ */
+final class MergedSendQueue {
+
+    private final String address;
+
+    /**
+     * the last offered node, swapped by the producers
+     */
+    private final AtomicReference<Node> head;
+
+    /**
+     * the last polled node, only touched by the drain holder
+     */
+    private Node tail;
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private volatile Channel channel;
+
+    MergedSendQueue(String address) {
+        this.address = address;
+        Node stub = new Node(null, 0L);
+        this.head = new AtomicReference<>(stub);
+        this.tail = stub;
+    }
+
+    /**
+     * Offer a request.
+     *
+     * @param rpcMessage the request
+     * @param channel    the channel to the server
+     * @return the size of the queue after the offer
+     */
+    int offer(RpcMessage rpcMessage, Channel channel) {
+        this.channel = channel;
+        // counted before linked, so a drain that sees no node but a positive size knows one is on its way
+        int newSize = size.incrementAndGet();
+        Node node = new Node(rpcMessage, System.nanoTime());
+        Node prev = head.getAndSet(node);
+        prev.next = node;
+        return newSize;
+    }
+
+    /**
+     * Poll the oldest request, the drain must be held.
+     * It may return null while a request is still being linked by its producer.
+     *
+     * @return the node or null
+     */
+    Node poll() {
+        Node next = tail.next;
+        if (next == null) {
+            return null;
+        }
+        tail = next;
+        size.decrementAndGet();
+        return next;
+    }
+
+    /**
+     * Gets the enqueue time of the oldest request, the drain must be held.
+     *
+     * @return the nano time, or -1 if none is linked
+     */
+    long oldestEnqueueNanos() {
+        Node next = tail.next;
+        return next == null ? -1L : next.enqueueNanos;
+    }
+
+    boolean tryDrain() {
+        return draining.compareAndSet(false, true);
+    }
+
+    void endDrain() {
+        draining.set(false);
+    }
+
+    /**
+     * Mark a flush as scheduled.
+     *
+     * @return true if no flush was scheduled
+     */
+    boolean markFlushScheduled() {
+        return flushScheduled.compareAndSet(false, true);
+    }
+
+    void clearFlushScheduled() {
+        flushScheduled.set(false);
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    String getAddress() {
+        return address;
+    }
+
+    Channel getChannel() {
+        return channel;
+    }
+
+    static final class Node {
+
+        private RpcMessage rpcMessage;
+
+        private final long enqueueNanos;
+
+        private volatile Node next;
+
+        Node(RpcMessage rpcMessage, long enqueueNanos) {
+            this.rpcMessage = rpcMessage;
+            this.enqueueNanos = enqueueNanos;
+        }
+
+        /**
+         * Take the request out of a polled node, which becomes the new tail.
+         *
+         * @return the request
+         */
+        RpcMessage take() {
+            RpcMessage message = rpcMessage;
+            rpcMessage = null;
+            return message;
+        }
+
+        long getEnqueueNanos() {
+            return enqueueNanos;
+        }
+    }
+}
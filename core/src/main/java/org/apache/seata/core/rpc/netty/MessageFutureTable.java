@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.rpc.netty;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntConsumer;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import org.apache.seata.common.thread.NamedThreadFactory;
+import org.apache.seata.core.protocol.MessageFuture;
+import org.apache.seata.core.protocol.RpcMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The futures of the requests waiting for their responses, keyed by the message id.
+ * <p>
+ * Message ids are taken from a counter, so the futures in flight are spread over a slot array indexed by
+ * the low bits of the id without boxing the id. A future whose slot is still held by an older request goes
+ * to an overflow map. Each future is expired by a hashed wheel, so a timeout check only touches the
+ * expired futures.
+ *
+ */
+public class MessageFutureTable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MessageFutureTable.class);
+
+    private static final int DEFAULT_CAPACITY = 4096;
+
+    private static final long TICK_DURATION_MILLS = 10;
+
+    private static final int TICKS_PER_WHEEL = 1024;
+
+    private static final HashedWheelTimer TIMER = new HashedWheelTimer(
+        new NamedThreadFactory("rpcTimeoutWheel", 1, true), TICK_DURATION_MILLS, TimeUnit.MILLISECONDS,
+        TICKS_PER_WHEEL);
+
+    private final AtomicReferenceArray<MessageFuture> slots;
+
+    private final int mask;
+
+    private final ConcurrentHashMap<Integer, MessageFuture> overflow = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new message future table.
+     */
+    public MessageFutureTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Instantiates a new message future table.
+     *
+     * @param capacity the number of slots, rounded up to a power of two
+     */
+    public MessageFutureTable(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, Math.min(capacity, 1 << 30) - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Put the future of the request, it is expired after its timeout.
+     *
+     * @param id     the message id
+     * @param future the future
+     */
+    public void put(int id, MessageFuture future) {
+        int index = id & mask;
+        if (!isKeyedBy(future, id) || !slots.compareAndSet(index, null, future)) {
+            overflow.put(id, future);
+        }
+        if (future.getTimeout() > 0) {
+            Timeout expiration = TIMER.newTimeout(timeout -> expire(id, future), future.getTimeout(),
+                TimeUnit.MILLISECONDS);
+            future.bindExpiration(expiration);
+            // the response may have removed the future before the expiration was bound to it
+            if (!contains(id, future)) {
+                expiration.cancel();
+            }
+        }
+    }
+
+    /**
+     * Gets the future.
+     *
+     * @param id the message id
+     * @return the future, null if absent
+     */
+    public MessageFuture get(int id) {
+        MessageFuture future = slots.get(id & mask);
+        if (future != null && isKeyedBy(future, id)) {
+            return future;
+        }
+        return overflow.get(id);
+    }
+
+    /**
+     * Remove the future, its expiration is cancelled.
+     *
+     * @param id the message id
+     * @return the future, null if absent
+     */
+    public MessageFuture remove(int id) {
+        MessageFuture future = removeEntry(id);
+        if (future != null) {
+            future.cancelExpiration();
+        }
+        return future;
+    }
+
+    /**
+     * Remove the future only if it is still the one of the id.
+     *
+     * @param id     the message id
+     * @param future the future
+     * @return true if removed
+     */
+    public boolean remove(int id, MessageFuture future) {
+        boolean removed = slots.compareAndSet(id & mask, future, null) || overflow.remove(id, future);
+        if (removed) {
+            future.cancelExpiration();
+        }
+        return removed;
+    }
+
+    /**
+     * Count the futures, it scans all the slots.
+     *
+     * @return the count
+     */
+    public int size() {
+        int size = overflow.size();
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Whether there is no future, it scans all the slots.
+     *
+     * @return the boolean
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Visit the message id of every future, it scans all the slots.
+     *
+     * @param consumer the consumer of the message id
+     */
+    public void forEachId(IntConsumer consumer) {
+        for (int i = 0; i < slots.length(); i++) {
+            MessageFuture future = slots.get(i);
+            if (future != null) {
+                consumer.accept(future.getRequestMessage().getId());
+            }
+        }
+        overflow.keySet().forEach(consumer::accept);
+    }
+
+    private boolean contains(int id, MessageFuture future) {
+        return slots.get(id & mask) == future || overflow.get(id) == future;
+    }
+
+    private MessageFuture removeEntry(int id) {
+        int index = id & mask;
+        MessageFuture future = slots.get(index);
+        if (future != null && isKeyedBy(future, id) && slots.compareAndSet(index, future, null)) {
+            return future;
+        }
+        return overflow.remove(id);
+    }
+
+    private void expire(int id, MessageFuture future) {
+        if (!slots.compareAndSet(id & mask, future, null) && !overflow.remove(id, future)) {
+            return;
+        }
+        RpcMessage rpcMessage = future.getRequestMessage();
+        future.setResultMessage(new TimeoutException(String
+            .format("msgId: %s ,msgType: %s ,msg: %s ,request timeout", id,
+                rpcMessage != null ? String.valueOf(rpcMessage.getMessageType()) : null,
+                rpcMessage != null ? rpcMessage.getBody() : null)));
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("timeout clear future: {}", rpcMessage != null ? rpcMessage.getBody() : null);
+        }
+    }
+
+    private static boolean isKeyedBy(MessageFuture future, int id) {
+        RpcMessage requestMessage = future.getRequestMessage();
+        return requestMessage != null && requestMessage.getId() == id;
+    }
+}
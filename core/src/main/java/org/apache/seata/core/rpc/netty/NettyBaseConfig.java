@@ -16,20 +16,12 @@
  */
 package org.apache.seata.core.rpc.netty;
 
+import java.util.Map;
+
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.ServerChannel;
-import io.netty.channel.epoll.EpollDomainSocketChannel;
-import io.netty.channel.epoll.EpollServerDomainSocketChannel;
-import io.netty.channel.epoll.EpollServerSocketChannel;
-import io.netty.channel.epoll.EpollSocketChannel;
-import io.netty.channel.kqueue.KQueueDomainSocketChannel;
-import io.netty.channel.kqueue.KQueueServerDomainSocketChannel;
-import io.netty.channel.kqueue.KQueueServerSocketChannel;
-import io.netty.channel.kqueue.KQueueSocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.NettyRuntime;
-import io.netty.util.internal.PlatformDependent;
 import org.apache.seata.config.Configuration;
 import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.constants.ConfigurationKeys;
@@ -39,7 +31,10 @@ import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static org.apache.seata.common.DefaultValues.DEFAULT_TRANSPORT_BUSY_POLL_MICROS;
 import static org.apache.seata.common.DefaultValues.DEFAULT_TRANSPORT_HEARTBEAT;
+import static org.apache.seata.common.DefaultValues.DEFAULT_TRANSPORT_TCP_NO_DELAY;
+import static org.apache.seata.common.DefaultValues.DEFAULT_TRANSPORT_TCP_QUICK_ACK;
 
 /**
  * The type Netty base config.
@@ -77,6 +72,11 @@ public class NettyBaseConfig {
      */
     protected static final TransportServerType TRANSPORT_SERVER_TYPE;
 
+    /**
+     * The constant TRANSPORT, the transport selected by the server type.
+     */
+    protected static final NettyTransport TRANSPORT;
+
     /**
      * The constant SERVER_CHANNEL_CLAZZ.
      */
@@ -91,6 +91,24 @@ public class NettyBaseConfig {
      */
     protected static final TransportProtocolType TRANSPORT_PROTOCOL_TYPE;
 
+    /**
+     * The constant TCP_NO_DELAY.
+     */
+    protected static final boolean TCP_NO_DELAY = CONFIG.getBoolean(ConfigurationKeys.TRANSPORT_TCP_NO_DELAY,
+        DEFAULT_TRANSPORT_TCP_NO_DELAY);
+
+    /**
+     * The constant TCP_QUICK_ACK.
+     */
+    protected static final boolean TCP_QUICK_ACK = CONFIG.getBoolean(ConfigurationKeys.TRANSPORT_TCP_QUICK_ACK,
+        DEFAULT_TRANSPORT_TCP_QUICK_ACK);
+
+    /**
+     * The constant BUSY_POLL_MICROS.
+     */
+    protected static final int BUSY_POLL_MICROS = CONFIG.getInt(ConfigurationKeys.TRANSPORT_BUSY_POLL_MICROS,
+        DEFAULT_TRANSPORT_BUSY_POLL_MICROS);
+
     private static final int DEFAULT_WRITE_IDLE_SECONDS = 5;
 
     private static final int READIDLE_BASE_WRITEIDLE = 3;
@@ -122,48 +140,11 @@ public class NettyBaseConfig {
             WORKER_THREAD_SIZE = WorkThreadMode.Default.getValue();
         }
         TRANSPORT_SERVER_TYPE = TransportServerType.getType(CONFIG.getConfig(ConfigurationKeys.TRANSPORT_SERVER, TransportServerType.NIO.name()));
-        switch (TRANSPORT_SERVER_TYPE) {
-            case NIO:
-                if (TRANSPORT_PROTOCOL_TYPE == TransportProtocolType.TCP) {
-                    SERVER_CHANNEL_CLAZZ = NioServerSocketChannel.class;
-                    CLIENT_CHANNEL_CLAZZ = NioSocketChannel.class;
-                } else {
-                    raiseUnsupportedTransportError();
-                    SERVER_CHANNEL_CLAZZ = null;
-                    CLIENT_CHANNEL_CLAZZ = null;
-                }
-                break;
-            case NATIVE:
-                if (PlatformDependent.isWindows()) {
-                    throw new IllegalArgumentException("no native supporting for Windows.");
-                } else if (PlatformDependent.isOsx()) {
-                    if (TRANSPORT_PROTOCOL_TYPE == TransportProtocolType.TCP) {
-                        SERVER_CHANNEL_CLAZZ = KQueueServerSocketChannel.class;
-                        CLIENT_CHANNEL_CLAZZ = KQueueSocketChannel.class;
-                    } else if (TRANSPORT_PROTOCOL_TYPE == TransportProtocolType.UNIX_DOMAIN_SOCKET) {
-                        SERVER_CHANNEL_CLAZZ = KQueueServerDomainSocketChannel.class;
-                        CLIENT_CHANNEL_CLAZZ = KQueueDomainSocketChannel.class;
-                    } else {
-                        raiseUnsupportedTransportError();
-                        SERVER_CHANNEL_CLAZZ = null;
-                        CLIENT_CHANNEL_CLAZZ = null;
-                    }
-                } else {
-                    if (TRANSPORT_PROTOCOL_TYPE == TransportProtocolType.TCP) {
-                        SERVER_CHANNEL_CLAZZ = EpollServerSocketChannel.class;
-                        CLIENT_CHANNEL_CLAZZ = EpollSocketChannel.class;
-                    } else if (TRANSPORT_PROTOCOL_TYPE == TransportProtocolType.UNIX_DOMAIN_SOCKET) {
-                        SERVER_CHANNEL_CLAZZ = EpollServerDomainSocketChannel.class;
-                        CLIENT_CHANNEL_CLAZZ = EpollDomainSocketChannel.class;
-                    } else {
-                        raiseUnsupportedTransportError();
-                        SERVER_CHANNEL_CLAZZ = null;
-                        CLIENT_CHANNEL_CLAZZ = null;
-                    }
-                }
-                break;
-            default:
-                throw new IllegalArgumentException("unsupported.");
+        TRANSPORT = NettyTransport.select(TRANSPORT_SERVER_TYPE, TRANSPORT_PROTOCOL_TYPE);
+        SERVER_CHANNEL_CLAZZ = TRANSPORT.getServerChannelClass(TRANSPORT_PROTOCOL_TYPE);
+        CLIENT_CHANNEL_CLAZZ = TRANSPORT.getChannelClass(TRANSPORT_PROTOCOL_TYPE);
+        if (SERVER_CHANNEL_CLAZZ == null || CLIENT_CHANNEL_CLAZZ == null) {
+            raiseUnsupportedTransportError();
         }
         boolean enableHeartbeat = CONFIG.getBoolean(ConfigurationKeys.TRANSPORT_HEARTBEAT, DEFAULT_TRANSPORT_HEARTBEAT);
         if (enableHeartbeat) {
@@ -174,6 +155,24 @@ public class NettyBaseConfig {
         MAX_READ_IDLE_SECONDS = MAX_WRITE_IDLE_SECONDS * READIDLE_BASE_WRITEIDLE;
     }
 
+    /**
+     * Gets the transport.
+     *
+     * @return the transport
+     */
+    public static NettyTransport getTransport() {
+        return TRANSPORT;
+    }
+
+    /**
+     * Gets the socket options of the connected channels.
+     *
+     * @return the socket options
+     */
+    public static Map<ChannelOption<?>, Object> getSocketOptions() {
+        return TRANSPORT.getSocketOptions(TCP_NO_DELAY, TCP_QUICK_ACK, BUSY_POLL_MICROS);
+    }
+
     private static void raiseUnsupportedTransportError() throws RuntimeException {
         String errMsg = String.format("Unsupported provider type :[%s] for transport:[%s].", TRANSPORT_SERVER_TYPE,
             TRANSPORT_PROTOCOL_TYPE);
@@ -27,9 +27,7 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.epoll.EpollChannelOption;
-import io.netty.channel.epoll.EpollMode;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
 import io.netty.handler.codec.http2.Http2MultiplexHandler;
@@ -37,7 +35,6 @@ import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.util.concurrent.DefaultEventExecutorGroup;
 import io.netty.util.concurrent.EventExecutorGroup;
-import io.netty.util.internal.PlatformDependent;
 import org.apache.seata.common.exception.FrameworkException;
 import org.apache.seata.common.thread.NamedThreadFactory;
 import org.apache.seata.core.protocol.Protocol;
@@ -80,7 +77,7 @@ public class NettyClientBootstrap implements RemotingBootstrap {
         this.nettyClientConfig = nettyClientConfig;
         int selectorThreadSizeThreadSize = this.nettyClientConfig.getClientSelectorThreadSize();
         this.transactionRole = transactionRole;
-        this.eventLoopGroupWorker = new NioEventLoopGroup(selectorThreadSizeThreadSize,
+        this.eventLoopGroupWorker = NettyBaseConfig.getTransport().newEventLoopGroup(selectorThreadSizeThreadSize,
             new NamedThreadFactory(getThreadPrefix(this.nettyClientConfig.getClientSelectorThreadPrefix()),
                 selectorThreadSizeThreadSize));
         this.defaultEventExecutorGroup = eventExecutorGroup;
@@ -110,6 +107,7 @@ public class NettyClientBootstrap implements RemotingBootstrap {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public void start() {
         if (this.defaultEventExecutorGroup == null) {
             this.defaultEventExecutorGroup = new DefaultEventExecutorGroup(nettyClientConfig.getClientWorkerThreads(),
@@ -118,20 +116,14 @@ public class NettyClientBootstrap implements RemotingBootstrap {
         }
         this.bootstrap.group(this.eventLoopGroupWorker).channel(
             nettyClientConfig.getClientChannelClazz()).option(
-            ChannelOption.TCP_NODELAY, true).option(ChannelOption.SO_KEEPALIVE, true).option(
             ChannelOption.CONNECT_TIMEOUT_MILLIS, nettyClientConfig.getConnectTimeoutMillis()).option(
             ChannelOption.SO_SNDBUF, nettyClientConfig.getClientSocketSndBufSize()).option(ChannelOption.SO_RCVBUF,
-            nettyClientConfig.getClientSocketRcvBufSize());
-
-        if (nettyClientConfig.enableNative()) {
-            if (PlatformDependent.isOsx()) {
-                if (LOGGER.isInfoEnabled()) {
-                    LOGGER.info("client run on macOS");
-                }
-            } else {
-                bootstrap.option(EpollChannelOption.EPOLL_MODE, EpollMode.EDGE_TRIGGERED)
-                    .option(EpollChannelOption.TCP_QUICKACK, true);
-            }
+            nettyClientConfig.getClientSocketRcvBufSize()).option(ChannelOption.WRITE_BUFFER_WATER_MARK,
+            new WriteBufferWaterMark(nettyClientConfig.getWriteBufferLowWaterMark(),
+                nettyClientConfig.getWriteBufferHighWaterMark()));
+        NettyBaseConfig.getSocketOptions().forEach((option, value) -> bootstrap.option((ChannelOption<Object>)option, value));
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("client run on the {} transport", NettyBaseConfig.getTransport());
         }
 
         bootstrap.handler(
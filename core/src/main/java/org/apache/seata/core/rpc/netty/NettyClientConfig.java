@@ -18,8 +18,9 @@ package org.apache.seata.core.rpc.netty;
 
 import io.netty.channel.Channel;
 import org.apache.seata.core.constants.ConfigurationKeys;
-import org.apache.seata.core.rpc.TransportServerType;
 
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_BATCH_SEND_REQUEST_MAX_SIZE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_BATCH_SEND_REQUEST_MAX_WAIT;
 import static org.apache.seata.common.DefaultValues.DEFAULT_ENABLE_CLIENT_BATCH_SEND_REQUEST;
 import static org.apache.seata.common.DefaultValues.DEFAULT_PROTOCOL;
 import static org.apache.seata.common.DefaultValues.DEFAULT_RPC_RM_REQUEST_TIMEOUT;
@@ -42,6 +43,10 @@ public class NettyClientConfig extends NettyBaseConfig {
     private int perHostMaxConn = 2;
     private static final int PER_HOST_MIN_CONN = 2;
     private int pendingConnSize = Integer.MAX_VALUE;
+    private int writeBufferHighWaterMark = Integer.parseInt(System.getProperty(
+            ConfigurationKeys.TRANSPORT_PREFIX + "clientWriteBufferHighWaterMark", String.valueOf(65536)));
+    private int writeBufferLowWaterMark = Integer.parseInt(System.getProperty(
+            ConfigurationKeys.TRANSPORT_PREFIX + "clientWriteBufferLowWaterMark", String.valueOf(32768)));
     private static final long RPC_RM_REQUEST_TIMEOUT = CONFIG.getLong(ConfigurationKeys.RPC_RM_REQUEST_TIMEOUT, DEFAULT_RPC_RM_REQUEST_TIMEOUT);
     private static final long RPC_TM_REQUEST_TIMEOUT = CONFIG.getLong(ConfigurationKeys.RPC_TM_REQUEST_TIMEOUT, DEFAULT_RPC_TM_REQUEST_TIMEOUT);
     private static String vgroup;
@@ -60,6 +65,8 @@ public class NettyClientConfig extends NettyBaseConfig {
     private static final boolean DEFAULT_POOL_TEST_RETURN = true;
     private static final boolean DEFAULT_POOL_LIFO = true;
     private static final boolean ENABLE_CLIENT_BATCH_SEND_REQUEST = CONFIG.getBoolean(ConfigurationKeys.ENABLE_CLIENT_BATCH_SEND_REQUEST, DEFAULT_ENABLE_CLIENT_BATCH_SEND_REQUEST);
+    private static final int CLIENT_BATCH_SEND_REQUEST_MAX_SIZE = CONFIG.getInt(ConfigurationKeys.CLIENT_BATCH_SEND_REQUEST_MAX_SIZE, DEFAULT_CLIENT_BATCH_SEND_REQUEST_MAX_SIZE);
+    private static final int CLIENT_BATCH_SEND_REQUEST_MAX_WAIT = CONFIG.getInt(ConfigurationKeys.CLIENT_BATCH_SEND_REQUEST_MAX_WAIT, DEFAULT_CLIENT_BATCH_SEND_REQUEST_MAX_WAIT);
 
     /**
      * Gets connect timeout millis.
@@ -175,7 +182,7 @@ public class NettyClientConfig extends NettyBaseConfig {
      * @return the boolean
      */
     public boolean enableNative() {
-        return TRANSPORT_SERVER_TYPE == TransportServerType.NATIVE;
+        return TRANSPORT != NettyTransport.NIO;
     }
 
     /**
@@ -218,6 +225,42 @@ public class NettyClientConfig extends NettyBaseConfig {
         this.pendingConnSize = pendingConnSize;
     }
 
+    /**
+     * Gets write buffer high water mark.
+     *
+     * @return the write buffer high water mark
+     */
+    public int getWriteBufferHighWaterMark() {
+        return writeBufferHighWaterMark;
+    }
+
+    /**
+     * Sets write buffer high water mark.
+     *
+     * @param writeBufferHighWaterMark the write buffer high water mark
+     */
+    public void setWriteBufferHighWaterMark(int writeBufferHighWaterMark) {
+        this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+    }
+
+    /**
+     * Gets write buffer low water mark.
+     *
+     * @return the write buffer low water mark
+     */
+    public int getWriteBufferLowWaterMark() {
+        return writeBufferLowWaterMark;
+    }
+
+    /**
+     * Sets write buffer low water mark.
+     *
+     * @param writeBufferLowWaterMark the write buffer low water mark
+     */
+    public void setWriteBufferLowWaterMark(int writeBufferLowWaterMark) {
+        this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+    }
+
     /**
      * Gets rpc RM sendAsyncRequestWithResponse time out.
      *
@@ -236,6 +279,24 @@ public class NettyClientConfig extends NettyBaseConfig {
         return RPC_TM_REQUEST_TIMEOUT;
     }
 
+    /**
+     * Gets the max number of requests merged into one message.
+     *
+     * @return the max batch size
+     */
+    public static int getClientBatchSendRequestMaxSize() {
+        return CLIENT_BATCH_SEND_REQUEST_MAX_SIZE;
+    }
+
+    /**
+     * Gets the max milliseconds a request waits for a fuller batch or a writable channel.
+     *
+     * @return the max wait milliseconds
+     */
+    public static int getClientBatchSendRequestMaxWait() {
+        return CLIENT_BATCH_SEND_REQUEST_MAX_WAIT;
+    }
+
     /**
      * Gets vgroup.
      *
@@ -28,8 +28,6 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.WriteBufferWaterMark;
-import io.netty.channel.epoll.EpollEventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.timeout.IdleStateHandler;
 import org.apache.seata.common.ConfigurationKeys;
@@ -62,19 +60,12 @@ public class NettyServerBootstrap implements RemotingBootstrap {
 
     public NettyServerBootstrap(NettyServerConfig nettyServerConfig) {
         this.nettyServerConfig = nettyServerConfig;
-        if (NettyServerConfig.enableEpoll()) {
-            this.eventLoopGroupBoss = new EpollEventLoopGroup(nettyServerConfig.getBossThreadSize(),
-                new NamedThreadFactory(nettyServerConfig.getBossThreadPrefix(), nettyServerConfig.getBossThreadSize()));
-            this.eventLoopGroupWorker = new EpollEventLoopGroup(nettyServerConfig.getServerWorkerThreads(),
-                new NamedThreadFactory(nettyServerConfig.getWorkerThreadPrefix(),
-                    nettyServerConfig.getServerWorkerThreads()));
-        } else {
-            this.eventLoopGroupBoss = new NioEventLoopGroup(nettyServerConfig.getBossThreadSize(),
-                new NamedThreadFactory(nettyServerConfig.getBossThreadPrefix(), nettyServerConfig.getBossThreadSize()));
-            this.eventLoopGroupWorker = new NioEventLoopGroup(nettyServerConfig.getServerWorkerThreads(),
-                new NamedThreadFactory(nettyServerConfig.getWorkerThreadPrefix(),
-                    nettyServerConfig.getServerWorkerThreads()));
-        }
+        NettyTransport transport = NettyBaseConfig.getTransport();
+        this.eventLoopGroupBoss = transport.newEventLoopGroup(nettyServerConfig.getBossThreadSize(),
+            new NamedThreadFactory(nettyServerConfig.getBossThreadPrefix(), nettyServerConfig.getBossThreadSize()));
+        this.eventLoopGroupWorker = transport.newEventLoopGroup(nettyServerConfig.getServerWorkerThreads(),
+            new NamedThreadFactory(nettyServerConfig.getWorkerThreadPrefix(),
+                nettyServerConfig.getServerWorkerThreads()));
 
         if (nettyServerConfig.getServerListenPort() > 0) {
             setListenPort(nettyServerConfig.getServerListenPort());
@@ -145,20 +136,22 @@ public class NettyServerBootstrap implements RemotingBootstrap {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public void start() {
         int port = getListenPort();
         this.serverBootstrap.group(this.eventLoopGroupBoss, this.eventLoopGroupWorker)
             .channel(NettyServerConfig.SERVER_CHANNEL_CLAZZ)
             .option(ChannelOption.SO_BACKLOG, nettyServerConfig.getSoBackLogSize())
             .option(ChannelOption.SO_REUSEADDR, true)
-            .childOption(ChannelOption.SO_KEEPALIVE, true)
-            .childOption(ChannelOption.TCP_NODELAY, true)
             .childOption(ChannelOption.SO_SNDBUF, nettyServerConfig.getServerSocketSendBufSize())
             .childOption(ChannelOption.SO_RCVBUF, nettyServerConfig.getServerSocketResvBufSize())
             .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK,
                 new WriteBufferWaterMark(nettyServerConfig.getWriteBufferLowWaterMark(),
                     nettyServerConfig.getWriteBufferHighWaterMark()))
-            .localAddress(new InetSocketAddress(port))
+            .localAddress(new InetSocketAddress(port));
+        NettyBaseConfig.getSocketOptions().forEach(
+            (option, value) -> this.serverBootstrap.childOption((ChannelOption<Object>)option, value));
+        this.serverBootstrap
             .childHandler(new ChannelInitializer<SocketChannel>() {
                 @Override
                 public void initChannel(SocketChannel ch) {
@@ -169,7 +162,8 @@ public class NettyServerBootstrap implements RemotingBootstrap {
 
         try {
             this.serverBootstrap.bind(port).sync();
-            LOGGER.info("Server started, service listen port: {}", getListenPort());
+            LOGGER.info("Server started on the {} transport, service listen port: {}", NettyBaseConfig.getTransport(),
+                getListenPort());
             InetSocketAddress address = new InetSocketAddress(XID.getIpAddress(), XID.getPort());
             for (RegistryService<?> registryService : MultiRegistryFactory.getInstances()) {
                 registryService.register(address);
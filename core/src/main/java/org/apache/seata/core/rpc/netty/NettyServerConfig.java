@@ -17,8 +17,6 @@
 package org.apache.seata.core.rpc.netty;
 
 import io.netty.channel.ServerChannel;
-import io.netty.channel.epoll.Epoll;
-import io.netty.channel.epoll.EpollServerSocketChannel;
 import org.apache.seata.common.DefaultValues;
 import org.apache.seata.core.constants.ConfigurationKeys;
 
@@ -68,6 +66,10 @@ public class NettyServerConfig extends NettyBaseConfig {
             ConfigurationKeys.MAX_BRANCH_RESULT_POOL_SIZE, String.valueOf(WorkThreadMode.Pin.getValue())));
     private static boolean ENABLE_TC_SERVER_BATCH_SEND_RESPONSE = CONFIG.getBoolean(ConfigurationKeys.ENABLE_TC_SERVER_BATCH_SEND_RESPONSE,
         DefaultValues.DEFAULT_ENABLE_TC_SERVER_BATCH_SEND_RESPONSE);
+    private static boolean ENABLE_TC_SERVER_BATCH_SEND_REQUEST = CONFIG.getBoolean(ConfigurationKeys.ENABLE_TC_SERVER_BATCH_SEND_REQUEST,
+        DefaultValues.DEFAULT_ENABLE_TC_SERVER_BATCH_SEND_REQUEST);
+    private static int TC_SERVER_BATCH_SEND_REQUEST_MAX_WAIT = CONFIG.getInt(ConfigurationKeys.TC_SERVER_BATCH_SEND_REQUEST_MAX_WAIT,
+        DefaultValues.DEFAULT_TC_SERVER_BATCH_SEND_REQUEST_MAX_WAIT);
 
     /**
      * The Server channel clazz.
@@ -99,8 +101,7 @@ public class NettyServerConfig extends NettyBaseConfig {
      * @return the boolean
      */
     public static boolean enableEpoll() {
-        return NettyBaseConfig.SERVER_CHANNEL_CLAZZ.equals(EpollServerSocketChannel.class)
-            && Epoll.isAvailable();
+        return NettyBaseConfig.TRANSPORT == NettyTransport.EPOLL;
 
     }
 
@@ -340,4 +341,22 @@ public class NettyServerConfig extends NettyBaseConfig {
     public static boolean isEnableTcServerBatchSendResponse() {
         return ENABLE_TC_SERVER_BATCH_SEND_RESPONSE;
     }
+
+    /**
+     * Get the tc server batch send request enable
+     *
+     * @return true or false
+     */
+    public static boolean isEnableTcServerBatchSendRequest() {
+        return ENABLE_TC_SERVER_BATCH_SEND_REQUEST;
+    }
+
+    /**
+     * Get the max milliseconds the tc server waits to merge the requests to the same rm channel
+     *
+     * @return the max wait milliseconds
+     */
+    public static int getTcServerBatchSendRequestMaxWait() {
+        return TC_SERVER_BATCH_SEND_REQUEST_MAX_WAIT;
+    }
 }
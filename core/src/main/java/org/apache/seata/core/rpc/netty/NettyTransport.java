@@ -0,0 +1,330 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.rpc.netty;
+
+import java.lang.reflect.Constructor;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.kqueue.KQueue;
+import io.netty.channel.kqueue.KQueueDomainSocketChannel;
+import io.netty.channel.kqueue.KQueueEventLoopGroup;
+import io.netty.channel.kqueue.KQueueServerDomainSocketChannel;
+import io.netty.channel.kqueue.KQueueServerSocketChannel;
+import io.netty.channel.kqueue.KQueueSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.internal.PlatformDependent;
+import org.apache.seata.core.rpc.TransportProtocolType;
+import org.apache.seata.core.rpc.TransportServerType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The netty transports, each of them creates the event loops, the channels and the socket options
+ * that belong together.
+ *
+ */
+public enum NettyTransport {
+
+    /**
+     * The java nio transport, available everywhere.
+     */
+    NIO {
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+            return new NioEventLoopGroup(threads, threadFactory);
+        }
+
+        @Override
+        public Class<? extends ServerChannel> getServerChannelClass(TransportProtocolType protocolType) {
+            return protocolType == TransportProtocolType.TCP ? NioServerSocketChannel.class : null;
+        }
+
+        @Override
+        public Class<? extends Channel> getChannelClass(TransportProtocolType protocolType) {
+            return protocolType == TransportProtocolType.TCP ? NioSocketChannel.class : null;
+        }
+    },
+
+    /**
+     * The linux epoll transport.
+     */
+    EPOLL {
+        @Override
+        public boolean isAvailable() {
+            return Epoll.isAvailable();
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+            return new EpollEventLoopGroup(threads, threadFactory);
+        }
+
+        @Override
+        public Class<? extends ServerChannel> getServerChannelClass(TransportProtocolType protocolType) {
+            return protocolType == TransportProtocolType.TCP ? EpollServerSocketChannel.class
+                : EpollServerDomainSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends Channel> getChannelClass(TransportProtocolType protocolType) {
+            return protocolType == TransportProtocolType.TCP ? EpollSocketChannel.class
+                : EpollDomainSocketChannel.class;
+        }
+
+        @Override
+        void addNativeOptions(Map<ChannelOption<?>, Object> options, boolean tcpQuickAck, int busyPollMicros) {
+            if (tcpQuickAck) {
+                options.put(EpollChannelOption.TCP_QUICKACK, true);
+            }
+            if (busyPollMicros > 0) {
+                options.put(EpollChannelOption.SO_BUSY_POLL, busyPollMicros);
+            }
+        }
+    },
+
+    /**
+     * The macOS and BSD kqueue transport.
+     */
+    KQUEUE {
+        @Override
+        public boolean isAvailable() {
+            return KQueue.isAvailable();
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+            return new KQueueEventLoopGroup(threads, threadFactory);
+        }
+
+        @Override
+        public Class<? extends ServerChannel> getServerChannelClass(TransportProtocolType protocolType) {
+            return protocolType == TransportProtocolType.TCP ? KQueueServerSocketChannel.class
+                : KQueueServerDomainSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends Channel> getChannelClass(TransportProtocolType protocolType) {
+            return protocolType == TransportProtocolType.TCP ? KQueueSocketChannel.class
+                : KQueueDomainSocketChannel.class;
+        }
+    },
+
+    /**
+     * The linux io_uring transport, it needs the netty incubator io_uring transport on the classpath
+     * and a kernel supporting it.
+     */
+    IO_URING {
+        @Override
+        public boolean isAvailable() {
+            return IoUring.AVAILABLE;
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+            try {
+                return (EventLoopGroup)IoUring.EVENT_LOOP_GROUP_CONSTRUCTOR.newInstance(threads, threadFactory);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("create io_uring event loop group failed", e);
+            }
+        }
+
+        @Override
+        public Class<? extends ServerChannel> getServerChannelClass(TransportProtocolType protocolType) {
+            return protocolType == TransportProtocolType.TCP ? IoUring.SERVER_CHANNEL_CLASS : null;
+        }
+
+        @Override
+        public Class<? extends Channel> getChannelClass(TransportProtocolType protocolType) {
+            return protocolType == TransportProtocolType.TCP ? IoUring.CHANNEL_CLASS : null;
+        }
+
+        @Override
+        void addNativeOptions(Map<ChannelOption<?>, Object> options, boolean tcpQuickAck, int busyPollMicros) {
+            if (tcpQuickAck && IoUring.TCP_QUICKACK != null) {
+                options.put(IoUring.TCP_QUICKACK, true);
+            }
+        }
+    };
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NettyTransport.class);
+
+    /**
+     * Whether the transport can be used on this machine.
+     *
+     * @return true if available
+     */
+    public abstract boolean isAvailable();
+
+    /**
+     * Create an event loop group of the transport.
+     *
+     * @param threads       the number of threads
+     * @param threadFactory the thread factory
+     * @return the event loop group
+     */
+    public abstract EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory);
+
+    /**
+     * Gets the server channel class.
+     *
+     * @param protocolType the protocol type
+     * @return the server channel class, or null if the protocol is not supported
+     */
+    public abstract Class<? extends ServerChannel> getServerChannelClass(TransportProtocolType protocolType);
+
+    /**
+     * Gets the client channel class.
+     *
+     * @param protocolType the protocol type
+     * @return the channel class, or null if the protocol is not supported
+     */
+    public abstract Class<? extends Channel> getChannelClass(TransportProtocolType protocolType);
+
+    /**
+     * Gets the socket options of the connected channels.
+     *
+     * @param tcpNoDelay     whether to disable nagle
+     * @param tcpQuickAck    whether to ack at once, only supported by the native transports on linux
+     * @param busyPollMicros the busy poll microseconds of the socket, 0 to disable, only supported by epoll
+     * @return the socket options
+     */
+    public Map<ChannelOption<?>, Object> getSocketOptions(boolean tcpNoDelay, boolean tcpQuickAck, int busyPollMicros) {
+        Map<ChannelOption<?>, Object> options = new LinkedHashMap<>();
+        options.put(ChannelOption.TCP_NODELAY, tcpNoDelay);
+        options.put(ChannelOption.SO_KEEPALIVE, true);
+        addNativeOptions(options, tcpQuickAck, busyPollMicros);
+        return options;
+    }
+
+    void addNativeOptions(Map<ChannelOption<?>, Object> options, boolean tcpQuickAck, int busyPollMicros) {
+    }
+
+    /**
+     * Select the transport of the configured server type, the native ones fall back when not available.
+     *
+     * @param serverType   the configured server type
+     * @param protocolType the protocol type
+     * @return the transport
+     */
+    public static NettyTransport select(TransportServerType serverType, TransportProtocolType protocolType) {
+        switch (serverType) {
+            case NIO:
+                return NIO;
+            case IO_URING:
+                if (IO_URING.isAvailable() && protocolType == TransportProtocolType.TCP) {
+                    return IO_URING;
+                }
+                LOGGER.warn("The io_uring transport is not available for {}, cause: {}, fall back to the native transport",
+                    protocolType, IoUring.UNAVAILABILITY_CAUSE == null ? "unsupported protocol"
+                        : IoUring.UNAVAILABILITY_CAUSE.toString());
+                return select(TransportServerType.NATIVE, protocolType);
+            case NATIVE:
+                if (PlatformDependent.isWindows()) {
+                    throw new IllegalArgumentException("no native supporting for Windows.");
+                }
+                NettyTransport transport = PlatformDependent.isOsx() ? KQUEUE : EPOLL;
+                if (transport.isAvailable() || protocolType != TransportProtocolType.TCP) {
+                    return transport;
+                }
+                LOGGER.warn("The {} transport is not available, fall back to the nio transport", transport);
+                return NIO;
+            default:
+                throw new IllegalArgumentException("unsupported.");
+        }
+    }
+
+    /**
+     * The classes of the incubator io_uring transport, loaded on demand.
+     */
+    private static final class IoUring {
+
+        private static final String PACKAGE = "io.netty.incubator.channel.uring.";
+
+        private static final boolean AVAILABLE;
+
+        private static final Throwable UNAVAILABILITY_CAUSE;
+
+        private static final Constructor<?> EVENT_LOOP_GROUP_CONSTRUCTOR;
+
+        private static final Class<? extends ServerChannel> SERVER_CHANNEL_CLASS;
+
+        private static final Class<? extends Channel> CHANNEL_CLASS;
+
+        private static final ChannelOption<?> TCP_QUICKACK;
+
+        static {
+            boolean available = false;
+            Throwable cause = null;
+            Constructor<?> constructor = null;
+            Class<? extends ServerChannel> serverChannelClass = null;
+            Class<? extends Channel> channelClass = null;
+            ChannelOption<?> quickAck = null;
+            try {
+                Class<?> ioUring = Class.forName(PACKAGE + "IOUring");
+                available = (Boolean)ioUring.getMethod("isAvailable").invoke(null);
+                if (available) {
+                    constructor = Class.forName(PACKAGE + "IOUringEventLoopGroup")
+                        .getConstructor(int.class, ThreadFactory.class);
+                    serverChannelClass = Class.forName(PACKAGE + "IOUringServerSocketChannel")
+                        .asSubclass(ServerChannel.class);
+                    channelClass = Class.forName(PACKAGE + "IOUringSocketChannel").asSubclass(Channel.class);
+                    quickAck = quickAckOption();
+                } else {
+                    cause = (Throwable)ioUring.getMethod("unavailabilityCause").invoke(null);
+                }
+            } catch (Throwable t) {
+                available = false;
+                cause = t;
+            }
+            AVAILABLE = available;
+            UNAVAILABILITY_CAUSE = cause;
+            EVENT_LOOP_GROUP_CONSTRUCTOR = constructor;
+            SERVER_CHANNEL_CLASS = serverChannelClass;
+            CHANNEL_CLASS = channelClass;
+            TCP_QUICKACK = quickAck;
+        }
+
+        private static ChannelOption<?> quickAckOption() {
+            try {
+                return (ChannelOption<?>)Class.forName(PACKAGE + "IOUringChannelOption").getField("TCP_QUICKACK")
+                    .get(null);
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+    }
+}
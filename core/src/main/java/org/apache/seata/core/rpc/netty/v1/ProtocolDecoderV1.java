@@ -22,13 +22,16 @@ import java.util.Map;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import org.apache.seata.core.compressor.ByteBufCompressor;
 import org.apache.seata.core.compressor.Compressor;
 import org.apache.seata.core.compressor.CompressorFactory;
+import org.apache.seata.core.compressor.CompressorType;
 import org.apache.seata.core.exception.DecodeException;
 import org.apache.seata.core.protocol.HeartbeatMessage;
 import org.apache.seata.core.protocol.ProtocolConstants;
 import org.apache.seata.core.protocol.RpcMessage;
 import org.apache.seata.core.rpc.netty.ProtocolDecoder;
+import org.apache.seata.core.serializer.ByteBufSerializer;
 import org.apache.seata.core.serializer.Serializer;
 import org.apache.seata.core.serializer.SerializerServiceLoader;
 import org.apache.seata.core.serializer.SerializerType;
@@ -123,23 +126,45 @@ public class ProtocolDecoderV1 extends LengthFieldBasedFrameDecoder implements P
         } else {
             int bodyLength = fullLength - headLength;
             if (bodyLength > 0) {
-                byte[] bs = new byte[bodyLength];
-                frame.readBytes(bs);
                 Compressor compressor = CompressorFactory.getCompressor(compressorType);
-                bs = compressor.decompress(bs);
                 SerializerType protocolType = SerializerType.getByCode(rpcMessage.getCodec());
-                if (this.supportDeSerializerTypes.contains(protocolType)) {
-                    Serializer serializer = SerializerServiceLoader.load(protocolType, ProtocolConstants.VERSION_1);
-                    rpcMessage.setBody(serializer.deserialize(bs));
-                } else {
+                if (!this.supportDeSerializerTypes.contains(protocolType)) {
                     throw new IllegalArgumentException("SerializerType not match");
                 }
+                Serializer serializer = SerializerServiceLoader.load(protocolType, ProtocolConstants.VERSION_1);
+                if (serializer instanceof ByteBufSerializer && compressor instanceof ByteBufCompressor) {
+                    rpcMessage.setBody(decodeBody((ByteBufSerializer)serializer, (ByteBufCompressor)compressor,
+                        compressorType, frame, bodyLength));
+                } else {
+                    byte[] bs = new byte[bodyLength];
+                    frame.readBytes(bs);
+                    bs = compressor.decompress(bs);
+                    rpcMessage.setBody(serializer.deserialize(bs));
+                }
             }
         }
 
         return rpcMessage.protocolMsg2RpcMsg();
     }
 
+    /**
+     * Direct read body with zero-copy, a compressed body is decompressed into a pooled buffer first.
+     */
+    private Object decodeBody(ByteBufSerializer serializer, ByteBufCompressor compressor, byte compressorType,
+                              ByteBuf frame, int bodyLength) {
+        ByteBuf body = frame.readSlice(bodyLength);
+        if (compressorType == CompressorType.NONE.getCode()) {
+            return serializer.deserialize(body, bodyLength);
+        }
+        ByteBuf bodyBuf = frame.alloc().buffer(bodyLength << 1);
+        try {
+            compressor.decompress(body, bodyBuf);
+            return serializer.deserialize(bodyBuf, bodyBuf.readableBytes());
+        } finally {
+            bodyBuf.release();
+        }
+    }
+
     @Override
     protected Object decode(ChannelHandlerContext ctx, ByteBuf in) throws Exception {
         Object decoded;
@@ -20,9 +20,12 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 import org.apache.seata.core.rpc.netty.ProtocolEncoder;
+import org.apache.seata.core.serializer.ByteBufSerializer;
 import org.apache.seata.core.serializer.Serializer;
+import org.apache.seata.core.compressor.ByteBufCompressor;
 import org.apache.seata.core.compressor.Compressor;
 import org.apache.seata.core.compressor.CompressorFactory;
+import org.apache.seata.core.compressor.CompressorType;
 import org.apache.seata.core.protocol.ProtocolConstants;
 import org.apache.seata.core.protocol.RpcMessage;
 import org.apache.seata.core.serializer.SerializerServiceLoader;
@@ -90,19 +93,20 @@ public class ProtocolEncoderV1 extends MessageToByteEncoder implements ProtocolE
                 fullLength += headMapBytesLength;
             }
 
-            byte[] bodyBytes = null;
             if (messageType != ProtocolConstants.MSGTYPE_HEARTBEAT_REQUEST
                 && messageType != ProtocolConstants.MSGTYPE_HEARTBEAT_RESPONSE) {
                 // heartbeat has no body
                 Serializer serializer = SerializerServiceLoader.load(SerializerType.getByCode(rpcMessage.getCodec()), ProtocolConstants.VERSION_1);
-                bodyBytes = serializer.serialize(rpcMessage.getBody());
                 Compressor compressor = CompressorFactory.getCompressor(rpcMessage.getCompressor());
-                bodyBytes = compressor.compress(bodyBytes);
-                fullLength += bodyBytes.length;
-            }
-
-            if (bodyBytes != null) {
-                out.writeBytes(bodyBytes);
+                int bodyIndex = out.writerIndex();
+                if (serializer instanceof ByteBufSerializer && compressor instanceof ByteBufCompressor) {
+                    encodeBody((ByteBufSerializer)serializer, (ByteBufCompressor)compressor, rpcMessage, out);
+                } else {
+                    byte[] bodyBytes = serializer.serialize(rpcMessage.getBody());
+                    bodyBytes = compressor.compress(bodyBytes);
+                    out.writeBytes(bodyBytes);
+                }
+                fullLength += out.writerIndex() - bodyIndex;
             }
 
             // fix fullLength and headLength
@@ -121,6 +125,24 @@ public class ProtocolEncoderV1 extends MessageToByteEncoder implements ProtocolE
         }
     }
 
+    /**
+     * Direct write body with zero-copy, a compressed body is serialized into a pooled buffer first.
+     */
+    private void encodeBody(ByteBufSerializer serializer, ByteBufCompressor compressor, ProtocolRpcMessageV1 rpcMessage,
+                            ByteBuf out) {
+        if (rpcMessage.getCompressor() == CompressorType.NONE.getCode()) {
+            serializer.serialize(rpcMessage.getBody(), out);
+            return;
+        }
+        ByteBuf bodyBuf = out.alloc().buffer();
+        try {
+            serializer.serialize(rpcMessage.getBody(), bodyBuf);
+            compressor.compress(bodyBuf, out);
+        } finally {
+            bodyBuf.release();
+        }
+    }
+
     @Override
     protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out) throws Exception {
         try {
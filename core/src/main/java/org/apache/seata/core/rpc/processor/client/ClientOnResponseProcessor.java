@@ -17,8 +17,6 @@
 package org.apache.seata.core.rpc.processor.client;
 
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.seata.core.protocol.AbstractResultMessage;
@@ -38,6 +36,7 @@ import org.apache.seata.core.protocol.transaction.GlobalLockQueryResponse;
 import org.apache.seata.core.protocol.transaction.GlobalReportResponse;
 import org.apache.seata.core.protocol.transaction.GlobalRollbackResponse;
 import org.apache.seata.core.rpc.TransactionMessageHandler;
+import org.apache.seata.core.rpc.netty.MessageFutureTable;
 import org.apache.seata.core.rpc.processor.RemotingProcessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -76,7 +75,7 @@ public class ClientOnResponseProcessor implements RemotingProcessor {
     /**
      * The Futures from org.apache.seata.core.rpc.netty.AbstractNettyRemoting#futures
      */
-    private final ConcurrentMap<Integer, MessageFuture> futures;
+    private final MessageFutureTable futures;
 
     /**
      * To handle the received RPC message on upper level.
@@ -84,7 +83,7 @@ public class ClientOnResponseProcessor implements RemotingProcessor {
     private final TransactionMessageHandler transactionMessageHandler;
 
     public ClientOnResponseProcessor(Map<Integer, MergeMessage> mergeMsgMap,
-                                     ConcurrentHashMap<Integer, MessageFuture> futures, Map<Integer,Integer> childToParentMap,
+                                     MessageFutureTable futures, Map<Integer,Integer> childToParentMap,
                                      TransactionMessageHandler transactionMessageHandler) {
         this.mergeMsgMap = mergeMsgMap;
         this.childToParentMap = childToParentMap;
@@ -16,9 +16,6 @@
  */
 package org.apache.seata.core.rpc.processor.server;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.seata.common.util.NetUtil;
 import org.apache.seata.core.protocol.AbstractResultMessage;
@@ -29,6 +26,7 @@ import org.apache.seata.core.protocol.transaction.BranchRollbackResponse;
 import org.apache.seata.core.rpc.RpcContext;
 import org.apache.seata.core.rpc.TransactionMessageHandler;
 import org.apache.seata.core.rpc.netty.ChannelManager;
+import org.apache.seata.core.rpc.netty.MessageFutureTable;
 import org.apache.seata.core.rpc.processor.RemotingProcessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,10 +53,10 @@ public class ServerOnResponseProcessor implements RemotingProcessor {
     /**
      * The Futures from org.apache.seata.core.rpc.netty.AbstractNettyRemoting#futures
      */
-    private ConcurrentMap<Integer, MessageFuture> futures;
+    private MessageFutureTable futures;
 
     public ServerOnResponseProcessor(TransactionMessageHandler transactionMessageHandler,
-                                     ConcurrentHashMap<Integer, MessageFuture> futures) {
+                                     MessageFutureTable futures) {
         this.transactionMessageHandler = transactionMessageHandler;
         this.futures = futures;
     }
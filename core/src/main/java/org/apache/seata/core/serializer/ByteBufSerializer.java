@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.serializer;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * A serializer that writes to and reads from the netty buffer directly,
+ * a {@link Serializer} implements it to skip the intermediate byte[] of the protocol codec.
+ *
+ */
+public interface ByteBufSerializer {
+
+    /**
+     * Encode object into the buffer.
+     *
+     * @param <T> the type parameter
+     * @param t   the t
+     * @param out the buffer to write, starting from its writer index
+     */
+    <T> void serialize(T t, ByteBuf out);
+
+    /**
+     * Decode t from the buffer.
+     *
+     * @param <T>    the type parameter
+     * @param in     the buffer to read, starting from its reader index
+     * @param length the length of the encoded object
+     * @return the t
+     */
+    <T> T deserialize(ByteBuf in, int length);
+}
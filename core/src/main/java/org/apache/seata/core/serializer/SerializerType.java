@@ -77,7 +77,12 @@ public enum SerializerType {
      * <p>
      * Math.pow(2, 7)
      */
-    GRPC((byte) 0x128);
+    GRPC((byte) 0x128),
+
+    /**
+     * The compact binary format of the raft sync messages and snapshots, only used by the server.
+     */
+    RAFT_BINARY((byte)0x3);
 
     private final byte code;
 
@@ -34,6 +34,14 @@ public class VersionTest {
         Assertions.assertFalse(Version.isAboveOrEqualVersion150("abd"));
     }
 
+    @Test
+    public void isAboveOrEqualVersion240() {
+        Assertions.assertTrue(Version.isAboveOrEqualVersion240("2.4.0-SNAPSHOT"));
+        Assertions.assertTrue(Version.isAboveOrEqualVersion240("2.5.0"));
+        Assertions.assertFalse(Version.isAboveOrEqualVersion240("2.3.0"));
+        Assertions.assertFalse(Version.isAboveOrEqualVersion240(""));
+    }
+
     @Test
     public void testConvertVersion() {
         // case: success
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.rpc.netty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.seata.core.protocol.RpcMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Merged send queue test.
+ *
+ */
+public class MergedSendQueueTest {
+
+    @Test
+    public void testOfferAndPoll() {
+        MergedSendQueue queue = new MergedSendQueue("127.0.0.1:8091");
+        Assertions.assertTrue(queue.tryDrain());
+        Assertions.assertNull(queue.poll());
+        Assertions.assertEquals(-1L, queue.oldestEnqueueNanos());
+
+        Assertions.assertEquals(1, queue.offer(rpcMessage(1), null));
+        Assertions.assertEquals(2, queue.offer(rpcMessage(2), null));
+        Assertions.assertTrue(queue.oldestEnqueueNanos() > 0);
+        Assertions.assertEquals(1, queue.poll().take().getId());
+        Assertions.assertEquals(2, queue.poll().take().getId());
+        Assertions.assertNull(queue.poll());
+        Assertions.assertEquals(0, queue.size());
+
+        Assertions.assertFalse(queue.tryDrain());
+        queue.endDrain();
+        Assertions.assertTrue(queue.markFlushScheduled());
+        Assertions.assertFalse(queue.markFlushScheduled());
+        queue.clearFlushScheduled();
+        Assertions.assertTrue(queue.markFlushScheduled());
+    }
+
+    @Test
+    public void testConcurrentProducers() throws InterruptedException {
+        MergedSendQueue queue = new MergedSendQueue("127.0.0.1:8091");
+        int producers = 4;
+        int perProducer = 10000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ignore) {
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    queue.offer(rpcMessage(base + i), null);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+
+        int[] last = new int[producers];
+        Arrays.fill(last, -1);
+        int polled = 0;
+        queue.tryDrain();
+        while (polled < producers * perProducer) {
+            MergedSendQueue.Node node = queue.poll();
+            if (node == null) {
+                Thread.yield();
+                continue;
+            }
+            int id = node.take().getId();
+            int producer = id / perProducer;
+            // the requests of one producer keep their order
+            Assertions.assertTrue(id > last[producer]);
+            last[producer] = id;
+            polled++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assertions.assertNull(queue.poll());
+        Assertions.assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testHistogram() {
+        LogHistogram histogram = new LogHistogram();
+        Assertions.assertEquals(0, histogram.getPercentile(0.99));
+        histogram.record(0);
+        for (int i = 0; i < 98; i++) {
+            histogram.record(3);
+        }
+        histogram.record(1000);
+        Assertions.assertEquals(100, histogram.getCount());
+        Assertions.assertEquals(1, histogram.getBucketCount(0));
+        Assertions.assertEquals(98, histogram.getBucketCount(2));
+        Assertions.assertEquals(4, histogram.getPercentile(0.5));
+        Assertions.assertEquals(4, histogram.getPercentile(0.99));
+        Assertions.assertEquals(1024, histogram.getPercentile(1));
+        Assertions.assertEquals(1294.0 / 100, histogram.getMean(), 0.0001);
+    }
+
+    private static RpcMessage rpcMessage(int id) {
+        RpcMessage rpcMessage = new RpcMessage();
+        rpcMessage.setId(id);
+        return rpcMessage;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.rpc.netty;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.netty.util.Timeout;
+import org.apache.seata.core.protocol.MessageFuture;
+import org.apache.seata.core.protocol.RpcMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Message future table test.
+ *
+ */
+public class MessageFutureTableTest {
+
+    @Test
+    public void testPutAndRemove() throws Exception {
+        MessageFutureTable table = new MessageFutureTable(4);
+        MessageFuture first = future(1, 60000);
+        // the same slot as the first one
+        MessageFuture fifth = future(5, 60000);
+        table.put(1, first);
+        table.put(5, fifth);
+        Assertions.assertEquals(2, table.size());
+        Assertions.assertSame(first, table.get(1));
+        Assertions.assertSame(fifth, table.get(5));
+        Assertions.assertNull(table.get(9));
+
+        Assertions.assertNull(table.remove(9));
+        Assertions.assertSame(fifth, table.remove(5));
+        Assertions.assertFalse(table.remove(1, fifth));
+        Assertions.assertSame(first, table.remove(1));
+        Assertions.assertTrue(table.isEmpty());
+
+        first.setResultMessage("result");
+        Assertions.assertEquals("result", first.get(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testExpire() throws Exception {
+        MessageFutureTable table = new MessageFutureTable();
+        MessageFuture future = future(1, 50);
+        table.put(1, future);
+        CompletableFuture<Object> resultFuture = future.toCompletableFuture();
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+            () -> resultFuture.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(e.getCause() instanceof TimeoutException);
+        Assertions.assertThrows(TimeoutException.class, () -> future.get(10, TimeUnit.MILLISECONDS));
+        Assertions.assertNull(table.get(1));
+    }
+
+    @Test
+    public void testNotExpiredAfterRemove() throws Exception {
+        MessageFutureTable table = new MessageFutureTable();
+        MessageFuture future = future(1, 50);
+        table.put(1, future);
+        Assertions.assertSame(future, table.remove(1));
+        MessageFuture next = future(2, 60000);
+        table.put(2, next);
+        Thread.sleep(200);
+        future.setResultMessage("result");
+        Assertions.assertEquals("result", future.get(10, TimeUnit.MILLISECONDS));
+        Assertions.assertSame(next, table.get(2));
+    }
+
+    @Test
+    public void testExpirationCancelledIfRemovedBeforeBound() {
+        MessageFutureTable table = new MessageFutureTable();
+        AtomicReference<Timeout> bound = new AtomicReference<>();
+        MessageFuture future = new MessageFuture() {
+            @Override
+            public void bindExpiration(Timeout expiration) {
+                // the response arrives between the put and the bind
+                table.remove(1);
+                bound.set(expiration);
+                super.bindExpiration(expiration);
+            }
+        };
+        RpcMessage rpcMessage = new RpcMessage();
+        rpcMessage.setId(1);
+        future.setRequestMessage(rpcMessage);
+        future.setTimeout(60000);
+        table.put(1, future);
+        Assertions.assertNull(table.get(1));
+        Assertions.assertTrue(bound.get().isCancelled());
+    }
+
+    private static MessageFuture future(int id, long timeout) {
+        RpcMessage rpcMessage = new RpcMessage();
+        rpcMessage.setId(id);
+        rpcMessage.setBody("body");
+        MessageFuture future = new MessageFuture();
+        future.setRequestMessage(rpcMessage);
+        future.setTimeout(timeout);
+        return future;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.rpc.netty;
+
+import java.util.Map;
+
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.apache.seata.common.thread.NamedThreadFactory;
+import org.apache.seata.core.rpc.TransportProtocolType;
+import org.apache.seata.core.rpc.TransportServerType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Netty transport test.
+ *
+ */
+public class NettyTransportTest {
+
+    @Test
+    public void testSelect() {
+        Assertions.assertEquals(NettyTransport.NIO,
+            NettyTransport.select(TransportServerType.NIO, TransportProtocolType.TCP));
+        NettyTransport ioUring = NettyTransport.select(TransportServerType.IO_URING, TransportProtocolType.TCP);
+        Assertions.assertTrue(ioUring.isAvailable());
+        if (!NettyTransport.IO_URING.isAvailable()) {
+            // falls back to the native transport, or nio if there is none
+            Assertions.assertEquals(NettyTransport.select(TransportServerType.NATIVE, TransportProtocolType.TCP),
+                ioUring);
+        }
+        Assertions.assertNull(NettyTransport.NIO.getServerChannelClass(TransportProtocolType.UNIX_DOMAIN_SOCKET));
+        Assertions.assertEquals(NioServerSocketChannel.class,
+            NettyTransport.NIO.getServerChannelClass(TransportProtocolType.TCP));
+        Assertions.assertEquals(NioSocketChannel.class, NettyTransport.NIO.getChannelClass(TransportProtocolType.TCP));
+    }
+
+    @Test
+    public void testSocketOptions() {
+        Map<ChannelOption<?>, Object> nio = NettyTransport.NIO.getSocketOptions(false, true, 50);
+        Assertions.assertEquals(false, nio.get(ChannelOption.TCP_NODELAY));
+        Assertions.assertEquals(2, nio.size());
+
+        Map<ChannelOption<?>, Object> epoll = NettyTransport.EPOLL.getSocketOptions(true, true, 50);
+        Assertions.assertEquals(true, epoll.get(ChannelOption.TCP_NODELAY));
+        Assertions.assertEquals(true, epoll.get(EpollChannelOption.TCP_QUICKACK));
+        Assertions.assertEquals(50, epoll.get(EpollChannelOption.SO_BUSY_POLL));
+        Assertions.assertFalse(NettyTransport.EPOLL.getSocketOptions(true, false, 0)
+            .containsKey(EpollChannelOption.SO_BUSY_POLL));
+    }
+
+    @Test
+    public void testNewEventLoopGroup() {
+        EventLoopGroup group = NettyBaseConfig.getTransport().newEventLoopGroup(1,
+            new NamedThreadFactory("transportTest", 1));
+        try {
+            Assertions.assertFalse(group.isShutdown());
+        } finally {
+            group.shutdownGracefully();
+        }
+    }
+}
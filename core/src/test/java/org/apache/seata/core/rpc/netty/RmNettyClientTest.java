@@ -17,7 +17,10 @@
 package org.apache.seata.core.rpc.netty;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -27,6 +30,12 @@ import org.apache.seata.config.ConfigurationCache;
 import org.apache.seata.core.model.Resource;
 import org.apache.seata.core.model.ResourceManager;
 import org.apache.seata.core.protocol.HeartbeatMessage;
+import org.apache.seata.core.protocol.MergedWarpMessage;
+import org.apache.seata.core.protocol.MessageType;
+import org.apache.seata.core.protocol.ProtocolConstants;
+import org.apache.seata.core.protocol.RpcMessage;
+import org.apache.seata.core.protocol.transaction.BranchCommitRequest;
+import org.apache.seata.core.protocol.transaction.BranchRollbackRequest;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -99,6 +108,33 @@ class RmNettyClientTest {
         }
     }
 
+    @Test
+    public void testProcessMergedBranchRequests() throws Exception {
+        RmNettyRemotingClient remotingClient = RmNettyRemotingClient.getInstance("merged", "default_tx_group");
+        List<RpcMessage> processed = new ArrayList<>();
+        remotingClient.registerProcessor(MessageType.TYPE_BRANCH_COMMIT, (ctx, rpcMessage) -> processed.add(rpcMessage), null);
+        remotingClient.registerProcessor(MessageType.TYPE_BRANCH_ROLLBACK, (ctx, rpcMessage) -> processed.add(rpcMessage), null);
+
+        BranchCommitRequest commitRequest = new BranchCommitRequest();
+        BranchRollbackRequest rollbackRequest = new BranchRollbackRequest();
+        MergedWarpMessage mergedWarpMessage = new MergedWarpMessage();
+        mergedWarpMessage.msgs.addAll(Arrays.asList(commitRequest, rollbackRequest));
+        mergedWarpMessage.msgIds.addAll(Arrays.asList(11, 12));
+        RpcMessage rpcMessage = new RpcMessage();
+        rpcMessage.setId(10);
+        rpcMessage.setMessageType(ProtocolConstants.MSGTYPE_RESQUEST_ONEWAY);
+        rpcMessage.setBody(mergedWarpMessage);
+        remotingClient.processMessage(null, rpcMessage);
+
+        Assertions.assertEquals(2, processed.size());
+        Assertions.assertEquals(11, processed.get(0).getId());
+        Assertions.assertSame(commitRequest, processed.get(0).getBody());
+        Assertions.assertEquals(ProtocolConstants.MSGTYPE_RESQUEST_SYNC, processed.get(0).getMessageType());
+        Assertions.assertEquals(12, processed.get(1).getId());
+        Assertions.assertSame(rollbackRequest, processed.get(1).getBody());
+        remotingClient.destroy();
+    }
+
     @Test
     public void testSendAsyncRequestWithNullChannelLogsWarning() {
         RmNettyRemotingClient remotingClient = RmNettyRemotingClient.getInstance();
@@ -26,6 +26,7 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFactory;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import org.apache.commons.pool.impl.GenericKeyedObjectPool;
 import org.apache.seata.common.ConfigurationKeys;
@@ -34,6 +35,9 @@ import org.apache.seata.config.CachedConfigurationChangeListener;
 import org.apache.seata.config.ConfigurationCache;
 import org.apache.seata.config.ConfigurationChangeEvent;
 import org.apache.seata.config.ConfigurationFactory;
+import org.apache.seata.core.protocol.MergedWarpMessage;
+import org.apache.seata.core.protocol.RpcMessage;
+import org.apache.seata.core.protocol.transaction.GlobalBeginRequest;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Order;
@@ -147,6 +151,32 @@ public class TmNettyClientTest {
         System.setProperty(ConfigurationKeys.ENABLE_TM_CLIENT_CHANNEL_CHECK_FAIL_FAST, "false");
     }
 
+    @Test
+    public void testDestroyChannelRemovesMergedSendQueue() throws Exception {
+        TmNettyRemotingClient tmNettyRemotingClient = TmNettyRemotingClient.getInstance();
+        Field mergedSendQueuesField = getDeclaredField(tmNettyRemotingClient, "mergedSendQueues");
+        mergedSendQueuesField.setAccessible(true);
+        Map<String, MergedSendQueue> mergedSendQueues =
+            (Map<String, MergedSendQueue>) mergedSendQueuesField.get(tmNettyRemotingClient);
+        EmbeddedChannel channel = new EmbeddedChannel();
+        MergedSendQueue queue = new MergedSendQueue("127.0.0.1:8091");
+        RpcMessage rpcMessage = new RpcMessage();
+        rpcMessage.setId(1);
+        rpcMessage.setBody(new GlobalBeginRequest());
+        queue.offer(rpcMessage, channel);
+        mergedSendQueues.put("127.0.0.1:8091", queue);
+
+        tmNettyRemotingClient.destroyChannel("127.0.0.1:8091", channel);
+
+        Assertions.assertFalse(mergedSendQueues.containsKey("127.0.0.1:8091"));
+        // the request left in the removed queue is still flushed
+        channel.runPendingTasks();
+        RpcMessage merged = channel.readOutbound();
+        Assertions.assertTrue(merged.getBody() instanceof MergedWarpMessage);
+        Assertions.assertEquals(0, queue.size());
+        channel.finishAndReleaseAll();
+    }
+
     /**
      * get private field in parent class
      *
@@ -25,6 +25,8 @@ public interface IdConstants {
 
     String SEATA_EXCEPTION = "seata.exception";
 
+    String SEATA_LOCK_NEAR_CACHE = "seata.lock.nearCache";
+
     String APP_ID_KEY = "applicationId";
     
     String GROUP_KEY = "group";
@@ -79,4 +81,10 @@ public interface IdConstants {
 
     String STATUS_VALUE_AFTER_ROLLBACKED_KEY = "AfterRollbacked";
 
+    String STATUS_VALUE_LOOKUP = "lookup";
+
+    String STATUS_VALUE_HIT = "hit";
+
+    String STATUS_VALUE_HIT_RATE = "hitRate";
+
 }
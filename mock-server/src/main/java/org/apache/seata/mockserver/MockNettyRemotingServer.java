@@ -97,7 +97,7 @@ public class MockNettyRemotingServer extends AbstractNettyRemotingServer {
         super.registerProcessor(MessageType.TYPE_SEATA_MERGE, onRequestProcessor, messageExecutor);
 
         // 2. registry on response message processor
-        MockOnRespProcessor onResponseProcessor = new MockOnRespProcessor(this, handler, getFutures());
+        MockOnRespProcessor onResponseProcessor = new MockOnRespProcessor(this, handler, getFutureTable());
         super.registerProcessor(MessageType.TYPE_BRANCH_COMMIT_RESULT, onResponseProcessor, messageExecutor);
         super.registerProcessor(MessageType.TYPE_BRANCH_ROLLBACK_RESULT, onResponseProcessor, messageExecutor);
 
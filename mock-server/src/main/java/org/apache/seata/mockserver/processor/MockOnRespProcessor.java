@@ -16,24 +16,23 @@
  */
 package org.apache.seata.mockserver.processor;
 
-import java.util.concurrent.ConcurrentMap;
-
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.seata.core.protocol.MessageFuture;
 import org.apache.seata.core.protocol.RpcMessage;
 import org.apache.seata.core.rpc.RemotingServer;
 import org.apache.seata.core.rpc.TransactionMessageHandler;
+import org.apache.seata.core.rpc.netty.MessageFutureTable;
 
 /**
  * Mock Remoting Processor
  **/
 public class MockOnRespProcessor extends MockRemotingProcessor {
 
-    private ConcurrentMap<Integer, MessageFuture> futures;
+    private MessageFutureTable futures;
 
 
     public MockOnRespProcessor(RemotingServer remotingServer, TransactionMessageHandler handler
-            , ConcurrentMap<Integer, MessageFuture> futures) {
+            , MessageFutureTable futures) {
         super(remotingServer, handler);
         this.futures = futures;
     }
@@ -19,6 +19,7 @@ package org.apache.seata.rm.datasource;
 import org.apache.seata.common.util.CollectionUtils;
 import org.apache.seata.common.util.StringUtils;
 import org.apache.seata.core.model.Result;
+import org.apache.seata.rm.datasource.sql.struct.ColumnarRecords;
 import org.apache.seata.rm.datasource.sql.struct.Field;
 import org.apache.seata.rm.datasource.sql.struct.Row;
 import org.apache.seata.sqlparser.struct.TableMeta;
@@ -145,6 +146,26 @@ public class DataCompareUtils {
             if (afterImage == null) {
                 return Result.build(false, null);
             }
+            if (beforeImage.columnar() != null && afterImage.columnar() != null) {
+                if (!beforeImage.getTableName().equalsIgnoreCase(afterImage.getTableName())) {
+                    return Result.build(false, null);
+                }
+                return compareColumnar(beforeImage.columnar(), afterImage.columnar());
+            }
+            ColumnarRecords columnar = beforeImage.columnar() != null ? beforeImage.columnar() : afterImage.columnar();
+            if (columnar != null && columnar.hasAllPrimaryKeys()) {
+                // the images decoded from the undo log are compared with the current image without expanding it
+                if (!beforeImage.getTableName().equalsIgnoreCase(afterImage.getTableName())
+                        || beforeImage.size() != afterImage.size()) {
+                    return Result.build(false, null);
+                }
+                if (beforeImage.size() == 0) {
+                    return Result.ok();
+                }
+                return beforeImage.columnar() != null
+                    ? compareMixed(columnar, afterImage.getRows(), false)
+                    : compareMixed(columnar, beforeImage.getRows(), true);
+            }
             if (beforeImage.getTableName().equalsIgnoreCase(afterImage.getTableName())
                     && CollectionUtils.isSizeEquals(beforeImage.getRows(), afterImage.getRows())) {
                 //when image is EmptyTableRecords, getTableMeta will throw an exception
@@ -202,6 +223,131 @@ public class DataCompareUtils {
         return Result.ok();
     }
 
+    private static Result<Boolean> compareColumnar(ColumnarRecords oldRecords, ColumnarRecords newRecords) {
+        if (oldRecords.size() != newRecords.size()) {
+            return Result.build(false, null);
+        }
+        if (oldRecords.size() == 0) {
+            return Result.ok();
+        }
+        // the column of the new records with the same name as each column of the old records
+        int[] newColumns = new int[oldRecords.getColumnCount()];
+        for (int c = 0; c < newColumns.length; c++) {
+            newColumns[c] = -1;
+            String name = oldRecords.getName(c).trim();
+            for (int n = 0; n < newRecords.getColumnCount(); n++) {
+                if (name.equalsIgnoreCase(newRecords.getName(n).trim())) {
+                    newColumns[c] = n;
+                    break;
+                }
+            }
+        }
+        Map<String, Integer> newRowIndexes = new HashMap<>(newRecords.size() * 4 / 3 + 1);
+        for (int r = 0; r < newRecords.size(); r++) {
+            newRowIndexes.put(newRecords.pkKey(r), r);
+        }
+        for (int r = 0; r < oldRecords.size(); r++) {
+            String key = oldRecords.pkKey(r);
+            Integer newRow = newRowIndexes.get(key);
+            if (newRow == null) {
+                return Result.buildWithParams(false, "compare row failed, rowKey {}, reason [newRow is null]", key);
+            }
+            for (int c = 0; c < newColumns.length; c++) {
+                String fieldName = oldRecords.getName(c);
+                int n = newColumns[c];
+                if (n < 0) {
+                    return Result.buildWithParams(false, "compare row failed, rowKey {}, fieldName {}, reason [newField is null]", key, fieldName);
+                }
+                if (oldRecords.getType(c) != newRecords.getType(n)) {
+                    return Result.buildWithParams(false, "Field not equals, old name {} type {}, new name {} type {}",
+                        fieldName, oldRecords.getType(c), newRecords.getName(n), newRecords.getType(n));
+                }
+                Object oldValue = oldRecords.getValue(r, c);
+                Object newValue = newRecords.getValue(newRow, n);
+                if (oldValue == null) {
+                    if (newValue != null) {
+                        return Result.build(false);
+                    }
+                } else if (newValue == null) {
+                    return Result.buildWithParams(false, "Field not equals, name {}, new value is null", fieldName);
+                } else if (!Objects.deepEquals(oldValue, newValue)) {
+                    return Result.buildWithParams(false, "Field not equals, name {}, old value {}, new value {}", fieldName, oldValue, newValue);
+                }
+            }
+        }
+        return Result.ok();
+    }
+
+    /**
+     * Compare the rows with the columnar records, the fields of the columnar records are only built for the
+     * compared cells.
+     *
+     * @param records   the columnar records
+     * @param rows      the rows
+     * @param rowsAreOld whether the rows are the old ones
+     * @return the result
+     */
+    private static Result<Boolean> compareMixed(ColumnarRecords records, List<Row> rows, boolean rowsAreOld) {
+        int[] pkIndexes = records.getPkIndexes();
+        Map<String, Integer> rowIndexes = new HashMap<>(records.size() * 4 / 3 + 1);
+        for (int r = 0; r < records.size(); r++) {
+            rowIndexes.put(records.pkKey(r), r);
+        }
+        Map<String, Integer> columnIndexes = new HashMap<>(records.getColumnCount() * 4 / 3 + 1);
+        for (int c = 0; c < records.getColumnCount(); c++) {
+            columnIndexes.put(records.getName(c).trim().toUpperCase(), c);
+        }
+        for (Row row : rows) {
+            List<Field> fields = row.getFields();
+            StringBuilder key = new StringBuilder();
+            for (int p = 0; p < pkIndexes.length; p++) {
+                if (p > 0) {
+                    key.append('_');
+                }
+                Field pkField = findField(fields, records.getName(pkIndexes[p]));
+                key.append(pkField == null ? null : pkField.getValue());
+            }
+            Integer recordRow = rowIndexes.get(key.toString());
+            if (recordRow == null) {
+                return Result.buildWithParams(false, "compare row failed, rowKey {}, reason [newRow is null]", key);
+            }
+            if (rowsAreOld) {
+                for (Field oldField : fields) {
+                    Integer column = columnIndexes.get(oldField.getName().trim().toUpperCase());
+                    if (column == null) {
+                        return Result.buildWithParams(false, "compare row failed, rowKey {}, fieldName {}, reason [newField is null]", key, oldField.getName());
+                    }
+                    Result<Boolean> result = isFieldEquals(oldField, records.getField(recordRow, column));
+                    if (!result.getResult()) {
+                        return result;
+                    }
+                }
+            } else {
+                for (int c = 0; c < records.getColumnCount(); c++) {
+                    Field newField = findField(fields, records.getName(c));
+                    if (newField == null) {
+                        return Result.buildWithParams(false, "compare row failed, rowKey {}, fieldName {}, reason [newField is null]", key, records.getName(c));
+                    }
+                    Result<Boolean> result = isFieldEquals(records.getField(recordRow, c), newField);
+                    if (!result.getResult()) {
+                        return result;
+                    }
+                }
+            }
+        }
+        return Result.ok();
+    }
+
+    private static Field findField(List<Field> fields, String name) {
+        String trimmedName = name.trim();
+        for (Field field : fields) {
+            if (field.getName().trim().equalsIgnoreCase(trimmedName)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
     /**
      * Row list to map map.
      *
@@ -49,6 +49,8 @@ public class DataSourceManager extends AbstractResourceManager {
 
     private final AsyncWorker asyncWorker = new AsyncWorker(this);
 
+    private final RollbackWorker rollbackWorker = new RollbackWorker();
+
     private final Map<String, Resource> dataSourceCache = new ConcurrentHashMap<>();
 
     @Override
@@ -118,6 +120,12 @@ public class DataSourceManager extends AbstractResourceManager {
         if (dataSourceProxy == null) {
             throw new ShouldNeverHappenException(String.format("resource: %s not found",resourceId));
         }
+        return rollbackWorker.branchRollback(xid, branchId, resourceId,
+            () -> doBranchRollback(dataSourceProxy, branchType, xid, branchId, resourceId, applicationData));
+    }
+
+    private BranchStatus doBranchRollback(DataSourceProxy dataSourceProxy, BranchType branchType, String xid,
+                                          long branchId, String resourceId, String applicationData) {
         try {
             UndoLogManagerFactory.getUndoLogManager(dataSourceProxy.getDbType()).undo(dataSourceProxy, xid, branchId);
             if (LOGGER.isInfoEnabled()) {
@@ -137,6 +145,15 @@ public class DataSourceManager extends AbstractResourceManager {
 
     }
 
+    /**
+     * Get the rollback worker.
+     *
+     * @return the rollback worker
+     */
+    public RollbackWorker getRollbackWorker() {
+        return rollbackWorker;
+    }
+
     @Override
     public Map<String, Resource> getManagedResources() {
         return dataSourceCache;
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.seata.common.thread.NamedThreadFactory;
+import org.apache.seata.config.ConfigurationFactory;
+import org.apache.seata.core.model.BranchStatus;
+import org.apache.seata.core.rpc.netty.NettyClientConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_ROLLBACK_QUEUE_SIZE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_ROLLBACK_THREADS;
+import static org.apache.seata.core.constants.ConfigurationKeys.CLIENT_ROLLBACK_QUEUE_SIZE;
+import static org.apache.seata.core.constants.ConfigurationKeys.CLIENT_ROLLBACK_THREADS;
+
+/**
+ * Rolls back the branches of each resource on a worker pool of its own, so the branches of a resource
+ * roll back in parallel and a resource flooded with rollbacks can not hold up the others.
+ * The handler thread of a rollback waits for its result, so the rollbacks of a resource running or waiting
+ * on its pool are capped at half of the handler threads, the others are always left handler threads.
+ * A rollback past the cap, or finding the queue full, is reported to the TC as retryable at once
+ * instead of waiting, and the TC retries it later.
+ *
+ */
+public class RollbackWorker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RollbackWorker.class);
+
+    private static final int ROLLBACK_THREADS = ConfigurationFactory.getInstance().getInt(
+        CLIENT_ROLLBACK_THREADS, DEFAULT_CLIENT_ROLLBACK_THREADS);
+
+    private static final int ROLLBACK_QUEUE_SIZE = ConfigurationFactory.getInstance().getInt(
+        CLIENT_ROLLBACK_QUEUE_SIZE, DEFAULT_CLIENT_ROLLBACK_QUEUE_SIZE);
+
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    private final int threads;
+
+    private final int queueSize;
+
+    private final int maxPending;
+
+    private final Map<String, ThreadPoolExecutor> executors = new ConcurrentHashMap<>();
+
+    private final Map<String, Semaphore> pendingPermits = new ConcurrentHashMap<>();
+
+    private final LongAdder rollbackCount = new LongAdder();
+
+    private final LongAdder rollbackNanos = new LongAdder();
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public RollbackWorker() {
+        this(ROLLBACK_THREADS, ROLLBACK_QUEUE_SIZE, new NettyClientConfig().getClientWorkerThreads());
+    }
+
+    RollbackWorker(int threads, int queueSize, int handlerThreads) {
+        // by default a resource may roll back on as many threads as the handler pool, as it did on the handler threads
+        this.threads = threads < 0 ? handlerThreads : threads;
+        this.queueSize = queueSize;
+        this.maxPending = Math.max(1, Math.min(this.threads + queueSize, handlerThreads / 2));
+        LOGGER.info("Rollback worker threads per resource: {}, queue size: {}, max pending: {}",
+            this.threads, queueSize, maxPending);
+    }
+
+    /**
+     * Roll back a branch on the workers of its resource and wait for the result.
+     *
+     * @param xid        the xid
+     * @param branchId   the branch id
+     * @param resourceId the resource id
+     * @param rollback   the rollback of the branch
+     * @return the branch status
+     */
+    public BranchStatus branchRollback(String xid, long branchId, String resourceId, Supplier<BranchStatus> rollback) {
+        if (threads <= 0) {
+            return rollback.get();
+        }
+        Semaphore permits = pendingPermits.computeIfAbsent(resourceId, k -> new Semaphore(maxPending));
+        if (!permits.tryAcquire()) {
+            return reject(xid, branchId, resourceId);
+        }
+        long start = System.nanoTime();
+        Future<BranchStatus> future;
+        try {
+            future = executors.computeIfAbsent(resourceId, this::createExecutor).submit(rollback::get);
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            return reject(xid, branchId, resourceId);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return BranchStatus.PhaseTwo_RollbackFailed_Retryable;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            permits.release();
+            rollbackCount.increment();
+            rollbackNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private BranchStatus reject(String xid, long branchId, String resourceId) {
+        rejectedCount.increment();
+        LOGGER.warn("The rollbacks of resource {} are full, the branch will be retried by the TC, xid:{}, branchId:{}",
+            resourceId, xid, branchId);
+        return BranchStatus.PhaseTwo_RollbackFailed_Retryable;
+    }
+
+    private ThreadPoolExecutor createExecutor(String resourceId) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(queueSize), new NamedThreadFactory("RollbackWorker", threads, true));
+        // the workers of an idle resource exit
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Get the number of branches waiting to roll back on a resource.
+     *
+     * @param resourceId the resource id
+     * @return the queue depth
+     */
+    public int getQueueDepth(String resourceId) {
+        ThreadPoolExecutor executor = executors.get(resourceId);
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    /**
+     * Get the number of branches waiting to roll back on all the resources.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (ThreadPoolExecutor executor : executors.values()) {
+            depth += executor.getQueue().size();
+        }
+        return depth;
+    }
+
+    /**
+     * Get the number of rollbacks turned away because the queue of their resource was full.
+     *
+     * @return the rejected count
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Get the average time of a rollback on the workers, including the time waiting in the queue.
+     *
+     * @return the average latency in milliseconds
+     */
+    public double getAverageLatencyMillis() {
+        long count = rollbackCount.sum();
+        return count == 0 ? 0 : rollbackNanos.sum() / 1_000_000.0 / count;
+    }
+}
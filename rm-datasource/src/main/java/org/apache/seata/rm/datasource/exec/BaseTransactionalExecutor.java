@@ -41,6 +41,7 @@ import org.apache.seata.sqlparser.util.ColumnUtils;
 import org.apache.seata.rm.datasource.ConnectionProxy;
 import org.apache.seata.rm.datasource.SqlGenerateUtils;
 import org.apache.seata.rm.datasource.StatementProxy;
+import org.apache.seata.rm.datasource.sql.struct.ColumnarRecords;
 import org.apache.seata.rm.datasource.sql.struct.Field;
 import org.apache.seata.sqlparser.struct.TableMeta;
 import org.apache.seata.rm.datasource.sql.struct.TableMetaCacheFactory;
@@ -435,6 +436,24 @@ public abstract class BaseTransactionalExecutor<T, S extends Statement> implemen
         StringBuilder sb = new StringBuilder();
         sb.append(rowsIncludingPK.getTableMeta().getTableName());
         sb.append(":");
+        ColumnarRecords columnar = rowsIncludingPK.columnar();
+        if (columnar != null && columnar.hasAllPrimaryKeys()) {
+            int[] pkIndexes = columnar.getPkIndexes();
+            for (int r = 0; r < columnar.size(); r++) {
+                if (r > 0) {
+                    sb.append(",");
+                }
+                for (int p = 0; p < pkIndexes.length; p++) {
+                    if (p > 0) {
+                        sb.append("_");
+                    }
+                    Object pkVal = columnar.getValue(r, pkIndexes[p]);
+                    validPk(String.valueOf(pkVal));
+                    sb.append(pkVal);
+                }
+            }
+            return sb.toString();
+        }
         int rowSequence = 0;
         List<Map<String, Field>> pksRows = rowsIncludingPK.pkRows();
         List<String> primaryKeysOnlyName = rowsIncludingPK.getTableMeta().getPrimaryKeyOnlyName();
@@ -16,6 +16,9 @@
  */
 package org.apache.seata.rm.datasource.sql;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.apache.seata.common.loader.EnhancedServiceLoader;
 import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.constants.ConfigurationKeys;
@@ -23,7 +26,12 @@ import org.apache.seata.sqlparser.SQLRecognizer;
 import org.apache.seata.sqlparser.SQLRecognizerFactory;
 import org.apache.seata.sqlparser.SqlParserType;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.apache.seata.common.DefaultValues.DEFAULT_SQL_PARSER_CACHE_SIZE;
 
 
 public class SQLVisitorFactory {
@@ -32,9 +40,22 @@ public class SQLVisitorFactory {
      */
     private final static SQLRecognizerFactory SQL_RECOGNIZER_FACTORY;
 
+    /**
+     * The max number of sql texts cached per db type, 0 disables the cache.
+     */
+    private final static int CACHE_SIZE;
+
+    /**
+     * The recognizers parsed from the sql text, per db type.
+     * A recognizer only holds the parsed statement, the parameters are bound by the executor on each execution,
+     * so the same recognizers can be shared by every execution of the sql.
+     */
+    private final static Map<String, Cache<String, List<SQLRecognizer>>> RECOGNIZER_CACHES = new ConcurrentHashMap<>();
+
     static {
         String sqlParserType = ConfigurationFactory.getInstance().getConfig(ConfigurationKeys.SQL_PARSER_TYPE, SqlParserType.SQL_PARSER_TYPE_DRUID);
         SQL_RECOGNIZER_FACTORY = EnhancedServiceLoader.load(SQLRecognizerFactory.class, sqlParserType);
+        CACHE_SIZE = ConfigurationFactory.getInstance().getInt(ConfigurationKeys.SQL_PARSER_CACHE_SIZE, DEFAULT_SQL_PARSER_CACHE_SIZE);
     }
 
     /**
@@ -45,8 +66,30 @@ public class SQLVisitorFactory {
      * @return the sql recognizer
      */
     public static List<SQLRecognizer> get(String sql, String dbType) {
-        return SQL_RECOGNIZER_FACTORY.create(sql, dbType);
+        if (CACHE_SIZE <= 0 || sql == null || dbType == null) {
+            return SQL_RECOGNIZER_FACTORY.create(sql, dbType);
+        }
+        Cache<String, List<SQLRecognizer>> cache = RECOGNIZER_CACHES.computeIfAbsent(dbType,
+            k -> Caffeine.newBuilder().maximumSize(CACHE_SIZE).recordStats().build());
+        // a sql that can not be parsed is not cached, it fails on every execution
+        List<SQLRecognizer> sqlRecognizers = cache.get(sql, k -> {
+            List<SQLRecognizer> recognizers = SQL_RECOGNIZER_FACTORY.create(k, dbType);
+            return recognizers == null ? Collections.emptyList() : Collections.unmodifiableList(recognizers);
+        });
+        return sqlRecognizers.isEmpty() ? null : sqlRecognizers;
     }
 
+    /**
+     * Get the hit and miss statistics of the recognizer cache of all the db types.
+     *
+     * @return the cache stats
+     */
+    public static CacheStats getCacheStats() {
+        CacheStats stats = CacheStats.empty();
+        for (Cache<String, List<SQLRecognizer>> cache : RECOGNIZER_CACHES.values()) {
+            stats = stats.plus(cache.stats());
+        }
+        return stats;
+    }
 
 }
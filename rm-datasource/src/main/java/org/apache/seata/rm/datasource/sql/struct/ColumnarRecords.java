@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.sql.struct;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.seata.sqlparser.struct.ColumnMeta;
+import org.apache.seata.sqlparser.struct.TableMeta;
+
+/**
+ * The rows of a table image held by column. The name, type and key type of a column are held once,
+ * the values of a column are held in an array of their own, instead of a {@link Field} for every cell.
+ *
+ */
+public class ColumnarRecords {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final String[] names;
+
+    private final int[] types;
+
+    private final boolean[] primaryKeys;
+
+    /**
+     * the column index of each primary key, in the order of {@link TableMeta#getPrimaryKeyOnlyName()},
+     * -1 if the primary key is not selected
+     */
+    private final int[] pkIndexes;
+
+    private Object[][] columns;
+
+    private int size;
+
+    /**
+     * Instantiates a new Columnar records.
+     *
+     * @param names       the column names
+     * @param types       the column types
+     * @param primaryKeys whether each column is a primary key
+     * @param pkIndexes   the column index of each primary key
+     */
+    public ColumnarRecords(String[] names, int[] types, boolean[] primaryKeys, int[] pkIndexes) {
+        this.names = names;
+        this.types = types;
+        this.primaryKeys = primaryKeys;
+        this.pkIndexes = pkIndexes;
+        this.columns = new Object[names.length][INITIAL_CAPACITY];
+    }
+
+    /**
+     * Capture the rows of the result set.
+     *
+     * @param tmeta     the table meta
+     * @param resultSet the result set
+     * @return the columnar records
+     * @throws SQLException the sql exception
+     */
+    public static ColumnarRecords build(TableMeta tmeta, ResultSet resultSet) throws SQLException {
+        ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
+        Set<String> ignoreCasePKs = tmeta.getCaseInsensitivePKs();
+        int columnCount = resultSetMetaData.getColumnCount();
+        ColumnarRecords records = null;
+        while (resultSet.next()) {
+            if (records == null) {
+                // the columns are resolved on the first row, an empty result is not checked against the table meta
+                records = columns(tmeta, resultSetMetaData, ignoreCasePKs, columnCount);
+            }
+            records.ensureCapacity(records.size + 1);
+            for (int i = 0; i < columnCount; i++) {
+                records.columns[i][records.size] = TableRecords.getColumnValue(resultSet, i + 1, records.types[i]);
+            }
+            records.size++;
+        }
+        return records != null ? records : new ColumnarRecords(new String[0], new int[0], new boolean[0], new int[0]);
+    }
+
+    private static ColumnarRecords columns(TableMeta tmeta, ResultSetMetaData resultSetMetaData,
+                                           Set<String> ignoreCasePKs, int columnCount) throws SQLException {
+        String[] names = new String[columnCount];
+        int[] types = new int[columnCount];
+        boolean[] primaryKeys = new boolean[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            String colName = resultSetMetaData.getColumnName(i + 1);
+            ColumnMeta col = TableRecords.getColumnMeta(tmeta, colName);
+            names[i] = col.getColumnName();
+            types[i] = col.getDataType();
+            primaryKeys[i] = ignoreCasePKs.contains(colName);
+        }
+        return new ColumnarRecords(names, types, primaryKeys, pkIndexes(names, tmeta.getPrimaryKeyOnlyName()));
+    }
+
+    private static int[] pkIndexes(String[] names, List<String> pkNames) {
+        int[] pkIndexes = new int[pkNames.size()];
+        for (int p = 0; p < pkIndexes.length; p++) {
+            pkIndexes[p] = -1;
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(pkNames.get(p))) {
+                    pkIndexes[p] = i;
+                    break;
+                }
+            }
+        }
+        return pkIndexes;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (columns.length == 0 || columns[0].length >= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, columns[0].length * 2);
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = Arrays.copyOf(columns[i], newCapacity);
+        }
+    }
+
+    /**
+     * Add a row.
+     *
+     * @param values the value of each column
+     */
+    public void add(Object[] values) {
+        if (values.length != names.length) {
+            throw new IllegalArgumentException("expect " + names.length + " values, but got " + values.length);
+        }
+        ensureCapacity(size + 1);
+        for (int i = 0; i < values.length; i++) {
+            columns[i][size] = values[i];
+        }
+        size++;
+    }
+
+    /**
+     * Append the rows of the other records if they have the same columns.
+     *
+     * @param other the other records
+     * @return true if appended
+     */
+    public boolean append(ColumnarRecords other) {
+        if (!Arrays.equals(names, other.names) || !Arrays.equals(types, other.types)
+            || !Arrays.equals(primaryKeys, other.primaryKeys)) {
+            return false;
+        }
+        ensureCapacity(size + other.size);
+        for (int i = 0; i < columns.length; i++) {
+            System.arraycopy(other.columns[i], 0, columns[i], size, other.size);
+        }
+        size += other.size;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getColumnCount() {
+        return names.length;
+    }
+
+    public String getName(int column) {
+        return names[column];
+    }
+
+    public int getType(int column) {
+        return types[column];
+    }
+
+    public boolean isPrimaryKey(int column) {
+        return primaryKeys[column];
+    }
+
+    public Object getValue(int row, int column) {
+        return columns[column][row];
+    }
+
+    /**
+     * Get the column index of each primary key, in the order of {@link TableMeta#getPrimaryKeyOnlyName()}.
+     *
+     * @return the column indexes, -1 if the primary key is not selected
+     */
+    public int[] getPkIndexes() {
+        return pkIndexes;
+    }
+
+    /**
+     * Whether every primary key of the table is selected.
+     *
+     * @return true if all the primary keys are selected
+     */
+    public boolean hasAllPrimaryKeys() {
+        for (int pkIndex : pkIndexes) {
+            if (pkIndex < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Build the key of a row from its primary key values.
+     *
+     * @param row the row
+     * @return the row key
+     */
+    public String pkKey(int row) {
+        if (pkIndexes.length == 1) {
+            return String.valueOf(pkIndexes[0] < 0 ? null : columns[pkIndexes[0]][row]);
+        }
+        StringBuilder key = new StringBuilder();
+        for (int p = 0; p < pkIndexes.length; p++) {
+            if (p > 0) {
+                key.append('_');
+            }
+            key.append(pkIndexes[p] < 0 ? null : columns[pkIndexes[p]][row]);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Build the primary key fields of a row.
+     *
+     * @param row the row
+     * @return the pk column name and field
+     */
+    public Map<String, Field> pkRow(int row) {
+        Map<String, Field> pkRow = new HashMap<>(3);
+        for (int pkIndex : pkIndexes) {
+            if (pkIndex >= 0) {
+                pkRow.put(names[pkIndex], getField(row, pkIndex));
+            }
+        }
+        return pkRow;
+    }
+
+    /**
+     * Expand the records to rows of fields.
+     *
+     * @return the rows
+     */
+    public List<Row> toRows() {
+        List<Row> rows = new ArrayList<>(size);
+        for (int r = 0; r < size; r++) {
+            List<Field> fields = new ArrayList<>(names.length);
+            for (int i = 0; i < names.length; i++) {
+                fields.add(getField(r, i));
+            }
+            Row row = new Row();
+            row.setFields(fields);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Build the field of a cell.
+     *
+     * @param row    the row
+     * @param column the column
+     * @return the field
+     */
+    public Field getField(int row, int column) {
+        Field field = new Field(names[column], types[column], columns[column][row]);
+        if (primaryKeys[column]) {
+            field.setKeyType(KeyType.PRIMARY_KEY);
+        }
+        return field;
+    }
+}
@@ -16,20 +16,20 @@
  */
 package org.apache.seata.rm.datasource.sql.struct;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.sql.Array;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.NClob;
 import java.sql.Ref;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import javax.sql.rowset.serial.SerialBlob;
 import javax.sql.rowset.serial.SerialClob;
 import javax.sql.rowset.serial.SerialDatalink;
@@ -60,6 +60,11 @@ public class TableRecords implements java.io.Serializable {
 
     private List<Row> rows = new ArrayList<Row>();
 
+    /**
+     * the rows captured by column, they are expanded to {@link #rows} when the rows are asked for
+     */
+    private transient ColumnarRecords columnar;
+
     /**
      * Gets table name.
      *
@@ -84,6 +89,10 @@ public class TableRecords implements java.io.Serializable {
      * @return the rows
      */
     public List<Row> getRows() {
+        if (columnar != null) {
+            rows = columnar.toRows();
+            columnar = null;
+        }
         return rows;
     }
 
@@ -94,6 +103,16 @@ public class TableRecords implements java.io.Serializable {
      */
     public void setRows(List<Row> rows) {
         this.rows = rows;
+        this.columnar = null;
+    }
+
+    /**
+     * Gets the rows captured by column, not named as a getter so that the json parsers skip it.
+     *
+     * @return the columnar records, null if the rows have been expanded
+     */
+    public ColumnarRecords columnar() {
+        return columnar;
     }
 
     /**
@@ -131,7 +150,7 @@ public class TableRecords implements java.io.Serializable {
      * @return the int
      */
     public int size() {
-        return rows.size();
+        return columnar != null ? columnar.size() : rows.size();
     }
 
     /**
@@ -140,7 +159,21 @@ public class TableRecords implements java.io.Serializable {
      * @param row the row
      */
     public void add(Row row) {
-        rows.add(row);
+        getRows().add(row);
+    }
+
+    /**
+     * Add all the rows of the records, keeping them by column if both are.
+     *
+     * @param records the records
+     */
+    public void addAll(TableRecords records) {
+        ColumnarRecords other = records.columnar();
+        if (other != null && columnar == null && rows.isEmpty()) {
+            columnar = other;
+        } else if (other == null || columnar == null || !columnar.append(other)) {
+            getRows().addAll(records.getRows());
+        }
     }
 
     /**
@@ -149,6 +182,13 @@ public class TableRecords implements java.io.Serializable {
      * @return return a list. each element of list is a map,the map hold the pk column name as a key and field as the value
      */
     public List<Map<String,Field>> pkRows() {
+        if (columnar != null) {
+            List<Map<String, Field>> pkRows = new ArrayList<>(columnar.size());
+            for (int r = 0; r < columnar.size(); r++) {
+                pkRows.add(columnar.pkRow(r));
+            }
+            return pkRows;
+        }
         final Map<String, ColumnMeta> primaryKeyMap = getTableMeta().getPrimaryKeyMap();
         List<Map<String,Field>> pkRows = new ArrayList<>();
         for (Row row : rows) {
@@ -193,75 +233,49 @@ public class TableRecords implements java.io.Serializable {
      */
     public static TableRecords buildRecords(TableMeta tmeta, ResultSet resultSet) throws SQLException {
         TableRecords records = new TableRecords(tmeta);
-        ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
-        Set<String> ignoreCasePKs = tmeta.getCaseInsensitivePKs();
-        int columnCount = resultSetMetaData.getColumnCount();
-
-        while (resultSet.next()) {
-            List<Field> fields = new ArrayList<>(columnCount);
-            for (int i = 1; i <= columnCount; i++) {
-                String colName = resultSetMetaData.getColumnName(i);
-                ColumnMeta col = getColumnMeta(tmeta,colName);
-                int dataType = col.getDataType();
-                Field field = new Field();
-                field.setName(col.getColumnName());
-                if (ignoreCasePKs.contains(colName)) {
-                    field.setKeyType(KeyType.PRIMARY_KEY);
-                }
-                field.setType(dataType);
-                // mysql will not run in this code
-                // cause mysql does not use java.sql.Blob, java.sql.sql.Clob to process Blob and Clob column
-                if (dataType == Types.BLOB) {
-                    Blob blob = resultSet.getBlob(i);
-                    if (blob != null) {
-                        field.setValue(new SerialBlob(blob));
-                    }
-                } else if (dataType == Types.CLOB) {
-                    Clob clob = resultSet.getClob(i);
-                    if (clob != null) {
-                        field.setValue(new SerialClob(clob));
-                    }
-                } else if (dataType == Types.NCLOB) {
-                    NClob object = resultSet.getNClob(i);
-                    if (object != null) {
-                        field.setValue(new SerialClob(object));
-                    }
-                } else if (dataType == Types.ARRAY) {
-                    Array array = resultSet.getArray(i);
-                    if (array != null) {
-                        field.setValue(new SerialArray(array));
-                    }
-                } else if (dataType == Types.REF) {
-                    Ref ref = resultSet.getRef(i);
-                    if (ref != null) {
-                        field.setValue(new SerialRef(ref));
-                    }
-                } else if (dataType == Types.DATALINK) {
-                    java.net.URL url = resultSet.getURL(i);
-                    if (url != null) {
-                        field.setValue(new SerialDatalink(url));
-                    }
-                } else if (dataType == Types.JAVA_OBJECT) {
-                    Object object = resultSet.getObject(i);
-                    if (object != null) {
-                        field.setValue(new SerialJavaObject(object));
-                    }
-                } else if (dataType == TIMESTAMP_WITH_TIME_ZONE || dataType == TIMESTAMP_WITH_LOCAL_TIME_ZONE) {
-                    field.setValue(convertOffSetTime(timeToOffsetDateTime(resultSet.getBytes(i))));
-                } else {
-                    // JDBCType.DISTINCT, JDBCType.STRUCT etc...
-                    field.setValue(holdSerialDataType(resultSet.getObject(i)));
-                }
-
-                fields.add(field);
-            }
-
-            Row row = new Row();
-            row.setFields(fields);
+        records.columnar = ColumnarRecords.build(tmeta, resultSet);
+        return records;
+    }
 
-            records.add(row);
+    /**
+     * Get the value of a column of the current row, the large objects are read into serializable values.
+     *
+     * @param resultSet the result set
+     * @param i         the column index
+     * @param dataType  the data type of the column
+     * @return the value
+     * @throws SQLException the sql exception
+     */
+    static Object getColumnValue(ResultSet resultSet, int i, int dataType) throws SQLException {
+        // mysql will not run in this code
+        // cause mysql does not use java.sql.Blob, java.sql.sql.Clob to process Blob and Clob column
+        if (dataType == Types.BLOB) {
+            Blob blob = resultSet.getBlob(i);
+            return blob == null ? null : new SerialBlob(blob);
+        } else if (dataType == Types.CLOB) {
+            Clob clob = resultSet.getClob(i);
+            return clob == null ? null : new SerialClob(clob);
+        } else if (dataType == Types.NCLOB) {
+            NClob object = resultSet.getNClob(i);
+            return object == null ? null : new SerialClob(object);
+        } else if (dataType == Types.ARRAY) {
+            Array array = resultSet.getArray(i);
+            return array == null ? null : new SerialArray(array);
+        } else if (dataType == Types.REF) {
+            Ref ref = resultSet.getRef(i);
+            return ref == null ? null : new SerialRef(ref);
+        } else if (dataType == Types.DATALINK) {
+            java.net.URL url = resultSet.getURL(i);
+            return url == null ? null : new SerialDatalink(url);
+        } else if (dataType == Types.JAVA_OBJECT) {
+            Object object = resultSet.getObject(i);
+            return object == null ? null : new SerialJavaObject(object);
+        } else if (dataType == TIMESTAMP_WITH_TIME_ZONE || dataType == TIMESTAMP_WITH_LOCAL_TIME_ZONE) {
+            return convertOffSetTime(timeToOffsetDateTime(resultSet.getBytes(i)));
+        } else {
+            // JDBCType.DISTINCT, JDBCType.STRUCT etc...
+            return holdSerialDataType(resultSet.getObject(i));
         }
-        return records;
     }
 
     /**
@@ -270,7 +284,7 @@ public class TableRecords implements java.io.Serializable {
      * @param tmeta the table meta
      * @param colName the column nmae
      */
-    private static ColumnMeta getColumnMeta(TableMeta tmeta , String colName) throws SQLException {
+    static ColumnMeta getColumnMeta(TableMeta tmeta , String colName) throws SQLException {
         ColumnMeta col = tmeta.getColumnMeta(colName);
         if (col == null) {
             throw new TableMetaException(tmeta.getTableName(), colName);
@@ -308,6 +322,11 @@ public class TableRecords implements java.io.Serializable {
         return data;
     }
 
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getRows();
+        out.defaultWriteObject();
+    }
+
     public static class EmptyTableRecords extends TableRecords {
 
         public EmptyTableRecords() {}
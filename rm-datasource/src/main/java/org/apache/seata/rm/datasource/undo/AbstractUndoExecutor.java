@@ -19,10 +19,12 @@ package org.apache.seata.rm.datasource.undo;
 import java.io.ByteArrayInputStream;
 import java.sql.Array;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.JDBCType;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -52,6 +54,7 @@ import org.apache.seata.sqlparser.util.ColumnUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static org.apache.seata.common.DefaultValues.DEFAULT_TRANSACTION_UNDO_BATCH_SIZE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_TRANSACTION_UNDO_DATA_VALIDATION;
 
 /**
@@ -77,6 +80,12 @@ public abstract class AbstractUndoExecutor {
     public static final boolean IS_UNDO_DATA_VALIDATION_ENABLE = ConfigurationFactory.getInstance()
             .getBoolean(ConfigurationKeys.TRANSACTION_UNDO_DATA_VALIDATION, DEFAULT_TRANSACTION_UNDO_DATA_VALIDATION);
 
+    /**
+     * The max number of undo rows executed in one jdbc batch, 1 executes the undo sql row by row
+     */
+    public static final int UNDO_BATCH_SIZE = ConfigurationFactory.getInstance()
+            .getInt(ConfigurationKeys.TRANSACTION_UNDO_BATCH_SIZE, DEFAULT_TRANSACTION_UNDO_BATCH_SIZE);
+
     /**
      * The Sql undo log.
      */
@@ -122,20 +131,7 @@ public abstract class AbstractUndoExecutor {
         try {
             String undoSQL = buildUndoSQL();
             undoPST = conn.prepareStatement(undoSQL);
-            TableRecords undoRows = getUndoRows();
-            for (Row undoRow : undoRows.getRows()) {
-                ArrayList<Field> undoValues = new ArrayList<>();
-                List<Field> pkValueList = getOrderedPkList(undoRows, undoRow, connectionProxy.getDbType());
-                for (Field field : undoRow.getFields()) {
-                    if (field.getKeyType() != KeyType.PRIMARY_KEY) {
-                        undoValues.add(field);
-                    }
-                }
-
-                undoPrepare(undoPST, undoValues, pkValueList);
-
-                undoPST.executeUpdate();
-            }
+            executeUndo(conn, undoPST, getUndoRows(), connectionProxy.getDbType());
 
         } catch (Exception ex) {
             if (ex instanceof SQLException) {
@@ -151,6 +147,84 @@ public abstract class AbstractUndoExecutor {
 
     }
 
+    /**
+     * Bind the undo sql with each undo row and execute it. If the driver supports batch updates,
+     * the rows are sent in batches of {@link #UNDO_BATCH_SIZE} rows instead of one round trip per row.
+     *
+     * @param conn     the target connection
+     * @param undoPST  the undo pst
+     * @param undoRows the undo rows
+     * @param dbType   the db type
+     * @throws SQLException the sql exception
+     */
+    protected void executeUndo(Connection conn, PreparedStatement undoPST, TableRecords undoRows, String dbType)
+            throws SQLException {
+        boolean batch = undoRows.size() > 1 && isUndoBatchSupported(conn);
+        ArrayList<Field> undoValues = new ArrayList<>();
+        int batchRows = 0;
+        for (Row undoRow : undoRows.getRows()) {
+            undoValues.clear();
+            List<Field> pkValueList = getOrderedPkList(undoRows, undoRow, dbType);
+            for (Field field : undoRow.getFields()) {
+                if (field.getKeyType() != KeyType.PRIMARY_KEY) {
+                    undoValues.add(field);
+                }
+            }
+
+            undoPrepare(undoPST, undoValues, pkValueList);
+
+            if (!batch) {
+                checkUndoRow(undoPST.executeUpdate());
+                continue;
+            }
+            undoPST.addBatch();
+            if (++batchRows == UNDO_BATCH_SIZE) {
+                checkUndoBatch(undoPST.executeBatch(), batchRows);
+                batchRows = 0;
+            }
+        }
+        if (batchRows > 0) {
+            checkUndoBatch(undoPST.executeBatch(), batchRows);
+        }
+    }
+
+    /**
+     * Whether the undo sql can be executed in jdbc batches.
+     *
+     * @param conn the target connection
+     * @return true if the undo rows are executed in batches
+     * @throws SQLException the sql exception
+     */
+    protected boolean isUndoBatchSupported(Connection conn) throws SQLException {
+        if (UNDO_BATCH_SIZE <= 1) {
+            return false;
+        }
+        DatabaseMetaData metaData = conn.getMetaData();
+        return metaData != null && metaData.supportsBatchUpdates();
+    }
+
+    private void checkUndoRow(int affected) throws SQLException {
+        // each undo row is located by its primary key, so it must affect exactly one row
+        if (affected != 1) {
+            throw new SQLException("Undo of table " + sqlUndoLog.getTableName() + " failed, a row affected "
+                    + affected + " rows");
+        }
+    }
+
+    private void checkUndoBatch(int[] affectedRows, int batchRows) throws SQLException {
+        if (affectedRows.length != batchRows) {
+            throw new SQLException("Undo batch of table " + sqlUndoLog.getTableName() + " executed "
+                    + affectedRows.length + " of " + batchRows + " rows");
+        }
+        // a driver may only report that a batched row succeeded, not how many rows it affected
+        for (int affected : affectedRows) {
+            if (affected != 1 && affected != Statement.SUCCESS_NO_INFO) {
+                throw new SQLException("Undo batch of table " + sqlUndoLog.getTableName() + " failed, a row affected "
+                        + affected + " rows");
+            }
+        }
+    }
+
     /**
      * Undo prepare.
      *
@@ -331,7 +405,7 @@ public abstract class AbstractUndoExecutor {
                 totalRowIndex += sqlCondition.getRowSize();
 
                 checkSet = statement.executeQuery();
-                currentRecords.getRows().addAll(TableRecords.buildRecords(tableMeta, checkSet).getRows());
+                currentRecords.addAll(TableRecords.buildRecords(tableMeta, checkSet));
             } finally {
                 IOUtil.close(checkSet, statement);
             }
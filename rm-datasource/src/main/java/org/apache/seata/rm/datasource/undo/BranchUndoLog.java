@@ -18,6 +18,8 @@ package org.apache.seata.rm.datasource.undo;
 
 import java.util.List;
 
+import org.apache.seata.rm.datasource.sql.struct.TableRecords;
+
 /**
  * The type Branch undo log.
  *
@@ -85,4 +87,24 @@ public class BranchUndoLog implements java.io.Serializable {
     public void setSqlUndoLogs(List<SQLUndoLog> sqlUndoLogs) {
         this.sqlUndoLogs = sqlUndoLogs;
     }
+
+    /**
+     * Expand the images captured by column into rows,
+     * required by the parsers serializing the fields of the images.
+     */
+    public void expandImages() {
+        if (sqlUndoLogs == null) {
+            return;
+        }
+        for (SQLUndoLog sqlUndoLog : sqlUndoLogs) {
+            expandImage(sqlUndoLog.getBeforeImage());
+            expandImage(sqlUndoLog.getAfterImage());
+        }
+    }
+
+    private static void expandImage(TableRecords image) {
+        if (image != null) {
+            image.getRows();
+        }
+    }
 }
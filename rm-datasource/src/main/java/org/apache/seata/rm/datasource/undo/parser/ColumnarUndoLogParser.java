@@ -0,0 +1,775 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.undo.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
+
+import org.apache.seata.common.exception.NotSupportYetException;
+import org.apache.seata.common.exception.ShouldNeverHappenException;
+import org.apache.seata.common.loader.LoadLevel;
+import org.apache.seata.rm.datasource.sql.struct.ColumnarRecords;
+import org.apache.seata.rm.datasource.sql.struct.Field;
+import org.apache.seata.rm.datasource.sql.struct.KeyType;
+import org.apache.seata.rm.datasource.sql.struct.Row;
+import org.apache.seata.rm.datasource.sql.struct.TableRecords;
+import org.apache.seata.rm.datasource.undo.BranchUndoLog;
+import org.apache.seata.rm.datasource.undo.SQLUndoLog;
+import org.apache.seata.rm.datasource.undo.UndoLogParser;
+import org.apache.seata.sqlparser.SQLType;
+
+/**
+ * The binary columnar undo log parser. The first byte is the format version, the integers are written
+ * as zigzag varints and the strings as UTF-8 with a null marker.
+ * An image is written as segments of rows with the same columns, the name, type and key type of a column
+ * are written once per segment, followed by the values of each column. When the values of a column
+ * are of the same class, the class is written once with a bitmap of the null values.
+ * The table and column names are written once per branch undo log, then referenced by their index.
+ * The value classes returned by the jdbc drivers for the usual column types are written natively, any other
+ * serializable value, such as a SerialArray, a SerialJavaObject or a UUID, is written with java serialization.
+ * A value that is not serializable is not supported, the other parsers should be used for its table.
+ * New fields must be appended behind a new version, the readers of older versions are kept.
+ *
+ */
+@LoadLevel(name = ColumnarUndoLogParser.NAME)
+public class ColumnarUndoLogParser implements UndoLogParser {
+
+    public static final String NAME = "columnar";
+
+    static final byte VERSION_1 = 1;
+
+    private static final byte IMAGE_NULL = 0;
+
+    private static final byte IMAGE_EMPTY = 1;
+
+    private static final byte IMAGE_RECORDS = 2;
+
+    private static final byte TAG_NULL = 0;
+
+    private static final byte TAG_MIXED = 1;
+
+    private static final byte TAG_STRING = 2;
+
+    private static final byte TAG_INTEGER = 3;
+
+    private static final byte TAG_LONG = 4;
+
+    private static final byte TAG_SHORT = 5;
+
+    private static final byte TAG_BYTE = 6;
+
+    private static final byte TAG_BOOLEAN = 7;
+
+    private static final byte TAG_DOUBLE = 8;
+
+    private static final byte TAG_FLOAT = 9;
+
+    private static final byte TAG_BIG_DECIMAL = 10;
+
+    private static final byte TAG_BIG_INTEGER = 11;
+
+    private static final byte TAG_BYTES = 12;
+
+    private static final byte TAG_TIMESTAMP = 13;
+
+    private static final byte TAG_SQL_DATE = 14;
+
+    private static final byte TAG_SQL_TIME = 15;
+
+    private static final byte TAG_DATE = 16;
+
+    private static final byte TAG_LOCAL_DATE_TIME = 17;
+
+    private static final byte TAG_LOCAL_DATE = 18;
+
+    private static final byte TAG_LOCAL_TIME = 19;
+
+    private static final byte TAG_BLOB = 20;
+
+    private static final byte TAG_CLOB = 21;
+
+    private static final byte TAG_CHARACTER = 22;
+
+    private static final byte TAG_SERIALIZED = 23;
+
+    private static final Map<Class<?>, Byte> TAGS = new HashMap<>();
+
+    static {
+        TAGS.put(String.class, TAG_STRING);
+        TAGS.put(Integer.class, TAG_INTEGER);
+        TAGS.put(Long.class, TAG_LONG);
+        TAGS.put(Short.class, TAG_SHORT);
+        TAGS.put(Byte.class, TAG_BYTE);
+        TAGS.put(Boolean.class, TAG_BOOLEAN);
+        TAGS.put(Double.class, TAG_DOUBLE);
+        TAGS.put(Float.class, TAG_FLOAT);
+        TAGS.put(BigDecimal.class, TAG_BIG_DECIMAL);
+        TAGS.put(BigInteger.class, TAG_BIG_INTEGER);
+        TAGS.put(byte[].class, TAG_BYTES);
+        TAGS.put(Timestamp.class, TAG_TIMESTAMP);
+        TAGS.put(java.sql.Date.class, TAG_SQL_DATE);
+        TAGS.put(java.sql.Time.class, TAG_SQL_TIME);
+        TAGS.put(java.util.Date.class, TAG_DATE);
+        TAGS.put(LocalDateTime.class, TAG_LOCAL_DATE_TIME);
+        TAGS.put(LocalDate.class, TAG_LOCAL_DATE);
+        TAGS.put(LocalTime.class, TAG_LOCAL_TIME);
+        TAGS.put(SerialBlob.class, TAG_BLOB);
+        TAGS.put(SerialClob.class, TAG_CLOB);
+        TAGS.put(Character.class, TAG_CHARACTER);
+    }
+
+    @Override
+    public String getName() {
+        return ColumnarUndoLogParser.NAME;
+    }
+
+    @Override
+    public byte[] getDefaultContent() {
+        return encode(new BranchUndoLog());
+    }
+
+    @Override
+    public byte[] encode(BranchUndoLog branchUndoLog) {
+        Output out = new Output(256);
+        out.writeByte(VERSION_1);
+        out.writeString(branchUndoLog.getXid());
+        out.writeVarLong(branchUndoLog.getBranchId());
+        List<SQLUndoLog> sqlUndoLogs = branchUndoLog.getSqlUndoLogs();
+        if (sqlUndoLogs == null) {
+            out.writeVarLong(0);
+            return out.toByteArray();
+        }
+        out.writeVarLong(sqlUndoLogs.size() + 1L);
+        for (SQLUndoLog sqlUndoLog : sqlUndoLogs) {
+            SQLType sqlType = sqlUndoLog.getSqlType();
+            out.writeVarLong(sqlType == null ? -1 : sqlType.value());
+            out.writeName(sqlUndoLog.getTableName());
+            writeImage(out, sqlUndoLog.getBeforeImage());
+            writeImage(out, sqlUndoLog.getAfterImage());
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public BranchUndoLog decode(byte[] bytes) {
+        BranchUndoLog branchUndoLog = new BranchUndoLog();
+        if (bytes.length == 0) {
+            return branchUndoLog;
+        }
+        Input in = new Input(bytes);
+        byte version = in.readByte();
+        if (version != VERSION_1) {
+            throw new IllegalArgumentException("unknown columnar undo log version: " + version);
+        }
+        branchUndoLog.setXid(in.readString());
+        branchUndoLog.setBranchId(in.readVarLong());
+        int count = in.readCount();
+        if (count == 0) {
+            return branchUndoLog;
+        }
+        List<SQLUndoLog> sqlUndoLogs = new ArrayList<>(count - 1);
+        for (int i = 1; i < count; i++) {
+            SQLUndoLog sqlUndoLog = new SQLUndoLog();
+            int sqlType = (int)in.readVarLong();
+            sqlUndoLog.setSqlType(sqlType < 0 ? null : SQLType.valueOf(sqlType));
+            sqlUndoLog.setTableName(in.readName());
+            sqlUndoLog.setBeforeImage(readImage(in));
+            sqlUndoLog.setAfterImage(readImage(in));
+            sqlUndoLogs.add(sqlUndoLog);
+        }
+        branchUndoLog.setSqlUndoLogs(sqlUndoLogs);
+        return branchUndoLog;
+    }
+
+    private static void writeImage(Output out, TableRecords image) {
+        if (image == null) {
+            out.writeByte(IMAGE_NULL);
+            return;
+        }
+        if (image instanceof TableRecords.EmptyTableRecords) {
+            out.writeByte(IMAGE_EMPTY);
+            return;
+        }
+        out.writeByte(IMAGE_RECORDS);
+        out.writeName(image.getTableName());
+        ColumnarRecords columnar = image.columnar();
+        List<ColumnarRecords> segments = columnar != null ? Arrays.asList(columnar) : segments(image.getRows());
+        out.writeVarLong(segments.size());
+        for (ColumnarRecords segment : segments) {
+            writeSegment(out, segment);
+        }
+    }
+
+    /**
+     * Group the consecutive rows with the same columns.
+     */
+    private static List<ColumnarRecords> segments(List<Row> rows) {
+        List<ColumnarRecords> segments = new ArrayList<>(1);
+        ColumnarRecords segment = null;
+        for (Row row : rows) {
+            List<Field> fields = row.getFields();
+            if (segment == null || !sameColumns(segment, fields)) {
+                int columnCount = fields.size();
+                String[] names = new String[columnCount];
+                int[] types = new int[columnCount];
+                boolean[] primaryKeys = new boolean[columnCount];
+                for (int c = 0; c < columnCount; c++) {
+                    Field field = fields.get(c);
+                    names[c] = field.getName();
+                    types[c] = field.getType();
+                    primaryKeys[c] = field.getKeyType() == KeyType.PRIMARY_KEY;
+                }
+                segment = new ColumnarRecords(names, types, primaryKeys, new int[0]);
+                segments.add(segment);
+            }
+            Object[] values = new Object[fields.size()];
+            for (int c = 0; c < values.length; c++) {
+                values[c] = fields.get(c).getValue();
+            }
+            segment.add(values);
+        }
+        return segments;
+    }
+
+    private static boolean sameColumns(ColumnarRecords segment, List<Field> fields) {
+        if (segment.getColumnCount() != fields.size()) {
+            return false;
+        }
+        for (int c = 0; c < fields.size(); c++) {
+            Field field = fields.get(c);
+            if (segment.getType(c) != field.getType()
+                || segment.isPrimaryKey(c) != (field.getKeyType() == KeyType.PRIMARY_KEY)
+                || !segment.getName(c).equals(field.getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeSegment(Output out, ColumnarRecords segment) {
+        int size = segment.size();
+        int columnCount = segment.getColumnCount();
+        out.writeVarLong(size);
+        out.writeVarLong(columnCount);
+        for (int c = 0; c < columnCount; c++) {
+            out.writeName(segment.getName(c));
+            out.writeVarLong(segment.getType(c));
+            out.writeBoolean(segment.isPrimaryKey(c));
+        }
+        for (int c = 0; c < columnCount; c++) {
+            byte columnTag = TAG_NULL;
+            boolean hasNull = false;
+            for (int r = 0; r < size; r++) {
+                Object value = segment.getValue(r, c);
+                if (value == null) {
+                    hasNull = true;
+                    continue;
+                }
+                byte tag = tagOf(value);
+                if (columnTag == TAG_NULL) {
+                    columnTag = tag;
+                } else if (columnTag != tag) {
+                    columnTag = TAG_MIXED;
+                }
+            }
+            out.writeByte(columnTag);
+            if (columnTag == TAG_NULL) {
+                continue;
+            }
+            if (columnTag == TAG_MIXED) {
+                for (int r = 0; r < size; r++) {
+                    Object value = segment.getValue(r, c);
+                    byte tag = value == null ? TAG_NULL : tagOf(value);
+                    out.writeByte(tag);
+                    writeValue(out, tag, value);
+                }
+                continue;
+            }
+            out.writeBoolean(hasNull);
+            if (hasNull) {
+                byte[] nulls = new byte[(size + 7) >>> 3];
+                for (int r = 0; r < size; r++) {
+                    if (segment.getValue(r, c) == null) {
+                        nulls[r >>> 3] |= (byte)(1 << (r & 7));
+                    }
+                }
+                out.writeRaw(nulls);
+            }
+            for (int r = 0; r < size; r++) {
+                Object value = segment.getValue(r, c);
+                if (value != null) {
+                    writeValue(out, columnTag, value);
+                }
+            }
+        }
+    }
+
+    private static byte tagOf(Object value) {
+        Byte tag = TAGS.get(value.getClass());
+        if (tag == null) {
+            if (value instanceof Serializable) {
+                return TAG_SERIALIZED;
+            }
+            throw new NotSupportYetException("the value class " + value.getClass().getName()
+                + " is not supported by the columnar undo log parser");
+        }
+        return tag;
+    }
+
+    private static void writeValue(Output out, byte tag, Object value) {
+        switch (tag) {
+            case TAG_NULL:
+                break;
+            case TAG_STRING:
+                out.writeString((String)value);
+                break;
+            case TAG_INTEGER:
+            case TAG_LONG:
+            case TAG_SHORT:
+            case TAG_BYTE:
+                out.writeVarLong(((Number)value).longValue());
+                break;
+            case TAG_BOOLEAN:
+                out.writeBoolean((Boolean)value);
+                break;
+            case TAG_DOUBLE:
+                out.writeFixedLong(Double.doubleToRawLongBits((Double)value));
+                break;
+            case TAG_FLOAT:
+                out.writeFixedLong(Float.floatToRawIntBits((Float)value));
+                break;
+            case TAG_BIG_DECIMAL:
+                BigDecimal decimal = (BigDecimal)value;
+                out.writeVarLong(decimal.scale());
+                out.writeBytes(decimal.unscaledValue().toByteArray());
+                break;
+            case TAG_BIG_INTEGER:
+                out.writeBytes(((BigInteger)value).toByteArray());
+                break;
+            case TAG_BYTES:
+                out.writeBytes((byte[])value);
+                break;
+            case TAG_TIMESTAMP:
+                Timestamp timestamp = (Timestamp)value;
+                out.writeVarLong(timestamp.getTime());
+                out.writeVarLong(timestamp.getNanos());
+                break;
+            case TAG_SQL_DATE:
+            case TAG_SQL_TIME:
+            case TAG_DATE:
+                out.writeVarLong(((java.util.Date)value).getTime());
+                break;
+            case TAG_LOCAL_DATE_TIME:
+                LocalDateTime dateTime = (LocalDateTime)value;
+                out.writeVarLong(dateTime.toLocalDate().toEpochDay());
+                out.writeVarLong(dateTime.toLocalTime().toNanoOfDay());
+                break;
+            case TAG_LOCAL_DATE:
+                out.writeVarLong(((LocalDate)value).toEpochDay());
+                break;
+            case TAG_LOCAL_TIME:
+                out.writeVarLong(((LocalTime)value).toNanoOfDay());
+                break;
+            case TAG_BLOB:
+                try {
+                    SerialBlob blob = (SerialBlob)value;
+                    out.writeBytes(blob.getBytes(1L, (int)blob.length()));
+                } catch (SQLException e) {
+                    throw new ShouldNeverHappenException(e);
+                }
+                break;
+            case TAG_CLOB:
+                try {
+                    SerialClob clob = (SerialClob)value;
+                    out.writeString(clob.getSubString(1L, (int)clob.length()));
+                } catch (SQLException e) {
+                    throw new ShouldNeverHappenException(e);
+                }
+                break;
+            case TAG_CHARACTER:
+                out.writeVarLong((Character)value);
+                break;
+            case TAG_SERIALIZED:
+                out.writeBytes(serialize(value));
+                break;
+            default:
+                throw new ShouldNeverHappenException("unknown value tag: " + tag);
+        }
+    }
+
+    private static TableRecords readImage(Input in) {
+        byte kind = in.readByte();
+        if (kind == IMAGE_NULL) {
+            return null;
+        }
+        if (kind == IMAGE_EMPTY) {
+            return new TableRecords.EmptyTableRecords();
+        }
+        if (kind != IMAGE_RECORDS) {
+            throw new IllegalArgumentException("unknown image kind in columnar undo log: " + kind);
+        }
+        TableRecords image = new TableRecords();
+        image.setTableName(in.readName());
+        int segmentCount = in.readCount();
+        List<Row> rows = new ArrayList<>();
+        for (int s = 0; s < segmentCount; s++) {
+            readSegment(in, rows);
+        }
+        image.setRows(rows);
+        return image;
+    }
+
+    private static void readSegment(Input in, List<Row> rows) {
+        int size = in.readCount();
+        int columnCount = in.readCount();
+        String[] names = new String[columnCount];
+        int[] types = new int[columnCount];
+        boolean[] primaryKeys = new boolean[columnCount];
+        for (int c = 0; c < columnCount; c++) {
+            names[c] = in.readName();
+            types[c] = (int)in.readVarLong();
+            primaryKeys[c] = in.readBoolean();
+        }
+        Object[][] columns = new Object[columnCount][];
+        for (int c = 0; c < columnCount; c++) {
+            Object[] values = new Object[size];
+            columns[c] = values;
+            byte columnTag = in.readByte();
+            if (columnTag == TAG_NULL) {
+                continue;
+            }
+            if (columnTag == TAG_MIXED) {
+                for (int r = 0; r < size; r++) {
+                    values[r] = readValue(in, in.readByte());
+                }
+                continue;
+            }
+            byte[] nulls = in.readBoolean() ? in.readRaw((size + 7) >>> 3) : null;
+            for (int r = 0; r < size; r++) {
+                if (nulls == null || (nulls[r >>> 3] & (1 << (r & 7))) == 0) {
+                    values[r] = readValue(in, columnTag);
+                }
+            }
+        }
+        for (int r = 0; r < size; r++) {
+            List<Field> fields = new ArrayList<>(columnCount);
+            for (int c = 0; c < columnCount; c++) {
+                Field field = new Field(names[c], types[c], columns[c][r]);
+                if (primaryKeys[c]) {
+                    field.setKeyType(KeyType.PRIMARY_KEY);
+                }
+                fields.add(field);
+            }
+            Row row = new Row();
+            row.setFields(fields);
+            rows.add(row);
+        }
+    }
+
+    private static Object readValue(Input in, byte tag) {
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_STRING:
+                return in.readString();
+            case TAG_INTEGER:
+                return (int)in.readVarLong();
+            case TAG_LONG:
+                return in.readVarLong();
+            case TAG_SHORT:
+                return (short)in.readVarLong();
+            case TAG_BYTE:
+                return (byte)in.readVarLong();
+            case TAG_BOOLEAN:
+                return in.readBoolean();
+            case TAG_DOUBLE:
+                return Double.longBitsToDouble(in.readFixedLong());
+            case TAG_FLOAT:
+                return Float.intBitsToFloat((int)in.readFixedLong());
+            case TAG_BIG_DECIMAL:
+                int scale = (int)in.readVarLong();
+                return new BigDecimal(new BigInteger(in.readBytes()), scale);
+            case TAG_BIG_INTEGER:
+                return new BigInteger(in.readBytes());
+            case TAG_BYTES:
+                return in.readBytes();
+            case TAG_TIMESTAMP:
+                Timestamp timestamp = new Timestamp(in.readVarLong());
+                timestamp.setNanos((int)in.readVarLong());
+                return timestamp;
+            case TAG_SQL_DATE:
+                return new java.sql.Date(in.readVarLong());
+            case TAG_SQL_TIME:
+                return new java.sql.Time(in.readVarLong());
+            case TAG_DATE:
+                return new java.util.Date(in.readVarLong());
+            case TAG_LOCAL_DATE_TIME:
+                LocalDate date = LocalDate.ofEpochDay(in.readVarLong());
+                return LocalDateTime.of(date, LocalTime.ofNanoOfDay(in.readVarLong()));
+            case TAG_LOCAL_DATE:
+                return LocalDate.ofEpochDay(in.readVarLong());
+            case TAG_LOCAL_TIME:
+                return LocalTime.ofNanoOfDay(in.readVarLong());
+            case TAG_BLOB:
+                try {
+                    return new SerialBlob(in.readBytes());
+                } catch (SQLException e) {
+                    throw new ShouldNeverHappenException(e);
+                }
+            case TAG_CLOB:
+                try {
+                    return new SerialClob(in.readString().toCharArray());
+                } catch (SQLException e) {
+                    throw new ShouldNeverHappenException(e);
+                }
+            case TAG_CHARACTER:
+                return (char)in.readVarLong();
+            case TAG_SERIALIZED:
+                return deserialize(in.readBytes());
+            default:
+                throw new IllegalArgumentException("unknown value tag in columnar undo log: " + tag);
+        }
+    }
+
+    private static byte[] serialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new NotSupportYetException("the value of class " + value.getClass().getName()
+                + " can not be serialized by the columnar undo log parser: " + e.getMessage());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("can not deserialize a value in columnar undo log", e);
+        }
+    }
+
+    /**
+     * A growable buffer, the integers are written as zigzag varints.
+     * A name is written once, then referenced by its index plus one, zero stands for a new name.
+     */
+    private static final class Output {
+
+        private final Map<String, Integer> names = new HashMap<>();
+
+        private byte[] buf;
+
+        private int pos;
+
+        Output(int capacity) {
+            buf = new byte[capacity];
+        }
+
+        void writeByte(byte b) {
+            ensure(1);
+            buf[pos++] = b;
+        }
+
+        void writeBoolean(boolean b) {
+            writeByte(b ? (byte)1 : (byte)0);
+        }
+
+        void writeVarLong(long v) {
+            ensure(10);
+            long zigzag = (v << 1) ^ (v >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                buf[pos++] = (byte)((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            buf[pos++] = (byte)zigzag;
+        }
+
+        void writeFixedLong(long v) {
+            ensure(8);
+            for (int i = 0; i < 8; i++) {
+                buf[pos++] = (byte)(v >>> (i << 3));
+            }
+        }
+
+        void writeRaw(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            writeRaw(bytes);
+        }
+
+        /**
+         * The length is written plus one, zero stands for null.
+         */
+        void writeString(String s) {
+            if (s == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            writeRaw(bytes);
+        }
+
+        void writeName(String name) {
+            Integer index = name == null ? null : names.get(name);
+            if (index != null) {
+                writeVarLong(index + 1L);
+                return;
+            }
+            writeVarLong(0);
+            writeString(name);
+            if (name != null) {
+                names.put(name, names.size());
+            }
+        }
+
+        private void ensure(int length) {
+            if (pos + length > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, pos + length));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+    }
+
+    private static final class Input {
+
+        private final List<String> names = new ArrayList<>();
+
+        private final byte[] buf;
+
+        private int pos;
+
+        Input(byte[] buf) {
+            this.buf = buf;
+        }
+
+        byte readByte() {
+            if (pos >= buf.length) {
+                throw new IllegalArgumentException("truncated columnar undo log");
+            }
+            return buf[pos++];
+        }
+
+        boolean readBoolean() {
+            return readByte() != 0;
+        }
+
+        long readVarLong() {
+            long zigzag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                zigzag |= (long)(b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+            }
+            throw new IllegalArgumentException("malformed varint in columnar undo log");
+        }
+
+        long readFixedLong() {
+            byte[] bytes = readRaw(8);
+            long v = 0;
+            for (int i = 0; i < 8; i++) {
+                v |= (bytes[i] & 0xFFL) << (i << 3);
+            }
+            return v;
+        }
+
+        byte[] readRaw(int length) {
+            readLength(length);
+            byte[] bytes = Arrays.copyOfRange(buf, pos, pos + length);
+            pos += length;
+            return bytes;
+        }
+
+        byte[] readBytes() {
+            return readRaw(readLength(readVarLong()));
+        }
+
+        String readString() {
+            long length = readVarLong();
+            if (length == 0) {
+                return null;
+            }
+            int size = readLength(length - 1);
+            String s = new String(buf, pos, size, StandardCharsets.UTF_8);
+            pos += size;
+            return s;
+        }
+
+        String readName() {
+            int index = readCount();
+            if (index > 0) {
+                if (index > names.size()) {
+                    throw new IllegalArgumentException("unknown name index in columnar undo log: " + index);
+                }
+                return names.get(index - 1);
+            }
+            String name = readString();
+            if (name != null) {
+                names.add(name);
+            }
+            return name;
+        }
+
+        /**
+         * The rows of a column of null values take no bytes, so a count is only checked to be an int.
+         */
+        int readCount() {
+            long count = readVarLong();
+            if (count < 0 || count > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("malformed count in columnar undo log: " + count);
+            }
+            return (int)count;
+        }
+
+        private int readLength(long length) {
+            if (length < 0 || length > buf.length - pos) {
+                throw new IllegalArgumentException("truncated columnar undo log");
+            }
+            return (int)length;
+        }
+    }
+}
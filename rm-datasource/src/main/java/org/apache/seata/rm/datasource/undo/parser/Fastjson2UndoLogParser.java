@@ -66,6 +66,7 @@ public class Fastjson2UndoLogParser implements UndoLogParser, Initialize {
 
     @Override
     public byte[] encode(BranchUndoLog branchUndoLog) {
+        branchUndoLog.expandImages();
         return JSONB.toBytes(branchUndoLog, jsonWriterFeature);
     }
 
@@ -78,6 +78,7 @@ public class KryoUndoLogParser implements UndoLogParser, Initialize {
 
     @Override
     public byte[] encode(BranchUndoLog branchUndoLog) {
+        branchUndoLog.expandImages();
         KryoSerializer kryoSerializer = KryoSerializerFactory.getInstance().get();
         try {
             return kryoSerializer.serialize(branchUndoLog);
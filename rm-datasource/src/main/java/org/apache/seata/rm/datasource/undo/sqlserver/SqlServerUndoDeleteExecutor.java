@@ -28,7 +28,6 @@ import org.apache.seata.common.util.CollectionUtils;
 import org.apache.seata.common.util.IOUtil;
 import org.apache.seata.rm.datasource.ConnectionProxy;
 import org.apache.seata.rm.datasource.sql.struct.Field;
-import org.apache.seata.rm.datasource.sql.struct.KeyType;
 import org.apache.seata.rm.datasource.sql.struct.Row;
 import org.apache.seata.rm.datasource.sql.struct.TableMetaCacheFactory;
 import org.apache.seata.rm.datasource.sql.struct.TableRecords;
@@ -115,20 +114,7 @@ public class SqlServerUndoDeleteExecutor extends BaseSqlServerUndoExecutor {
         try {
             String undoSQL = buildUndoSQL();
             undoPST = conn.prepareStatement(undoSQL);
-            TableRecords undoRows = getUndoRows();
-            for (Row undoRow : undoRows.getRows()) {
-                ArrayList<Field> undoValues = new ArrayList<>();
-                List<Field> pkValueList = getOrderedPkList(undoRows, undoRow, connectionProxy.getDbType());
-                for (Field field : undoRow.getFields()) {
-                    if (field.getKeyType() != KeyType.PRIMARY_KEY) {
-                        undoValues.add(field);
-                    }
-                }
-
-                undoPrepare(undoPST, undoValues, pkValueList);
-
-                undoPST.executeUpdate();
-            }
+            executeUndo(conn, undoPST, getUndoRows(), connectionProxy.getDbType());
 
         } catch (Exception ex) {
             if (ex instanceof SQLException) {
@@ -142,6 +128,14 @@ public class SqlServerUndoDeleteExecutor extends BaseSqlServerUndoExecutor {
 
     }
 
+    /**
+     * The undo sql switches IDENTITY_INSERT around the insert, it is executed row by row.
+     */
+    @Override
+    protected boolean isUndoBatchSupported(Connection conn) throws SQLException {
+        return !tableIdentifyExistence && super.isUndoBatchSupported(conn);
+    }
+
     @Override
     protected TableRecords getUndoRows() {
         return sqlUndoLog.getBeforeImage();
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.seata.core.model.BranchStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RollbackWorkerTest {
+
+    @Test
+    void rollbackOnCallerThreadIfDisabled() {
+        RollbackWorker worker = new RollbackWorker(0, 1, 16);
+        Thread caller = Thread.currentThread();
+        Assertions.assertEquals(BranchStatus.PhaseTwo_Rollbacked, worker.branchRollback("xid", 1L, "db1",
+            () -> Thread.currentThread() == caller ? BranchStatus.PhaseTwo_Rollbacked : BranchStatus.Unknown));
+    }
+
+    @Test
+    void resourcesRollbackIndependently() throws Exception {
+        RollbackWorker worker = new RollbackWorker(1, 1, 16);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<BranchStatus> blocked = CompletableFuture.supplyAsync(() -> worker.branchRollback("xid", 1L, "db1", () -> {
+            started.countDown();
+            await(release);
+            return BranchStatus.PhaseTwo_Rollbacked;
+        }));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // the queue of db1 takes one more branch, the next one is turned back to the TC
+        CompletableFuture<BranchStatus> queued = CompletableFuture.supplyAsync(
+            () -> worker.branchRollback("xid", 2L, "db1", () -> BranchStatus.PhaseTwo_Rollbacked));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (worker.getQueueDepth("db1") == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(1, worker.getQueueDepth());
+        Assertions.assertEquals(BranchStatus.PhaseTwo_RollbackFailed_Retryable,
+            worker.branchRollback("xid", 3L, "db1", () -> BranchStatus.PhaseTwo_Rollbacked));
+        Assertions.assertEquals(1, worker.getRejectedCount());
+
+        // db2 is not held up by db1
+        Assertions.assertEquals(BranchStatus.PhaseTwo_Rollbacked,
+            worker.branchRollback("xid", 4L, "db2", () -> BranchStatus.PhaseTwo_Rollbacked));
+
+        release.countDown();
+        Assertions.assertEquals(BranchStatus.PhaseTwo_Rollbacked, blocked.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(BranchStatus.PhaseTwo_Rollbacked, queued.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, worker.getQueueDepth());
+        Assertions.assertTrue(worker.getAverageLatencyMillis() > 0);
+    }
+
+    @Test
+    void floodedResourceLeavesHandlerThreads() throws Exception {
+        int handlerThreads = 4;
+        RollbackWorker worker = new RollbackWorker(1, 16, handlerThreads);
+        ExecutorService handlers = Executors.newFixedThreadPool(handlerThreads);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // db1 is flooded with more rollbacks than handler threads, only half of them are let wait
+            List<Future<BranchStatus>> flooded = new ArrayList<>();
+            for (int i = 0; i < handlerThreads * 2; i++) {
+                long branchId = i;
+                flooded.add(handlers.submit(() -> worker.branchRollback("xid", branchId, "db1", () -> {
+                    await(release);
+                    return BranchStatus.PhaseTwo_Rollbacked;
+                })));
+            }
+
+            Future<BranchStatus> other = handlers.submit(
+                () -> worker.branchRollback("xid", 100L, "db2", () -> BranchStatus.PhaseTwo_Rollbacked));
+            Assertions.assertEquals(BranchStatus.PhaseTwo_Rollbacked, other.get(5, TimeUnit.SECONDS));
+
+            release.countDown();
+            int rollbacked = 0;
+            for (Future<BranchStatus> future : flooded) {
+                if (future.get(5, TimeUnit.SECONDS) == BranchStatus.PhaseTwo_Rollbacked) {
+                    rollbacked++;
+                }
+            }
+            Assertions.assertEquals(handlerThreads / 2, rollbacked);
+            Assertions.assertEquals(handlerThreads * 2 - handlerThreads / 2, worker.getRejectedCount());
+        } finally {
+            release.countDown();
+            handlers.shutdownNow();
+        }
+    }
+
+    @Test
+    void defaultThreadsFollowHandlerPool() throws Exception {
+        int handlerThreads = 16;
+        RollbackWorker worker = new RollbackWorker(-1, 1, handlerThreads);
+        ExecutorService handlers = Executors.newFixedThreadPool(handlerThreads);
+        CountDownLatch started = new CountDownLatch(handlerThreads / 2);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // the rollbacks of a resource run side by side up to half of the handler threads
+            List<Future<BranchStatus>> rollbacks = new ArrayList<>();
+            for (int i = 0; i < handlerThreads / 2; i++) {
+                long branchId = i;
+                rollbacks.add(handlers.submit(() -> worker.branchRollback("xid", branchId, "db1", () -> {
+                    started.countDown();
+                    await(release);
+                    return BranchStatus.PhaseTwo_Rollbacked;
+                })));
+            }
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+            release.countDown();
+            for (Future<BranchStatus> future : rollbacks) {
+                Assertions.assertEquals(BranchStatus.PhaseTwo_Rollbacked, future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            release.countDown();
+            handlers.shutdownNow();
+        }
+    }
+
+    @Test
+    void rethrowRuntimeException() {
+        RollbackWorker worker = new RollbackWorker(1, 1, 16);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> worker.branchRollback("xid", 1L, "db1", () -> {
+            throw new IllegalArgumentException("test");
+        }));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
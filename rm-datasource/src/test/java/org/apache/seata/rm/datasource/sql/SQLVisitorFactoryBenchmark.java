@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.sql;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.seata.common.loader.EnhancedServiceLoader;
+import org.apache.seata.sqlparser.SQLRecognizer;
+import org.apache.seata.sqlparser.SQLRecognizerFactory;
+import org.apache.seata.sqlparser.SqlParserType;
+import org.apache.seata.sqlparser.util.JdbcConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compare parsing the sql text on every execution with the cached recognizers of {@link SQLVisitorFactory}.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class SQLVisitorFactoryBenchmark {
+
+    @Param({"update account_tbl set money = money - ?, gmt_modified = now() where user_id = ? and money >= ?",
+        "insert into order_tbl (user_id, commodity_code, count, money, gmt_create) values (?, ?, ?, ?, now())"})
+    private String sql;
+
+    private SQLRecognizerFactory recognizerFactory;
+
+    @Setup
+    public void setUp() {
+        recognizerFactory = EnhancedServiceLoader.load(SQLRecognizerFactory.class, SqlParserType.SQL_PARSER_TYPE_DRUID);
+        SQLVisitorFactory.get(sql, JdbcConstants.MYSQL);
+    }
+
+    @Benchmark
+    public List<SQLRecognizer> parse() {
+        return recognizerFactory.create(sql, JdbcConstants.MYSQL);
+    }
+
+    @Benchmark
+    public List<SQLRecognizer> cached() {
+        return SQLVisitorFactory.get(sql, JdbcConstants.MYSQL);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SQLVisitorFactoryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
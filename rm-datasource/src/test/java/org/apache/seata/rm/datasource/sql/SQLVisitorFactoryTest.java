@@ -318,4 +318,25 @@ public class SQLVisitorFactoryTest {
         Assertions.assertEquals(SQLType.UPDATE, recognizer.getSQLType());
         Assertions.assertEquals("t1", recognizer.getTableName());
     }
+
+    @Test
+    public void testSqlRecognizerCache() {
+        String sql = "update t2 set name = ? where id = ?";
+        long hits = SQLVisitorFactory.getCacheStats().hitCount();
+        long misses = SQLVisitorFactory.getCacheStats().missCount();
+        List<SQLRecognizer> recognizers = SQLVisitorFactory.get(sql, JdbcConstants.MYSQL);
+        Assertions.assertSame(recognizers, SQLVisitorFactory.get(sql, JdbcConstants.MYSQL));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> recognizers.add(recognizers.get(0)));
+        // the recognizers are kept apart per db type
+        List<SQLRecognizer> mariadbRecognizers = SQLVisitorFactory.get(sql, JdbcConstants.MARIADB);
+        Assertions.assertEquals(MariadbUpdateRecognizer.class.getName(), mariadbRecognizers.get(0).getClass().getName());
+        Assertions.assertEquals(MySQLUpdateRecognizer.class.getName(), recognizers.get(0).getClass().getName());
+        Assertions.assertEquals(hits + 1, SQLVisitorFactory.getCacheStats().hitCount());
+        Assertions.assertEquals(misses + 2, SQLVisitorFactory.getCacheStats().missCount());
+
+        // a sql without recognizer is cached as well
+        Assertions.assertNull(SQLVisitorFactory.get("select * from t2 where id = ?", JdbcConstants.MYSQL));
+        Assertions.assertNull(SQLVisitorFactory.get("select * from t2 where id = ?", JdbcConstants.MYSQL));
+        Assertions.assertEquals(hits + 2, SQLVisitorFactory.getCacheStats().hitCount());
+    }
 }
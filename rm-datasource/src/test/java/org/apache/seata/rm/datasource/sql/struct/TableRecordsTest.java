@@ -24,6 +24,7 @@ import org.apache.seata.rm.datasource.sql.struct.Row;
 import org.apache.seata.rm.datasource.sql.struct.TableMetaCacheFactory;
 import org.apache.seata.rm.datasource.sql.struct.TableRecords;
 import org.apache.seata.common.exception.ShouldNeverHappenException;
+import org.apache.seata.rm.datasource.DataCompareUtils;
 import org.apache.seata.rm.datasource.DataSourceProxy;
 import org.apache.seata.rm.datasource.DataSourceProxyTest;
 import org.apache.seata.rm.datasource.exception.TableMetaException;
@@ -137,6 +138,71 @@ public class TableRecordsTest {
         Assertions.assertNotNull(tableRecords);
     }
 
+    @Test
+    public void testColumnarRecords() throws SQLException {
+        MockDriver mockDriver = new MockDriver(returnValueColumnLabels, returnValue, columnMetas, indexMetas);
+        DruidDataSource dataSource = new DruidDataSource();
+        dataSource.setUrl("jdbc:mock:xxx");
+        dataSource.setDriver(mockDriver);
+        MockStatementBase mockStatement = new MockStatement(dataSource.getConnection().getConnection());
+        DataSourceProxy proxy = DataSourceProxyTest.getDataSourceProxy(dataSource);
+
+        TableMeta tableMeta = TableMetaCacheFactory.getTableMetaCache(JdbcConstants.MYSQL).getTableMeta(proxy.getPlainConnection(),
+            "table_records_test", proxy.getResourceId());
+
+        TableRecords tableRecords = TableRecords.buildRecords(tableMeta,
+            mockDriver.executeQuery(mockStatement, "select * from table_records_test"));
+        TableRecords other = TableRecords.buildRecords(tableMeta,
+            mockDriver.executeQuery(mockStatement, "select * from table_records_test"));
+        Assertions.assertTrue(DataCompareUtils.isRecordsEquals(tableRecords, other).getResult());
+
+        tableRecords.addAll(other);
+        ColumnarRecords columnar = tableRecords.columnar();
+        Assertions.assertNotNull(columnar);
+        Assertions.assertEquals(4, tableRecords.size());
+        Assertions.assertTrue(columnar.hasAllPrimaryKeys());
+        Assertions.assertEquals("2", columnar.pkKey(1));
+        Assertions.assertEquals(4, tableRecords.pkRows().size());
+
+        List<Row> rows = tableRecords.getRows();
+        Assertions.assertNull(tableRecords.columnar());
+        Assertions.assertEquals(4, rows.size());
+        Assertions.assertEquals("Jack", rows.get(3).getFields().get(1).getValue());
+        Assertions.assertEquals(4, tableRecords.size());
+    }
+
+    @Test
+    public void testColumnarRecordsEqualsRows() throws SQLException {
+        MockDriver mockDriver = new MockDriver(returnValueColumnLabels, returnValue, columnMetas, indexMetas);
+        DruidDataSource dataSource = new DruidDataSource();
+        dataSource.setUrl("jdbc:mock:xxx");
+        dataSource.setDriver(mockDriver);
+        MockStatementBase mockStatement = new MockStatement(dataSource.getConnection().getConnection());
+        DataSourceProxy proxy = DataSourceProxyTest.getDataSourceProxy(dataSource);
+
+        TableMeta tableMeta = TableMetaCacheFactory.getTableMetaCache(JdbcConstants.MYSQL).getTableMeta(proxy.getPlainConnection(),
+            "table_records_test", proxy.getResourceId());
+
+        TableRecords current = TableRecords.buildRecords(tableMeta,
+            mockDriver.executeQuery(mockStatement, "select * from table_records_test"));
+        // an image decoded from the undo log holds rows
+        TableRecords decoded = new TableRecords(tableMeta);
+        decoded.setRows(TableRecords.buildRecords(tableMeta,
+            mockDriver.executeQuery(mockStatement, "select * from table_records_test")).getRows());
+
+        Assertions.assertTrue(DataCompareUtils.isRecordsEquals(decoded, current).getResult());
+        Assertions.assertTrue(DataCompareUtils.isRecordsEquals(current, decoded).getResult());
+        // the current image is compared without being expanded
+        Assertions.assertNotNull(current.columnar());
+
+        decoded.getRows().get(0).getFields().get(1).setValue("Rose");
+        Assertions.assertFalse(DataCompareUtils.isRecordsEquals(decoded, current).getResult());
+        Assertions.assertFalse(DataCompareUtils.isRecordsEquals(current, decoded).getResult());
+        decoded.getRows().remove(0);
+        Assertions.assertFalse(DataCompareUtils.isRecordsEquals(decoded, current).getResult());
+        Assertions.assertNotNull(current.columnar());
+    }
+
     @Test
     public void testBuildRecordsNewFeild() throws SQLException {
         MockDriver mockDriver = new MockDriver(returnValueColumnLabels, returnValue, columnMetas, indexMetas);
@@ -28,7 +28,9 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.*;
 
 
@@ -158,6 +160,104 @@ public class AbstractUndoExecutorTest extends BaseH2Test {
         Assertions.assertFalse(spy.dataValidationAndGoOn(connection));
     }
 
+    @Test
+    public void testExecuteUndoInBatches() throws SQLException {
+        int rows = AbstractUndoExecutor.UNDO_BATCH_SIZE * 2 + 1;
+        TableRecords beforeImage = new TableRecords(tableMeta);
+        for (int i = 0; i < rows; i++) {
+            execSQL("INSERT INTO table_name(id, name) VALUES (" + i + ",'xxx');");
+            Row row = new Row();
+            addField(row, "ID", Types.INTEGER, i);
+            addField(row, "NAME", Types.VARCHAR, "aaa");
+            beforeImage.add(row);
+        }
+
+        SQLUndoLog sqlUndoLog = new SQLUndoLog();
+        sqlUndoLog.setSqlType(SQLType.UPDATE);
+        sqlUndoLog.setTableMeta(tableMeta);
+        sqlUndoLog.setTableName("table_name");
+        sqlUndoLog.setBeforeImage(beforeImage);
+
+        TestUndoExecutor executor = new TestUndoExecutor(sqlUndoLog, true);
+        PreparedStatement undoPST = Mockito.spy(
+            connection.getTargetConnection().prepareStatement("UPDATE table_name SET name = ? WHERE id = ?"));
+        try {
+            executor.executeUndo(connection.getTargetConnection(), undoPST, beforeImage, connection.getDbType());
+        } finally {
+            undoPST.close();
+        }
+
+        Mockito.verify(undoPST, Mockito.times(3)).executeBatch();
+        Mockito.verify(undoPST, Mockito.never()).executeUpdate();
+        Assertions.assertEquals(0, execQuery(tableMeta, "SELECT * FROM table_name WHERE name = 'xxx';").size());
+        Assertions.assertEquals(rows, execQuery(tableMeta, "SELECT * FROM table_name WHERE name = 'aaa';").size());
+    }
+
+    @Test
+    public void testExecuteUndoBatchWithUnaffectedRow() throws SQLException {
+        TableRecords beforeImage = new TableRecords(tableMeta);
+        for (int i = 0; i < 3; i++) {
+            // the row 1 is gone, so its undo affects 0 rows
+            if (i != 1) {
+                execSQL("INSERT INTO table_name(id, name) VALUES (" + i + ",'xxx');");
+            }
+            Row row = new Row();
+            addField(row, "ID", Types.INTEGER, i);
+            addField(row, "NAME", Types.VARCHAR, "aaa");
+            beforeImage.add(row);
+        }
+
+        SQLUndoLog sqlUndoLog = new SQLUndoLog();
+        sqlUndoLog.setSqlType(SQLType.UPDATE);
+        sqlUndoLog.setTableMeta(tableMeta);
+        sqlUndoLog.setTableName("table_name");
+        sqlUndoLog.setBeforeImage(beforeImage);
+
+        TestUndoExecutor executor = new TestUndoExecutor(sqlUndoLog, true);
+        try (PreparedStatement undoPST =
+                 connection.getTargetConnection().prepareStatement("UPDATE table_name SET name = ? WHERE id = ?")) {
+            SQLException e = Assertions.assertThrows(SQLException.class, () -> executor.executeUndo(
+                connection.getTargetConnection(), undoPST, beforeImage, connection.getDbType()));
+            Assertions.assertTrue(e.getMessage().contains("affected 0 rows"));
+        }
+    }
+
+    @Test
+    public void testExecuteUndoRowByRowWithUnaffectedRow() throws SQLException {
+        TableRecords beforeImage = new TableRecords(tableMeta);
+        for (int i = 0; i < 3; i++) {
+            // the row 1 is gone, so its undo affects 0 rows
+            if (i != 1) {
+                execSQL("INSERT INTO table_name(id, name) VALUES (" + i + ",'xxx');");
+            }
+            Row row = new Row();
+            addField(row, "ID", Types.INTEGER, i);
+            addField(row, "NAME", Types.VARCHAR, "aaa");
+            beforeImage.add(row);
+        }
+
+        SQLUndoLog sqlUndoLog = new SQLUndoLog();
+        sqlUndoLog.setSqlType(SQLType.UPDATE);
+        sqlUndoLog.setTableMeta(tableMeta);
+        sqlUndoLog.setTableName("table_name");
+        sqlUndoLog.setBeforeImage(beforeImage);
+
+        TestUndoExecutor executor = Mockito.spy(new TestUndoExecutor(sqlUndoLog, true));
+        Mockito.doReturn(false).when(executor).isUndoBatchSupported(Mockito.any());
+        PreparedStatement undoPST = Mockito.spy(
+            connection.getTargetConnection().prepareStatement("UPDATE table_name SET name = ? WHERE id = ?"));
+        try {
+            SQLException e = Assertions.assertThrows(SQLException.class, () -> executor.executeUndo(
+                connection.getTargetConnection(), undoPST, beforeImage, connection.getDbType()));
+            Assertions.assertTrue(e.getMessage().contains("affected 0 rows"));
+        } finally {
+            undoPST.close();
+        }
+
+        Mockito.verify(undoPST, Mockito.times(2)).executeUpdate();
+        Mockito.verify(undoPST, Mockito.never()).executeBatch();
+    }
+
     @Test
     public void testParsePK() {
         TableMeta tableMeta = Mockito.mock(TableMeta.class);
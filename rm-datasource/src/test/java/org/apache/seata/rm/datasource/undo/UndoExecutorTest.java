@@ -354,7 +354,8 @@ public class UndoExecutorTest {
 
                 @Override
                 public int executeUpdate() throws SQLException {
-                    return 0;
+                    // each undo row is located by its primary key
+                    return 1;
                 }
 
                 @Override
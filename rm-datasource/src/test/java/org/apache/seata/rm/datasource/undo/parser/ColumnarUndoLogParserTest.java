@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.undo.parser;
+
+import java.math.BigDecimal;
+import java.sql.JDBCType;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.apache.seata.common.exception.NotSupportYetException;
+import org.apache.seata.common.loader.EnhancedServiceLoader;
+import org.apache.seata.rm.datasource.sql.struct.Field;
+import org.apache.seata.rm.datasource.sql.struct.KeyType;
+import org.apache.seata.rm.datasource.sql.struct.Row;
+import org.apache.seata.rm.datasource.sql.struct.TableRecords;
+import org.apache.seata.rm.datasource.undo.BaseUndoLogParserTest;
+import org.apache.seata.rm.datasource.undo.BranchUndoLog;
+import org.apache.seata.rm.datasource.undo.SQLUndoLog;
+import org.apache.seata.rm.datasource.undo.UndoLogParser;
+import org.apache.seata.sqlparser.SQLType;
+import org.apache.seata.sqlparser.struct.TableMeta;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+
+public class ColumnarUndoLogParserTest extends BaseUndoLogParserTest {
+
+    ColumnarUndoLogParser parser = (ColumnarUndoLogParser) EnhancedServiceLoader.load(UndoLogParser.class, ColumnarUndoLogParser.NAME);
+
+    @Override
+    public UndoLogParser getParser() {
+        return parser;
+    }
+
+    @Test
+    public void testEncodeAndDecodeValues() {
+        Timestamp timestamp = new Timestamp(1700000000123L);
+        timestamp.setNanos(123456789);
+        List<Row> rows = new ArrayList<>();
+        rows.add(row(1L, "Tom", new BigDecimal("-12.345"), timestamp, LocalDateTime.of(2024, 1, 2, 3, 4, 5, 6)));
+        rows.add(row(2L, null, null, null, null));
+        // a mixed column and a row of other columns
+        rows.add(row(3L, 3, new BigDecimal("0"), timestamp, null));
+        Row other = new Row();
+        other.add(new Field("id", JDBCType.BIGINT.getVendorTypeNumber(), 4L));
+        other.add(new Field("data", JDBCType.VARBINARY.getVendorTypeNumber(), new byte[] {1, 2, 3}));
+        rows.add(other);
+
+        TableRecords afterImage = new TableRecords();
+        afterImage.setTableName("t");
+        afterImage.setRows(rows);
+        SQLUndoLog sqlUndoLog = new SQLUndoLog();
+        sqlUndoLog.setSqlType(SQLType.INSERT);
+        sqlUndoLog.setTableName("t");
+        sqlUndoLog.setBeforeImage(TableRecords.empty(new TableMeta()));
+        sqlUndoLog.setAfterImage(afterImage);
+        BranchUndoLog branchUndoLog = new BranchUndoLog();
+        branchUndoLog.setXid("192.168.0.1:8091:123456");
+        branchUndoLog.setBranchId(-1L);
+        branchUndoLog.setSqlUndoLogs(Collections.singletonList(sqlUndoLog));
+
+        BranchUndoLog decoded = parser.decode(parser.encode(branchUndoLog));
+
+        Assertions.assertEquals(branchUndoLog.getXid(), decoded.getXid());
+        Assertions.assertEquals(-1L, decoded.getBranchId());
+        SQLUndoLog decodedLog = decoded.getSqlUndoLogs().get(0);
+        Assertions.assertEquals(SQLType.INSERT, decodedLog.getSqlType());
+        Assertions.assertEquals("t", decodedLog.getTableName());
+        Assertions.assertTrue(decodedLog.getBeforeImage() instanceof TableRecords.EmptyTableRecords);
+        List<Row> decodedRows = decodedLog.getAfterImage().getRows();
+        Assertions.assertEquals(rows.size(), decodedRows.size());
+        for (int r = 0; r < rows.size(); r++) {
+            List<Field> fields = rows.get(r).getFields();
+            List<Field> decodedFields = decodedRows.get(r).getFields();
+            Assertions.assertEquals(fields.size(), decodedFields.size());
+            for (int c = 0; c < fields.size(); c++) {
+                Assertions.assertEquals(fields.get(c).getName(), decodedFields.get(c).getName());
+                Assertions.assertEquals(fields.get(c).getType(), decodedFields.get(c).getType());
+                Assertions.assertEquals(fields.get(c).getKeyType(), decodedFields.get(c).getKeyType());
+                Assertions.assertTrue(Objects.deepEquals(fields.get(c).getValue(), decodedFields.get(c).getValue()));
+            }
+        }
+    }
+
+    @Test
+    public void testSerializedValue() {
+        List<Object> values = Arrays.asList(Arrays.asList(1, 2), UUID.randomUUID(),
+            OffsetDateTime.of(2024, 1, 2, 3, 4, 5, 6, ZoneOffset.ofHours(8)));
+        TableRecords afterImage = new TableRecords();
+        afterImage.setTableName("t");
+        List<Row> rows = new ArrayList<>();
+        for (Object value : values) {
+            Row row = new Row();
+            row.add(new Field("data", JDBCType.OTHER.getVendorTypeNumber(), value));
+            rows.add(row);
+        }
+        afterImage.setRows(rows);
+        SQLUndoLog sqlUndoLog = new SQLUndoLog();
+        sqlUndoLog.setAfterImage(afterImage);
+        BranchUndoLog branchUndoLog = new BranchUndoLog();
+        branchUndoLog.setSqlUndoLogs(Collections.singletonList(sqlUndoLog));
+
+        List<Row> decodedRows = parser.decode(parser.encode(branchUndoLog)).getSqlUndoLogs().get(0)
+            .getAfterImage().getRows();
+        for (int r = 0; r < values.size(); r++) {
+            Assertions.assertEquals(values.get(r), decodedRows.get(r).getFields().get(0).getValue());
+        }
+
+        // a value that is not serializable is still not supported
+        rows.get(0).getFields().get(0).setValue(new Object());
+        Assertions.assertThrows(NotSupportYetException.class, () -> parser.encode(branchUndoLog));
+    }
+
+    @Test
+    public void testEncodedSize() {
+        BranchUndoLog branchUndoLog = UndoLogParserBenchmark.updateUndoLog(100);
+        UndoLogParser jacksonParser = EnhancedServiceLoader.load(UndoLogParser.class, JacksonUndoLogParser.NAME);
+        int jacksonSize = jacksonParser.encode(branchUndoLog).length;
+        int size = parser.encode(branchUndoLog).length;
+        // the before and after images of 100 rows of 8 columns, under 50 bytes per row image
+        Assertions.assertTrue(size < 200 * 50, "encoded in " + size + " bytes");
+        Assertions.assertTrue(size < jacksonSize / 10, "encoded in " + size + " bytes, jackson " + jacksonSize);
+    }
+
+    private static Row row(long id, Object name, BigDecimal amount, Timestamp created, LocalDateTime updated) {
+        Row row = new Row();
+        Field pk = new Field("id", JDBCType.BIGINT.getVendorTypeNumber(), id);
+        pk.setKeyType(KeyType.PRIMARY_KEY);
+        row.add(pk);
+        row.add(new Field("name", JDBCType.VARCHAR.getVendorTypeNumber(), name));
+        row.add(new Field("amount", JDBCType.DECIMAL.getVendorTypeNumber(), amount));
+        row.add(new Field("created", JDBCType.TIMESTAMP.getVendorTypeNumber(), created));
+        row.add(new Field("updated", JDBCType.TIMESTAMP.getVendorTypeNumber(), updated));
+        return row;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.undo.parser;
+
+import java.math.BigDecimal;
+import java.sql.JDBCType;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.seata.common.loader.EnhancedServiceLoader;
+import org.apache.seata.rm.datasource.sql.struct.Field;
+import org.apache.seata.rm.datasource.sql.struct.KeyType;
+import org.apache.seata.rm.datasource.sql.struct.Row;
+import org.apache.seata.rm.datasource.sql.struct.TableRecords;
+import org.apache.seata.rm.datasource.undo.BranchUndoLog;
+import org.apache.seata.rm.datasource.undo.SQLUndoLog;
+import org.apache.seata.rm.datasource.undo.UndoLogParser;
+import org.apache.seata.sqlparser.SQLType;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compare the encode and decode time of the undo log parsers on an update of a batch of rows,
+ * the encoded size is reported as the encodedBytes counter of encode.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UndoLogParserBenchmark {
+
+    @Param({JacksonUndoLogParser.NAME, KryoUndoLogParser.NAME, ProtostuffUndoLogParser.NAME,
+        Fastjson2UndoLogParser.NAME, ColumnarUndoLogParser.NAME})
+    private String parserName;
+
+    @Param({"10", "100"})
+    private int rows;
+
+    private UndoLogParser parser;
+
+    private BranchUndoLog branchUndoLog;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        parser = EnhancedServiceLoader.load(UndoLogParser.class, parserName);
+        branchUndoLog = updateUndoLog(rows);
+        encoded = parser.encode(branchUndoLog);
+    }
+
+    @Benchmark
+    public byte[] encode(EncodedSize encodedSize) {
+        byte[] bytes = parser.encode(branchUndoLog);
+        encodedSize.record(bytes.length);
+        return bytes;
+    }
+
+    @Benchmark
+    public BranchUndoLog decode() {
+        return parser.decode(encoded);
+    }
+
+    /**
+     * The encoded size of the undo log in bytes. The counters of the iterations are summed up,
+     * so the size is only recorded in the first measurement iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+
+        public long encodedBytes;
+
+        private boolean recording;
+
+        private boolean recorded;
+
+        @Setup(Level.Iteration)
+        public void setUp(IterationParams iterationParams) {
+            encodedBytes = 0;
+            recording = !recorded && iterationParams.getType() == IterationType.MEASUREMENT;
+            recorded |= recording;
+        }
+
+        void record(int size) {
+            if (recording) {
+                encodedBytes = size;
+            }
+        }
+    }
+
+    static BranchUndoLog updateUndoLog(int rows) {
+        SQLUndoLog sqlUndoLog = new SQLUndoLog();
+        sqlUndoLog.setSqlType(SQLType.UPDATE);
+        sqlUndoLog.setTableName("order_tbl");
+        sqlUndoLog.setBeforeImage(image(rows, "before"));
+        sqlUndoLog.setAfterImage(image(rows, "after"));
+        BranchUndoLog branchUndoLog = new BranchUndoLog();
+        branchUndoLog.setXid("192.168.0.1:8091:2612341069705662465");
+        branchUndoLog.setBranchId(2612341069705662466L);
+        List<SQLUndoLog> sqlUndoLogs = new ArrayList<>();
+        sqlUndoLogs.add(sqlUndoLog);
+        branchUndoLog.setSqlUndoLogs(sqlUndoLogs);
+        return branchUndoLog;
+    }
+
+    private static TableRecords image(int size, String status) {
+        List<Row> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Row row = new Row();
+            Field id = new Field("id", JDBCType.BIGINT.getVendorTypeNumber(), 1000000L + i);
+            id.setKeyType(KeyType.PRIMARY_KEY);
+            row.add(id);
+            row.add(new Field("user_id", JDBCType.VARCHAR.getVendorTypeNumber(), "U" + (100000 + i)));
+            row.add(new Field("commodity_code", JDBCType.VARCHAR.getVendorTypeNumber(), "C00321"));
+            row.add(new Field("count", JDBCType.INTEGER.getVendorTypeNumber(), i % 10));
+            row.add(new Field("money", JDBCType.DECIMAL.getVendorTypeNumber(), new BigDecimal("199.90")));
+            row.add(new Field("status", JDBCType.VARCHAR.getVendorTypeNumber(), status));
+            row.add(new Field("remark", JDBCType.VARCHAR.getVendorTypeNumber(), null));
+            row.add(new Field("gmt_modified", JDBCType.TIMESTAMP.getVendorTypeNumber(),
+                new Timestamp(1700000000000L + i * 1000L)));
+            rows.add(row);
+        }
+        TableRecords image = new TableRecords();
+        image.setTableName("order_tbl");
+        image.setRows(rows);
+        return image;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(UndoLogParserBenchmark.class.getSimpleName()).build()).run();
+    }
+}
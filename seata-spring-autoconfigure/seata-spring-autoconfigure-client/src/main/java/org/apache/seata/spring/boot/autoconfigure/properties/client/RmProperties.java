@@ -23,11 +23,14 @@ import org.springframework.stereotype.Component;
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_ASYNC_COMMIT_BUFFER_LIMIT;
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_REPORT_RETRY_COUNT;
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_ROLLBACK_QUEUE_SIZE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_ROLLBACK_THREADS;
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_BRANCH_REGISTER_ENABLE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_COMPENSATE_PERSIST_MODE_UPDATE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_RETRY_PERSIST_MODE_UPDATE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_TABLE_META_CHECK_ENABLE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_SAGA_JSON_PARSER;
+import static org.apache.seata.common.DefaultValues.DEFAULT_SQL_PARSER_CACHE_SIZE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_TABLE_META_CHECKER_INTERVAL;
 import static org.apache.seata.common.DefaultValues.TCC_ACTION_INTERCEPTOR_ORDER;
 import static org.apache.seata.common.DefaultValues.DEFAULT_XA_BRANCH_EXECUTION_TIMEOUT;
@@ -40,6 +43,8 @@ import static org.apache.seata.spring.boot.autoconfigure.StarterConstants.CLIENT
 @ConfigurationProperties(prefix = CLIENT_RM_PREFIX)
 public class RmProperties {
     private int asyncCommitBufferLimit = DEFAULT_CLIENT_ASYNC_COMMIT_BUFFER_LIMIT;
+    private int rollbackThreads = DEFAULT_CLIENT_ROLLBACK_THREADS;
+    private int rollbackQueueSize = DEFAULT_CLIENT_ROLLBACK_QUEUE_SIZE;
     private int reportRetryCount = DEFAULT_CLIENT_REPORT_RETRY_COUNT;
     private boolean tableMetaCheckEnable = DEFAULT_CLIENT_TABLE_META_CHECK_ENABLE;
     private long tableMetaCheckerInterval = DEFAULT_TABLE_META_CHECKER_INTERVAL;
@@ -52,6 +57,7 @@ public class RmProperties {
     private int branchExecutionTimeoutXA = DEFAULT_XA_BRANCH_EXECUTION_TIMEOUT;
     private int connectionTwoPhaseHoldTimeoutXA = DEFAULT_XA_CONNECTION_TWO_PHASE_HOLD_TIMEOUT;
     private String sqlParserType = SqlParserType.SQL_PARSER_TYPE_DRUID;
+    private int sqlParserCacheSize = DEFAULT_SQL_PARSER_CACHE_SIZE;
 
     private Boolean applicationDataLimitCheck = false;
     private Integer applicationDataLimit = DEFAULT_APPLICATION_DATA_SIZE_LIMIT;
@@ -65,6 +71,24 @@ public class RmProperties {
         return this;
     }
 
+    public int getRollbackThreads() {
+        return rollbackThreads;
+    }
+
+    public RmProperties setRollbackThreads(int rollbackThreads) {
+        this.rollbackThreads = rollbackThreads;
+        return this;
+    }
+
+    public int getRollbackQueueSize() {
+        return rollbackQueueSize;
+    }
+
+    public RmProperties setRollbackQueueSize(int rollbackQueueSize) {
+        this.rollbackQueueSize = rollbackQueueSize;
+        return this;
+    }
+
     public int getReportRetryCount() {
         return reportRetryCount;
     }
@@ -151,6 +175,15 @@ public class RmProperties {
         return this;
     }
 
+    public int getSqlParserCacheSize() {
+        return sqlParserCacheSize;
+    }
+
+    public RmProperties setSqlParserCacheSize(int sqlParserCacheSize) {
+        this.sqlParserCacheSize = sqlParserCacheSize;
+        return this;
+    }
+
     public int getBranchExecutionTimeoutXA() {
         return branchExecutionTimeoutXA;
     }
@@ -19,15 +19,22 @@ package org.apache.seata.spring.boot.autoconfigure.properties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_BATCH_SEND_REQUEST_MAX_SIZE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_BATCH_SEND_REQUEST_MAX_WAIT;
 import static org.apache.seata.common.DefaultValues.DEFAULT_ENABLE_CLIENT_BATCH_SEND_REQUEST;
 import static org.apache.seata.common.DefaultValues.DEFAULT_ENABLE_RM_CLIENT_BATCH_SEND_REQUEST;
+import static org.apache.seata.common.DefaultValues.DEFAULT_ENABLE_TC_SERVER_BATCH_SEND_REQUEST;
 import static org.apache.seata.common.DefaultValues.DEFAULT_ENABLE_TC_SERVER_BATCH_SEND_RESPONSE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_ENABLE_TM_CLIENT_BATCH_SEND_REQUEST;
 import static org.apache.seata.common.DefaultValues.DEFAULT_PROTOCOL;
 import static org.apache.seata.common.DefaultValues.DEFAULT_RPC_RM_REQUEST_TIMEOUT;
 import static org.apache.seata.common.DefaultValues.DEFAULT_RPC_TC_REQUEST_TIMEOUT;
 import static org.apache.seata.common.DefaultValues.DEFAULT_RPC_TM_REQUEST_TIMEOUT;
+import static org.apache.seata.common.DefaultValues.DEFAULT_TC_SERVER_BATCH_SEND_REQUEST_MAX_WAIT;
+import static org.apache.seata.common.DefaultValues.DEFAULT_TRANSPORT_BUSY_POLL_MICROS;
 import static org.apache.seata.common.DefaultValues.DEFAULT_TRANSPORT_HEARTBEAT;
+import static org.apache.seata.common.DefaultValues.DEFAULT_TRANSPORT_TCP_NO_DELAY;
+import static org.apache.seata.common.DefaultValues.DEFAULT_TRANSPORT_TCP_QUICK_ACK;
 import static org.apache.seata.spring.boot.autoconfigure.StarterConstants.TRANSPORT_PREFIX;
 
 
@@ -72,11 +79,46 @@ public class TransportProperties {
      */
     private boolean enableRmClientBatchSendRequest = DEFAULT_ENABLE_RM_CLIENT_BATCH_SEND_REQUEST;
 
+    /**
+     * disable nagle on the rpc channels
+     */
+    private boolean tcpNoDelay = DEFAULT_TRANSPORT_TCP_NO_DELAY;
+
+    /**
+     * ack at once on the rpc channels of the native transports
+     */
+    private boolean tcpQuickAck = DEFAULT_TRANSPORT_TCP_QUICK_ACK;
+
+    /**
+     * the busy poll microseconds of the rpc channels of the epoll transport, 0 to disable
+     */
+    private int busyPollMicros = DEFAULT_TRANSPORT_BUSY_POLL_MICROS;
+
+    /**
+     * the max number of requests merged by the client into one message
+     */
+    private int clientBatchSendRequestMaxSize = DEFAULT_CLIENT_BATCH_SEND_REQUEST_MAX_SIZE;
+
+    /**
+     * the max wait of client batch send request
+     */
+    private int clientBatchSendRequestMaxWait = DEFAULT_CLIENT_BATCH_SEND_REQUEST_MAX_WAIT;
+
     /**
      * enable TC server batch send response
      */
     private boolean enableTcServerBatchSendResponse = DEFAULT_ENABLE_TC_SERVER_BATCH_SEND_RESPONSE;
 
+    /**
+     * enable TC server batch send request
+     */
+    private boolean enableTcServerBatchSendRequest = DEFAULT_ENABLE_TC_SERVER_BATCH_SEND_REQUEST;
+
+    /**
+     * the max wait of TC server batch send request
+     */
+    private int tcServerBatchSendRequestMaxWait = DEFAULT_TC_SERVER_BATCH_SEND_REQUEST_MAX_WAIT;
+
     /**
      * rpcRmRequestTimeout
      */
@@ -165,6 +207,51 @@ public class TransportProperties {
         return this;
     }
 
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    public TransportProperties setTcpNoDelay(boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+        return this;
+    }
+
+    public boolean isTcpQuickAck() {
+        return tcpQuickAck;
+    }
+
+    public TransportProperties setTcpQuickAck(boolean tcpQuickAck) {
+        this.tcpQuickAck = tcpQuickAck;
+        return this;
+    }
+
+    public int getBusyPollMicros() {
+        return busyPollMicros;
+    }
+
+    public TransportProperties setBusyPollMicros(int busyPollMicros) {
+        this.busyPollMicros = busyPollMicros;
+        return this;
+    }
+
+    public int getClientBatchSendRequestMaxSize() {
+        return clientBatchSendRequestMaxSize;
+    }
+
+    public TransportProperties setClientBatchSendRequestMaxSize(int clientBatchSendRequestMaxSize) {
+        this.clientBatchSendRequestMaxSize = clientBatchSendRequestMaxSize;
+        return this;
+    }
+
+    public int getClientBatchSendRequestMaxWait() {
+        return clientBatchSendRequestMaxWait;
+    }
+
+    public TransportProperties setClientBatchSendRequestMaxWait(int clientBatchSendRequestMaxWait) {
+        this.clientBatchSendRequestMaxWait = clientBatchSendRequestMaxWait;
+        return this;
+    }
+
     public boolean isEnableTcServerBatchSendResponse() {
         return enableTcServerBatchSendResponse;
     }
@@ -173,6 +260,22 @@ public class TransportProperties {
         this.enableTcServerBatchSendResponse = enableTcServerBatchSendResponse;
     }
 
+    public boolean isEnableTcServerBatchSendRequest() {
+        return enableTcServerBatchSendRequest;
+    }
+
+    public void setEnableTcServerBatchSendRequest(boolean enableTcServerBatchSendRequest) {
+        this.enableTcServerBatchSendRequest = enableTcServerBatchSendRequest;
+    }
+
+    public int getTcServerBatchSendRequestMaxWait() {
+        return tcServerBatchSendRequestMaxWait;
+    }
+
+    public void setTcServerBatchSendRequestMaxWait(int tcServerBatchSendRequestMaxWait) {
+        this.tcServerBatchSendRequestMaxWait = tcServerBatchSendRequestMaxWait;
+    }
+
     public long getRpcRmRequestTimeout() {
         return rpcRmRequestTimeout;
     }
@@ -31,6 +31,10 @@ public class ServerProperties {
     private Boolean enableCheckAuth = true;
     private Boolean enableParallelRequestHandle = true;
     private Boolean enableParallelHandleBranch = false;
+    private Boolean enablePipelineHandleBranch = false;
+    private Integer maxBranchInFlightPerClient = 64;
+    private Boolean enableSessionSharding = false;
+    private Integer sessionShardCount = 0;
     private Integer retryDeadThreshold = 130000;
     private Integer servicePort;
     private Integer xaerNotaRetryTimeout = 60000;
@@ -116,6 +120,38 @@ public class ServerProperties {
         this.enableParallelHandleBranch = enableParallelHandleBranch;
     }
 
+    public Boolean getEnablePipelineHandleBranch() {
+        return enablePipelineHandleBranch;
+    }
+
+    public void setEnablePipelineHandleBranch(Boolean enablePipelineHandleBranch) {
+        this.enablePipelineHandleBranch = enablePipelineHandleBranch;
+    }
+
+    public Integer getMaxBranchInFlightPerClient() {
+        return maxBranchInFlightPerClient;
+    }
+
+    public void setMaxBranchInFlightPerClient(Integer maxBranchInFlightPerClient) {
+        this.maxBranchInFlightPerClient = maxBranchInFlightPerClient;
+    }
+
+    public Boolean getEnableSessionSharding() {
+        return enableSessionSharding;
+    }
+
+    public void setEnableSessionSharding(Boolean enableSessionSharding) {
+        this.enableSessionSharding = enableSessionSharding;
+    }
+
+    public Integer getSessionShardCount() {
+        return sessionShardCount;
+    }
+
+    public void setSessionShardCount(Integer sessionShardCount) {
+        this.sessionShardCount = sessionShardCount;
+    }
+
     public Boolean getApplicationDataLimitCheck() {
         return applicationDataLimitCheck;
     }
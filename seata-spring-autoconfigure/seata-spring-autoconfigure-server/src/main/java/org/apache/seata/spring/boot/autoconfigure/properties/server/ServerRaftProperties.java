@@ -55,6 +55,12 @@ public class ServerRaftProperties {
 
     private boolean sync = true;
 
+    private Integer snapshotChunks = 1;
+
+    private Integer syncBatchSize = 1;
+
+    private Integer syncBatchDelayMs = 0;
+
     public String getServerAddr() {
         return serverAddr;
     }
@@ -177,4 +183,28 @@ public class ServerRaftProperties {
         this.sync = sync;
     }
 
+    public Integer getSnapshotChunks() {
+        return snapshotChunks;
+    }
+
+    public void setSnapshotChunks(Integer snapshotChunks) {
+        this.snapshotChunks = snapshotChunks;
+    }
+
+    public Integer getSyncBatchSize() {
+        return syncBatchSize;
+    }
+
+    public void setSyncBatchSize(Integer syncBatchSize) {
+        this.syncBatchSize = syncBatchSize;
+    }
+
+    public Integer getSyncBatchDelayMs() {
+        return syncBatchDelayMs;
+    }
+
+    public void setSyncBatchDelayMs(Integer syncBatchDelayMs) {
+        this.syncBatchDelayMs = syncBatchDelayMs;
+    }
+
 }
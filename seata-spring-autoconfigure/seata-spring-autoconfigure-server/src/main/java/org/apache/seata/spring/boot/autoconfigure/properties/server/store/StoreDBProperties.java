@@ -21,6 +21,8 @@ import org.springframework.stereotype.Component;
 
 import static org.apache.seata.common.DefaultValues.DEFAULT_DB_MAX_CONN;
 import static org.apache.seata.common.DefaultValues.DEFAULT_DB_MIN_CONN;
+import static org.apache.seata.common.DefaultValues.DEFAULT_ENABLE_LOCK_BATCH_ACQUIRE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_LOCK_BATCH_ACQUIRE_MAX_SIZE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_QUERY_LIMIT;
 import static org.apache.seata.spring.boot.autoconfigure.StarterConstants.STORE_DB_PREFIX;
 
@@ -43,6 +45,8 @@ public class StoreDBProperties {
     private String vgroupTable = "vgroup_table";
     private Integer queryLimit = DEFAULT_QUERY_LIMIT;
     private Long maxWait = 5000L;
+    private Boolean enableLockBatchAcquire = DEFAULT_ENABLE_LOCK_BATCH_ACQUIRE;
+    private Integer lockBatchAcquireMaxSize = DEFAULT_LOCK_BATCH_ACQUIRE_MAX_SIZE;
 
     public String getDatasource() {
         return datasource;
@@ -178,4 +182,22 @@ public class StoreDBProperties {
         return this;
     }
 
+    public Boolean getEnableLockBatchAcquire() {
+        return enableLockBatchAcquire;
+    }
+
+    public StoreDBProperties setEnableLockBatchAcquire(Boolean enableLockBatchAcquire) {
+        this.enableLockBatchAcquire = enableLockBatchAcquire;
+        return this;
+    }
+
+    public Integer getLockBatchAcquireMaxSize() {
+        return lockBatchAcquireMaxSize;
+    }
+
+    public StoreDBProperties setLockBatchAcquireMaxSize(Integer lockBatchAcquireMaxSize) {
+        this.lockBatchAcquireMaxSize = lockBatchAcquireMaxSize;
+        return this;
+    }
+
 }
@@ -32,6 +32,12 @@ public class StoreFileProperties {
     private Integer fileWriteBufferCacheSize = 16384;
     private Integer sessionReloadReadSize = DEFAULT_SERVICE_SESSION_RELOAD_READ_SIZE;
     private String flushDiskMode = "async";
+    private String lockTable = "bucket";
+    private Integer groupCommitBatchSize = 128;
+    private Integer groupCommitMaxWaitMicros = 0;
+    private String logMode = "file";
+    private Integer segmentSize = 64 * 1024 * 1024;
+    private Integer maxSegmentCount = 16;
 
     public String getDir() {
         return dir;
@@ -86,4 +92,58 @@ public class StoreFileProperties {
         this.flushDiskMode = flushDiskMode;
         return this;
     }
+
+    public String getLockTable() {
+        return lockTable;
+    }
+
+    public StoreFileProperties setLockTable(String lockTable) {
+        this.lockTable = lockTable;
+        return this;
+    }
+
+    public Integer getGroupCommitBatchSize() {
+        return groupCommitBatchSize;
+    }
+
+    public StoreFileProperties setGroupCommitBatchSize(Integer groupCommitBatchSize) {
+        this.groupCommitBatchSize = groupCommitBatchSize;
+        return this;
+    }
+
+    public Integer getGroupCommitMaxWaitMicros() {
+        return groupCommitMaxWaitMicros;
+    }
+
+    public StoreFileProperties setGroupCommitMaxWaitMicros(Integer groupCommitMaxWaitMicros) {
+        this.groupCommitMaxWaitMicros = groupCommitMaxWaitMicros;
+        return this;
+    }
+
+    public String getLogMode() {
+        return logMode;
+    }
+
+    public StoreFileProperties setLogMode(String logMode) {
+        this.logMode = logMode;
+        return this;
+    }
+
+    public Integer getSegmentSize() {
+        return segmentSize;
+    }
+
+    public StoreFileProperties setSegmentSize(Integer segmentSize) {
+        this.segmentSize = segmentSize;
+        return this;
+    }
+
+    public Integer getMaxSegmentCount() {
+        return maxSegmentCount;
+    }
+
+    public StoreFileProperties setMaxSegmentCount(Integer maxSegmentCount) {
+        this.maxSegmentCount = maxSegmentCount;
+        return this;
+    }
 }
@@ -19,6 +19,8 @@ package org.apache.seata.spring.boot.autoconfigure.properties.server.store;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import static org.apache.seata.common.DefaultValues.DEFAULT_ENABLE_LOCK_NEAR_CACHE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_LOCK_NEAR_CACHE_SIZE;
 import static org.apache.seata.spring.boot.autoconfigure.StarterConstants.STORE_PREFIX;
 import static org.apache.seata.spring.boot.autoconfigure.StarterConstants.STORE_SESSION_PREFIX;
 import static org.apache.seata.spring.boot.autoconfigure.StarterConstants.STORE_LOCK_PREFIX;
@@ -74,6 +76,10 @@ public class StoreProperties {
     public static class Lock {
         private String mode;
 
+        private Boolean enableNearCache = DEFAULT_ENABLE_LOCK_NEAR_CACHE;
+
+        private Integer nearCacheSize = DEFAULT_LOCK_NEAR_CACHE_SIZE;
+
         public String getMode() {
             return mode;
         }
@@ -82,5 +88,23 @@ public class StoreProperties {
             this.mode = mode;
             return this;
         }
+
+        public Boolean getEnableNearCache() {
+            return enableNearCache;
+        }
+
+        public StoreProperties.Lock setEnableNearCache(Boolean enableNearCache) {
+            this.enableNearCache = enableNearCache;
+            return this;
+        }
+
+        public Integer getNearCacheSize() {
+            return nearCacheSize;
+        }
+
+        public StoreProperties.Lock setNearCacheSize(Integer nearCacheSize) {
+            this.nearCacheSize = nearCacheSize;
+            return this;
+        }
     }
 }
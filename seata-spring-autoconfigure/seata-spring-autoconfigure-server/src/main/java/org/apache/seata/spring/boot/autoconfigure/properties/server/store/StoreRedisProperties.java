@@ -22,6 +22,7 @@ import org.springframework.stereotype.Component;
 import static org.apache.seata.common.DefaultValues.DEFAULT_QUERY_LIMIT;
 import static org.apache.seata.common.DefaultValues.DEFAULT_REDIS_MAX_IDLE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_REDIS_MIN_IDLE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_STORE_REDIS_SESSION_ENCODING;
 import static org.apache.seata.spring.boot.autoconfigure.StarterConstants.STORE_REDIS_PREFIX;
 import static org.apache.seata.spring.boot.autoconfigure.StarterConstants.STORE_REDIS_SINGLE_PREFIX;
 import static org.apache.seata.spring.boot.autoconfigure.StarterConstants.STORE_REDIS_SENTINEL_PREFIX;
@@ -41,6 +42,10 @@ public class StoreRedisProperties {
     private Integer database = 0;
     private Integer queryLimit = DEFAULT_QUERY_LIMIT;
     private Integer maxTotal = 100;
+    /**
+     * hash, binary
+     */
+    private String sessionEncoding = DEFAULT_STORE_REDIS_SESSION_ENCODING;
 
     public String getMode() {
         return mode;
@@ -105,6 +110,15 @@ public class StoreRedisProperties {
         return this;
     }
 
+    public String getSessionEncoding() {
+        return sessionEncoding;
+    }
+
+    public StoreRedisProperties setSessionEncoding(String sessionEncoding) {
+        this.sessionEncoding = sessionEncoding;
+        return this;
+    }
+
     public Integer getMaxTotal() {
         return maxTotal;
     }
@@ -23,12 +23,24 @@ import java.util.Objects;
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
 
 
 public class KryoInnerSerializer implements AutoCloseable {
 
+    private static final int BUFFER_SIZE = 4096;
+
     private final Kryo kryo;
 
+    /**
+     * reused by the buffer serialization, the serializer is only used by one thread at a time
+     */
+    private Output bufferOutput;
+
+    private Input bufferInput;
+
     public KryoInnerSerializer(Kryo kryo) {
         this.kryo = Objects.requireNonNull(kryo);
     }
@@ -52,6 +64,40 @@ public class KryoInnerSerializer implements AutoCloseable {
         return (T) kryo.readClassAndObject(input);
     }
 
+    public <T> void serialize(T t, ByteBuf out) {
+        if (bufferOutput == null) {
+            bufferOutput = new Output(BUFFER_SIZE);
+        }
+        bufferOutput.setOutputStream(new ByteBufOutputStream(out));
+        try {
+            kryo.writeClassAndObject(bufferOutput, t);
+            bufferOutput.flush();
+        } finally {
+            bufferOutput.setOutputStream(null);
+        }
+    }
+
+    public <T> T deserialize(ByteBuf in, int length) {
+        int readerIndex = in.readerIndex();
+        try {
+            if (in.hasArray()) {
+                // read the heap buffer in place
+                return (T) kryo.readClassAndObject(new Input(in.array(), in.arrayOffset() + readerIndex, length));
+            }
+            if (bufferInput == null) {
+                bufferInput = new Input(BUFFER_SIZE);
+            }
+            bufferInput.setInputStream(new ByteBufInputStream(in, length));
+            try {
+                return (T) kryo.readClassAndObject(bufferInput);
+            } finally {
+                bufferInput.setInputStream(null);
+            }
+        } finally {
+            in.readerIndex(readerIndex + length);
+        }
+    }
+
     @Override
     public void close() {
         KryoSerializerFactory.getInstance().returnKryo(this);
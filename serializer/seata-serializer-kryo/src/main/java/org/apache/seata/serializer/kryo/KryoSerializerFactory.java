@@ -25,10 +25,13 @@ public class KryoSerializerFactory {
 
     private static final KryoSerializerFactory FACTORY = new KryoSerializerFactory();
 
-    private Pool<Kryo> pool = new Pool<Kryo>(true, true) {
+    /**
+     * pools the serializer instead of the bare kryo, so its buffers are reused as well
+     */
+    private Pool<KryoInnerSerializer> pool = new Pool<KryoInnerSerializer>(true, true) {
 
         @Override
-        protected Kryo create() {
+        protected KryoInnerSerializer create() {
             Kryo kryo = new Kryo();
             kryo.setReferences(true);
 
@@ -37,7 +40,7 @@ public class KryoSerializerFactory {
 
             // register allow class
             SerializerSecurityRegistry.getAllowClassType().forEach(kryo::register);
-            return kryo;
+            return new KryoInnerSerializer(kryo);
         }
     };
 
@@ -48,14 +51,14 @@ public class KryoSerializerFactory {
     }
 
     public KryoInnerSerializer get() {
-        return new KryoInnerSerializer(pool.obtain());
+        return pool.obtain();
     }
 
     public void returnKryo(KryoInnerSerializer kryoSerializer) {
         if (kryoSerializer == null) {
             throw new IllegalArgumentException("kryoSerializer is null");
         }
-        pool.free(kryoSerializer.getKryo());
+        pool.free(kryoSerializer);
     }
 
 }
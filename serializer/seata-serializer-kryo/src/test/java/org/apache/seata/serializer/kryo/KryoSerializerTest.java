@@ -24,6 +24,8 @@ import java.util.Map;
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.apache.seata.core.exception.TransactionExceptionCode;
 import org.apache.seata.core.model.BranchStatus;
 import org.apache.seata.core.model.BranchType;
@@ -101,6 +103,29 @@ public class KryoSerializerTest {
 
     }
 
+    @Test
+    public void testBufferCodec() {
+        BranchCommitRequest branchCommitRequest = new BranchCommitRequest();
+        branchCommitRequest.setBranchType(BranchType.AT);
+        branchCommitRequest.setXid("xid");
+        branchCommitRequest.setResourceId("resourceId");
+        branchCommitRequest.setBranchId(20190809);
+
+        for (ByteBuf out : new ByteBuf[] {Unpooled.buffer(), Unpooled.directBuffer()}) {
+            out.writeInt(0);
+            kryoCodec.serialize(branchCommitRequest, out);
+            out.skipBytes(4);
+            int length = out.readableBytes();
+            assertThat(length).isEqualTo(kryoCodec.serialize(branchCommitRequest).length);
+
+            BranchCommitRequest t = kryoCodec.deserialize(out, length);
+            assertThat(out.readableBytes()).isEqualTo(0);
+            assertThat(t.getXid()).isEqualTo(branchCommitRequest.getXid());
+            assertThat(t.getBranchId()).isEqualTo(branchCommitRequest.getBranchId());
+            out.release();
+        }
+    }
+
     @Test
     public void testKryoBasic() {
         Kryo kryo = new Kryo();
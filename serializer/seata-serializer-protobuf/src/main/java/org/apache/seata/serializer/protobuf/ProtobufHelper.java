@@ -32,6 +32,11 @@ public class ProtobufHelper {
      */
     ConcurrentMap<Class, Method> parseFromMethodMap = new ConcurrentHashMap<>();
 
+    /**
+     * Cache of parseFrom(ByteBuffer) method
+     */
+    ConcurrentMap<Class, Method> parseFromBufferMethodMap = new ConcurrentHashMap<>();
+
     /**
      * Cache of toByteArray method
      */
@@ -16,14 +16,20 @@
  */
 package org.apache.seata.serializer.protobuf;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.GeneratedMessageV3;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import org.apache.seata.common.exception.ShouldNeverHappenException;
 import org.apache.seata.common.loader.LoadLevel;
 import org.apache.seata.common.util.BufferUtils;
+import org.apache.seata.core.serializer.ByteBufSerializer;
 import org.apache.seata.core.serializer.Serializer;
 import org.apache.seata.serializer.protobuf.convertor.PbConvertor;
 import org.apache.seata.serializer.protobuf.manager.ProtobufConvertManager;
@@ -33,7 +39,7 @@ import org.apache.seata.serializer.protobuf.manager.ProtobufConvertManager;
  *
  */
 @LoadLevel(name = "PROTOBUF", order = 0)
-public class ProtobufSerializer implements Serializer {
+public class ProtobufSerializer implements Serializer, ByteBufSerializer {
 
     protected static final Charset UTF8 = StandardCharsets.UTF_8;
 
@@ -81,4 +87,45 @@ public class ProtobufSerializer implements Serializer {
         return (T)newBody;
     }
 
+    @Override
+    public <T> void serialize(T t, ByteBuf out) {
+        if (t == null) {
+            throw new NullPointerException();
+        }
+        final PbConvertor pbConvertor = ProtobufConvertManager.getInstance().fetchConvertor(
+            t.getClass().getName());
+        GeneratedMessageV3 newBody = (GeneratedMessageV3)pbConvertor.convert2Proto(t);
+        final byte[] nameBytes = newBody.getDescriptorForType().getFullName().getBytes(UTF8);
+        out.writeInt(nameBytes.length);
+        out.writeBytes(nameBytes);
+        int bodyLength = newBody.getSerializedSize();
+        out.ensureWritable(bodyLength);
+        try {
+            if (out.nioBufferCount() == 1) {
+                // write the message into the writable region of the buffer without copy
+                CodedOutputStream output = CodedOutputStream.newInstance(out.nioBuffer(out.writerIndex(), bodyLength));
+                newBody.writeTo(output);
+                output.flush();
+                out.writerIndex(out.writerIndex() + bodyLength);
+            } else {
+                newBody.writeTo(new ByteBufOutputStream(out));
+            }
+        } catch (IOException e) {
+            throw new ShouldNeverHappenException("serialize occurs exception", e);
+        }
+    }
+
+    @Override
+    public <T> T deserialize(ByteBuf in, int length) {
+        int clazzNameLength = in.readInt();
+        final String descriptorName = in.readCharSequence(clazzNameLength, UTF8).toString();
+        int bodyLength = length - clazzNameLength - 4;
+        ByteBuffer body = in.nioBuffer(in.readerIndex(), bodyLength);
+        in.skipBytes(bodyLength);
+        Class protobufClazz = ProtobufConvertManager.getInstance().fetchProtoClass(descriptorName);
+        Object protobufObject = ProtobufInnerSerializer.deserializeContent(protobufClazz.getName(), body);
+        final PbConvertor pbConvertor = ProtobufConvertManager.getInstance().fetchReversedConvertor(protobufClazz.getName());
+        return (T)pbConvertor.convert2Model(protobufObject);
+    }
+
 }
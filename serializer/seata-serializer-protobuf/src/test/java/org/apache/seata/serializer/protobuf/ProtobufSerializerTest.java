@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.serializer.protobuf;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.seata.core.model.BranchType;
+import org.apache.seata.core.protocol.transaction.BranchCommitRequest;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The type Protobuf serializer test.
+ *
+ */
+public class ProtobufSerializerTest {
+
+    private final ProtobufSerializer protobufSerializer = new ProtobufSerializer();
+
+    @Test
+    public void testBufferCodec() {
+        BranchCommitRequest branchCommitRequest = new BranchCommitRequest();
+        branchCommitRequest.setBranchType(BranchType.AT);
+        branchCommitRequest.setXid("xid");
+        branchCommitRequest.setResourceId("resourceId");
+        branchCommitRequest.setBranchId(20190809);
+        branchCommitRequest.setApplicationData("app");
+
+        for (ByteBuf out : new ByteBuf[] {Unpooled.buffer(), Unpooled.directBuffer(), Unpooled.compositeBuffer()}) {
+            out.writeInt(0);
+            protobufSerializer.serialize(branchCommitRequest, out);
+            out.skipBytes(4);
+            int length = out.readableBytes();
+            byte[] bytes = protobufSerializer.serialize(branchCommitRequest);
+            assertThat(length).isEqualTo(bytes.length);
+
+            BranchCommitRequest decoded = protobufSerializer.deserialize(out, length);
+            assertThat(out.readableBytes()).isEqualTo(0);
+            assertThat(decoded.getXid()).isEqualTo(branchCommitRequest.getXid());
+            assertThat(decoded.getBranchId()).isEqualTo(branchCommitRequest.getBranchId());
+            assertThat(decoded.getApplicationData()).isEqualTo(branchCommitRequest.getApplicationData());
+            assertThat(decoded.getBranchType()).isEqualTo(branchCommitRequest.getBranchType());
+            out.release();
+        }
+    }
+}
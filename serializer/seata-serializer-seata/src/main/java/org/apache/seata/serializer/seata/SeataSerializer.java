@@ -23,6 +23,7 @@ import org.apache.seata.common.loader.Scope;
 import org.apache.seata.common.util.BufferUtils;
 import org.apache.seata.core.protocol.AbstractMessage;
 import org.apache.seata.core.protocol.ProtocolConstants;
+import org.apache.seata.core.serializer.ByteBufSerializer;
 import org.apache.seata.core.serializer.Serializer;
 
 import java.nio.ByteBuffer;
@@ -31,7 +32,7 @@ import java.nio.ByteBuffer;
  * The Seata codec.
  */
 @LoadLevel(name = "SEATA", scope = Scope.PROTOTYPE)
-public class SeataSerializer implements Serializer {
+public class SeataSerializer implements Serializer, ByteBufSerializer {
     Serializer versionSeataSerializer;
 
     public SeataSerializer(Byte version) {
@@ -55,8 +56,18 @@ public class SeataSerializer implements Serializer {
         return versionSeataSerializer.deserialize(bytes);
     }
 
+    @Override
+    public <T> void serialize(T t, ByteBuf out) {
+        ((ByteBufSerializer)versionSeataSerializer).serialize(t, out);
+    }
+
+    @Override
+    public <T> T deserialize(ByteBuf in, int length) {
+        return ((ByteBufSerializer)versionSeataSerializer).deserialize(in, length);
+    }
 
-    static class SeataSerializerV1 implements Serializer {
+
+    static class SeataSerializerV1 implements Serializer, ByteBufSerializer {
 
         private static volatile SeataSerializerV1 instance;
 
@@ -108,8 +119,25 @@ public class SeataSerializer implements Serializer {
         public <T> T deserialize(byte[] bytes) {
             return deserializeByVersion(bytes, ProtocolConstants.VERSION_1);
         }
+
+        @Override
+        public <T> void serialize(T t, ByteBuf out) {
+            if (!(t instanceof AbstractMessage)) {
+                throw new IllegalArgumentException("AbstractMessage isn't available.");
+            }
+            short typecode = ((AbstractMessage) t).getTypeCode();
+            MessageSeataCodec messageCodec = MessageCodecFactory.getMessageCodec(typecode, ProtocolConstants.VERSION_1);
+            //typecode + body
+            out.writeShort(typecode);
+            messageCodec.encode(t, out);
+        }
+
+        @Override
+        public <T> T deserialize(ByteBuf in, int length) {
+            return deserializeByVersion(in, length, ProtocolConstants.VERSION_1);
+        }
     }
-    static class SeataSerializerV0 implements Serializer {
+    static class SeataSerializerV0 implements Serializer, ByteBufSerializer {
 
         private static volatile SeataSerializerV0 instance;
 
@@ -160,6 +188,21 @@ public class SeataSerializer implements Serializer {
             return deserializeByVersion(bytes, ProtocolConstants.VERSION_0);
         }
 
+        @Override
+        public <T> void serialize(T t, ByteBuf out) {
+            if (!(t instanceof AbstractMessage)) {
+                throw new IllegalArgumentException("AbstractMessage isn't available.");
+            }
+            short typecode = ((AbstractMessage) t).getTypeCode();
+            MessageSeataCodec messageCodec = MessageCodecFactory.getMessageCodec(typecode, ProtocolConstants.VERSION_0);
+            messageCodec.encode(t, out);
+        }
+
+        @Override
+        public <T> T deserialize(ByteBuf in, int length) {
+            return deserializeByVersion(in, length, ProtocolConstants.VERSION_0);
+        }
+
     }
 
     private static <T> T deserializeByVersion(byte[] bytes, byte version) {
@@ -181,4 +224,19 @@ public class SeataSerializer implements Serializer {
         messageCodec.decode(abstractMessage, in);
         return (T) abstractMessage;
     }
+
+    private static <T> T deserializeByVersion(ByteBuf in, int length, byte version) {
+        if (length < 2) {
+            throw new IllegalArgumentException("The byte[] isn't available for decode.");
+        }
+        //typecode
+        short typecode = in.getShort(in.readerIndex());
+        //a view of the body without copy
+        ByteBuffer body = in.nioBuffer(in.readerIndex() + 2, length - 2);
+        in.skipBytes(length);
+        AbstractMessage abstractMessage = MessageCodecFactory.getMessage(typecode);
+        MessageSeataCodec messageCodec = MessageCodecFactory.getMessageCodec(typecode, version);
+        messageCodec.decode(abstractMessage, body);
+        return (T) abstractMessage;
+    }
 }
@@ -16,6 +16,8 @@
  */
 package org.apache.seata.serializer.seata.protocol;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.apache.seata.serializer.seata.SeataSerializer;
 import org.apache.seata.core.exception.TransactionExceptionCode;
 import org.apache.seata.core.protocol.AbstractResultMessage;
@@ -72,6 +74,27 @@ public class MergeResultMessageSerializerTest {
 
     }
 
+    /**
+     * Test codec with a buffer that already holds the protocol head.
+     */
+    @Test
+    public void test_buffer_codec() {
+        MergeResultMessage mergeResultMessage = new MergeResultMessage();
+        mergeResultMessage.setMsgs(new AbstractResultMessage[] {buildGlobalBeginResponse("a1"), buildGlobalBeginResponse("a2")});
+
+        ByteBuf out = Unpooled.buffer();
+        out.writeLong(0L);
+        seataSerializer.serialize(mergeResultMessage, out);
+        assertThat(out.readLong()).isEqualTo(0L);
+        int length = out.readableBytes();
+        assertThat(length).isEqualTo(seataSerializer.serialize(mergeResultMessage).length);
+
+        MergeResultMessage mergeResultMessage2 = seataSerializer.deserialize(out, length);
+        assertThat(out.readableBytes()).isEqualTo(0);
+        assertThat(mergeResultMessage2.msgs.length).isEqualTo(2);
+        assertThat(((GlobalBeginResponse) mergeResultMessage2.msgs[1]).getXid()).isEqualTo("a2");
+    }
+
     private GlobalBeginResponse buildGlobalBeginResponse(String xid) {
         final GlobalBeginResponse globalBeginResponse = new GlobalBeginResponse();
         globalBeginResponse.setXid(xid);
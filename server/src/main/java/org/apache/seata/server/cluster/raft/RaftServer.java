@@ -33,6 +33,7 @@ import org.apache.commons.io.FileUtils;
 import org.apache.seata.config.Configuration;
 import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.rpc.Disposable;
+import org.apache.seata.server.cluster.raft.util.RaftTaskUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -124,6 +125,7 @@ public class RaftServer implements Disposable, Closeable {
 
     @Override
     public void destroy() {
+        RaftTaskUtil.shutdownBatcher(groupId);
         Optional.ofNullable(raftGroupService).ifPresent(r -> {
             r.shutdown();
             try {
@@ -215,6 +215,8 @@ public class RaftServerManager {
         // snapshot should be made every 600 seconds
         int snapshotInterval = CONFIG.getInt(SERVER_RAFT_SNAPSHOT_INTERVAL, 60 * 10);
         nodeOptions.setSnapshotIntervalSecs(snapshotInterval);
+        // the snapshot chunks unchanged since the local snapshot are linked instead of downloaded
+        nodeOptions.setFilterBeforeCopyRemote(true);
         nodeOptions.setRaftOptions(initRaftOptions());
         // set the election timeout to 1 second
         nodeOptions
@@ -73,6 +73,7 @@ import org.apache.seata.server.cluster.raft.execute.lock.GlobalReleaseLockExecut
 import org.apache.seata.server.cluster.listener.ClusterChangeEvent;
 import org.apache.seata.server.cluster.raft.sync.RaftSyncMessageSerializer;
 import org.apache.seata.server.cluster.raft.sync.msg.RaftBaseMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBatchSyncMsg;
 import org.apache.seata.server.cluster.raft.sync.msg.RaftClusterMetadataMsg;
 import org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMsgType;
 import org.apache.seata.server.cluster.raft.sync.msg.dto.RaftClusterMetadata;
@@ -325,6 +326,12 @@ public class RaftStateMachine extends StateMachineAdapter {
     }
 
     private void onExecuteRaft(RaftBaseMsg msg) {
+        if (msg instanceof RaftBatchSyncMsg) {
+            for (RaftBaseMsg batchMsg : ((RaftBatchSyncMsg)msg).getMsgs()) {
+                onExecuteRaft(batchMsg);
+            }
+            return;
+        }
         RaftMsgExecute<?> execute = EXECUTES.get(msg.getMsgType());
         if (execute == null) {
             throw new RuntimeException(
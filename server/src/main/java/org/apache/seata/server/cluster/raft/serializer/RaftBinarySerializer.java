@@ -0,0 +1,433 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.cluster.raft.serializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.seata.common.loader.LoadLevel;
+import org.apache.seata.core.serializer.Serializer;
+import org.apache.seata.server.cluster.raft.snapshot.session.RaftSessionSnapshot;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBaseMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBatchSyncMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBranchSessionSyncMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftGlobalSessionSyncMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMsgType;
+import org.apache.seata.server.cluster.raft.sync.msg.dto.BranchTransactionDTO;
+import org.apache.seata.server.cluster.raft.sync.msg.dto.GlobalTransactionDTO;
+
+/**
+ * A compact binary format of the session sync messages and the session snapshot, the fields are written
+ * in a fixed order with variable length integers. The first byte is the format version and the second one
+ * the type of the body, any other body is written by {@link JacksonSerializer}.
+ * New fields must be appended behind a new version, the readers of older versions are kept.
+ *
+ */
+@LoadLevel(name = "RAFT_BINARY")
+public class RaftBinarySerializer implements Serializer {
+
+    static final byte VERSION_1 = 1;
+
+    private static final byte TYPE_JACKSON = 0;
+
+    private static final byte TYPE_GLOBAL_SESSION = 1;
+
+    private static final byte TYPE_BRANCH_SESSION = 2;
+
+    private static final byte TYPE_BATCH = 3;
+
+    private static final byte TYPE_SESSION_SNAPSHOT = 4;
+
+    /**
+     * the message type of each code written to the log, a code must never be reused or reordered,
+     * new types are appended
+     */
+    private static final RaftSyncMsgType[] MSG_TYPES = {
+        RaftSyncMsgType.ADD_GLOBAL_SESSION,
+        RaftSyncMsgType.REMOVE_GLOBAL_SESSION,
+        RaftSyncMsgType.ADD_BRANCH_SESSION,
+        RaftSyncMsgType.REMOVE_BRANCH_SESSION,
+        RaftSyncMsgType.UPDATE_GLOBAL_SESSION_STATUS,
+        RaftSyncMsgType.UPDATE_BRANCH_SESSION_STATUS,
+        RaftSyncMsgType.RELEASE_GLOBAL_SESSION_LOCK,
+        RaftSyncMsgType.RELEASE_BRANCH_SESSION_LOCK,
+        RaftSyncMsgType.REFRESH_CLUSTER_METADATA,
+        RaftSyncMsgType.BATCH_SYNC_MSG
+    };
+
+    private static final Map<RaftSyncMsgType, Byte> MSG_TYPE_CODES = new EnumMap<>(RaftSyncMsgType.class);
+
+    static {
+        for (int code = 0; code < MSG_TYPES.length; code++) {
+            MSG_TYPE_CODES.put(MSG_TYPES[code], (byte)code);
+        }
+    }
+
+    private final JacksonSerializer jacksonSerializer = new JacksonSerializer();
+
+    @Override
+    public <T> byte[] serialize(T t) {
+        Output out = new Output(256);
+        out.writeByte(VERSION_1);
+        if (t instanceof RaftGlobalSessionSyncMsg || t instanceof RaftBranchSessionSyncMsg
+            || t instanceof RaftBatchSyncMsg) {
+            writeMsg(out, (RaftBaseMsg)t);
+        } else if (t instanceof RaftSessionSnapshot) {
+            out.writeByte(TYPE_SESSION_SNAPSHOT);
+            Map<byte[], List<byte[]>> globalSessions = ((RaftSessionSnapshot)t).getGlobalsessions();
+            out.writeVarLong(globalSessions.size());
+            globalSessions.forEach((globalSession, branchSessions) -> {
+                out.writeBytes(globalSession);
+                out.writeVarLong(branchSessions.size());
+                branchSessions.forEach(out::writeBytes);
+            });
+        } else {
+            out.writeByte(TYPE_JACKSON);
+            out.writeBytes(jacksonSerializer.serialize(t));
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T deserialize(byte[] bytes) {
+        Input in = new Input(bytes);
+        byte version = in.readByte();
+        if (version != VERSION_1) {
+            throw new IllegalArgumentException("unsupported raft binary format version: " + version);
+        }
+        byte type = in.readByte();
+        if (type == TYPE_JACKSON) {
+            return jacksonSerializer.deserialize(in.readBytes());
+        }
+        if (type == TYPE_SESSION_SNAPSHOT) {
+            int size = (int)in.readVarLong();
+            Map<byte[], List<byte[]>> globalSessions = new LinkedHashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                byte[] globalSession = in.readBytes();
+                int branches = (int)in.readVarLong();
+                List<byte[]> branchSessions = branches == 0 ? Collections.emptyList() : new ArrayList<>(branches);
+                for (int j = 0; j < branches; j++) {
+                    branchSessions.add(in.readBytes());
+                }
+                globalSessions.put(globalSession, branchSessions);
+            }
+            RaftSessionSnapshot sessionSnapshot = new RaftSessionSnapshot();
+            sessionSnapshot.setGlobalsessions(globalSessions);
+            return (T)sessionSnapshot;
+        }
+        return (T)readMsg(in, type);
+    }
+
+    private void writeMsg(Output out, RaftBaseMsg msg) {
+        if (msg instanceof RaftGlobalSessionSyncMsg) {
+            out.writeByte(TYPE_GLOBAL_SESSION);
+            writeHeader(out, msg);
+            writeGlobalSession(out, ((RaftGlobalSessionSyncMsg)msg).getGlobalSession());
+        } else if (msg instanceof RaftBranchSessionSyncMsg) {
+            out.writeByte(TYPE_BRANCH_SESSION);
+            writeHeader(out, msg);
+            writeBranchSession(out, ((RaftBranchSessionSyncMsg)msg).getBranchSession());
+        } else if (msg instanceof RaftBatchSyncMsg) {
+            out.writeByte(TYPE_BATCH);
+            writeHeader(out, msg);
+            List<RaftBaseMsg> msgs = ((RaftBatchSyncMsg)msg).getMsgs();
+            out.writeVarLong(msgs.size());
+            msgs.forEach(m -> writeMsg(out, m));
+        } else {
+            throw new IllegalArgumentException("unsupported raft sync msg in a batch: " + msg.getClass().getName());
+        }
+    }
+
+    private RaftBaseMsg readMsg(Input in, byte type) {
+        RaftBaseMsg msg;
+        switch (type) {
+            case TYPE_GLOBAL_SESSION:
+                msg = new RaftGlobalSessionSyncMsg();
+                readHeader(in, msg);
+                ((RaftGlobalSessionSyncMsg)msg).setGlobalSession(readGlobalSession(in));
+                return msg;
+            case TYPE_BRANCH_SESSION:
+                msg = new RaftBranchSessionSyncMsg();
+                readHeader(in, msg);
+                ((RaftBranchSessionSyncMsg)msg).setBranchSession(readBranchSession(in));
+                return msg;
+            case TYPE_BATCH:
+                msg = new RaftBatchSyncMsg();
+                readHeader(in, msg);
+                int size = (int)in.readVarLong();
+                List<RaftBaseMsg> msgs = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    msgs.add(readMsg(in, in.readByte()));
+                }
+                ((RaftBatchSyncMsg)msg).setMsgs(msgs);
+                return msg;
+            default:
+                throw new IllegalArgumentException("unknown raft binary type: " + type);
+        }
+    }
+
+    private static void writeHeader(Output out, RaftBaseMsg msg) {
+        Byte code = MSG_TYPE_CODES.get(msg.getMsgType());
+        if (code == null) {
+            throw new IllegalArgumentException("no raft binary code of msg type: " + msg.getMsgType());
+        }
+        out.writeByte(code);
+        out.writeString(msg.getGroup());
+    }
+
+    private static void readHeader(Input in, RaftBaseMsg msg) {
+        byte code = in.readByte();
+        if (code < 0 || code >= MSG_TYPES.length) {
+            throw new IllegalArgumentException("unknown raft binary msg type code: " + code);
+        }
+        msg.setMsgType(MSG_TYPES[code]);
+        msg.setGroup(in.readString());
+    }
+
+    private static void writeGlobalSession(Output out, GlobalTransactionDTO dto) {
+        out.writeBoolean(dto != null);
+        if (dto == null) {
+            return;
+        }
+        out.writeString(dto.getXid());
+        out.writeNullableLong(dto.getTransactionId());
+        out.writeNullableLong(dto.getStatus() == null ? null : dto.getStatus().longValue());
+        out.writeString(dto.getApplicationId());
+        out.writeString(dto.getTransactionServiceGroup());
+        out.writeString(dto.getTransactionName());
+        out.writeNullableLong(dto.getTimeout() == null ? null : dto.getTimeout().longValue());
+        out.writeNullableLong(dto.getBeginTime());
+        out.writeString(dto.getApplicationData());
+        out.writeNullableLong(dto.getGmtCreate() == null ? null : dto.getGmtCreate().getTime());
+        out.writeNullableLong(dto.getGmtModified() == null ? null : dto.getGmtModified().getTime());
+    }
+
+    private static GlobalTransactionDTO readGlobalSession(Input in) {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        GlobalTransactionDTO dto = new GlobalTransactionDTO();
+        dto.setXid(in.readString());
+        dto.setTransactionId(in.readNullableLong());
+        Long status = in.readNullableLong();
+        dto.setStatus(status == null ? null : status.intValue());
+        dto.setApplicationId(in.readString());
+        dto.setTransactionServiceGroup(in.readString());
+        dto.setTransactionName(in.readString());
+        Long timeout = in.readNullableLong();
+        dto.setTimeout(timeout == null ? null : timeout.intValue());
+        dto.setBeginTime(in.readNullableLong());
+        dto.setApplicationData(in.readString());
+        dto.setGmtCreate(toDate(in.readNullableLong()));
+        dto.setGmtModified(toDate(in.readNullableLong()));
+        return dto;
+    }
+
+    private static void writeBranchSession(Output out, BranchTransactionDTO dto) {
+        out.writeBoolean(dto != null);
+        if (dto == null) {
+            return;
+        }
+        out.writeString(dto.getXid());
+        out.writeNullableLong(dto.getTransactionId());
+        out.writeNullableLong(dto.getBranchId());
+        out.writeString(dto.getResourceGroupId());
+        out.writeString(dto.getResourceId());
+        out.writeString(dto.getBranchType());
+        out.writeNullableLong(dto.getStatus() == null ? null : dto.getStatus().longValue());
+        out.writeString(dto.getClientId());
+        out.writeString(dto.getApplicationData());
+        out.writeNullableLong(dto.getGmtCreate() == null ? null : dto.getGmtCreate().getTime());
+        out.writeNullableLong(dto.getGmtModified() == null ? null : dto.getGmtModified().getTime());
+        out.writeString(dto.getLockKey());
+    }
+
+    private static BranchTransactionDTO readBranchSession(Input in) {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        BranchTransactionDTO dto = new BranchTransactionDTO();
+        dto.setXid(in.readString());
+        Long transactionId = in.readNullableLong();
+        if (transactionId != null) {
+            dto.setTransactionId(transactionId);
+        }
+        Long branchId = in.readNullableLong();
+        if (branchId != null) {
+            dto.setBranchId(branchId);
+        }
+        dto.setResourceGroupId(in.readString());
+        dto.setResourceId(in.readString());
+        dto.setBranchType(in.readString());
+        Long status = in.readNullableLong();
+        if (status != null) {
+            dto.setStatus(status.intValue());
+        }
+        dto.setClientId(in.readString());
+        dto.setApplicationData(in.readString());
+        dto.setGmtCreate(toDate(in.readNullableLong()));
+        dto.setGmtModified(toDate(in.readNullableLong()));
+        dto.setLockKey(in.readString());
+        return dto;
+    }
+
+    private static Date toDate(Long time) {
+        return time == null ? null : new Date(time);
+    }
+
+    /**
+     * A growable buffer, the integers are written as zigzag varints.
+     */
+    private static final class Output {
+
+        private byte[] buf;
+
+        private int pos;
+
+        Output(int capacity) {
+            buf = new byte[capacity];
+        }
+
+        void writeByte(byte b) {
+            ensure(1);
+            buf[pos++] = b;
+        }
+
+        void writeBoolean(boolean b) {
+            writeByte(b ? (byte)1 : (byte)0);
+        }
+
+        void writeVarLong(long v) {
+            ensure(10);
+            long zigzag = (v << 1) ^ (v >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                buf[pos++] = (byte)((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            buf[pos++] = (byte)zigzag;
+        }
+
+        void writeNullableLong(Long v) {
+            writeBoolean(v != null);
+            if (v != null) {
+                writeVarLong(v);
+            }
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        /**
+         * The length is written plus one, zero stands for null.
+         */
+        void writeString(String s) {
+            if (s == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        private void ensure(int length) {
+            if (pos + length > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, pos + length));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+    }
+
+    private static final class Input {
+
+        private final byte[] buf;
+
+        private int pos;
+
+        Input(byte[] buf) {
+            this.buf = buf;
+        }
+
+        byte readByte() {
+            if (pos >= buf.length) {
+                throw new IllegalArgumentException("truncated raft binary data");
+            }
+            return buf[pos++];
+        }
+
+        boolean readBoolean() {
+            return readByte() != 0;
+        }
+
+        long readVarLong() {
+            long zigzag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                zigzag |= (long)(b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+            }
+            throw new IllegalArgumentException("malformed varint in raft binary data");
+        }
+
+        Long readNullableLong() {
+            return readBoolean() ? readVarLong() : null;
+        }
+
+        byte[] readBytes() {
+            int length = readLength(readVarLong());
+            byte[] bytes = Arrays.copyOfRange(buf, pos, pos + length);
+            pos += length;
+            return bytes;
+        }
+
+        String readString() {
+            long length = readVarLong();
+            if (length == 0) {
+                return null;
+            }
+            int size = readLength(length - 1);
+            String s = new String(buf, pos, size, StandardCharsets.UTF_8);
+            pos += size;
+            return s;
+        }
+
+        private int readLength(long length) {
+            if (length < 0 || length > buf.length - pos) {
+                throw new IllegalArgumentException("truncated raft binary data");
+            }
+            return (int)length;
+        }
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.seata.core.protocol.Version;
 import org.apache.seata.core.serializer.SerializerType;
 
 import static org.apache.seata.common.ConfigurationKeys.SERVER_RAFT_COMPRESSOR;
+import static org.apache.seata.common.ConfigurationKeys.SERVER_RAFT_SERIALIZATION;
 import static org.apache.seata.common.DefaultValues.DEFAULT_RAFT_COMPRESSOR;
 import static org.apache.seata.common.DefaultValues.DEFAULT_RAFT_SERIALIZATION;
 
@@ -31,7 +32,9 @@ import static org.apache.seata.common.DefaultValues.DEFAULT_RAFT_SERIALIZATION;
  */
 public class RaftSnapshot implements Serializable {
 
-    private byte codec = SerializerType.getByName(DEFAULT_RAFT_SERIALIZATION).getCode();
+    private byte codec = SerializerType
+        .getByName(ConfigurationFactory.getInstance().getConfig(SERVER_RAFT_SERIALIZATION, DEFAULT_RAFT_SERIALIZATION))
+        .getCode();
 
     private byte compressor = CompressorType
         .getByName(ConfigurationFactory.getInstance().getConfig(SERVER_RAFT_COMPRESSOR, DEFAULT_RAFT_COMPRESSOR))
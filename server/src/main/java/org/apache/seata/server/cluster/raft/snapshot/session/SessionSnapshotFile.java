@@ -19,12 +19,31 @@ package org.apache.seata.server.cluster.raft.snapshot.session;
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import com.alipay.sofa.jraft.Status;
+import com.alipay.sofa.jraft.entity.LocalFileMetaOutter.LocalFileMeta;
 import com.alipay.sofa.jraft.error.RaftError;
+import com.alipay.sofa.jraft.storage.snapshot.Snapshot;
 import com.alipay.sofa.jraft.storage.snapshot.SnapshotReader;
 import com.alipay.sofa.jraft.storage.snapshot.SnapshotWriter;
+import com.google.protobuf.Message;
+import org.apache.commons.io.FileUtils;
+import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.server.cluster.raft.snapshot.RaftSnapshot;
+import org.apache.seata.server.cluster.raft.snapshot.RaftSnapshotSerializer;
 import org.apache.seata.server.cluster.raft.snapshot.StoreSnapshotFile;
 import org.apache.seata.server.lock.LockerManagerFactory;
 import org.apache.seata.server.session.GlobalSession;
@@ -33,7 +52,16 @@ import org.apache.seata.server.storage.raft.session.RaftSessionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static org.apache.seata.common.ConfigurationKeys.SERVER_RAFT_SNAPSHOT_CHUNKS;
+import static org.apache.seata.common.DefaultValues.DEFAULT_RAFT_SNAPSHOT_CHUNKS;
+
 /**
+ * The global sessions are split into chunks by the hash of the xid, the chunks are written and loaded in parallel.
+ * A chunk whose encoded sessions are unchanged since the previous snapshot is linked from it instead of being
+ * serialized and written again, and every chunk carries the checksum of its content, so a follower installing
+ * the snapshot only downloads the chunks that differ from its own snapshot.
+ * A snapshot of one chunk, the default, is the single session file the versions before the chunks read,
+ * the chunks should only be raised once every node of the group is upgraded.
  */
 public class SessionSnapshotFile implements Serializable,StoreSnapshotFile {
 
@@ -41,63 +69,260 @@ public class SessionSnapshotFile implements Serializable,StoreSnapshotFile {
 
     private static final long serialVersionUID = 7942307427240595916L;
 
+    private static final String CHUNK_PREFIX = "session_";
+
     String group;
 
+    /**
+     * the single file of a snapshot with one chunk, the format of the versions before the chunks
+     */
     String fileName = "session";
 
+    private final int chunks;
+
+    /**
+     * the chunks of the last snapshot saved or loaded, null if they can not be reused
+     */
+    private transient volatile Chunk[] lastChunks;
+
+    private transient volatile String lastSnapshotPath;
+
     public SessionSnapshotFile(String group) {
+        this(group, ConfigurationFactory.getInstance().getInt(SERVER_RAFT_SNAPSHOT_CHUNKS, DEFAULT_RAFT_SNAPSHOT_CHUNKS));
+    }
+
+    public SessionSnapshotFile(String group, int chunks) {
         this.group = group;
+        this.chunks = Math.max(chunks, 1);
     }
 
     @Override
     public Status save(SnapshotWriter writer) {
         RaftSessionManager raftSessionManager = (RaftSessionManager)SessionHolder.getRootSessionManager(group);
-        Map<String, GlobalSession> sessionMap = raftSessionManager.getSessionMap();
-        RaftSessionSnapshot sessionSnapshot = new RaftSessionSnapshot();
-        sessionMap.forEach((xid, session) -> sessionSnapshot.convert2GlobalSessionByte(session));
+        return save(writer, raftSessionManager.getSessionMap());
+    }
+
+    Status save(SnapshotWriter writer, Map<String, GlobalSession> sessionMap) {
+        List<List<GlobalSession>> partitions = partition(sessionMap.values());
+        Chunk[] previous = lastChunks;
+        String previousPath = lastSnapshotPath;
+        Chunk[] current = new Chunk[chunks];
+        try {
+            IntStream.range(0, chunks).parallel().forEach(i -> current[i] =
+                saveChunk(writer.getPath(), i, partitions.get(i), previous != null ? previous[i] : null, previousPath));
+        } catch (UncheckedIOException e) {
+            LOGGER.error("Fail to save groupId: {} snapshot {}", group, writer.getPath(), e);
+            return new Status(RaftError.EIO, "Fail to save groupId: " + group + " snapshot %s", writer.getPath());
+        }
+        int linked = 0;
+        for (Chunk chunk : current) {
+            if (!writer.addFile(chunk.name, LocalFileMeta.newBuilder().setChecksum(chunk.checksum).build())) {
+                lastChunks = null;
+                return new Status(RaftError.EIO, "Fail to add file to writer");
+            }
+            if (chunk.linked) {
+                linked++;
+            }
+        }
+        lastChunks = current;
+        lastSnapshotPath = snapshotPath(writer);
+        LOGGER.info("groupId: {}, global session size: {}, chunks: {}, unchanged chunks: {}", group, sessionMap.size(),
+            chunks, linked);
+        return Status.OK();
+    }
+
+    private Chunk saveChunk(String dir, int index, List<GlobalSession> sessions, Chunk previous,
+        String previousPath) {
+        String name = chunkName(index);
+        File file = new File(dir, name);
+        RaftSessionSnapshot sessionSnapshot = encodeSessions(sessions);
+        long fingerprint = fingerprint(sessionSnapshot.getGlobalsessions());
+        if (previous != null && previousPath != null && previous.fingerprint == fingerprint) {
+            try {
+                Files.createLink(file.toPath(), Paths.get(previousPath, name));
+                return new Chunk(name, fingerprint, previous.checksum, true);
+            } catch (IOException | UnsupportedOperationException e) {
+                LOGGER.warn("Fail to link the unchanged chunk {} from {}, encode it again: {}", name, previousPath,
+                    e.getMessage());
+            }
+        }
         RaftSnapshot raftSnapshot = new RaftSnapshot();
         raftSnapshot.setBody(sessionSnapshot);
         raftSnapshot.setType(RaftSnapshot.SnapshotType.session);
-        LOGGER.info("groupId: {}, global session size: {}", group, sessionSnapshot.getGlobalsessions().size());
-        String path = new StringBuilder(writer.getPath()).append(File.separator).append(fileName).toString();
         try {
-            if (save(raftSnapshot, path)) {
-                if (writer.addFile(fileName)) {
-                    return Status.OK();
-                } else {
-                    return new Status(RaftError.EIO, "Fail to add file to writer");
-                }
-            }
+            byte[] bytes = RaftSnapshotSerializer.encode(raftSnapshot);
+            FileUtils.writeByteArrayToFile(file, bytes);
+            return new Chunk(name, fingerprint, checksum(bytes), false);
         } catch (IOException e) {
-            LOGGER.error("Fail to save groupId: {} snapshot {}", group, path, e);
+            throw new UncheckedIOException(e);
         }
-        return new Status(RaftError.EIO, "Fail to save groupId: " + group + " snapshot %s", path);
     }
 
     @Override
     public boolean load(SnapshotReader reader) {
-        if (reader.getFileMeta(fileName) == null) {
+        RaftSessionManager raftSessionManager = (RaftSessionManager)SessionHolder.getRootSessionManager(group);
+        return load(reader, raftSessionManager);
+    }
+
+    boolean load(SnapshotReader reader, RaftSessionManager raftSessionManager) {
+        List<String> chunkNames = reader.listFiles().stream()
+            .filter(name -> name.equals(fileName) || name.startsWith(CHUNK_PREFIX)).collect(Collectors.toList());
+        if (chunkNames.isEmpty()) {
             LOGGER.error("Fail to find data file in {}", reader.getPath());
             return false;
         }
-        String path = new StringBuilder(reader.getPath()).append(File.separator).append(fileName).toString();
         try {
             LOGGER.info("on snapshot load start index: {}", reader.load().getLastIncludedIndex());
-            RaftSessionSnapshot sessionSnapshot = (RaftSessionSnapshot)load(path);
-            RaftSessionManager raftSessionManager = (RaftSessionManager)SessionHolder.getRootSessionManager(group);
-            Map<String, GlobalSession> rootSessionMap = raftSessionManager.getSessionMap();
             // be sure to clear the data before loading it, because this is a full overwrite update
             LockerManagerFactory.getLockManager().cleanAllLocks();
-            rootSessionMap.clear();
-            rootSessionMap.putAll(sessionSnapshot.convert2GlobalSession());
+            Map<String, GlobalSession> sessionMap = new ConcurrentHashMap<>();
+            // the chunks are decoded and the locks of their branches are acquired in parallel
+            chunkNames.parallelStream().forEach(name -> sessionMap.putAll(loadChunk(reader.getPath(), name)));
+            raftSessionManager.resetSessions(sessionMap);
+            restoreChunks(reader, chunkNames, sessionMap);
             if (LOGGER.isInfoEnabled()) {
-                LOGGER.info("on snapshot load end index: {}", reader.load().getLastIncludedIndex());
+                LOGGER.info("on snapshot load end index: {}, global session size: {}",
+                    reader.load().getLastIncludedIndex(), sessionMap.size());
             }
             return true;
         } catch (final Exception e) {
-            LOGGER.error("fail to load snapshot from {}", path, e);
+            lastChunks = null;
+            LOGGER.error("fail to load snapshot from {}", reader.getPath(), e);
             return false;
         }
     }
 
+    private Map<String, GlobalSession> loadChunk(String dir, String name) {
+        try {
+            RaftSessionSnapshot sessionSnapshot = (RaftSessionSnapshot)load(dir + File.separator + name);
+            return sessionSnapshot.convert2GlobalSession();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Remember the loaded chunks, so the next snapshot links the ones that are still unchanged.
+     */
+    private void restoreChunks(SnapshotReader reader, List<String> chunkNames, Map<String, GlobalSession> sessionMap) {
+        lastChunks = null;
+        if (chunkNames.size() != chunks) {
+            return;
+        }
+        List<List<GlobalSession>> partitions = partition(sessionMap.values());
+        Chunk[] restored = new Chunk[chunks];
+        for (int i = 0; i < chunks; i++) {
+            String name = chunkName(i);
+            Message meta = reader.getFileMeta(name);
+            if (!(meta instanceof LocalFileMeta) || !((LocalFileMeta)meta).hasChecksum()) {
+                return;
+            }
+            long fingerprint = fingerprint(encodeSessions(partitions.get(i)).getGlobalsessions());
+            restored[i] = new Chunk(name, fingerprint, ((LocalFileMeta)meta).getChecksum(), false);
+        }
+        lastChunks = restored;
+        lastSnapshotPath = reader.getPath();
+    }
+
+    /**
+     * A snapshot of one chunk is written as the single file, so that the versions before the chunks can install it.
+     */
+    private String chunkName(int index) {
+        return chunks == 1 ? fileName : CHUNK_PREFIX + index;
+    }
+
+    private List<List<GlobalSession>> partition(Collection<GlobalSession> sessions) {
+        List<List<GlobalSession>> partitions = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (GlobalSession session : sessions) {
+            partitions.get(Math.floorMod(session.getXid().hashCode(), chunks)).add(session);
+        }
+        return partitions;
+    }
+
+    /**
+     * The directory the snapshot being written is renamed to once it is completed.
+     */
+    private static String snapshotPath(SnapshotWriter writer) {
+        if (writer.getCurrentMeta() == null) {
+            return null;
+        }
+        File parent = new File(writer.getPath()).getParentFile();
+        return new File(parent, Snapshot.JRAFT_SNAPSHOT_PREFIX + writer.getCurrentMeta().getLastIncludedIndex())
+            .getPath();
+    }
+
+    private static RaftSessionSnapshot encodeSessions(List<GlobalSession> sessions) {
+        // sorted by xid, so that the same sessions are always encoded into the same bytes
+        sessions.sort(Comparator.comparing(GlobalSession::getXid));
+        RaftSessionSnapshot sessionSnapshot = new RaftSessionSnapshot();
+        sessionSnapshot.setGlobalsessions(new LinkedHashMap<>(sessions.size()));
+        sessions.forEach(sessionSnapshot::convert2GlobalSessionByte);
+        return sessionSnapshot;
+    }
+
+    /**
+     * A digest of the encoded sessions and branches, it changes with any field written to the chunk.
+     */
+    static long fingerprint(Map<byte[], List<byte[]>> globalSessions) {
+        long fingerprint = globalSessions.size();
+        for (Map.Entry<byte[], List<byte[]>> entry : globalSessions.entrySet()) {
+            fingerprint = hash(fingerprint, entry.getKey());
+            for (byte[] branchSession : entry.getValue()) {
+                fingerprint = hash(fingerprint, branchSession);
+            }
+        }
+        return fingerprint;
+    }
+
+    private static long hash(long h, byte[] bytes) {
+        h = mix(h * 31 + bytes.length);
+        for (byte b : bytes) {
+            h = (h ^ (b & 0xFF)) * 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static String checksum(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Chunk {
+
+        private final String name;
+
+        private final long fingerprint;
+
+        private final String checksum;
+
+        private final boolean linked;
+
+        Chunk(String name, long fingerprint, String checksum, boolean linked) {
+            this.name = name;
+            this.fingerprint = fingerprint;
+            this.checksum = checksum;
+            this.linked = linked;
+        }
+    }
+
 }
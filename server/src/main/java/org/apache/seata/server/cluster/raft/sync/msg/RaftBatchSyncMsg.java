@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.cluster.raft.sync.msg;
+
+import java.util.ArrayList;
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import org.apache.seata.common.util.StringUtils;
+
+/**
+ * Several session sync messages replicated in one raft log entry, they are executed in order.
+ */
+public class RaftBatchSyncMsg extends RaftBaseMsg {
+
+    private static final long serialVersionUID = 3146452382931475066L;
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "@type")
+    @JsonSubTypes({@JsonSubTypes.Type(value = RaftGlobalSessionSyncMsg.class, name = "global"),
+        @JsonSubTypes.Type(value = RaftBranchSessionSyncMsg.class, name = "branch")})
+    private List<RaftBaseMsg> msgs;
+
+    public RaftBatchSyncMsg(List<RaftBaseMsg> msgs) {
+        this.msgType = RaftSyncMsgType.BATCH_SYNC_MSG;
+        this.msgs = msgs;
+    }
+
+    public RaftBatchSyncMsg() {
+        this(new ArrayList<>());
+    }
+
+    public List<RaftBaseMsg> getMsgs() {
+        return msgs;
+    }
+
+    public void setMsgs(List<RaftBaseMsg> msgs) {
+        this.msgs = msgs;
+    }
+
+    @Override
+    public String toString() {
+        return StringUtils.toString(this);
+    }
+}
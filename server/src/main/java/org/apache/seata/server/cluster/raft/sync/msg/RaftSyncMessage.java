@@ -25,13 +25,16 @@ import org.apache.seata.core.serializer.SerializerType;
 import static org.apache.seata.common.DefaultValues.DEFAULT_RAFT_COMPRESSOR;
 import static org.apache.seata.common.DefaultValues.DEFAULT_RAFT_SERIALIZATION;
 import static org.apache.seata.core.constants.ConfigurationKeys.SERVER_RAFT_COMPRESSOR;
+import static org.apache.seata.core.constants.ConfigurationKeys.SERVER_RAFT_SERIALIZATION;
 
 /**
  */
 public class RaftSyncMessage implements java.io.Serializable {
 
     private static final long serialVersionUID = 8225279734319945365L;
-    private byte codec = SerializerType.getByName(DEFAULT_RAFT_SERIALIZATION).getCode();
+    private byte codec = SerializerType
+        .getByName(ConfigurationFactory.getInstance().getConfig(SERVER_RAFT_SERIALIZATION, DEFAULT_RAFT_SERIALIZATION))
+        .getCode();
 
     private byte compressor = CompressorType
         .getByName(ConfigurationFactory.getInstance().getConfig(SERVER_RAFT_COMPRESSOR, DEFAULT_RAFT_COMPRESSOR))
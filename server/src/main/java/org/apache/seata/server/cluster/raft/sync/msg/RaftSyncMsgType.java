@@ -55,5 +55,9 @@ public enum RaftSyncMsgType {
     /**
      * refresh cluster metadata
      */
-    REFRESH_CLUSTER_METADATA;
+    REFRESH_CLUSTER_METADATA,
+    /**
+     * several session sync messages in one log entry
+     */
+    BATCH_SYNC_MSG;
 }
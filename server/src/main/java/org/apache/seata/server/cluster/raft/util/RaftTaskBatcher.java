@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.cluster.raft.util;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import com.alipay.sofa.jraft.Closure;
+import com.alipay.sofa.jraft.Status;
+import com.alipay.sofa.jraft.entity.Task;
+import com.alipay.sofa.jraft.error.RaftError;
+import org.apache.seata.common.thread.NamedThreadFactory;
+import org.apache.seata.server.cluster.raft.RaftServerManager;
+import org.apache.seata.server.cluster.raft.sync.RaftSyncMessageSerializer;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBaseMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBatchSyncMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Aggregates the sync messages of a raft group, so that the messages submitted meanwhile are replicated
+ * in one raft log entry. A batch is applied as soon as the previous one is handed to the node, holding
+ * at most the batch size messages, and waits for more messages no longer than the batch delay.
+ * The closures of a batch are run in order once the entry is committed, or failed together.
+ *
+ */
+public class RaftTaskBatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RaftTaskBatcher.class);
+
+    private final int batchSize;
+
+    private final long batchDelayNanos;
+
+    private final Consumer<Task> applier;
+
+    private final BlockingQueue<PendingMsg> queue = new LinkedBlockingQueue<>();
+
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    /**
+     * Instantiates a new Raft task batcher, applying the tasks to the node of the group.
+     *
+     * @param group        the raft group
+     * @param batchSize    the max number of messages in a log entry
+     * @param batchDelayMs the max time a batch waits for more messages
+     */
+    public RaftTaskBatcher(String group, int batchSize, long batchDelayMs) {
+        this(group, batchSize, batchDelayMs, task -> RaftServerManager.getRaftServer(group).getNode().apply(task));
+    }
+
+    RaftTaskBatcher(String group, int batchSize, long batchDelayMs, Consumer<Task> applier) {
+        this.batchSize = Math.max(batchSize, 1);
+        this.batchDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(batchDelayMs, 0));
+        this.applier = applier;
+        this.thread = new NamedThreadFactory("raftSyncBatch_" + group, 1, true).newThread(this::run);
+        this.thread.start();
+    }
+
+    /**
+     * Submit a message, its closure is run when the log entry holding it is committed or failed.
+     *
+     * @param msg  the sync message
+     * @param done the closure of the message
+     */
+    public void submit(RaftBaseMsg msg, Closure done) {
+        queue.add(new PendingMsg(msg, done));
+        if (!running) {
+            // submitted while shutting down, the batch thread may have already drained the queue
+            failPending();
+        }
+    }
+
+    /**
+     * Stop the batch thread, the messages not yet applied are failed with {@link RaftError#EINTR}.
+     */
+    public void shutdown() {
+        running = false;
+        thread.interrupt();
+        failPending();
+    }
+
+    private void failPending() {
+        List<PendingMsg> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        complete(pending, new Status(RaftError.EINTR, "raft sync batcher is shut down"));
+    }
+
+    private void run() {
+        List<PendingMsg> batch = new ArrayList<>(batchSize);
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - batch.size());
+                if (batchDelayNanos > 0) {
+                    long deadline = System.nanoTime() + batchDelayNanos;
+                    while (batch.size() < batchSize) {
+                        PendingMsg pending = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if (pending == null) {
+                            break;
+                        }
+                        batch.add(pending);
+                        queue.drainTo(batch, batchSize - batch.size());
+                    }
+                }
+                apply(new ArrayList<>(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                complete(batch, new Status(RaftError.EINTR, "raft sync batch interrupted"));
+            } catch (Throwable e) {
+                LOGGER.error("Fail to apply the raft sync batch: {}", e.getMessage(), e);
+                complete(batch, new Status(RaftError.EINTERNAL, "Fail to apply the raft sync batch: %s", e.getMessage()));
+            } finally {
+                batch.clear();
+            }
+        }
+        failPending();
+    }
+
+    private void apply(List<PendingMsg> batch) throws Exception {
+        RaftBaseMsg msg;
+        if (batch.size() == 1) {
+            msg = batch.get(0).msg;
+        } else {
+            List<RaftBaseMsg> msgs = new ArrayList<>(batch.size());
+            batch.forEach(pending -> msgs.add(pending.msg));
+            msg = new RaftBatchSyncMsg(msgs);
+        }
+        RaftSyncMessage raftSyncMessage = new RaftSyncMessage();
+        raftSyncMessage.setBody(msg);
+        Task task = new Task();
+        task.setData(ByteBuffer.wrap(RaftSyncMessageSerializer.encode(raftSyncMessage)));
+        task.setDone(status -> complete(batch, status));
+        applier.accept(task);
+    }
+
+    private static void complete(List<PendingMsg> batch, Status status) {
+        for (PendingMsg pending : batch) {
+            try {
+                pending.done.run(status);
+            } catch (Throwable e) {
+                LOGGER.error("Fail to run the closure of the raft sync msg: {}", pending.msg, e);
+            }
+        }
+    }
+
+    private static class PendingMsg {
+
+        private final RaftBaseMsg msg;
+
+        private final Closure done;
+
+        PendingMsg(RaftBaseMsg msg, Closure done) {
+            this.msg = msg;
+            this.done = done;
+        }
+    }
+}
@@ -18,24 +18,53 @@ package org.apache.seata.server.cluster.raft.util;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import com.alipay.sofa.jraft.Closure;
 import com.alipay.sofa.jraft.entity.Task;
+import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.exception.GlobalTransactionException;
 import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.exception.TransactionExceptionCode;
 import org.apache.seata.server.cluster.raft.RaftServerManager;
 import org.apache.seata.server.cluster.raft.context.SeataClusterContext;
 import org.apache.seata.server.cluster.raft.sync.RaftSyncMessageSerializer;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBaseMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBranchSessionSyncMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftGlobalSessionSyncMsg;
 import org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMessage;
 
+import static org.apache.seata.common.ConfigurationKeys.SERVER_RAFT_SYNC_BATCH_DELAY_MS;
+import static org.apache.seata.common.ConfigurationKeys.SERVER_RAFT_SYNC_BATCH_SIZE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_RAFT_SYNC_BATCH_DELAY_MS;
+import static org.apache.seata.common.DefaultValues.DEFAULT_RAFT_SYNC_BATCH_SIZE;
+
 /**
  */
 public class RaftTaskUtil {
 
+    private static final Map<String/*group*/, RaftTaskBatcher> BATCHERS = new ConcurrentHashMap<>();
+
+    private static final int BATCH_SIZE =
+        ConfigurationFactory.getInstance().getInt(SERVER_RAFT_SYNC_BATCH_SIZE, DEFAULT_RAFT_SYNC_BATCH_SIZE);
+
+    private static final int BATCH_DELAY_MS =
+        ConfigurationFactory.getInstance().getInt(SERVER_RAFT_SYNC_BATCH_DELAY_MS, DEFAULT_RAFT_SYNC_BATCH_DELAY_MS);
+
     public static boolean createTask(Closure done, Object data, CompletableFuture<Boolean> completableFuture)
         throws TransactionException {
+        if (done != null && isBatchable(data)) {
+            // the session changes are replicated in batches, several of them in one log entry
+            String group = SeataClusterContext.getGroup();
+            BATCHERS.computeIfAbsent(group, k -> new RaftTaskBatcher(k, BATCH_SIZE, BATCH_DELAY_MS))
+                .submit((RaftBaseMsg)data, done);
+            if (completableFuture != null) {
+                return futureGet(completableFuture);
+            }
+            return true;
+        }
         final Task task = new Task();
         if (data != null) {
             RaftSyncMessage raftSyncMessage = new RaftSyncMessage();
@@ -60,6 +89,22 @@ public class RaftTaskUtil {
         return createTask(done, null, completableFuture);
     }
 
+    /**
+     * Shut down the sync batcher of a raft group.
+     *
+     * @param group the raft group
+     */
+    public static void shutdownBatcher(String group) {
+        RaftTaskBatcher batcher = BATCHERS.remove(group);
+        if (batcher != null) {
+            batcher.shutdown();
+        }
+    }
+
+    private static boolean isBatchable(Object data) {
+        return BATCH_SIZE > 1 && (data instanceof RaftGlobalSessionSyncMsg || data instanceof RaftBranchSessionSyncMsg);
+    }
+
     public static boolean futureGet(CompletableFuture<Boolean> completableFuture) throws TransactionException {
         try {
             return completableFuture.get();
@@ -16,31 +16,31 @@
  */
 package org.apache.seata.server.console.impl.file;
 
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
-import org.apache.seata.common.util.CollectionUtils;
 import org.apache.seata.common.util.StringUtils;
 import org.apache.seata.server.console.param.GlobalLockParam;
 import org.apache.seata.common.result.PageResult;
 import org.apache.seata.server.console.vo.GlobalLockVO;
 import org.apache.seata.core.lock.RowLock;
 import org.apache.seata.server.console.service.GlobalLockService;
+import org.apache.seata.server.lock.LockKeys;
+import org.apache.seata.server.lock.LockManager;
 import org.apache.seata.server.lock.LockerManagerFactory;
 import org.apache.seata.server.session.BranchSession;
-import org.apache.seata.server.session.GlobalSession;
-import org.apache.seata.server.session.SessionHolder;
+import org.apache.seata.server.session.GlobalSessionQueryIndex;
+import org.apache.seata.server.storage.file.lock.FileLockManager;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
 
 import static org.apache.seata.common.util.StringUtils.isBlank;
+import static org.apache.seata.server.console.impl.file.GlobalSessionFileServiceImpl.beginTimeFrom;
+import static org.apache.seata.server.console.impl.file.GlobalSessionFileServiceImpl.beginTimeTo;
+import static org.apache.seata.server.console.impl.file.GlobalSessionFileServiceImpl.getQueryIndex;
 import static org.apache.seata.server.console.vo.GlobalLockVO.convert;
-import static java.util.Objects.isNull;
 
 /**
  * Global Lock File ServiceImpl
@@ -55,47 +55,67 @@ public class GlobalLockFileServiceImpl implements GlobalLockService {
     public PageResult<GlobalLockVO> query(GlobalLockParam param) {
         checkParam(param);
 
-        final Collection<GlobalSession> allSessions = SessionHolder.getRootSessionManager().allSessions();
-
-        final AtomicInteger total = new AtomicInteger();
-        List<RowLock> result = allSessions
-                .parallelStream()
-                .filter(obtainGlobalSessionPredicate(param))
-                .flatMap(globalSession -> globalSession.getBranchSessions().stream())
-                .filter(obtainBranchSessionPredicate(param))
-                .flatMap(branchSession -> filterAndMap(param, branchSession))
-                .peek(globalSession -> total.incrementAndGet())
-                .collect(Collectors.toList());
+        final GlobalSessionQueryIndex.Condition condition = new GlobalSessionQueryIndex.Condition()
+            .setXid(param.getXid())
+            .setTableName(param.getTableName())
+            .setBeginTimeRange(beginTimeFrom(param.getTimeEnd()), beginTimeTo(param.getTimeStart()));
+        final String tableName = param.getTableName();
+        final Predicate<String> tableFilter = StringUtils.isNotBlank(tableName) ? name -> name.contains(tableName) : null;
+        final Predicate<? super BranchSession> branchPredicate = obtainBranchSessionPredicate(param);
+        final LockManager lockManager = LockerManagerFactory.getLockManager();
+
+        // the rows are counted from the parsed lock keys, only the rows of the page are built
+        final int offset = (param.getPageNum() - 1) * param.getPageSize();
+        final int end = offset + param.getPageSize();
+        final List<RowLock> result = new ArrayList<>(param.getPageSize());
+        final int[] total = new int[1];
+        getQueryIndex().scan(condition, globalSession -> {
+            for (BranchSession branchSession : globalSession.getBranchSessions()) {
+                if (!branchPredicate.test(branchSession) || !isLockHolder(lockManager, branchSession)) {
+                    continue;
+                }
+                LockKeys lockKeys = branchSession.getLockKeys();
+                int rows = countRows(lockKeys, tableFilter);
+                int from = total[0];
+                total[0] += rows;
+                if (rows > 0 && total[0] > offset && from < end) {
+                    List<RowLock> rowLocks = lockKeys.toRowLocks(branchSession.getXid(),
+                        branchSession.getTransactionId(), branchSession.getBranchId(), branchSession.getResourceId(),
+                        tableFilter);
+                    result.addAll(rowLocks.subList(Math.max(offset - from, 0), Math.min(end - from, rows)));
+                }
+            }
+            return true;
+        });
+
+        return PageResult.success(convert(result), total[0], param.getPageNum(), param.getPageSize());
 
-        return PageResult.build(convert(result), param.getPageNum(), param.getPageSize());
+    }
 
+    private boolean isLockHolder(LockManager lockManager, BranchSession branchSession) {
+        return lockManager instanceof FileLockManager && ((FileLockManager)lockManager).isLockHolder(branchSession);
     }
 
     /**
-     * filter with tableName and generate RowLock
+     * count the rows of the matched tables
      *
-     * @param param the query param
-     * @param branchSession the branch session
-     * @return the RowLock list
+     * @param lockKeys the parsed lock key of the branch session
+     * @param tableFilter the filter of the table name, null to accept all the tables
+     * @return the row count
      */
-    private Stream<RowLock> filterAndMap(GlobalLockParam param, BranchSession branchSession) {
-        if (CollectionUtils.isEmpty(branchSession.getLockHolder())) {
-            return Stream.empty();
+    private int countRows(LockKeys lockKeys, Predicate<String> tableFilter) {
+        if (tableFilter == null) {
+            return lockKeys.size();
         }
-
-        final String tableName = param.getTableName();
-
-        // get rowLock from branchSession
-        final List<RowLock> rowLocks = LockerManagerFactory.getLockManager().collectRowLocks(branchSession);
-
-        if (StringUtils.isNotBlank(tableName)) {
-            return rowLocks.parallelStream().filter(rowLock -> rowLock.getTableName().contains(param.getTableName()));
+        int rows = 0;
+        for (int t = 0; t < lockKeys.getTableCount(); t++) {
+            if (tableFilter.test(lockKeys.getTableName(t))) {
+                rows += lockKeys.getTableEnd(t) - lockKeys.getTableStart(t);
+            }
         }
-
-        return rowLocks.stream();
+        return rows;
     }
 
-
     /**
      * check the param
      *
@@ -141,33 +161,4 @@ public class GlobalLockFileServiceImpl implements GlobalLockService {
         };
     }
 
-
-    /**
-     * obtain the global session condition
-     *
-     * @param param condition for query global session
-     * @return the filter condition
-     */
-    private Predicate<? super GlobalSession> obtainGlobalSessionPredicate(GlobalLockParam param) {
-
-        return globalSession -> {
-            // first, there must be withBranchSession
-            return CollectionUtils.isNotEmpty(globalSession.getBranchSessions())
-
-                    &&
-                    // The second is other conditions
-                    // xid
-                    (isBlank(param.getXid()) || globalSession.getXid().contains(param.getXid()))
-
-                    &&
-                    // timeStart
-                    (isNull(param.getTimeStart()) || param.getTimeStart() / 1000 >= globalSession.getBeginTime() / 1000)
-
-                    &&
-                    // timeEnd
-                    (isNull(param.getTimeEnd()) || param.getTimeEnd() / 1000 <= globalSession.getBeginTime() / 1000);
-
-        };
-    }
-
 }
@@ -16,19 +16,22 @@
  */
 package org.apache.seata.server.console.impl.file;
 
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
+import org.apache.seata.core.model.GlobalStatus;
 import org.apache.seata.server.console.param.GlobalSessionParam;
 import org.apache.seata.common.result.PageResult;
 import org.apache.seata.server.console.vo.GlobalSessionVO;
 import org.apache.seata.server.console.service.GlobalSessionService;
 import org.apache.seata.server.session.GlobalSession;
+import org.apache.seata.server.session.GlobalSessionQueryIndex;
 import org.apache.seata.server.session.SessionHolder;
+import org.apache.seata.server.session.SessionManager;
 import org.apache.seata.server.storage.SessionConverter;
+import org.apache.seata.server.storage.file.session.FileSessionManager;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
 
@@ -50,50 +53,101 @@ public class GlobalSessionFileServiceImpl implements GlobalSessionService {
             throw new IllegalArgumentException("wrong pageSize or pageNum");
         }
 
-        final Collection<GlobalSession> allSessions = SessionHolder.getRootSessionManager().allSessions();
+        GlobalStatus status = null;
+        if (!isNull(param.getStatus())) {
+            status = findStatus(param.getStatus());
+            if (status == null) {
+                return PageResult.success(Collections.emptyList(), 0, param.getPageNum(), param.getPageSize());
+            }
+        }
+        final GlobalSessionQueryIndex.Condition condition = new GlobalSessionQueryIndex.Condition()
+            .setXid(param.getXid())
+            .setStatus(status)
+            .setBeginTimeRange(beginTimeFrom(param.getTimeEnd()), beginTimeTo(param.getTimeStart()));
+        final Predicate<GlobalSession> predicate = obtainPredicate(param);
+
+        final GlobalSessionQueryIndex queryIndex = getQueryIndex();
+        // the scan stops at the end of the page when the total is known without visiting the sessions
+        final int knownTotal = isBlank(param.getApplicationId()) && isBlank(param.getTransactionName())
+            ? queryIndex.count(condition) : -1;
+        final int offset = (param.getPageNum() - 1) * param.getPageSize();
+        final int end = offset + param.getPageSize();
+        final List<GlobalSession> pageSessions = new ArrayList<>(param.getPageSize());
+        final int[] total = new int[1];
+        queryIndex.scan(condition, session -> {
+            if (!predicate.test(session)) {
+                return true;
+            }
+            if (total[0] >= offset && total[0] < end) {
+                pageSessions.add(session);
+            }
+            total[0]++;
+            return knownTotal < 0 || total[0] < end;
+        });
+
+        return PageResult.success(SessionConverter.convertGlobalSession(pageSessions),
+            knownTotal < 0 ? total[0] : knownTotal, param.getPageNum(), param.getPageSize());
+    }
 
-        final List<GlobalSession> filteredSessions = allSessions
-                .parallelStream()
-                .filter(obtainPredicate(param))
-                .collect(Collectors.toList());
+    /**
+     * Gets the query index of the root session manager.
+     *
+     * @return the query index
+     */
+    static GlobalSessionQueryIndex getQueryIndex() {
+        SessionManager sessionManager = SessionHolder.getRootSessionManager();
+        if (!(sessionManager instanceof FileSessionManager)) {
+            throw new IllegalStateException("the session manager is not in file or raft mode: "
+                + sessionManager.getClass().getName());
+        }
+        return ((FileSessionManager)sessionManager).getQueryIndex();
+    }
 
-        return PageResult.build(SessionConverter.convertGlobalSession(filteredSessions), param.getPageNum(), param.getPageSize());
+    /**
+     * The earliest begin time matched by the time end of the console, which is compared by the second.
+     *
+     * @param timeEnd the time end of the query
+     * @return the begin time, null for no limit
+     */
+    static Long beginTimeFrom(Long timeEnd) {
+        return isNull(timeEnd) ? null : timeEnd / 1000 * 1000;
     }
 
+    /**
+     * The latest begin time matched by the time start of the console, which is compared by the second.
+     *
+     * @param timeStart the time start of the query
+     * @return the begin time, null for no limit
+     */
+    static Long beginTimeTo(Long timeStart) {
+        return isNull(timeStart) ? null : timeStart / 1000 * 1000 + 999;
+    }
 
+    private static GlobalStatus findStatus(int code) {
+        for (GlobalStatus status : GlobalStatus.values()) {
+            if (status.getCode() == code) {
+                return status;
+            }
+        }
+        return null;
+    }
 
     /**
-     * obtain the condition
+     * obtain the condition not served by the query index
      *
      * @param param condition for query global session
      * @return the filter condition
      */
-    private Predicate<? super GlobalSession> obtainPredicate(GlobalSessionParam param) {
+    private Predicate<GlobalSession> obtainPredicate(GlobalSessionParam param) {
 
         return session -> {
             return
-                // xid
-                (isBlank(param.getXid()) || session.getXid().contains(param.getXid()))
-
-                &&
                 // applicationId
                 (isBlank(param.getApplicationId()) || session.getApplicationId().contains(param.getApplicationId()))
 
-                &&
-                // status
-                (isNull(param.getStatus()) || Objects.equals(session.getStatus().getCode(), param.getStatus()))
-
                 &&
                 // transactionName
-                (isBlank(param.getTransactionName()) || session.getTransactionName().contains(param.getTransactionName()))
-
-                &&
-                // timeStart
-                (isNull(param.getTimeStart()) || param.getTimeStart() / 1000 >= session.getBeginTime() / 1000)
-
-                &&
-                // timeEnd
-                (isNull(param.getTimeEnd()) || param.getTimeEnd() / 1000 <= session.getBeginTime() / 1000);
+                (isBlank(param.getTransactionName()) || session.getTransactionName().contains(param.getTransactionName()));
 
         };
     }
@@ -17,6 +17,8 @@
 package org.apache.seata.server.coordinator;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeoutException;
 
 import org.apache.seata.common.ConfigurationKeys;
@@ -188,6 +190,32 @@ public abstract class AbstractCore implements Core {
         }
     }
 
+    /**
+     * Send the branch commit request without waiting for the response.
+     *
+     * @param globalSession the global session
+     * @param branchSession the branch session
+     * @return the future of the branch status
+     */
+    public CompletableFuture<BranchStatus> branchCommitAsync(GlobalSession globalSession, BranchSession branchSession) {
+        BranchCommitRequest request = new BranchCommitRequest();
+        request.setXid(branchSession.getXid());
+        request.setBranchId(branchSession.getBranchId());
+        request.setResourceId(branchSession.getResourceId());
+        request.setApplicationData(branchSession.getApplicationData());
+        request.setBranchType(branchSession.getBranchType());
+        return wrapSendFailure(branchCommitSendAsync(request, globalSession, branchSession),
+            FailedToSendBranchCommitRequest, String.format("Send branch commit failed, xid = %s branchId = %s",
+                branchSession.getXid(), branchSession.getBranchId()));
+    }
+
+    protected CompletableFuture<BranchStatus> branchCommitSendAsync(BranchCommitRequest request,
+                                                                    GlobalSession globalSession,
+                                                                    BranchSession branchSession) {
+        return remotingServer.sendAsyncRequestWithResponse(branchSession.getResourceId(), branchSession.getClientId(),
+            request, branchSession.isAT()).thenApply(response -> ((BranchCommitResponse) response).getBranchStatus());
+    }
+
     protected BranchStatus branchCommitSend(BranchCommitRequest request, GlobalSession globalSession,
                                             BranchSession branchSession) throws IOException, TimeoutException {
 
@@ -213,6 +241,51 @@ public abstract class AbstractCore implements Core {
         }
     }
 
+    /**
+     * Send the branch rollback request without waiting for the response.
+     *
+     * @param globalSession the global session
+     * @param branchSession the branch session
+     * @return the future of the branch status
+     */
+    public CompletableFuture<BranchStatus> branchRollbackAsync(GlobalSession globalSession,
+                                                               BranchSession branchSession) {
+        BranchRollbackRequest request = new BranchRollbackRequest();
+        request.setXid(branchSession.getXid());
+        request.setBranchId(branchSession.getBranchId());
+        request.setResourceId(branchSession.getResourceId());
+        request.setApplicationData(branchSession.getApplicationData());
+        request.setBranchType(branchSession.getBranchType());
+        return wrapSendFailure(branchRollbackSendAsync(request, globalSession, branchSession),
+            FailedToSendBranchRollbackRequest, String.format("Send branch rollback failed, xid = %s branchId = %s",
+                branchSession.getXid(), branchSession.getBranchId()));
+    }
+
+    protected CompletableFuture<BranchStatus> branchRollbackSendAsync(BranchRollbackRequest request,
+                                                                      GlobalSession globalSession,
+                                                                      BranchSession branchSession) {
+        return remotingServer.sendAsyncRequestWithResponse(branchSession.getResourceId(), branchSession.getClientId(),
+            request, branchSession.isAT()).thenApply(response -> ((BranchRollbackResponse) response).getBranchStatus());
+    }
+
+    private CompletableFuture<BranchStatus> wrapSendFailure(CompletableFuture<BranchStatus> future,
+                                                            TransactionExceptionCode code, String message) {
+        CompletableFuture<BranchStatus> result = new CompletableFuture<>();
+        future.whenComplete((branchStatus, e) -> {
+            if (e == null) {
+                result.complete(branchStatus);
+                return;
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof TransactionException) {
+                result.completeExceptionally(cause);
+            } else {
+                result.completeExceptionally(new BranchTransactionException(code, message, cause));
+            }
+        });
+        return result;
+    }
+
     protected BranchStatus branchRollbackSend(BranchRollbackRequest request, GlobalSession globalSession,
                                               BranchSession branchSession) throws IOException, TimeoutException {
 
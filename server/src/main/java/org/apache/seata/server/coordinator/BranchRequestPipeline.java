@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.coordinator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.model.BranchStatus;
+import org.apache.seata.server.session.BranchSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dispatches the phase two requests of the branches of a global transaction at once,
+ * the responses are completed by the rpc callbacks instead of blocking one branch after another.
+ * The requests in flight to a single rm client are bounded, a branch that cannot get a permit in time
+ * is left out and handled synchronously by the caller.
+ *
+ */
+public class BranchRequestPipeline {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BranchRequestPipeline.class);
+
+    private final int maxInFlightPerClient;
+
+    private final long acquireTimeoutMillis;
+
+    private final Map<String, Semaphore> inFlightPermits = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new Branch request pipeline.
+     *
+     * @param maxInFlightPerClient the max requests in flight to a single rm client
+     * @param acquireTimeoutMillis the max time to wait for a permit
+     */
+    public BranchRequestPipeline(int maxInFlightPerClient, long acquireTimeoutMillis) {
+        this.maxInFlightPerClient = Math.max(1, maxInFlightPerClient);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    /**
+     * Send the requests of the branches without waiting for the responses.
+     *
+     * @param branchSessions the branch sessions
+     * @param sender         the async sender
+     * @return the futures of the dispatched branches, keyed by branch id
+     */
+    public Map<Long, CompletableFuture<BranchStatus>> dispatch(Collection<BranchSession> branchSessions,
+                                                               BranchRequestSender sender) {
+        Map<Long, CompletableFuture<BranchStatus>> futures = new HashMap<>(branchSessions.size());
+        for (BranchSession branchSession : branchSessions) {
+            Semaphore permits = inFlightPermits.computeIfAbsent(String.valueOf(branchSession.getClientId()),
+                k -> new Semaphore(maxInFlightPerClient));
+            try {
+                if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    LOGGER.warn("Too many branch requests in flight to client[{}], branchId = {} will be sent synchronously",
+                        branchSession.getClientId(), branchSession.getBranchId());
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            CompletableFuture<BranchStatus> future;
+            try {
+                future = sender.send(branchSession);
+            } catch (Throwable e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            future.whenComplete((branchStatus, e) -> permits.release());
+            futures.put(branchSession.getBranchId(), future);
+        }
+        return futures;
+    }
+
+    /**
+     * Get the requests in flight to the rm client.
+     *
+     * @param clientId the client id
+     * @return the requests in flight
+     */
+    public int inFlight(String clientId) {
+        Semaphore permits = inFlightPermits.get(clientId);
+        return permits == null ? 0 : maxInFlightPerClient - permits.availablePermits();
+    }
+
+    /**
+     * Wait for the branch status of a dispatched request.
+     *
+     * @param future the future of the branch status
+     * @return the branch status
+     * @throws TransactionException the transaction exception
+     */
+    public static BranchStatus await(CompletableFuture<BranchStatus> future) throws TransactionException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TransactionException) {
+                throw (TransactionException)cause;
+            }
+            throw new TransactionException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionException(e);
+        }
+    }
+
+    /**
+     * Split the branches into rounds, the round k contains the k-th branch of every resource,
+     * so the branches of the same resource keep their order while different resources run side by side.
+     *
+     * @param branchSessions the ordered branch sessions
+     * @return the rounds
+     */
+    public static List<List<BranchSession>> rounds(List<BranchSession> branchSessions) {
+        Map<String, Integer> depth = new LinkedHashMap<>();
+        List<List<BranchSession>> rounds = new ArrayList<>();
+        for (BranchSession branchSession : branchSessions) {
+            int round = depth.merge(String.valueOf(branchSession.getResourceId()), 1, Integer::sum) - 1;
+            if (round == rounds.size()) {
+                rounds.add(new ArrayList<>());
+            }
+            rounds.get(round).add(branchSession);
+        }
+        return rounds;
+    }
+
+    /**
+     * The async sender of a branch request.
+     */
+    @FunctionalInterface
+    public interface BranchRequestSender {
+
+        /**
+         * Send the request of the branch.
+         *
+         * @param branchSession the branch session
+         * @return the future of the branch status
+         */
+        CompletableFuture<BranchStatus> send(BranchSession branchSession);
+    }
+}
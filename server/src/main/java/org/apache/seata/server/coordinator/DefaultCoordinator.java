@@ -28,7 +28,6 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import io.netty.channel.Channel;
-import org.apache.commons.lang.time.DateFormatUtils;
 import org.apache.seata.common.DefaultValues;
 import org.apache.seata.common.store.SessionMode;
 import org.apache.seata.common.thread.NamedThreadFactory;
@@ -66,12 +65,12 @@ import org.apache.seata.core.rpc.TransactionMessageHandler;
 import org.apache.seata.core.rpc.netty.ChannelManager;
 import org.apache.seata.core.rpc.netty.NettyRemotingServer;
 import org.apache.seata.server.AbstractTCInboundHandler;
-import org.apache.seata.server.metrics.MetricsPublisher;
 import org.apache.seata.server.session.BranchSession;
 import org.apache.seata.server.session.GlobalSession;
 import org.apache.seata.server.session.SessionCondition;
 import org.apache.seata.server.session.SessionHelper;
 import org.apache.seata.server.session.SessionHolder;
+import org.apache.seata.server.session.SessionShards;
 import org.apache.seata.server.store.StoreConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -104,8 +103,6 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
 
     private static final int TIMED_TASK_SHUTDOWN_MAX_WAIT_MILLS = 5000;
 
-    private static final String TIME_FORMAT_PATTERN = "yyyy-MM-dd HH:mm:ss.SSS";
-
     /**
      * The constant COMMITTING_RETRY_PERIOD.
      */
@@ -317,9 +314,9 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
     protected void doBranchRegister(BranchRegisterRequest request, BranchRegisterResponse response,
                                     RpcContext rpcContext) throws TransactionException {
         MDC.put(RootContext.MDC_KEY_XID, request.getXid());
-        response.setBranchId(
-                core.branchRegister(request.getBranchType(), request.getResourceId(), rpcContext.getClientId(),
-                        request.getXid(), request.getApplicationData(), request.getLockKey()));
+        response.setBranchId(executeInShard(request.getXid(),
+            () -> core.branchRegister(request.getBranchType(), request.getResourceId(), rpcContext.getClientId(),
+                request.getXid(), request.getApplicationData(), request.getLockKey())));
     }
 
     @Override
@@ -327,8 +324,20 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
             throws TransactionException {
         MDC.put(RootContext.MDC_KEY_XID, request.getXid());
         MDC.put(RootContext.MDC_KEY_BRANCH_ID, String.valueOf(request.getBranchId()));
-        core.branchReport(request.getBranchType(), request.getXid(), request.getBranchId(), request.getStatus(),
+        executeInShard(request.getXid(), () -> {
+            core.branchReport(request.getBranchType(), request.getXid(), request.getBranchId(), request.getStatus(),
                 request.getApplicationData());
+            return null;
+        });
+    }
+
+    /**
+     * Run the whole request on the shard owning the transaction if the sessions are sharded,
+     * the session changes inside then go without a hop.
+     */
+    private <T> T executeInShard(String xid, GlobalSession.LockCallable<T> callable) throws TransactionException {
+        SessionShards sessionShards = SessionHolder.getSessionShards();
+        return sessionShards != null ? sessionShards.execute(xid, callable) : callable.call();
     }
 
     @Override
@@ -340,7 +349,8 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
     }
 
     /**
-     * Timeout check.
+     * Timeout check, it runs at startup and then seldom, it only catches the sessions the timing wheel of
+     * this server does not know, begun before a restart or on another server.
      */
     protected void timeoutCheck() {
         SessionCondition sessionCondition = new SessionCondition(GlobalStatus.Begin);
@@ -353,28 +363,20 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
         if (!beginGlobalSessions.isEmpty() && LOGGER.isDebugEnabled()) {
             LOGGER.debug("Global transaction timeout check begin, size: {}", beginGlobalSessions.size());
         }
+        SessionTimeoutScheduler timeoutScheduler = core.getTimeoutScheduler();
         SessionHelper.forEach(beginGlobalSessions, globalSession -> {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug(
                         globalSession.getXid() + " " + globalSession.getStatus() + " " + globalSession.getBeginTime() + " "
                                 + globalSession.getTimeout());
             }
-            SessionHolder.lockAndExecute(globalSession, () -> {
-                if (globalSession.getStatus() != GlobalStatus.Begin || !globalSession.isTimeout()) {
-                    return false;
-                }
-
-                LOGGER.warn("Global transaction[{}] is timeout and will be rollback,transaction begin time:{} and now:{}", globalSession.getXid(),
-                    DateFormatUtils.format(globalSession.getBeginTime(), TIME_FORMAT_PATTERN), DateFormatUtils.format(System.currentTimeMillis(), TIME_FORMAT_PATTERN));
-
-                globalSession.close();
-                globalSession.changeGlobalStatus(GlobalStatus.TimeoutRollbacking);
-
-                // transaction timeout and start rollbacking event
-                MetricsPublisher.postSessionDoingEvent(globalSession, GlobalStatus.TimeoutRollbacking.name(), false, false);
-
-                return true;
-            });
+            if (!globalSession.isTimeout()) {
+                // sessions begun before a restart or on another node are left to the timing wheel from now on
+                timeoutScheduler.schedule(globalSession);
+                return;
+            }
+            timeoutScheduler.cancel(globalSession.getXid());
+            SessionTimeoutScheduler.timeout(globalSession);
         });
         if (!beginGlobalSessions.isEmpty() && LOGGER.isDebugEnabled()) {
             LOGGER.debug("Global transaction timeout check end. ");
@@ -661,6 +663,7 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
         retryCommitting.shutdown();
         asyncCommitting.shutdown();
         timeoutCheck.shutdown();
+        core.getTimeoutScheduler().shutdown();
         undoLogDelete.shutdown();
         if (branchRemoveExecutor != null) {
             branchRemoveExecutor.shutdown();
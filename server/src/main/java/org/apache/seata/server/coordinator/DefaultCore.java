@@ -16,9 +16,12 @@
  */
 package org.apache.seata.server.coordinator;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import org.apache.seata.common.DefaultValues;
 import org.apache.seata.common.exception.NotSupportYetException;
@@ -32,8 +35,10 @@ import org.apache.seata.core.model.BranchStatus;
 import org.apache.seata.core.model.BranchType;
 import org.apache.seata.core.model.GlobalStatus;
 import org.apache.seata.core.rpc.RemotingServer;
+import org.apache.seata.core.rpc.netty.NettyServerConfig;
 import org.apache.seata.server.metrics.MetricsPublisher;
 import org.apache.seata.server.session.BranchSession;
+import org.apache.seata.server.session.BranchSessionHandler;
 import org.apache.seata.server.session.GlobalSession;
 import org.apache.seata.server.session.SessionHelper;
 import org.apache.seata.server.session.SessionHolder;
@@ -43,6 +48,8 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
 import static org.apache.seata.common.ConfigurationKeys.ENABLE_PARALLEL_HANDLE_BRANCH_KEY;
+import static org.apache.seata.common.ConfigurationKeys.ENABLE_PIPELINE_HANDLE_BRANCH_KEY;
+import static org.apache.seata.common.ConfigurationKeys.MAX_BRANCH_IN_FLIGHT_PER_CLIENT_KEY;
 import static org.apache.seata.common.ConfigurationKeys.XAER_NOTA_RETRY_TIMEOUT;
 import static org.apache.seata.server.session.BranchSessionHandler.CONTINUE;
 
@@ -62,6 +69,15 @@ public class DefaultCore implements Core {
     private static final boolean PARALLEL_HANDLE_BRANCH =
             ConfigurationFactory.getInstance().getBoolean(ENABLE_PARALLEL_HANDLE_BRANCH_KEY, false);
 
+    private final boolean pipelineHandleBranch =
+            ConfigurationFactory.getInstance().getBoolean(ENABLE_PIPELINE_HANDLE_BRANCH_KEY, false);
+
+    private final SessionTimeoutScheduler timeoutScheduler = new SessionTimeoutScheduler();
+
+    private final BranchRequestPipeline branchRequestPipeline = new BranchRequestPipeline(
+        ConfigurationFactory.getInstance().getInt(MAX_BRANCH_IN_FLIGHT_PER_CLIENT_KEY,
+            DefaultValues.DEFAULT_MAX_BRANCH_IN_FLIGHT_PER_CLIENT), NettyServerConfig.getRpcRequestTimeout());
+
     /**
      * get the Default core.
      *
@@ -91,6 +107,15 @@ public class DefaultCore implements Core {
         return core;
     }
 
+    /**
+     * get the timeout scheduler
+     *
+     * @return the timeout scheduler
+     */
+    public SessionTimeoutScheduler getTimeoutScheduler() {
+        return timeoutScheduler;
+    }
+
     /**
      * only for mock
      *
@@ -137,6 +162,7 @@ public class DefaultCore implements Core {
         MDC.put(RootContext.MDC_KEY_XID, session.getXid());
 
         session.begin();
+        timeoutScheduler.schedule(session);
 
         // transaction start event
         MetricsPublisher.postSessionDoingEvent(session, false);
@@ -176,6 +202,9 @@ public class DefaultCore implements Core {
             }
             return shouldCommitNow;
         });
+        if (globalSession.getStatus() != GlobalStatus.Begin) {
+            timeoutScheduler.cancel(xid);
+        }
 
         if (shouldCommit) {
             boolean success = doGlobalCommit(globalSession, false);
@@ -201,6 +230,13 @@ public class DefaultCore implements Core {
             success = getCore(BranchType.SAGA).doGlobalCommit(globalSession, retrying);
         } else {
             List<BranchSession> branchSessions = globalSession.getSortedBranches();
+            // send the commit requests of all the branches at once, the responses are handled in order below
+            Map<Long, CompletableFuture<BranchStatus>> dispatched = pipelineHandleBranch
+                ? branchRequestPipeline.dispatch(branchSessions.stream()
+                    .filter(branchSession -> shouldSendBranchCommit(branchSession, retrying))
+                    .collect(Collectors.toList()),
+                    branchSession -> getCore(branchSession.getBranchType()).branchCommitAsync(globalSession, branchSession))
+                : Collections.emptyMap();
             Boolean result = SessionHelper.forEach(branchSessions, branchSession -> {
                 // if not retrying, skip the canBeCommittedAsync branches
                 if (!retrying && branchSession.canBeCommittedAsync()) {
@@ -221,7 +257,9 @@ public class DefaultCore implements Core {
                     return CONTINUE;
                 }
                 try {
-                    BranchStatus branchStatus = getCore(branchSession.getBranchType()).branchCommit(globalSession, branchSession);
+                    CompletableFuture<BranchStatus> future = dispatched.get(branchSession.getBranchId());
+                    BranchStatus branchStatus = future != null ? BranchRequestPipeline.await(future)
+                        : getCore(branchSession.getBranchType()).branchCommit(globalSession, branchSession);
                     if (isXaerNotaTimeout(globalSession,branchStatus)) {
                         LOGGER.info("Commit branch XAER_NOTA retry timeout, xid = {} branchId = {}", globalSession.getXid(), branchSession.getBranchId());
                         branchStatus = BranchStatus.PhaseTwo_Committed;
@@ -298,6 +336,9 @@ public class DefaultCore implements Core {
             }
             return false;
         });
+        if (globalSession.getStatus() != GlobalStatus.Begin) {
+            timeoutScheduler.cancel(xid);
+        }
         if (!shouldRollBack) {
             return globalSession.getStatus();
         }
@@ -316,14 +357,17 @@ public class DefaultCore implements Core {
             success = getCore(BranchType.SAGA).doGlobalRollback(globalSession, retrying);
         } else {
             List<BranchSession> branchSessions = globalSession.getReverseSortedBranches();
-            Boolean result = SessionHelper.forEach(branchSessions, branchSession -> {
+            Map<Long, CompletableFuture<BranchStatus>> dispatched = new ConcurrentHashMap<>();
+            BranchSessionHandler handler = branchSession -> {
                 BranchStatus currentBranchStatus = branchSession.getStatus();
                 if (currentBranchStatus == BranchStatus.PhaseOne_Failed) {
                     SessionHelper.removeBranch(globalSession, branchSession, !retrying);
                     return CONTINUE;
                 }
                 try {
-                    BranchStatus branchStatus = branchRollback(globalSession, branchSession);
+                    CompletableFuture<BranchStatus> future = dispatched.remove(branchSession.getBranchId());
+                    BranchStatus branchStatus = future != null ? BranchRequestPipeline.await(future)
+                        : branchRollback(globalSession, branchSession);
                     if (isXaerNotaTimeout(globalSession, branchStatus)) {
                         LOGGER.info("Rollback branch XAER_NOTA retry timeout, xid = {} branchId = {}", globalSession.getXid(), branchSession.getBranchId());
                         branchStatus = BranchStatus.PhaseTwo_Rollbacked;
@@ -353,10 +397,26 @@ public class DefaultCore implements Core {
                     }
                     throw new TransactionException(ex);
                 }
-            }, PARALLEL_HANDLE_BRANCH && branchSessions.size() >= 2);
-            // Return if the result is not null
-            if (result != null) {
-                return result;
+            };
+            if (pipelineHandleBranch) {
+                // the branches of the same resource are rolled back in reverse order, one round after another
+                for (List<BranchSession> round : BranchRequestPipeline.rounds(branchSessions)) {
+                    dispatched.putAll(branchRequestPipeline.dispatch(round.stream()
+                        .filter(branchSession -> branchSession.getStatus() != BranchStatus.PhaseOne_Failed)
+                        .collect(Collectors.toList()), branchSession -> getCore(branchSession.getBranchType())
+                        .branchRollbackAsync(globalSession, branchSession)));
+                    Boolean result = SessionHelper.forEach(round, handler, PARALLEL_HANDLE_BRANCH && round.size() >= 2);
+                    if (result != null) {
+                        return result;
+                    }
+                }
+            } else {
+                Boolean result = SessionHelper.forEach(branchSessions, handler,
+                    PARALLEL_HANDLE_BRANCH && branchSessions.size() >= 2);
+                // Return if the result is not null
+                if (result != null) {
+                    return result;
+                }
             }
         }
 
@@ -396,6 +456,15 @@ public class DefaultCore implements Core {
         }
     }
 
+    private boolean shouldSendBranchCommit(BranchSession branchSession, boolean retrying) {
+        if (!retrying && branchSession.canBeCommittedAsync()) {
+            return false;
+        }
+        BranchStatus currentStatus = branchSession.getStatus();
+        return currentStatus != BranchStatus.PhaseOne_Failed && !(currentStatus == BranchStatus.PhaseOne_RDONLY
+            && branchSession.getBranchType() == BranchType.XA);
+    }
+
     private boolean isXaerNotaTimeout(GlobalSession globalSession, BranchStatus branchStatus) {
         if (BranchStatus.PhaseTwo_CommitFailed_XAER_NOTA_Retryable.equals(branchStatus) ||
                 BranchStatus.PhaseTwo_RollbackFailed_XAER_NOTA_Retryable.equals(branchStatus)) {
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.coordinator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import org.apache.commons.lang.time.DateFormatUtils;
+import org.apache.seata.common.thread.NamedThreadFactory;
+import org.apache.seata.common.util.StringUtils;
+import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.model.GlobalStatus;
+import org.apache.seata.server.cluster.raft.context.SeataClusterContext;
+import org.apache.seata.server.metrics.MetricsPublisher;
+import org.apache.seata.server.session.GlobalSession;
+import org.apache.seata.server.session.SessionHolder;
+import org.apache.seata.server.session.SessionShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Expires global sessions through a hashed timing wheel.
+ * <p>
+ * The session is scheduled when it begins and cancelled when it is committed or rolled back, so only
+ * the sessions that really expire are locked and changed to {@link GlobalStatus#TimeoutRollbacking}.
+ * The periodic timeout check of {@link DefaultCoordinator} still picks up the sessions begun before a
+ * restart, on another server node or on a former raft leader.
+ *
+ */
+public class SessionTimeoutScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionTimeoutScheduler.class);
+
+    private static final String TIME_FORMAT_PATTERN = "yyyy-MM-dd HH:mm:ss.SSS";
+
+    private static final long TICK_DURATION_MILLS = 50;
+
+    private static final int TICKS_PER_WHEEL = 512;
+
+    private final Map<String, Timeout> timeouts = new ConcurrentHashMap<>();
+
+    private final HashedWheelTimer timer = new HashedWheelTimer(new NamedThreadFactory("TxTimeoutWheel", 1),
+        TICK_DURATION_MILLS, TimeUnit.MILLISECONDS, TICKS_PER_WHEEL);
+
+    /**
+     * The wheel thread only dispatches, the status change may block on the store.
+     * Not used if the sessions are sharded, the owning shard expires the session then.
+     */
+    private final ThreadPoolExecutor expireExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(), new NamedThreadFactory("TxTimeoutExpire", 1));
+
+    /**
+     * Schedule the timeout of the session, does nothing if it is scheduled already.
+     *
+     * @param globalSession the global session
+     */
+    public void schedule(GlobalSession globalSession) {
+        String xid = globalSession.getXid();
+        if (timeouts.containsKey(xid)) {
+            return;
+        }
+        long delay = globalSession.getBeginTime() + globalSession.getTimeout() - System.currentTimeMillis() + 1;
+        String group = SeataClusterContext.getGroup();
+        long transactionId = globalSession.getTransactionId();
+        try {
+            timeouts.computeIfAbsent(xid, k -> timer.newTimeout(
+                timeout -> dispatch(transactionId, () -> expire(xid, group)), Math.max(delay, 0),
+                TimeUnit.MILLISECONDS));
+        } catch (RuntimeException e) {
+            // the timer is stopped, the periodic timeout check takes over
+            LOGGER.warn("schedule timeout of {} failed: {}", xid, e.getMessage());
+        }
+    }
+
+    /**
+     * Cancel the timeout of the session.
+     *
+     * @param xid the xid
+     */
+    public void cancel(String xid) {
+        Timeout timeout = timeouts.remove(xid);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Whether the timeout of the session is scheduled.
+     *
+     * @param xid the xid
+     * @return the boolean
+     */
+    public boolean isScheduled(String xid) {
+        return timeouts.containsKey(xid);
+    }
+
+    /**
+     * Count of the scheduled timeouts.
+     *
+     * @return the count
+     */
+    public int size() {
+        return timeouts.size();
+    }
+
+    /**
+     * Stop the timer, the scheduled timeouts are dropped.
+     */
+    public void shutdown() {
+        timer.stop();
+        expireExecutor.shutdown();
+        timeouts.clear();
+    }
+
+    /**
+     * Expire on the shard owning the session if the sessions are sharded.
+     */
+    private void dispatch(long transactionId, Runnable expiration) {
+        SessionShards sessionShards = SessionHolder.getSessionShards();
+        if (sessionShards != null) {
+            sessionShards.submit(transactionId, expiration);
+        } else {
+            expireExecutor.execute(expiration);
+        }
+    }
+
+    private void expire(String xid, String group) {
+        timeouts.remove(xid);
+        if (StringUtils.isNotBlank(group)) {
+            SeataClusterContext.bindGroup(group);
+        }
+        try {
+            GlobalSession globalSession = SessionHolder.findGlobalSession(xid, false);
+            if (globalSession != null) {
+                timeout(globalSession);
+            }
+        } catch (TransactionException e) {
+            LOGGER.error("Failed to timeout global transaction [{}] {} {}", xid, e.getCode(), e.getMessage());
+        } catch (Exception e) {
+            LOGGER.error("Failed to timeout global transaction [{}] {}", xid, e.getMessage(), e);
+        } finally {
+            SeataClusterContext.unbindGroup();
+        }
+    }
+
+    /**
+     * Change the session to TimeoutRollbacking if it is still in Begin and timeout.
+     *
+     * @param globalSession the global session
+     * @return true if the session is changed
+     * @throws TransactionException the transaction exception
+     */
+    public static boolean timeout(GlobalSession globalSession) throws TransactionException {
+        return SessionHolder.lockAndExecute(globalSession, () -> {
+            if (globalSession.getStatus() != GlobalStatus.Begin || !globalSession.isTimeout()) {
+                return false;
+            }
+
+            LOGGER.warn("Global transaction[{}] is timeout and will be rollback,transaction begin time:{} and now:{}",
+                globalSession.getXid(), DateFormatUtils.format(globalSession.getBeginTime(), TIME_FORMAT_PATTERN),
+                DateFormatUtils.format(System.currentTimeMillis(), TIME_FORMAT_PATTERN));
+
+            globalSession.close();
+            globalSession.changeGlobalStatus(GlobalStatus.TimeoutRollbacking);
+
+            // transaction timeout and start rollbacking event
+            MetricsPublisher.postSessionDoingEvent(globalSession, GlobalStatus.TimeoutRollbacking.name(), false, false);
+
+            return true;
+        });
+    }
+}
@@ -16,7 +16,6 @@
  */
 package org.apache.seata.server.lock;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import org.apache.seata.common.XID;
@@ -52,17 +51,21 @@ public abstract class AbstractLockManager implements LockManager {
             throw new IllegalArgumentException("branchSession can't be null for memory/file locker.");
         }
         String lockKey = branchSession.getLockKey();
-        if (StringUtils.isNullOrEmpty(lockKey)) {
+        if (StringUtils.isNullOrEmpty(lockKey) || branchSession.getLockKeys().isEmpty()) {
             // no lock
             return true;
         }
+        Locker locker = getLocker(branchSession);
+        if (locker instanceof LockKeysLocker) {
+            return ((LockKeysLocker)locker).acquireLock(branchSession.getLockKeys(), autoCommit, skipCheckLock);
+        }
         // get locks of branch
         List<RowLock> locks = collectRowLocks(branchSession);
         if (CollectionUtils.isEmpty(locks)) {
             // no lock
             return true;
         }
-        return getLocker(branchSession).acquireLock(locks, autoCommit, skipCheckLock);
+        return locker.acquireLock(locks, autoCommit, skipCheckLock);
     }
 
     @Override
@@ -70,9 +73,12 @@ public abstract class AbstractLockManager implements LockManager {
         if (branchSession == null) {
             throw new IllegalArgumentException("branchSession can't be null for memory/file locker.");
         }
-        List<RowLock> locks = collectRowLocks(branchSession);
         try {
-            return getLocker(branchSession).releaseLock(locks);
+            Locker locker = getLocker(branchSession);
+            if (locker instanceof LockKeysLocker) {
+                return ((LockKeysLocker)locker).releaseLock(branchSession.getLockKeys());
+            }
+            return locker.releaseLock(collectRowLocks(branchSession));
         } catch (Exception t) {
             LOGGER.error("unLock error, branchSession:{}", branchSession, t);
             return false;
@@ -123,13 +129,8 @@ public abstract class AbstractLockManager implements LockManager {
             return Collections.emptyList();
         }
 
-        String lockKey = branchSession.getLockKey();
-        String resourceId = branchSession.getResourceId();
-        String xid = branchSession.getXid();
-        long transactionId = branchSession.getTransactionId();
-        long branchId = branchSession.getBranchId();
-
-        return collectRowLocks(lockKey, resourceId, xid, transactionId, branchId);
+        return branchSession.getLockKeys().toRowLocks(branchSession.getXid(), branchSession.getTransactionId(),
+            branchSession.getBranchId(), branchSession.getResourceId());
     }
 
     /**
@@ -156,37 +157,7 @@ public abstract class AbstractLockManager implements LockManager {
      */
     protected List<RowLock> collectRowLocks(String lockKey, String resourceId, String xid, Long transactionId,
         Long branchID) {
-        List<RowLock> locks = new ArrayList<>();
-
-        String[] tableGroupedLockKeys = lockKey.split(";");
-        for (String tableGroupedLockKey : tableGroupedLockKeys) {
-            int idx = tableGroupedLockKey.indexOf(":");
-            if (idx < 0) {
-                return locks;
-            }
-            String tableName = tableGroupedLockKey.substring(0, idx);
-            String mergedPKs = tableGroupedLockKey.substring(idx + 1);
-            if (StringUtils.isBlank(mergedPKs)) {
-                return locks;
-            }
-            String[] pks = mergedPKs.split(",");
-            if (pks == null || pks.length == 0) {
-                return locks;
-            }
-            for (String pk : pks) {
-                if (StringUtils.isNotBlank(pk)) {
-                    RowLock rowLock = new RowLock();
-                    rowLock.setXid(xid);
-                    rowLock.setTransactionId(transactionId);
-                    rowLock.setBranchId(branchID);
-                    rowLock.setTableName(tableName);
-                    rowLock.setPk(pk);
-                    rowLock.setResourceId(resourceId);
-                    locks.add(rowLock);
-                }
-            }
-        }
-        return locks;
+        return LockKeys.parse(lockKey).toRowLocks(xid, transactionId, branchID, resourceId);
     }
     
     @Override
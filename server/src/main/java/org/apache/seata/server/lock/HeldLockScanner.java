@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.lock;
+
+import java.util.function.Consumer;
+
+import org.apache.seata.core.store.LockDO;
+
+/**
+ * A locker whose held locks can be listed from the remote store.
+ *
+ */
+public interface HeldLockScanner {
+
+    /**
+     * Visit every lock held in the store.
+     *
+     * @param consumer the consumer of the held lock, with xid, branch id and row key
+     */
+    void scanHeldLocks(Consumer<LockDO> consumer);
+}
@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.lock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+import org.apache.seata.common.util.StringUtils;
+import org.apache.seata.core.lock.RowLock;
+
+/**
+ * The parsed lock key of a branch, the primary keys grouped by table.
+ * A lock key such as {@code t1:1,2;t2:3} is split once, the table names and primary keys
+ * are shared by every row lock built from it.
+ *
+ */
+public final class LockKeys {
+
+    /**
+     * The lock keys without any row.
+     */
+    public static final LockKeys EMPTY = new LockKeys(new String[0], new int[0], new String[0]);
+
+    private static final char TABLE_SEPARATOR = ';';
+
+    private static final char TABLE_PK_SEPARATOR = ':';
+
+    private static final char PK_SEPARATOR = ',';
+
+    private final String[] tableNames;
+
+    /**
+     * the end index of the primary keys of each table, exclusive
+     */
+    private final int[] tableEnds;
+
+    private final String[] pks;
+
+    private LockKeys(String[] tableNames, int[] tableEnds, String[] pks) {
+        this.tableNames = tableNames;
+        this.tableEnds = tableEnds;
+        this.pks = pks;
+    }
+
+    /**
+     * Parse the lock key, a malformed table group ends the parsing.
+     *
+     * @param lockKey the lock key
+     * @return the lock keys
+     */
+    public static LockKeys parse(String lockKey) {
+        if (StringUtils.isBlank(lockKey)) {
+            return EMPTY;
+        }
+        int length = lockKey.length();
+        // the empty table groups at the end are ignored
+        while (length > 0 && lockKey.charAt(length - 1) == TABLE_SEPARATOR) {
+            length--;
+        }
+        List<String> tableNames = new ArrayList<>(2);
+        int[] tableEnds = new int[4];
+        List<String> pks = new ArrayList<>();
+        int groupStart = 0;
+        while (groupStart <= length) {
+            int groupEnd = lockKey.indexOf(TABLE_SEPARATOR, groupStart);
+            if (groupEnd < 0 || groupEnd > length) {
+                groupEnd = length;
+            }
+            int idx = lockKey.indexOf(TABLE_PK_SEPARATOR, groupStart);
+            if (idx < 0 || idx >= groupEnd || !parsePks(lockKey, idx + 1, groupEnd, pks)) {
+                break;
+            }
+            if (tableNames.size() == tableEnds.length) {
+                tableEnds = Arrays.copyOf(tableEnds, tableEnds.length << 1);
+            }
+            tableEnds[tableNames.size()] = pks.size();
+            tableNames.add(lockKey.substring(groupStart, idx));
+            groupStart = groupEnd + 1;
+        }
+        if (pks.isEmpty()) {
+            return EMPTY;
+        }
+        return new LockKeys(tableNames.toArray(new String[0]), Arrays.copyOf(tableEnds, tableNames.size()),
+            pks.toArray(new String[0]));
+    }
+
+    /**
+     * Add the non blank primary keys of the table group.
+     *
+     * @return false if the table group has no primary key at all
+     */
+    private static boolean parsePks(String lockKey, int start, int end, List<String> pks) {
+        boolean hasPk = false;
+        boolean blank = true;
+        for (int i = start; i < end; i++) {
+            char c = lockKey.charAt(i);
+            if (c != PK_SEPARATOR) {
+                hasPk = true;
+            }
+            if (!Character.isWhitespace(c)) {
+                blank = false;
+            }
+        }
+        if (blank || !hasPk) {
+            return false;
+        }
+        int pkStart = start;
+        while (pkStart <= end) {
+            int pkEnd = lockKey.indexOf(PK_SEPARATOR, pkStart);
+            if (pkEnd < 0 || pkEnd > end) {
+                pkEnd = end;
+            }
+            if (!isBlank(lockKey, pkStart, pkEnd)) {
+                pks.add(lockKey.substring(pkStart, pkEnd));
+            }
+            pkStart = pkEnd + 1;
+        }
+        return true;
+    }
+
+    private static boolean isBlank(String str, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(str.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the size
+     */
+    public int size() {
+        return pks.length;
+    }
+
+    /**
+     * Whether there is no row.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return pks.length == 0;
+    }
+
+    /**
+     * Gets the number of tables.
+     *
+     * @return the table count
+     */
+    public int getTableCount() {
+        return tableNames.length;
+    }
+
+    /**
+     * Gets the table name.
+     *
+     * @param tableIndex the table index
+     * @return the table name
+     */
+    public String getTableName(int tableIndex) {
+        return tableNames[tableIndex];
+    }
+
+    /**
+     * Gets the start index of the primary keys of the table.
+     *
+     * @param tableIndex the table index
+     * @return the start index, inclusive
+     */
+    public int getTableStart(int tableIndex) {
+        return tableIndex == 0 ? 0 : tableEnds[tableIndex - 1];
+    }
+
+    /**
+     * Gets the end index of the primary keys of the table.
+     *
+     * @param tableIndex the table index
+     * @return the end index, exclusive
+     */
+    public int getTableEnd(int tableIndex) {
+        return tableEnds[tableIndex];
+    }
+
+    /**
+     * Gets the primary key.
+     *
+     * @param index the row index
+     * @return the primary key
+     */
+    public String getPk(int index) {
+        return pks[index];
+    }
+
+    /**
+     * Visit every row in order.
+     *
+     * @param consumer the consumer of the table name and the primary key
+     */
+    public void forEach(BiConsumer<String, String> consumer) {
+        for (int t = 0, i = 0; t < tableNames.length; t++) {
+            for (; i < tableEnds[t]; i++) {
+                consumer.accept(tableNames[t], pks[i]);
+            }
+        }
+    }
+
+    /**
+     * Build the row locks.
+     *
+     * @param xid           the xid
+     * @param transactionId the transaction id
+     * @param branchId      the branch id
+     * @param resourceId    the resource id
+     * @return the row locks
+     */
+    public List<RowLock> toRowLocks(String xid, Long transactionId, Long branchId, String resourceId) {
+        return toRowLocks(xid, transactionId, branchId, resourceId, null);
+    }
+
+    /**
+     * Build the row locks of the tables accepted by the filter.
+     *
+     * @param xid           the xid
+     * @param transactionId the transaction id
+     * @param branchId      the branch id
+     * @param resourceId    the resource id
+     * @param tableFilter   the filter of the table name, null to accept all the tables
+     * @return the row locks
+     */
+    public List<RowLock> toRowLocks(String xid, Long transactionId, Long branchId, String resourceId,
+                                    Predicate<String> tableFilter) {
+        if (pks.length == 0) {
+            return Collections.emptyList();
+        }
+        List<RowLock> locks = new ArrayList<>(pks.length);
+        for (int t = 0; t < tableNames.length; t++) {
+            if (tableFilter != null && !tableFilter.test(tableNames[t])) {
+                continue;
+            }
+            for (int i = getTableStart(t); i < tableEnds[t]; i++) {
+                RowLock rowLock = new RowLock();
+                rowLock.setXid(xid);
+                rowLock.setTransactionId(transactionId);
+                rowLock.setBranchId(branchId);
+                rowLock.setTableName(tableNames[t]);
+                rowLock.setPk(pks[i]);
+                rowLock.setResourceId(resourceId);
+                locks.add(rowLock);
+            }
+        }
+        return locks;
+    }
+}
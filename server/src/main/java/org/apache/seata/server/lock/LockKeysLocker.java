@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.lock;
+
+/**
+ * A locker of one branch that takes the parsed lock key directly, without building the row locks.
+ *
+ */
+public interface LockKeysLocker {
+
+    /**
+     * Acquire the row locks of the branch.
+     *
+     * @param lockKeys      the lock keys of the branch
+     * @param autoCommit    the auto commit
+     * @param skipCheckLock whether skip check lock or not
+     * @return the boolean
+     */
+    boolean acquireLock(LockKeys lockKeys, boolean autoCommit, boolean skipCheckLock);
+
+    /**
+     * Release the row locks of the branch.
+     *
+     * @param lockKeys the lock keys of the branch
+     * @return the boolean
+     */
+    boolean releaseLock(LockKeys lockKeys);
+}
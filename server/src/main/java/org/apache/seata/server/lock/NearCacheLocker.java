@@ -0,0 +1,288 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.lock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.seata.common.util.CollectionUtils;
+import org.apache.seata.config.Configuration;
+import org.apache.seata.config.ConfigurationFactory;
+import org.apache.seata.core.constants.ConfigurationKeys;
+import org.apache.seata.core.lock.AbstractLocker;
+import org.apache.seata.core.lock.Locker;
+import org.apache.seata.core.lock.RowLock;
+import org.apache.seata.core.model.LockStatus;
+import org.apache.seata.metrics.registry.Registry;
+import org.apache.seata.server.metrics.MeterIdConstants;
+import org.apache.seata.server.metrics.MetricsManager;
+
+import static org.apache.seata.common.DefaultValues.DEFAULT_ENABLE_LOCK_NEAR_CACHE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_LOCK_NEAR_CACHE_SIZE;
+
+/**
+ * Keeps a counting bloom filter of the row locks held in a remote lock store,
+ * so a lock query on rows that are certainly not locked is answered without a round trip.
+ * A row is added before it is acquired and removed after its branch or global transaction is released,
+ * the filter is warmed up from the store on start. It only sees the locks acquired through this server,
+ * so it must not be enabled when several servers share the lock store.
+ *
+ */
+public class NearCacheLocker extends AbstractLocker {
+
+    private final Locker delegate;
+
+    private final RowLockFilter filter;
+
+    private final Map<Long, HeldBranch> heldBranches = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<Long>> xidBranches = new ConcurrentHashMap<>();
+
+    private final LongAdder lookups = new LongAdder();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final Registry registry;
+
+    private volatile boolean ready;
+
+    /**
+     * Instantiates a new Near cache locker.
+     *
+     * @param delegate the locker of the remote store
+     * @param size     the number of counters of the filter
+     */
+    public NearCacheLocker(Locker delegate, int size) {
+        this.delegate = delegate;
+        this.filter = new RowLockFilter(size);
+        this.registry = MetricsManager.get().getRegistry();
+        if (registry != null) {
+            registry.getGauge(MeterIdConstants.GAUGE_LOCK_NEAR_CACHE_HIT_RATE, this::getHitRate);
+        }
+        warmUp();
+    }
+
+    /**
+     * Decorate the locker with a near cache if enabled.
+     *
+     * @param locker the locker of the remote store
+     * @return the locker to use
+     */
+    public static Locker decorate(Locker locker) {
+        Configuration config = ConfigurationFactory.getInstance();
+        if (!config.getBoolean(ConfigurationKeys.STORE_LOCK_ENABLE_NEAR_CACHE, DEFAULT_ENABLE_LOCK_NEAR_CACHE)) {
+            return locker;
+        }
+        return new NearCacheLocker(locker,
+            config.getInt(ConfigurationKeys.STORE_LOCK_NEAR_CACHE_SIZE, DEFAULT_LOCK_NEAR_CACHE_SIZE));
+    }
+
+    private void warmUp() {
+        if (!(delegate instanceof HeldLockScanner)) {
+            LOGGER.warn("The held locks of {} can not be scanned, the lock near cache is disabled",
+                delegate.getClass().getSimpleName());
+            return;
+        }
+        try {
+            ((HeldLockScanner)delegate).scanHeldLocks(
+                lockDO -> hold(lockDO.getXid(), lockDO.getBranchId(), filter.slots(lockDO.getRowKey())));
+            ready = true;
+            LOGGER.info("The lock near cache is warmed up with {} branches", heldBranches.size());
+        } catch (Exception e) {
+            LOGGER.error("Warm up the lock near cache failed, the lock near cache is disabled", e);
+        }
+    }
+
+    @Override
+    public boolean acquireLock(List<RowLock> rowLocks) {
+        return acquireLock(rowLocks, true, false);
+    }
+
+    @Override
+    public boolean acquireLock(List<RowLock> rowLocks, boolean autoCommit, boolean skipCheckLock) {
+        if (CollectionUtils.isEmpty(rowLocks)) {
+            return delegate.acquireLock(rowLocks, autoCommit, skipCheckLock);
+        }
+        RowLock rowLock = rowLocks.get(0);
+        int[] slots = slots(rowLocks);
+        // hold before acquiring, a concurrent query must never miss a lock that may have been written
+        HeldBranch branch = hold(rowLock.getXid(), rowLock.getBranchId(), slots);
+        boolean acquired = delegate.acquireLock(rowLocks, autoCommit, skipCheckLock);
+        if (!acquired && branch.remove(slots)) {
+            filter.remove(slots);
+        }
+        return acquired;
+    }
+
+    /**
+     * The rows may be a part of the branch, they are kept in the filter until the branch is released.
+     */
+    @Override
+    public boolean releaseLock(List<RowLock> rowLocks) {
+        return delegate.releaseLock(rowLocks);
+    }
+
+    @Override
+    public boolean releaseLock(String xid, Long branchId) {
+        boolean released = delegate.releaseLock(xid, branchId);
+        if (released) {
+            release(branchKey(branchId));
+            xidBranches.computeIfPresent(xid, (k, branchIds) -> {
+                branchIds.remove(branchKey(branchId));
+                return branchIds.isEmpty() ? null : branchIds;
+            });
+        }
+        return released;
+    }
+
+    @Override
+    public boolean releaseLock(String xid) {
+        boolean released = delegate.releaseLock(xid);
+        if (released) {
+            Set<Long> branchIds = xidBranches.remove(xid);
+            if (branchIds != null) {
+                branchIds.forEach(this::release);
+            }
+        }
+        return released;
+    }
+
+    @Override
+    public boolean isLockable(List<RowLock> rowLocks) {
+        if (ready && CollectionUtils.isNotEmpty(rowLocks)) {
+            lookups.increment();
+            if (registry != null) {
+                registry.getCounter(MeterIdConstants.COUNTER_LOCK_NEAR_CACHE_LOOKUP).increase(1);
+            }
+            boolean mayBeLocked = false;
+            for (RowLock rowLock : rowLocks) {
+                if (filter.mightContain(getRowKey(rowLock.getResourceId(), rowLock.getTableName(), rowLock.getPk()))) {
+                    mayBeLocked = true;
+                    break;
+                }
+            }
+            if (!mayBeLocked) {
+                hits.increment();
+                if (registry != null) {
+                    registry.getCounter(MeterIdConstants.COUNTER_LOCK_NEAR_CACHE_HIT).increase(1);
+                }
+                return true;
+            }
+        }
+        return delegate.isLockable(rowLocks);
+    }
+
+    @Override
+    public void cleanAllLocks() {
+        delegate.cleanAllLocks();
+        heldBranches.clear();
+        xidBranches.clear();
+        filter.clear();
+    }
+
+    @Override
+    public void updateLockStatus(String xid, LockStatus lockStatus) {
+        delegate.updateLockStatus(xid, lockStatus);
+    }
+
+    /**
+     * Get the ratio of the lock queries answered by the near cache.
+     *
+     * @return the hit rate
+     */
+    public double getHitRate() {
+        long total = lookups.sum();
+        return total == 0 ? 0 : (double)hits.sum() / total;
+    }
+
+    /**
+     * Gets the locker of the remote store.
+     *
+     * @return the delegate
+     */
+    public Locker getDelegate() {
+        return delegate;
+    }
+
+    private int[] slots(List<RowLock> rowLocks) {
+        List<int[]> rowSlots = new ArrayList<>(rowLocks.size());
+        int length = 0;
+        for (RowLock rowLock : rowLocks) {
+            int[] slots = filter.slots(getRowKey(rowLock.getResourceId(), rowLock.getTableName(), rowLock.getPk()));
+            rowSlots.add(slots);
+            length += slots.length;
+        }
+        int[] slots = new int[length];
+        int offset = 0;
+        for (int[] s : rowSlots) {
+            System.arraycopy(s, 0, slots, offset, s.length);
+            offset += s.length;
+        }
+        return slots;
+    }
+
+    private HeldBranch hold(String xid, Long branchId, int[] slots) {
+        filter.add(slots);
+        long key = branchKey(branchId);
+        HeldBranch branch = heldBranches.computeIfAbsent(key, k -> new HeldBranch());
+        branch.add(slots);
+        xidBranches.compute(xid, (k, branchIds) -> {
+            if (branchIds == null) {
+                branchIds = ConcurrentHashMap.newKeySet();
+            }
+            branchIds.add(key);
+            return branchIds;
+        });
+        return branch;
+    }
+
+    private void release(Long branchId) {
+        HeldBranch branch = heldBranches.remove(branchId);
+        if (branch != null) {
+            branch.drain(filter);
+        }
+    }
+
+    private static long branchKey(Long branchId) {
+        return branchId == null ? 0L : branchId;
+    }
+
+    /**
+     * The slots added by the acquisitions of a branch.
+     */
+    private static class HeldBranch {
+
+        private final List<int[]> slotGroups = new ArrayList<>(1);
+
+        synchronized void add(int[] slots) {
+            slotGroups.add(slots);
+        }
+
+        synchronized boolean remove(int[] slots) {
+            return slotGroups.remove(slots);
+        }
+
+        synchronized void drain(RowLockFilter filter) {
+            slotGroups.forEach(filter::remove);
+            slotGroups.clear();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.lock;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A counting bloom filter of row keys.
+ * A row key that was never added, or whose every add has been removed, is reported as absent,
+ * other row keys may be reported as present by mistake.
+ *
+ */
+public class RowLockFilter {
+
+    private static final int HASH_COUNT = 3;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicIntegerArray counters;
+
+    private final int mask;
+
+    /**
+     * Instantiates a new Row lock filter.
+     *
+     * @param size the number of counters, rounded up to a power of two
+     */
+    public RowLockFilter(int size) {
+        int capacity = Integer.highestOneBit(Math.max(64, Math.min(size, 1 << 30) - 1)) << 1;
+        this.counters = new AtomicIntegerArray(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Get the counter slots of the row key.
+     *
+     * @param rowKey the row key
+     * @return the slots
+     */
+    public int[] slots(String rowKey) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < rowKey.length(); i++) {
+            hash ^= rowKey.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        int h1 = (int)hash;
+        int h2 = (int)(hash >>> 32) | 1;
+        int[] slots = new int[HASH_COUNT];
+        for (int i = 0; i < HASH_COUNT; i++) {
+            slots[i] = (h1 + i * h2) & mask;
+        }
+        return slots;
+    }
+
+    /**
+     * Add the slots of a row key.
+     *
+     * @param slots the slots
+     */
+    public void add(int[] slots) {
+        for (int slot : slots) {
+            counters.incrementAndGet(slot);
+        }
+    }
+
+    /**
+     * Remove the slots of a row key, the slots must have been added before.
+     *
+     * @param slots the slots
+     */
+    public void remove(int[] slots) {
+        for (int slot : slots) {
+            counters.decrementAndGet(slot);
+        }
+    }
+
+    /**
+     * Whether the row key may have been added.
+     *
+     * @param rowKey the row key
+     * @return false if the row key is certainly absent
+     */
+    public boolean mightContain(String rowKey) {
+        for (int slot : slots(rowKey)) {
+            if (counters.get(slot) <= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Clear all the row keys.
+     */
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+}
@@ -109,4 +109,19 @@ public interface MeterIdConstants {
     Id SUMMARY_EXP =  new Id(IdConstants.SEATA_EXCEPTION)
             .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
             .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_SUMMARY);
+
+    Id COUNTER_LOCK_NEAR_CACHE_LOOKUP = new Id(IdConstants.SEATA_LOCK_NEAR_CACHE)
+        .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+        .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_COUNTER)
+        .withTag(IdConstants.STATUS_KEY, IdConstants.STATUS_VALUE_LOOKUP);
+
+    Id COUNTER_LOCK_NEAR_CACHE_HIT = new Id(IdConstants.SEATA_LOCK_NEAR_CACHE)
+        .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+        .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_COUNTER)
+        .withTag(IdConstants.STATUS_KEY, IdConstants.STATUS_VALUE_HIT);
+
+    Id GAUGE_LOCK_NEAR_CACHE_HIT_RATE = new Id(IdConstants.SEATA_LOCK_NEAR_CACHE)
+        .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+        .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_GAUGE)
+        .withTag(IdConstants.STATUS_KEY, IdConstants.STATUS_VALUE_HIT_RATE);
 }
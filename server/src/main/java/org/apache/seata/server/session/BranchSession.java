@@ -29,6 +29,7 @@ import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.model.BranchStatus;
 import org.apache.seata.core.model.BranchType;
 import org.apache.seata.core.model.LockStatus;
+import org.apache.seata.server.lock.LockKeys;
 import org.apache.seata.server.lock.LockManager;
 import org.apache.seata.server.lock.LockerManagerFactory;
 import org.apache.seata.server.storage.file.lock.FileLocker;
@@ -64,6 +65,11 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
 
     private String lockKey;
 
+    /**
+     * the lock key parsed on first use
+     */
+    private volatile LockKeys lockKeys;
+
     private BranchType branchType;
 
     private BranchStatus status = BranchStatus.Unknown;
@@ -175,6 +181,21 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
      */
     public void setLockKey(String lockKey) {
         this.lockKey = lockKey;
+        this.lockKeys = null;
+    }
+
+    /**
+     * Gets the parsed lock key, it is parsed once and shared by the lock operations of the branch.
+     *
+     * @return the lock keys
+     */
+    public LockKeys getLockKeys() {
+        LockKeys keys = this.lockKeys;
+        if (keys == null) {
+            keys = LockKeys.parse(lockKey);
+            this.lockKeys = keys;
+        }
+        return keys;
     }
 
     /**
@@ -456,7 +477,7 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
             } else {
                 this.lockKey = new String(byLockKey);
             }
-
+            this.lockKeys = null;
         }
         short clientIdLen = byteBuffer.getShort();
         if (clientIdLen > 0) {
@@ -107,6 +107,10 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
 
     private Set<SessionLifecycleListener> lifecycleListeners = new HashSet<>(2);
 
+    private volatile GlobalSessionStatusIndex statusIndex;
+
+    private volatile GlobalSessionQueryIndex queryIndex;
+
     /**
      * Add boolean.
      *
@@ -115,7 +119,12 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
      */
     public boolean add(BranchSession branchSession) {
         if (null != branchSessions) {
-            return branchSessions.add(branchSession);
+            boolean added = branchSessions.add(branchSession);
+            GlobalSessionQueryIndex index = queryIndex;
+            if (added && index != null) {
+                index.onAddBranch(this, branchSession);
+            }
+            return added;
         } else {
             // db and redis no need to deal with
             return true;
@@ -130,7 +139,12 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
      */
     public boolean remove(BranchSession branchSession) {
         synchronized (this) {
-            return branchSessions.remove(branchSession);
+            boolean removed = branchSessions.remove(branchSession);
+            GlobalSessionQueryIndex index = queryIndex;
+            if (removed && index != null) {
+                index.onRemoveBranch(this, branchSession);
+            }
+            return removed;
         }
     }
 
@@ -216,7 +230,7 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
 
     @Override
     public void begin() throws TransactionException {
-        this.status = GlobalStatus.Begin;
+        setStatus(GlobalStatus.Begin);
         this.beginTime = System.currentTimeMillis();
         this.active = true;
         SessionHolder.getRootSessionManager().onBegin(this);
@@ -232,7 +246,7 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
         }
         SessionHolder.getRootSessionManager().onStatusChange(this, status);
         // set session status after update successfully
-        this.status = status;
+        setStatus(status);
         for (SessionLifecycleListener lifecycleListener : lifecycleListeners) {
             lifecycleListener.onStatusChange(this, status);
         }
@@ -483,7 +497,49 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
      * @param status the status
      */
     public void setStatus(GlobalStatus status) {
-        this.status = status;
+        synchronized (this) {
+            GlobalStatus before = this.status;
+            this.status = status;
+            if (statusIndex != null && before != status) {
+                statusIndex.onStatusChange(this, before, status);
+            }
+        }
+    }
+
+    /**
+     * Gets the status index the session is registered in.
+     *
+     * @return the status index, null if not registered
+     */
+    public GlobalSessionStatusIndex getStatusIndex() {
+        return statusIndex;
+    }
+
+    /**
+     * Sets the status index the session is registered in.
+     *
+     * @param statusIndex the status index
+     */
+    public void setStatusIndex(GlobalSessionStatusIndex statusIndex) {
+        this.statusIndex = statusIndex;
+    }
+
+    /**
+     * Gets the query index the session is registered in.
+     *
+     * @return the query index, null if not registered
+     */
+    public GlobalSessionQueryIndex getQueryIndex() {
+        return queryIndex;
+    }
+
+    /**
+     * Sets the query index the session is registered in.
+     *
+     * @param queryIndex the query index
+     */
+    public void setQueryIndex(GlobalSessionQueryIndex queryIndex) {
+        this.queryIndex = queryIndex;
     }
 
     /**
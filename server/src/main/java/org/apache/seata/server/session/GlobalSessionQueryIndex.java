@@ -0,0 +1,389 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.session;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
+
+import org.apache.seata.common.util.StringUtils;
+import org.apache.seata.core.model.GlobalStatus;
+import org.apache.seata.server.lock.LockKeys;
+
+/**
+ * The in-memory index of global sessions for the console queries.
+ * <p>
+ * The sessions are kept in begin time order, newest first, and indexed by xid and by the tables of their branch
+ * lock keys. A query walks the smallest candidate set in begin time order and stops as soon as the visitor has
+ * seen enough sessions, so a page of a large session map is answered without collecting all the matches.
+ * The xid and the begin time of a session must not change while it is registered.
+ *
+ */
+public class GlobalSessionQueryIndex {
+
+    private static final Comparator<Entry> BEGIN_TIME_ORDER = (e1, e2) -> {
+        int c = Long.compare(e2.beginTime, e1.beginTime);
+        return c != 0 ? c : e1.xid.compareTo(e2.xid);
+    };
+
+    private static final char XID_SEPARATOR = ':';
+
+    private final GlobalSessionStatusIndex statusIndex;
+
+    private final ConcurrentSkipListMap<String, Entry> xidIndex = new ConcurrentSkipListMap<>();
+
+    private final ConcurrentSkipListSet<Entry> beginTimeIndex = new ConcurrentSkipListSet<>(BEGIN_TIME_ORDER);
+
+    /**
+     * the xids of the sessions holding a branch on the table, with the number of such branches
+     */
+    private final Map<String, Map<String, Integer>> tableIndex = new ConcurrentHashMap<>();
+
+    public GlobalSessionQueryIndex(GlobalSessionStatusIndex statusIndex) {
+        this.statusIndex = statusIndex;
+    }
+
+    /**
+     * Register the session and its branches.
+     *
+     * @param session the global session
+     */
+    public void add(GlobalSession session) {
+        Entry previous = xidIndex.get(session.getXid());
+        if (previous != null) {
+            remove(previous.session);
+        }
+        Entry entry = new Entry(session);
+        xidIndex.put(entry.xid, entry);
+        beginTimeIndex.add(entry);
+        session.setQueryIndex(this);
+        List<BranchSession> branchSessions = session.getBranchSessions();
+        if (branchSessions != null) {
+            for (BranchSession branchSession : branchSessions) {
+                onAddBranch(session, branchSession);
+            }
+        }
+    }
+
+    /**
+     * Unregister the session and its branches.
+     *
+     * @param session the global session
+     */
+    public void remove(GlobalSession session) {
+        Entry entry = xidIndex.get(session.getXid());
+        if (entry == null || entry.session != session || !xidIndex.remove(entry.xid, entry)) {
+            return;
+        }
+        beginTimeIndex.remove(entry);
+        if (session.getQueryIndex() == this) {
+            session.setQueryIndex(null);
+        }
+        List<BranchSession> branchSessions = session.getBranchSessions();
+        if (branchSessions != null) {
+            for (BranchSession branchSession : branchSessions) {
+                onRemoveBranch(session, branchSession);
+            }
+        }
+    }
+
+    /**
+     * Unregister all sessions.
+     */
+    public void clear() {
+        for (Entry entry : xidIndex.values()) {
+            remove(entry.session);
+        }
+        tableIndex.clear();
+    }
+
+    /**
+     * Count of the registered sessions.
+     *
+     * @return the count
+     */
+    public int size() {
+        return xidIndex.size();
+    }
+
+    /**
+     * Count the sessions matching the condition if the indexes alone can tell.
+     *
+     * @param condition the condition
+     * @return the count, or -1 if the sessions must be visited to count them
+     */
+    public int count(Condition condition) {
+        if (StringUtils.isNotBlank(condition.xid) || StringUtils.isNotBlank(condition.tableName)
+            || condition.beginTimeFrom != null || condition.beginTimeTo != null) {
+            return -1;
+        }
+        return condition.status != null ? statusIndex.size(condition.status) : size();
+    }
+
+    /**
+     * Visit the sessions matching the condition, newest first.
+     *
+     * @param condition the condition
+     * @param visitor   the visitor of the session, returns false to stop the scan
+     */
+    public void scan(Condition condition, Predicate<GlobalSession> visitor) {
+        for (GlobalSession session : candidates(condition)) {
+            if (matches(session, condition) && !visitor.test(session)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Pick the smallest candidate set, the begin time index is walked directly unless another index
+     * narrows the sessions down to less than half of them.
+     */
+    private Iterable<GlobalSession> candidates(Condition condition) {
+        Collection<GlobalSession> candidates = null;
+        if (StringUtils.isNotBlank(condition.xid) && condition.xid.indexOf(XID_SEPARATOR) >= 0) {
+            // a text in the form of a xid is looked up as a prefix
+            Collection<Entry> entries = xidIndex.subMap(condition.xid, true,
+                condition.xid + Character.MAX_VALUE, false).values();
+            if (!entries.isEmpty()) {
+                candidates = new ArrayList<>();
+                for (Entry entry : entries) {
+                    candidates.add(entry.session);
+                }
+            }
+        }
+        if (condition.status != null
+            && (candidates == null || statusIndex.size(condition.status) < candidates.size())) {
+            candidates = statusIndex.find(condition.status);
+        }
+        if (StringUtils.isNotBlank(condition.tableName)) {
+            Collection<GlobalSession> tableSessions = findByTable(condition.tableName);
+            if (candidates == null || tableSessions.size() < candidates.size()) {
+                candidates = tableSessions;
+            }
+        }
+        if (candidates == null || candidates.size() * 2 >= size()) {
+            return new EntryIterable(range(condition));
+        }
+        GlobalSession[] sorted = candidates.toArray(new GlobalSession[0]);
+        Arrays.sort(sorted, (s1, s2) -> {
+            int c = Long.compare(s2.getBeginTime(), s1.getBeginTime());
+            return c != 0 ? c : s1.getXid().compareTo(s2.getXid());
+        });
+        return Arrays.asList(sorted);
+    }
+
+    private NavigableSet<Entry> range(Condition condition) {
+        if (condition.beginTimeFrom != null && condition.beginTimeTo != null
+            && condition.beginTimeFrom > condition.beginTimeTo) {
+            return Collections.emptyNavigableSet();
+        }
+        NavigableSet<Entry> range = beginTimeIndex;
+        // the empty xid sorts first among the sessions of the same begin time
+        if (condition.beginTimeTo != null) {
+            range = range.tailSet(new Entry(condition.beginTimeTo), true);
+        }
+        if (condition.beginTimeFrom != null && condition.beginTimeFrom > Long.MIN_VALUE) {
+            range = range.headSet(new Entry(condition.beginTimeFrom - 1), false);
+        }
+        return range;
+    }
+
+    private Collection<GlobalSession> findByTable(String tableName) {
+        Set<String> xids = new HashSet<>();
+        tableIndex.forEach((table, tableXids) -> {
+            if (table.contains(tableName)) {
+                xids.addAll(tableXids.keySet());
+            }
+        });
+        List<GlobalSession> sessions = new ArrayList<>(xids.size());
+        for (String xid : xids) {
+            Entry entry = xidIndex.get(xid);
+            if (entry != null) {
+                sessions.add(entry.session);
+            }
+        }
+        return sessions;
+    }
+
+    private boolean matches(GlobalSession session, Condition condition) {
+        if (StringUtils.isNotBlank(condition.xid) && !session.getXid().contains(condition.xid)) {
+            return false;
+        }
+        if (condition.status != null && session.getStatus() != condition.status) {
+            return false;
+        }
+        if (condition.beginTimeFrom != null && session.getBeginTime() < condition.beginTimeFrom) {
+            return false;
+        }
+        if (condition.beginTimeTo != null && session.getBeginTime() > condition.beginTimeTo) {
+            return false;
+        }
+        return StringUtils.isBlank(condition.tableName) || hasTable(session, condition.tableName);
+    }
+
+    private static boolean hasTable(GlobalSession session, String tableName) {
+        for (BranchSession branchSession : session.getBranchSessions()) {
+            LockKeys lockKeys = branchSession.getLockKeys();
+            for (int t = 0; t < lockKeys.getTableCount(); t++) {
+                if (lockKeys.getTableName(t).contains(tableName)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    void onAddBranch(GlobalSession session, BranchSession branchSession) {
+        LockKeys lockKeys = branchSession.getLockKeys();
+        for (int t = 0; t < lockKeys.getTableCount(); t++) {
+            tableIndex.compute(lockKeys.getTableName(t), (table, xids) -> {
+                if (xids == null) {
+                    xids = new ConcurrentHashMap<>();
+                }
+                xids.merge(session.getXid(), 1, Integer::sum);
+                return xids;
+            });
+        }
+    }
+
+    void onRemoveBranch(GlobalSession session, BranchSession branchSession) {
+        LockKeys lockKeys = branchSession.getLockKeys();
+        for (int t = 0; t < lockKeys.getTableCount(); t++) {
+            tableIndex.computeIfPresent(lockKeys.getTableName(t), (table, xids) -> {
+                xids.computeIfPresent(session.getXid(), (xid, count) -> count > 1 ? count - 1 : null);
+                return xids.isEmpty() ? null : xids;
+            });
+        }
+    }
+
+    /**
+     * The condition of a query, the unset fields match any session.
+     */
+    public static class Condition {
+
+        private String xid;
+
+        private GlobalStatus status;
+
+        private String tableName;
+
+        private Long beginTimeFrom;
+
+        private Long beginTimeTo;
+
+        /**
+         * Match the sessions whose xid contains the text.
+         *
+         * @param xid the text of the xid
+         * @return this
+         */
+        public Condition setXid(String xid) {
+            this.xid = xid;
+            return this;
+        }
+
+        public Condition setStatus(GlobalStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        /**
+         * Match the sessions holding a branch on a table whose name contains the text.
+         *
+         * @param tableName the text of the table name
+         * @return this
+         */
+        public Condition setTableName(String tableName) {
+            this.tableName = tableName;
+            return this;
+        }
+
+        /**
+         * Match the sessions begun in the range.
+         *
+         * @param beginTimeFrom the earliest begin time, inclusive, null for no limit
+         * @param beginTimeTo   the latest begin time, inclusive, null for no limit
+         * @return this
+         */
+        public Condition setBeginTimeRange(Long beginTimeFrom, Long beginTimeTo) {
+            this.beginTimeFrom = beginTimeFrom;
+            this.beginTimeTo = beginTimeTo;
+            return this;
+        }
+    }
+
+    private static class Entry {
+
+        private final String xid;
+
+        private final long beginTime;
+
+        private final GlobalSession session;
+
+        Entry(GlobalSession session) {
+            this.xid = session.getXid();
+            this.beginTime = session.getBeginTime();
+            this.session = session;
+        }
+
+        /**
+         * A bound of the begin time range.
+         */
+        Entry(long beginTime) {
+            this.xid = "";
+            this.beginTime = beginTime;
+            this.session = null;
+        }
+    }
+
+    private static class EntryIterable implements Iterable<GlobalSession> {
+
+        private final Iterable<Entry> entries;
+
+        EntryIterable(Iterable<Entry> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public Iterator<GlobalSession> iterator() {
+            Iterator<Entry> iterator = entries.iterator();
+            return new Iterator<GlobalSession>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public GlobalSession next() {
+                    return iterator.next().session;
+                }
+            };
+        }
+    }
+}
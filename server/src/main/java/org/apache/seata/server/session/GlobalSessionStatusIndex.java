@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.session;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.seata.core.model.GlobalStatus;
+
+/**
+ * The in-memory index of global sessions by their current status.
+ * <p>
+ * A session is registered when it is put into the session map and unregistered when it is removed.
+ * A registered session moves itself between the status sets in {@link GlobalSession#setStatus(GlobalStatus)},
+ * so status changes applied by raft followers and the session restore are covered as well.
+ *
+ */
+public class GlobalSessionStatusIndex {
+
+    private final Map<GlobalStatus, Set<GlobalSession>> statusSessions = new EnumMap<>(GlobalStatus.class);
+
+    public GlobalSessionStatusIndex() {
+        for (GlobalStatus status : GlobalStatus.values()) {
+            statusSessions.put(status, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Register the session.
+     *
+     * @param session the global session
+     */
+    public void add(GlobalSession session) {
+        synchronized (session) {
+            session.setStatusIndex(this);
+            if (session.getStatus() != null) {
+                statusSessions.get(session.getStatus()).add(session);
+            }
+        }
+    }
+
+    /**
+     * Unregister the session.
+     *
+     * @param session the global session
+     */
+    public void remove(GlobalSession session) {
+        synchronized (session) {
+            if (session.getStatusIndex() == this) {
+                session.setStatusIndex(null);
+            }
+            if (session.getStatus() != null) {
+                statusSessions.get(session.getStatus()).remove(session);
+            }
+        }
+    }
+
+    /**
+     * Unregister all sessions.
+     */
+    public void clear() {
+        for (Set<GlobalSession> sessions : statusSessions.values()) {
+            for (GlobalSession session : sessions) {
+                remove(session);
+            }
+        }
+    }
+
+    /**
+     * Find the registered sessions in any of the statuses.
+     *
+     * @param statuses the statuses
+     * @return the sessions
+     */
+    public List<GlobalSession> find(GlobalStatus... statuses) {
+        int size = 0;
+        for (GlobalStatus status : statuses) {
+            size += statusSessions.get(status).size();
+        }
+        List<GlobalSession> sessions = new ArrayList<>(size);
+        for (GlobalStatus status : statuses) {
+            sessions.addAll(statusSessions.get(status));
+        }
+        return sessions;
+    }
+
+    /**
+     * Count of the registered sessions in the status.
+     *
+     * @param status the status
+     * @return the count
+     */
+    public int size(GlobalStatus status) {
+        return statusSessions.get(status).size();
+    }
+
+    void onStatusChange(GlobalSession session, GlobalStatus before, GlobalStatus after) {
+        if (before != null) {
+            statusSessions.get(before).remove(session);
+        }
+        if (after != null) {
+            statusSessions.get(after).add(session);
+        }
+    }
+}
@@ -50,7 +50,9 @@ import org.slf4j.LoggerFactory;
 import static java.io.File.separator;
 import static org.apache.seata.common.ConfigurationKeys.SERVER_SERVICE_PORT_CAMEL;
 import static org.apache.seata.common.DefaultValues.DEFAULT_DISTRIBUTED_LOCK_EXPIRE_TIME;
+import static org.apache.seata.common.DefaultValues.DEFAULT_ENABLE_SESSION_SHARDING;
 import static org.apache.seata.common.DefaultValues.DEFAULT_SEATA_GROUP;
+import static org.apache.seata.common.DefaultValues.DEFAULT_SESSION_SHARD_COUNT;
 import static org.apache.seata.common.DefaultValues.DEFAULT_SESSION_STORE_FILE_DIR;
 
 /**
@@ -87,6 +89,8 @@ public class SessionHolder {
 
     private static DistributedLocker DISTRIBUTED_LOCKER;
 
+    private static volatile SessionShards SESSION_SHARDS;
+
     public static void init() {
         init(null);
     }
@@ -138,6 +142,7 @@ public class SessionHolder {
                 ROOT_SESSION_MANAGER = EnhancedServiceLoader.load(SessionManager.class, SessionMode.FILE.getName(),
                     new Object[]{ROOT_SESSION_MANAGER_NAME, sessionStorePath});
                 reload(sessionMode);
+                initSessionShards();
             }
         } else if (SessionMode.REDIS.equals(sessionMode)) {
             ROOT_SESSION_MANAGER = EnhancedServiceLoader.load(SessionManager.class, SessionMode.REDIS.getName());
@@ -149,6 +154,18 @@ public class SessionHolder {
         }
     }
 
+    private static void initSessionShards() {
+        if (SESSION_SHARDS != null) {
+            SESSION_SHARDS.shutdown();
+            SESSION_SHARDS = null;
+        }
+        if (CONFIG.getBoolean(ConfigurationKeys.ENABLE_SESSION_SHARDING_KEY, DEFAULT_ENABLE_SESSION_SHARDING)) {
+            SESSION_SHARDS = new SessionShards(
+                CONFIG.getInt(ConfigurationKeys.SESSION_SHARD_COUNT_KEY, DEFAULT_SESSION_SHARD_COUNT));
+            LOGGER.info("global sessions are changed on {} shards", SESSION_SHARDS.getShardCount());
+        }
+    }
+
     /**
      * Reload.
      *
@@ -329,6 +346,15 @@ public class SessionHolder {
             ? SESSION_MANAGER_MAP.computeIfAbsent(group, k -> ROOT_SESSION_MANAGER) : ROOT_SESSION_MANAGER;
     }
 
+    /**
+     * Gets the session shards.
+     *
+     * @return the session shards, null if the sessions are not sharded
+     */
+    public static SessionShards getSessionShards() {
+        return SESSION_SHARDS;
+    }
+
     //endregion
 
     /**
@@ -361,6 +387,11 @@ public class SessionHolder {
      */
     public static <T> T lockAndExecute(GlobalSession globalSession, GlobalSession.LockCallable<T> lockCallable)
         throws TransactionException {
+        SessionShards sessionShards = SESSION_SHARDS;
+        if (sessionShards != null) {
+            // the owning shard is the only thread changing the session, no lock is needed
+            return sessionShards.execute(globalSession.getTransactionId(), lockCallable);
+        }
         return getRootSessionManager().lockAndExecute(globalSession, lockCallable);
     }
 
@@ -413,6 +444,10 @@ public class SessionHolder {
 
     public static void destroy() {
         RaftServerManager.destroy();
+        if (SESSION_SHARDS != null) {
+            SESSION_SHARDS.shutdown();
+            SESSION_SHARDS = null;
+        }
         if (ROOT_SESSION_MANAGER != null) {
             ROOT_SESSION_MANAGER.destroy();
         }
@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.session;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.seata.common.XID;
+import org.apache.seata.common.thread.NamedThreadFactory;
+import org.apache.seata.core.exception.GlobalTransactionException;
+import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.exception.TransactionExceptionCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+/**
+ * Confines the changes of a global session to one single threaded shard picked by its transaction id.
+ * <p>
+ * All the work guarded by {@link SessionHolder#lockAndExecute} runs on the owning shard, so it is
+ * serialized without taking the global session lock. A caller waits for its task like it would wait for
+ * the lock: if the shard does not start the task within the lock timeout, the task is dropped and
+ * {@link TransactionExceptionCode#FailedLockGlobalTransaction} is thrown.
+ *
+ */
+public class SessionShards {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionShards.class);
+
+    private static final String SHARD_THREAD_PREFIX = "TxShard";
+
+    /**
+     * The same as the timeout of the global session lock.
+     */
+    private static final long DEFAULT_START_TIMEOUT_MILLS = 2 * 1000;
+
+    private final Shard[] shards;
+
+    private final long startTimeoutMills;
+
+    /**
+     * Instantiates new session shards.
+     *
+     * @param shardCount the shard count, the number of processors if not positive
+     */
+    public SessionShards(int shardCount) {
+        this(shardCount, DEFAULT_START_TIMEOUT_MILLS);
+    }
+
+    /**
+     * Instantiates new session shards.
+     *
+     * @param shardCount        the shard count, the number of processors if not positive
+     * @param startTimeoutMills the max time to wait for the shard to start a task
+     */
+    public SessionShards(int shardCount, long startTimeoutMills) {
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        NamedThreadFactory threadFactory = new NamedThreadFactory(SHARD_THREAD_PREFIX, count);
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(threadFactory);
+        }
+        this.startTimeoutMills = startTimeoutMills;
+    }
+
+    /**
+     * Gets the shard count.
+     *
+     * @return the shard count
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Gets the shard owning the transaction.
+     *
+     * @param transactionId the transaction id
+     * @return the shard index
+     */
+    public int shardOf(long transactionId) {
+        int hash = (int)(transactionId ^ (transactionId >>> 32));
+        return (hash & Integer.MAX_VALUE) % shards.length;
+    }
+
+    /**
+     * Whether the current thread is the shard owning the transaction.
+     *
+     * @param transactionId the transaction id
+     * @return the boolean
+     */
+    public boolean inShard(long transactionId) {
+        return shards[shardOf(transactionId)].owner == Thread.currentThread();
+    }
+
+    /**
+     * Execute on the shard owning the transaction and wait for the result,
+     * runs in place if already on the shard.
+     *
+     * @param <T>           the type of the result
+     * @param transactionId the transaction id
+     * @param callable      the callable
+     * @return the result
+     * @throws TransactionException the transaction exception
+     */
+    public <T> T execute(long transactionId, GlobalSession.LockCallable<T> callable) throws TransactionException {
+        Shard shard = shards[shardOf(transactionId)];
+        if (shard.owner == Thread.currentThread()) {
+            return callable.call();
+        }
+        ShardTask<T> task = new ShardTask<>(callable, MDC.getCopyOfContextMap());
+        shard.executor.execute(() -> {
+            shard.owner = Thread.currentThread();
+            task.run();
+        });
+        return task.await(startTimeoutMills);
+    }
+
+    /**
+     * Execute on the shard owning the transaction of the xid and wait for the result.
+     * Runs in place if the xid does not carry a transaction id, the callable is expected to reject it.
+     *
+     * @param <T>      the type of the result
+     * @param xid      the xid
+     * @param callable the callable
+     * @return the result
+     * @throws TransactionException the transaction exception
+     */
+    public <T> T execute(String xid, GlobalSession.LockCallable<T> callable) throws TransactionException {
+        long transactionId;
+        try {
+            transactionId = XID.getTransactionId(xid);
+        } catch (RuntimeException e) {
+            return callable.call();
+        }
+        return execute(transactionId, callable);
+    }
+
+    /**
+     * Run on the shard owning the transaction without waiting.
+     *
+     * @param transactionId the transaction id
+     * @param runnable      the runnable
+     */
+    public void submit(long transactionId, Runnable runnable) {
+        Shard shard = shards[shardOf(transactionId)];
+        shard.executor.execute(() -> {
+            shard.owner = Thread.currentThread();
+            runnable.run();
+        });
+    }
+
+    /**
+     * Shutdown the shards, the queued tasks are still executed.
+     */
+    public void shutdown() {
+        for (Shard shard : shards) {
+            shard.executor.shutdown();
+        }
+    }
+
+    private static class Shard {
+
+        private final ThreadPoolExecutor executor;
+
+        private volatile Thread owner;
+
+        Shard(NamedThreadFactory threadFactory) {
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                threadFactory);
+        }
+    }
+
+    /**
+     * A task claimed either by the shard to run it or by the waiting caller to drop it.
+     */
+    private static class ShardTask<T> implements Runnable {
+
+        private final GlobalSession.LockCallable<T> callable;
+
+        private final Map<String, String> mdc;
+
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private T result;
+
+        private Throwable error;
+
+        ShardTask(GlobalSession.LockCallable<T> callable, Map<String, String> mdc) {
+            this.callable = callable;
+            this.mdc = mdc;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            started.countDown();
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                result = callable.call();
+            } catch (Throwable t) {
+                error = t;
+            } finally {
+                MDC.clear();
+                done.countDown();
+            }
+        }
+
+        T await(long startTimeoutMills) throws TransactionException {
+            boolean interrupted = false;
+            try {
+                try {
+                    if (!started.await(startTimeoutMills, TimeUnit.MILLISECONDS)
+                        && claimed.compareAndSet(false, true)) {
+                        throw new GlobalTransactionException(TransactionExceptionCode.FailedLockGlobalTransaction,
+                            "Lock global session failed");
+                    }
+                } catch (InterruptedException e) {
+                    LOGGER.error("Interrupted error", e);
+                    if (claimed.compareAndSet(false, true)) {
+                        throw new GlobalTransactionException(TransactionExceptionCode.FailedLockGlobalTransaction,
+                            "Lock global session failed");
+                    }
+                    interrupted = true;
+                }
+                // the task is running, wait for it like waiting for a held lock to be released
+                while (true) {
+                    try {
+                        done.await();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (error == null) {
+                return result;
+            }
+            if (error instanceof TransactionException) {
+                throw (TransactionException)error;
+            }
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException)error;
+            }
+            if (error instanceof Error) {
+                throw (Error)error;
+            }
+            throw new TransactionException(error);
+        }
+    }
+}
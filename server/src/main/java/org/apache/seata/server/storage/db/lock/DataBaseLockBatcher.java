@@ -0,0 +1,354 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.storage.db.lock;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.apache.seata.common.exception.StoreException;
+import org.apache.seata.common.util.IOUtil;
+import org.apache.seata.common.util.LambdaUtils;
+import org.apache.seata.common.util.StringUtils;
+import org.apache.seata.core.constants.ServerTableColumnsName;
+import org.apache.seata.core.exception.BranchTransactionException;
+import org.apache.seata.core.model.LockStatus;
+import org.apache.seata.core.store.LockDO;
+import org.apache.seata.core.store.db.sql.lock.LockStoreSqlFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.seata.core.exception.TransactionExceptionCode.LockKeyConflictFailFast;
+
+/**
+ * Merges the lock acquisitions of concurrent branch registrations into one transaction.
+ * The first caller waiting on a stripe becomes the leader, it checks the row keys of all the queued
+ * requests with one query and inserts the locks of the winners with one batch,
+ * the conflicts are still resolved for every branch on its own.
+ * If the batch insert fails, e.g. a lock was inserted by another stripe in the meantime,
+ * or the batch hits a sql error, the requests of the batch are acquired one by one as before.
+ *
+ */
+public class DataBaseLockBatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataBaseLockBatcher.class);
+
+    /**
+     * the max row keys in the in list of one check query, oracle allows 1000 expressions in a list
+     */
+    private static final int MAX_CHECK_ROW_KEYS = 1000;
+
+    private final LockStoreDataBaseDAO lockStore;
+
+    private final int maxBatchSize;
+
+    private final Stripe[] stripes;
+
+    /**
+     * Instantiates a new Data base lock batcher.
+     *
+     * @param lockStore    the lock store
+     * @param maxBatchSize the max requests merged into one transaction
+     */
+    public DataBaseLockBatcher(LockStoreDataBaseDAO lockStore, int maxBatchSize) {
+        this(lockStore, maxBatchSize, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Instantiates a new Data base lock batcher.
+     *
+     * @param lockStore    the lock store
+     * @param maxBatchSize the max requests merged into one transaction
+     * @param stripeCount  the number of transactions that may run at the same time
+     */
+    public DataBaseLockBatcher(LockStoreDataBaseDAO lockStore, int maxBatchSize, int stripeCount) {
+        this.lockStore = lockStore;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.stripes = new Stripe[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Acquire the locks of a branch, the request may be merged with the requests of other branches.
+     *
+     * @param lockDOs       the lock dos of the branch
+     * @param autoCommit    the auto commit
+     * @param skipCheckLock whether skip check lock or not
+     * @return the boolean
+     */
+    public boolean acquireLock(List<LockDO> lockDOs, boolean autoCommit, boolean skipCheckLock) {
+        if (lockDOs.size() > 1) {
+            lockDOs = lockDOs.stream().filter(LambdaUtils.distinctByKey(LockDO::getRowKey)).collect(Collectors.toList());
+        }
+        AcquireRequest request = new AcquireRequest(lockDOs, autoCommit, skipCheckLock);
+        Stripe stripe = stripes[(request.xid.hashCode() & Integer.MAX_VALUE) % stripes.length];
+        stripe.queue.offer(request);
+        while (!request.result.isDone()) {
+            stripe.leader.lock();
+            try {
+                if (request.result.isDone()) {
+                    break;
+                }
+                List<AcquireRequest> batch = new ArrayList<>(Math.min(maxBatchSize, stripe.queue.size()));
+                AcquireRequest queued;
+                while (batch.size() < maxBatchSize && (queued = stripe.queue.poll()) != null) {
+                    batch.add(queued);
+                }
+                if (!batch.isEmpty()) {
+                    process(batch);
+                }
+            } finally {
+                stripe.leader.unlock();
+            }
+        }
+        try {
+            return request.result.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof StoreException) {
+                throw (StoreException)cause;
+            }
+            throw new StoreException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreException(e);
+        }
+    }
+
+    private void process(List<AcquireRequest> batch) {
+        if (batch.size() == 1) {
+            acquireAlone(batch.get(0));
+            return;
+        }
+        Connection conn = null;
+        boolean originalAutoCommit = true;
+        try {
+            conn = lockStore.lockStoreDataSource.getConnection();
+            originalAutoCommit = conn.getAutoCommit();
+            if (originalAutoCommit) {
+                conn.setAutoCommit(false);
+            }
+            Map<String, LockHolder> dbHolders = queryHolders(conn, batch);
+            Map<String, String> batchHolders = new HashMap<>();
+            List<LockDO> insertLockDOs = new ArrayList<>();
+            List<Boolean> outcomes = new ArrayList<>(batch.size());
+            for (AcquireRequest request : batch) {
+                outcomes.add(resolve(request, dbHolders, batchHolders, insertLockDOs));
+            }
+            if (!insertLockDOs.isEmpty() && !lockStore.doAcquireLocks(conn, insertLockDOs)) {
+                if (LOGGER.isInfoEnabled()) {
+                    LOGGER.info("Global lock merged acquire failed, {} branches will be acquired one by one", batch.size());
+                }
+                conn.rollback();
+                batch.forEach(this::acquireAlone);
+                return;
+            }
+            conn.commit();
+            for (int i = 0; i < batch.size(); i++) {
+                AcquireRequest request = batch.get(i);
+                if (request.failFast) {
+                    request.result.completeExceptionally(
+                        new StoreException(new BranchTransactionException(LockKeyConflictFailFast)));
+                } else {
+                    request.result.complete(outcomes.get(i));
+                }
+            }
+        } catch (Throwable e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ignore) {
+                }
+            }
+            if (e instanceof SQLException) {
+                LOGGER.warn("Global lock merged acquire error, {} branches will be acquired one by one: {}",
+                    batch.size(), e.getMessage());
+                batch.forEach(this::acquireAlone);
+                return;
+            }
+            StoreException storeException = e instanceof StoreException ? (StoreException)e : new StoreException(e);
+            batch.forEach(request -> request.result.completeExceptionally(storeException));
+        } finally {
+            if (conn != null) {
+                try {
+                    if (originalAutoCommit) {
+                        conn.setAutoCommit(true);
+                    }
+                    conn.close();
+                } catch (SQLException e) {
+                }
+            }
+        }
+    }
+
+    private void acquireAlone(AcquireRequest request) {
+        if (request.result.isDone()) {
+            return;
+        }
+        try {
+            request.result.complete(lockStore.acquireLock(request.lockDOs, request.autoCommit, request.skipCheckLock));
+        } catch (Throwable e) {
+            request.result.completeExceptionally(e);
+        }
+    }
+
+    private Map<String, LockHolder> queryHolders(Connection conn, List<AcquireRequest> batch) throws SQLException {
+        Set<String> rowKeys = new LinkedHashSet<>();
+        for (AcquireRequest request : batch) {
+            if (!request.skipCheckLock) {
+                request.lockDOs.forEach(lockDO -> rowKeys.add(lockDO.getRowKey()));
+            }
+        }
+        Map<String, LockHolder> holders = new HashMap<>();
+        List<String> chunk = new ArrayList<>(Math.min(rowKeys.size(), MAX_CHECK_ROW_KEYS));
+        for (String rowKey : rowKeys) {
+            chunk.add(rowKey);
+            if (chunk.size() == MAX_CHECK_ROW_KEYS) {
+                queryHolders(conn, chunk, holders);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            queryHolders(conn, chunk, holders);
+        }
+        return holders;
+    }
+
+    private void queryHolders(Connection conn, List<String> rowKeys, Map<String, LockHolder> holders)
+        throws SQLException {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            String checkLockSQL = LockStoreSqlFactory.getLogStoreSql(lockStore.dbType)
+                .getCheckLockableSql(lockStore.lockTable, rowKeys.size());
+            ps = conn.prepareStatement(checkLockSQL);
+            int index = 1;
+            for (String rowKey : rowKeys) {
+                ps.setString(index++, rowKey);
+            }
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                LockHolder holder = new LockHolder();
+                holder.xid = rs.getString(ServerTableColumnsName.LOCK_TABLE_XID);
+                holder.branchId = rs.getLong(ServerTableColumnsName.LOCK_TABLE_BRANCH_ID);
+                holder.tableName = rs.getString(ServerTableColumnsName.LOCK_TABLE_TABLE_NAME);
+                holder.pk = rs.getString(ServerTableColumnsName.LOCK_TABLE_PK);
+                holder.status = rs.getInt(ServerTableColumnsName.LOCK_TABLE_STATUS);
+                holders.put(rs.getString(ServerTableColumnsName.LOCK_TABLE_ROW_KEY), holder);
+            }
+        } finally {
+            IOUtil.close(rs, ps);
+        }
+    }
+
+    /**
+     * Resolve the request against the locks in db and the locks claimed by the earlier requests of the batch,
+     * the locks to insert of a winner are appended to the insert list.
+     */
+    private boolean resolve(AcquireRequest request, Map<String, LockHolder> dbHolders,
+                            Map<String, String> batchHolders, List<LockDO> insertLockDOs) {
+        List<LockDO> unrepeatedLockDOs = new ArrayList<>(request.lockDOs.size());
+        for (LockDO lockDO : request.lockDOs) {
+            String rowKey = lockDO.getRowKey();
+            LockHolder dbHolder = request.skipCheckLock ? null : dbHolders.get(rowKey);
+            if (dbHolder != null) {
+                if (!StringUtils.equals(dbHolder.xid, request.xid)) {
+                    if (LOGGER.isInfoEnabled()) {
+                        LOGGER.info("Global lock on [{}:{}] is holding by xid {} branchId {}", dbHolder.tableName,
+                            dbHolder.pk, dbHolder.xid, dbHolder.branchId);
+                    }
+                    request.failFast = !request.autoCommit && dbHolder.status == LockStatus.Rollbacking.getCode();
+                    return false;
+                }
+                continue;
+            }
+            String batchHolder = batchHolders.get(rowKey);
+            if (batchHolder != null) {
+                if (!StringUtils.equals(batchHolder, request.xid)) {
+                    if (LOGGER.isInfoEnabled()) {
+                        LOGGER.info("Global lock on [{}] is claimed by xid {} in the same batch", rowKey, batchHolder);
+                    }
+                    return false;
+                }
+                continue;
+            }
+            unrepeatedLockDOs.add(lockDO);
+        }
+        for (LockDO lockDO : unrepeatedLockDOs) {
+            batchHolders.put(lockDO.getRowKey(), request.xid);
+        }
+        insertLockDOs.addAll(unrepeatedLockDOs);
+        return true;
+    }
+
+    private static class Stripe {
+
+        private final Queue<AcquireRequest> queue = new ConcurrentLinkedQueue<>();
+
+        private final ReentrantLock leader = new ReentrantLock();
+    }
+
+    private static class AcquireRequest {
+
+        private final List<LockDO> lockDOs;
+
+        private final String xid;
+
+        private final boolean autoCommit;
+
+        private final boolean skipCheckLock;
+
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        private boolean failFast;
+
+        AcquireRequest(List<LockDO> lockDOs, boolean autoCommit, boolean skipCheckLock) {
+            this.lockDOs = lockDOs;
+            this.xid = String.valueOf(lockDOs.get(0).getXid());
+            this.autoCommit = autoCommit;
+            this.skipCheckLock = skipCheckLock;
+        }
+    }
+
+    private static class LockHolder {
+
+        private String xid;
+
+        private long branchId;
+
+        private String tableName;
+
+        private String pk;
+
+        private int status;
+    }
+}
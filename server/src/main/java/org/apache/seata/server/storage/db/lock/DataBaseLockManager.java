@@ -26,6 +26,7 @@ import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.lock.Locker;
 import org.apache.seata.core.store.db.DataSourceProvider;
 import org.apache.seata.server.lock.AbstractLockManager;
+import org.apache.seata.server.lock.NearCacheLocker;
 import org.apache.seata.server.session.BranchSession;
 import org.apache.seata.server.session.GlobalSession;
 
@@ -46,7 +47,7 @@ public class DataBaseLockManager extends AbstractLockManager implements Initiali
         // init dataSource
         String datasourceType = ConfigurationFactory.getInstance().getConfig(ConfigurationKeys.STORE_DB_DATASOURCE_TYPE);
         DataSource lockStoreDataSource = EnhancedServiceLoader.load(DataSourceProvider.class, datasourceType).provide();
-        locker = new DataBaseLocker(lockStoreDataSource);
+        locker = NearCacheLocker.decorate(new DataBaseLocker(lockStoreDataSource));
     }
 
     @Override
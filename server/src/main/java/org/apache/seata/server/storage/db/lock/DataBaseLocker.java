@@ -17,23 +17,37 @@
 package org.apache.seata.server.storage.db.lock;
 
 import java.util.List;
+import java.util.function.Consumer;
 import javax.sql.DataSource;
 import org.apache.seata.common.exception.DataAccessException;
 import org.apache.seata.common.exception.StoreException;
 import org.apache.seata.common.util.CollectionUtils;
+import org.apache.seata.config.Configuration;
+import org.apache.seata.config.ConfigurationFactory;
+import org.apache.seata.core.constants.ConfigurationKeys;
 import org.apache.seata.core.lock.AbstractLocker;
 import org.apache.seata.core.lock.RowLock;
 import org.apache.seata.core.model.LockStatus;
+import org.apache.seata.core.store.LockDO;
 import org.apache.seata.core.store.LockStore;
+import org.apache.seata.server.lock.HeldLockScanner;
+
+import static org.apache.seata.common.DefaultValues.DEFAULT_ENABLE_LOCK_BATCH_ACQUIRE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_LOCK_BATCH_ACQUIRE_MAX_SIZE;
 
 /**
  * The type Data base locker.
  *
  */
-public class DataBaseLocker extends AbstractLocker {
+public class DataBaseLocker extends AbstractLocker implements HeldLockScanner {
 
     private LockStore lockStore;
 
+    /**
+     * merges the acquisitions of concurrent branches, null if disabled
+     */
+    private DataBaseLockBatcher lockBatcher;
+
     /**
      * Instantiates a new Data base locker.
      */
@@ -46,7 +60,13 @@ public class DataBaseLocker extends AbstractLocker {
      * @param logStoreDataSource the log store data source
      */
     public DataBaseLocker(DataSource logStoreDataSource) {
-        lockStore = new LockStoreDataBaseDAO(logStoreDataSource);
+        LockStoreDataBaseDAO lockStoreDataBaseDAO = new LockStoreDataBaseDAO(logStoreDataSource);
+        lockStore = lockStoreDataBaseDAO;
+        Configuration config = ConfigurationFactory.getInstance();
+        if (config.getBoolean(ConfigurationKeys.ENABLE_LOCK_BATCH_ACQUIRE, DEFAULT_ENABLE_LOCK_BATCH_ACQUIRE)) {
+            lockBatcher = new DataBaseLockBatcher(lockStoreDataBaseDAO,
+                config.getInt(ConfigurationKeys.LOCK_BATCH_ACQUIRE_MAX_SIZE, DEFAULT_LOCK_BATCH_ACQUIRE_MAX_SIZE));
+        }
     }
 
     @Override
@@ -61,6 +81,9 @@ public class DataBaseLocker extends AbstractLocker {
             return true;
         }
         try {
+            if (lockBatcher != null) {
+                return lockBatcher.acquireLock(convertToLockDO(locks), autoCommit, skipCheckLock);
+            }
             return lockStore.acquireLock(convertToLockDO(locks), autoCommit, skipCheckLock);
         } catch (StoreException e) {
             throw e;
@@ -131,6 +154,14 @@ public class DataBaseLocker extends AbstractLocker {
         lockStore.updateLockStatus(xid, lockStatus);
     }
 
+    @Override
+    public void scanHeldLocks(Consumer<LockDO> consumer) {
+        if (!(lockStore instanceof LockStoreDataBaseDAO)) {
+            throw new StoreException("the held locks of " + lockStore.getClass().getSimpleName() + " can not be scanned");
+        }
+        ((LockStoreDataBaseDAO)lockStore).scanHeldLocks(consumer);
+    }
+
     /**
      * Sets lock store.
      *
@@ -138,6 +169,7 @@ public class DataBaseLocker extends AbstractLocker {
      */
     public void setLockStore(LockStore lockStore) {
         this.lockStore = lockStore;
+        this.lockBatcher = null;
     }
 
 }
@@ -26,6 +26,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.sql.DataSource;
 import org.apache.seata.common.exception.DataAccessException;
@@ -314,6 +315,30 @@ public class LockStoreDataBaseDAO implements LockStore {
         }
     }
 
+    /**
+     * Visit every lock held in the lock table.
+     *
+     * @param consumer the consumer of the held lock
+     */
+    public void scanHeldLocks(Consumer<LockDO> consumer) {
+        String queryAllLockSql = LockStoreSqlFactory.getLogStoreSql(dbType).getAllLockSql(lockTable, "");
+        try (Connection conn = lockStoreDataSource.getConnection();
+            PreparedStatement ps = conn.prepareStatement(queryAllLockSql)) {
+            ps.setFetchSize(1000);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    LockDO lockDO = new LockDO();
+                    lockDO.setXid(rs.getString(ServerTableColumnsName.LOCK_TABLE_XID));
+                    lockDO.setBranchId(rs.getLong(ServerTableColumnsName.LOCK_TABLE_BRANCH_ID));
+                    lockDO.setRowKey(rs.getString(ServerTableColumnsName.LOCK_TABLE_ROW_KEY));
+                    consumer.accept(lockDO);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException(e);
+        }
+    }
+
     /**
      * Do acquire lock boolean.
      *
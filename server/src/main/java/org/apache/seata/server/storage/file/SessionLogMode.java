@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.storage.file;
+
+/**
+ * The layout of the file session store.
+ *
+ */
+public enum SessionLogMode {
+    /**
+     * a single log file rolled into one history file, see FileTransactionStoreManager
+     */
+    FILE("file"),
+    /**
+     * memory mapped segment files with a checkpoint, see SegmentFileTransactionStoreManager
+     */
+    SEGMENT("segment");
+
+    private String modeStr;
+
+    SessionLogMode(String modeStr) {
+        this.modeStr = modeStr;
+    }
+
+    public static SessionLogMode findLogMode(String modeStr) {
+        if (SEGMENT.modeStr.equalsIgnoreCase(modeStr)) {
+            return SEGMENT;
+        }
+        return FILE;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.storage.file.lock;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.seata.common.exception.StoreException;
+import org.apache.seata.common.util.CollectionUtils;
+import org.apache.seata.core.exception.BranchTransactionException;
+import org.apache.seata.core.lock.AbstractLocker;
+import org.apache.seata.core.lock.RowLock;
+import org.apache.seata.core.model.LockStatus;
+import org.apache.seata.server.lock.LockKeys;
+import org.apache.seata.server.lock.LockKeysLocker;
+import org.apache.seata.server.session.BranchSession;
+
+import static org.apache.seata.core.exception.TransactionExceptionCode.LockKeyConflictFailFast;
+import static org.apache.seata.server.storage.file.lock.CompactLockTable.NO_HOLDER;
+
+/**
+ * The memory locker backed by {@link CompactLockTable}.
+ * Only the lock holding branch sessions are referenced from the heap, row locks live in primitive arrays.
+ *
+ */
+public class CompactFileLocker extends AbstractLocker implements LockKeysLocker {
+
+    private static final CompactLockTable LOCK_TABLE = new CompactLockTable();
+
+    private static final ConcurrentMap<Long/* branchId */, BranchSession> LOCK_HOLDERS = new ConcurrentHashMap<>();
+
+    /**
+     * The Branch session.
+     */
+    protected BranchSession branchSession;
+
+    /**
+     * Instantiates a new compact file locker.
+     *
+     * @param branchSession the branch session
+     */
+    public CompactFileLocker(BranchSession branchSession) {
+        this.branchSession = branchSession;
+    }
+
+    @Override
+    public boolean acquireLock(List<RowLock> rowLocks) {
+        return acquireLock(rowLocks, true, false);
+    }
+
+    @Override
+    public boolean acquireLock(List<RowLock> rowLocks, boolean autoCommit, boolean skipCheckLock) {
+        if (CollectionUtils.isEmpty(rowLocks)) {
+            // no lock
+            return true;
+        }
+        String resourceId = branchSession.getResourceId();
+        long transactionId = branchSession.getTransactionId();
+        long branchId = branchSession.getBranchId();
+        LOCK_HOLDERS.putIfAbsent(branchId, branchSession);
+        for (RowLock lock : rowLocks) {
+            long key = LOCK_TABLE.fingerprint(resourceId, lock.getTableName(), lock.getPk());
+            long holderBranchId = LOCK_TABLE.tryLock(key, transactionId, branchId);
+            if (holderBranchId != NO_HOLDER) {
+                // Release all acquired locks.
+                releaseLock(rowLocks);
+                return onConflict(holderBranchId, lock.getTableName(), lock.getPk(), autoCommit);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean acquireLock(LockKeys lockKeys, boolean autoCommit, boolean skipCheckLock) {
+        if (lockKeys.isEmpty()) {
+            // no lock
+            return true;
+        }
+        String resourceId = branchSession.getResourceId();
+        long transactionId = branchSession.getTransactionId();
+        long branchId = branchSession.getBranchId();
+        LOCK_HOLDERS.putIfAbsent(branchId, branchSession);
+        for (int t = 0; t < lockKeys.getTableCount(); t++) {
+            String tableName = lockKeys.getTableName(t);
+            for (int i = lockKeys.getTableStart(t); i < lockKeys.getTableEnd(t); i++) {
+                long key = LOCK_TABLE.fingerprint(resourceId, tableName, lockKeys.getPk(i));
+                long holderBranchId = LOCK_TABLE.tryLock(key, transactionId, branchId);
+                if (holderBranchId != NO_HOLDER) {
+                    // Release all acquired locks.
+                    releaseLock(lockKeys);
+                    return onConflict(holderBranchId, tableName, lockKeys.getPk(i), autoCommit);
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean onConflict(long holderBranchId, String tableName, String pk, boolean autoCommit) {
+        BranchSession holder = LOCK_HOLDERS.get(holderBranchId);
+        LOGGER.info("Global lock on [{}:{}] is holding by xid {} branchId {}", tableName, pk,
+            holder != null ? holder.getXid() : null, holderBranchId);
+        if (!autoCommit && holder != null && holder.getLockStatus() == LockStatus.Rollbacking) {
+            throw new StoreException(new BranchTransactionException(LockKeyConflictFailFast));
+        }
+        return false;
+    }
+
+    @Override
+    public boolean releaseLock(List<RowLock> rowLocks) {
+        long branchId = branchSession.getBranchId();
+        if (!LOCK_HOLDERS.containsKey(branchId)) {
+            return true;
+        }
+        if (CollectionUtils.isNotEmpty(rowLocks)) {
+            String resourceId = branchSession.getResourceId();
+            for (RowLock lock : rowLocks) {
+                // remove lock only if it locked by myself
+                LOCK_TABLE.unlock(LOCK_TABLE.fingerprint(resourceId, lock.getTableName(), lock.getPk()), branchId);
+            }
+        }
+        LOCK_HOLDERS.remove(branchId);
+        return true;
+    }
+
+    @Override
+    public boolean releaseLock(LockKeys lockKeys) {
+        long branchId = branchSession.getBranchId();
+        if (!LOCK_HOLDERS.containsKey(branchId)) {
+            return true;
+        }
+        String resourceId = branchSession.getResourceId();
+        for (int t = 0; t < lockKeys.getTableCount(); t++) {
+            String tableName = lockKeys.getTableName(t);
+            for (int i = lockKeys.getTableStart(t); i < lockKeys.getTableEnd(t); i++) {
+                // remove lock only if it locked by myself
+                LOCK_TABLE.unlock(LOCK_TABLE.fingerprint(resourceId, tableName, lockKeys.getPk(i)), branchId);
+            }
+        }
+        LOCK_HOLDERS.remove(branchId);
+        return true;
+    }
+
+    @Override
+    public boolean isLockable(List<RowLock> rowLocks) {
+        if (CollectionUtils.isEmpty(rowLocks)) {
+            //no lock
+            return true;
+        }
+        long transactionId = rowLocks.get(0).getTransactionId();
+        String resourceId = rowLocks.get(0).getResourceId();
+        for (RowLock rowLock : rowLocks) {
+            long key = LOCK_TABLE.fingerprint(resourceId, rowLock.getTableName(), rowLock.getPk());
+            long lockingTransactionId = LOCK_TABLE.getHolderTransactionId(key);
+            if (lockingTransactionId != NO_HOLDER && lockingTransactionId != transactionId) {
+                LOGGER.info("Global lock on [" + rowLock.getTableName() + ":" + rowLock.getPk() + "] is holding by "
+                    + lockingTransactionId);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void updateLockStatus(String xid, LockStatus lockStatus) {
+    }
+
+    @Override
+    public void cleanAllLocks() {
+        LOCK_TABLE.clear();
+        LOCK_HOLDERS.clear();
+    }
+
+    /**
+     * Whether the branch session holds row locks in the lock table.
+     *
+     * @param branchSession the branch session
+     * @return the boolean
+     */
+    public static boolean isLockHolder(BranchSession branchSession) {
+        return LOCK_HOLDERS.containsKey(branchSession.getBranchId());
+    }
+}
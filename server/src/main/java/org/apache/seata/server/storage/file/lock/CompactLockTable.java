@@ -0,0 +1,309 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.storage.file.lock;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A row lock table that keeps every held lock in primitive long arrays.
+ * <p>
+ * Resource ids and table names are interned to int ids, and each row is identified by a 64-bit
+ * fingerprint of (resource, table, pk). The fingerprint is stored together with the holder's
+ * transactionId and branchId in an open-addressing table with linear probing, so a held row lock
+ * costs three longs instead of a map entry, a String key and a lock holder set entry.
+ * <p>
+ * Two different rows sharing a fingerprint are treated as the same row. That can only produce a
+ * spurious lock conflict (the caller retries), never a missed one.
+ *
+ */
+public class CompactLockTable {
+
+    /**
+     * The value returned when a row is not locked by another transaction.
+     */
+    public static final long NO_HOLDER = 0L;
+
+    private static final int SEGMENT_SHIFT = 6;
+
+    private static final int SEGMENT_COUNT = 1 << SEGMENT_SHIFT;
+
+    private static final int DEFAULT_SEGMENT_CAPACITY = 1024;
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private static final long EMPTY = 0L;
+
+    private final ConcurrentMap<String, Integer> resourceIds = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Integer> tableIds = new ConcurrentHashMap<>();
+
+    private final AtomicInteger resourceIdGenerator = new AtomicInteger();
+
+    private final AtomicInteger tableIdGenerator = new AtomicInteger();
+
+    private final Segment[] segments;
+
+    public CompactLockTable() {
+        this(DEFAULT_SEGMENT_CAPACITY);
+    }
+
+    /**
+     * Instantiates a new compact lock table.
+     *
+     * @param segmentCapacity the initial slot count of each segment, rounded up to a power of two
+     */
+    public CompactLockTable(int segmentCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(segmentCapacity, 16) - 1) << 1;
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(capacity);
+        }
+    }
+
+    /**
+     * Compute the fingerprint of a row.
+     *
+     * @param resourceId the resource id
+     * @param tableName  the table name
+     * @param pk         the primary key
+     * @return the non-zero fingerprint
+     */
+    public long fingerprint(String resourceId, String tableName, String pk) {
+        int resource = intern(resourceIds, resourceIdGenerator, resourceId);
+        int table = intern(tableIds, tableIdGenerator, tableName);
+        long h = 0xcbf29ce484222325L ^ (((long)resource << 32) | (table & 0xffffffffL));
+        for (int i = 0; i < pk.length(); i++) {
+            h ^= pk.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h = mix(h);
+        return h == EMPTY ? 1L : h;
+    }
+
+    /**
+     * Lock the row for the branch if it is free.
+     *
+     * @param key           the row fingerprint
+     * @param transactionId the transaction id of the branch
+     * @param branchId      the branch id
+     * @return {@link #NO_HOLDER} if the row is locked by this transaction now, else the branch id holding it
+     */
+    public long tryLock(long key, long transactionId, long branchId) {
+        return segmentFor(key).tryLock(key, transactionId, branchId);
+    }
+
+    /**
+     * Release the row if it is held by the branch.
+     *
+     * @param key      the row fingerprint
+     * @param branchId the branch id
+     * @return true if the row was released
+     */
+    public boolean unlock(long key, long branchId) {
+        return segmentFor(key).unlock(key, branchId);
+    }
+
+    /**
+     * Get the transaction holding the row.
+     *
+     * @param key the row fingerprint
+     * @return the transaction id, or {@link #NO_HOLDER} if the row is free
+     */
+    public long getHolderTransactionId(long key) {
+        return segmentFor(key).get(key, true);
+    }
+
+    /**
+     * Get the branch holding the row.
+     *
+     * @param key the row fingerprint
+     * @return the branch id, or {@link #NO_HOLDER} if the row is free
+     */
+    public long getHolderBranchId(long key) {
+        return segmentFor(key).get(key, false);
+    }
+
+    /**
+     * Count of held row locks.
+     *
+     * @return the size
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Release all locks.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private Segment segmentFor(long key) {
+        return segments[(int)(key >>> (Long.SIZE - SEGMENT_SHIFT))];
+    }
+
+    private static int intern(ConcurrentMap<String, Integer> ids, AtomicInteger generator, String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = ids.computeIfAbsent(name, key -> generator.incrementAndGet());
+        }
+        return id;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Segment {
+
+        private long[] keys;
+
+        private long[] transactionIds;
+
+        private long[] branchIds;
+
+        private int size;
+
+        private int threshold;
+
+        Segment(int capacity) {
+            allocate(capacity);
+        }
+
+        synchronized long tryLock(long key, long transactionId, long branchId) {
+            int mask = keys.length - 1;
+            int index = (int)key & mask;
+            while (keys[index] != EMPTY) {
+                if (keys[index] == key) {
+                    return transactionIds[index] == transactionId ? NO_HOLDER : branchIds[index];
+                }
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            transactionIds[index] = transactionId;
+            branchIds[index] = branchId;
+            if (++size > threshold) {
+                rehash(keys.length << 1);
+            }
+            return NO_HOLDER;
+        }
+
+        synchronized boolean unlock(long key, long branchId) {
+            int mask = keys.length - 1;
+            int index = (int)key & mask;
+            while (keys[index] != EMPTY) {
+                if (keys[index] == key) {
+                    if (branchIds[index] != branchId) {
+                        return false;
+                    }
+                    delete(index);
+                    return true;
+                }
+                index = (index + 1) & mask;
+            }
+            return false;
+        }
+
+        synchronized long get(long key, boolean transaction) {
+            int mask = keys.length - 1;
+            int index = (int)key & mask;
+            while (keys[index] != EMPTY) {
+                if (keys[index] == key) {
+                    return transaction ? transactionIds[index] : branchIds[index];
+                }
+                index = (index + 1) & mask;
+            }
+            return NO_HOLDER;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void clear() {
+            allocate(keys.length);
+        }
+
+        /**
+         * Backward shift deletion, keeps probe sequences intact without tombstones.
+         */
+        private void delete(int index) {
+            int mask = keys.length - 1;
+            int hole = index;
+            int next = (hole + 1) & mask;
+            while (keys[next] != EMPTY) {
+                int home = (int)keys[next] & mask;
+                // move the entry back if its home slot is not in (hole, next]
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    transactionIds[hole] = transactionIds[next];
+                    branchIds[hole] = branchIds[next];
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[hole] = EMPTY;
+            transactionIds[hole] = 0L;
+            branchIds[hole] = 0L;
+            size--;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            long[] oldTransactionIds = transactionIds;
+            long[] oldBranchIds = branchIds;
+            allocate(capacity);
+            int mask = capacity - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                long key = oldKeys[i];
+                if (key == EMPTY) {
+                    continue;
+                }
+                int index = (int)key & mask;
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                transactionIds[index] = oldTransactionIds[i];
+                branchIds[index] = oldBranchIds[i];
+                size++;
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            transactionIds = new long[capacity];
+            branchIds = new long[capacity];
+            threshold = (int)(capacity * LOAD_FACTOR);
+            size = 0;
+        }
+    }
+}
@@ -19,12 +19,14 @@ package org.apache.seata.server.storage.file.lock;
 import java.util.List;
 
 import org.apache.seata.common.loader.LoadLevel;
+import org.apache.seata.common.util.CollectionUtils;
 import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.lock.Locker;
 import org.apache.seata.server.lock.AbstractLockManager;
 import org.apache.seata.server.session.BranchSession;
 import org.apache.seata.server.session.GlobalSession;
 import org.apache.seata.server.storage.raft.lock.RaftLockManager;
+import org.apache.seata.server.store.StoreConfig;
 import org.slf4j.MDC;
 
 import static org.apache.seata.core.context.RootContext.MDC_KEY_BRANCH_ID;
@@ -36,11 +38,29 @@ import static org.apache.seata.core.context.RootContext.MDC_KEY_BRANCH_ID;
 @LoadLevel(name = "file")
 public class FileLockManager extends AbstractLockManager {
 
+    private final LockTableMode lockTableMode = StoreConfig.getLockTableMode();
+
     @Override
     public Locker getLocker(BranchSession branchSession) {
+        if (lockTableMode == LockTableMode.COMPACT) {
+            return new CompactFileLocker(branchSession);
+        }
         return new FileLocker(branchSession);
     }
 
+    /**
+     * Whether the branch session holds row locks in memory.
+     *
+     * @param branchSession the branch session
+     * @return the boolean
+     */
+    public boolean isLockHolder(BranchSession branchSession) {
+        if (lockTableMode == LockTableMode.COMPACT) {
+            return CompactFileLocker.isLockHolder(branchSession);
+        }
+        return CollectionUtils.isNotEmpty(branchSession.getLockHolder());
+    }
+
     @Override
     public boolean releaseGlobalSessionLock(GlobalSession globalSession) throws TransactionException {
         List<BranchSession> branchSessions = globalSession.getBranchSessions();
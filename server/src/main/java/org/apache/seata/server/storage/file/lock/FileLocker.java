@@ -30,6 +30,8 @@ import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.lock.AbstractLocker;
 import org.apache.seata.core.lock.RowLock;
 import org.apache.seata.core.model.LockStatus;
+import org.apache.seata.server.lock.LockKeys;
+import org.apache.seata.server.lock.LockKeysLocker;
 import org.apache.seata.server.session.BranchSession;
 
 import static org.apache.seata.core.exception.TransactionExceptionCode.LockKeyConflictFailFast;
@@ -38,7 +40,7 @@ import static org.apache.seata.core.exception.TransactionExceptionCode.LockKeyCo
  * The type Memory locker.
  *
  */
-public class FileLocker extends AbstractLocker {
+public class FileLocker extends AbstractLocker implements LockKeysLocker {
 
     private static final int BUCKET_PER_TABLE = 128;
 
@@ -71,52 +73,82 @@ public class FileLocker extends AbstractLocker {
             // no lock
             return true;
         }
-        String resourceId = branchSession.getResourceId();
-        long transactionId = branchSession.getTransactionId();
-
-        Map<BucketLockMap, Set<String>> bucketHolder = branchSession.getLockHolder();
-        Map<String, ConcurrentMap<Integer, BucketLockMap>> dbLockMap = CollectionUtils.computeIfAbsent(
-            LOCK_MAP, resourceId, key -> new ConcurrentHashMap<>(8));
-        boolean failFast = false;
-        boolean canLock = true;
+        Map<String, ConcurrentMap<Integer, BucketLockMap>> dbLockMap = getDbLockMap();
         for (RowLock lock : rowLocks) {
-            String tableName = lock.getTableName();
-            String pk = lock.getPk();
-            ConcurrentMap<Integer, BucketLockMap> tableLockMap = CollectionUtils.computeIfAbsent(dbLockMap, tableName,
-                key -> new ConcurrentHashMap<>(8));
+            BranchSession previousLockBranchSession = tryLock(dbLockMap, lock.getTableName(), lock.getPk());
+            if (previousLockBranchSession != null) {
+                return onConflict(previousLockBranchSession, lock.getTableName(), lock.getPk(), autoCommit);
+            }
+        }
+        return true;
+    }
 
-            int bucketId = pk.hashCode() % BUCKET_PER_TABLE;
-            BucketLockMap bucketLockMap = CollectionUtils.computeIfAbsent(tableLockMap, bucketId,
-                key -> new BucketLockMap());
-            BranchSession previousLockBranchSession = bucketLockMap.get().putIfAbsent(pk, branchSession);
-            if (previousLockBranchSession == null) {
-                // No existing lock, and now locked by myself
-                Set<String> keysInHolder = CollectionUtils.computeIfAbsent(bucketHolder, bucketLockMap,
-                    key -> ConcurrentHashMap.newKeySet());
-                keysInHolder.add(pk);
-            } else if (previousLockBranchSession.getTransactionId() == transactionId) {
-                // Locked by me before
-            } else {
-                LOGGER.info("Global lock on [{}:{}] is holding by xid {} branchId {}", tableName, pk,
-                    previousLockBranchSession.getXid(), previousLockBranchSession.getBranchId());
-                try {
-                    // Release all acquired locks.
-                    branchSession.unlock();
-                } catch (TransactionException e) {
-                    throw new FrameworkException(e);
-                }
-                if (!autoCommit && previousLockBranchSession.getLockStatus() == LockStatus.Rollbacking) {
-                    failFast = true;
-                    break;
+    @Override
+    public boolean acquireLock(LockKeys lockKeys, boolean autoCommit, boolean skipCheckLock) {
+        if (lockKeys.isEmpty()) {
+            // no lock
+            return true;
+        }
+        Map<String, ConcurrentMap<Integer, BucketLockMap>> dbLockMap = getDbLockMap();
+        for (int t = 0; t < lockKeys.getTableCount(); t++) {
+            String tableName = lockKeys.getTableName(t);
+            for (int i = lockKeys.getTableStart(t); i < lockKeys.getTableEnd(t); i++) {
+                String pk = lockKeys.getPk(i);
+                BranchSession previousLockBranchSession = tryLock(dbLockMap, tableName, pk);
+                if (previousLockBranchSession != null) {
+                    return onConflict(previousLockBranchSession, tableName, pk, autoCommit);
                 }
-                canLock = false;
-                break;
             }
         }
-        if (failFast) {
+        return true;
+    }
+
+    private Map<String, ConcurrentMap<Integer, BucketLockMap>> getDbLockMap() {
+        return CollectionUtils.computeIfAbsent(LOCK_MAP, branchSession.getResourceId(),
+            key -> new ConcurrentHashMap<>(8));
+    }
+
+    /**
+     * Lock the row.
+     *
+     * @return the branch session of another transaction holding the row, null if locked by myself
+     */
+    private BranchSession tryLock(Map<String, ConcurrentMap<Integer, BucketLockMap>> dbLockMap, String tableName,
+                                  String pk) {
+        ConcurrentMap<Integer, BucketLockMap> tableLockMap = CollectionUtils.computeIfAbsent(dbLockMap, tableName,
+            key -> new ConcurrentHashMap<>(8));
+
+        int bucketId = pk.hashCode() % BUCKET_PER_TABLE;
+        BucketLockMap bucketLockMap = CollectionUtils.computeIfAbsent(tableLockMap, bucketId,
+            key -> new BucketLockMap());
+        BranchSession previousLockBranchSession = bucketLockMap.get().putIfAbsent(pk, branchSession);
+        if (previousLockBranchSession == null) {
+            // No existing lock, and now locked by myself
+            Set<String> keysInHolder = CollectionUtils.computeIfAbsent(branchSession.getLockHolder(), bucketLockMap,
+                key -> ConcurrentHashMap.newKeySet());
+            keysInHolder.add(pk);
+            return null;
+        } else if (previousLockBranchSession.getTransactionId() == branchSession.getTransactionId()) {
+            // Locked by me before
+            return null;
+        }
+        return previousLockBranchSession;
+    }
+
+    private boolean onConflict(BranchSession previousLockBranchSession, String tableName, String pk,
+                               boolean autoCommit) {
+        LOGGER.info("Global lock on [{}:{}] is holding by xid {} branchId {}", tableName, pk,
+            previousLockBranchSession.getXid(), previousLockBranchSession.getBranchId());
+        try {
+            // Release all acquired locks.
+            branchSession.unlock();
+        } catch (TransactionException e) {
+            throw new FrameworkException(e);
+        }
+        if (!autoCommit && previousLockBranchSession.getLockStatus() == LockStatus.Rollbacking) {
             throw new StoreException(new BranchTransactionException(LockKeyConflictFailFast));
         }
-        return canLock;
+        return false;
     }
 
     @Override
@@ -125,6 +157,19 @@ public class FileLocker extends AbstractLocker {
             //no lock
             return true;
         }
+        return releaseHeldLocks();
+    }
+
+    @Override
+    public boolean releaseLock(LockKeys lockKeys) {
+        if (lockKeys.isEmpty()) {
+            //no lock
+            return true;
+        }
+        return releaseHeldLocks();
+    }
+
+    private boolean releaseHeldLocks() {
         Map<BucketLockMap, Set<String>> lockHolder = branchSession.getLockHolder();
         if (CollectionUtils.isEmpty(lockHolder)) {
             return true;
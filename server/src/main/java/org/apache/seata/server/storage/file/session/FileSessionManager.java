@@ -41,13 +41,18 @@ import org.apache.seata.core.model.GlobalStatus;
 import org.apache.seata.server.session.AbstractSessionManager;
 import org.apache.seata.server.session.BranchSession;
 import org.apache.seata.server.session.GlobalSession;
+import org.apache.seata.server.session.GlobalSessionQueryIndex;
+import org.apache.seata.server.session.GlobalSessionStatusIndex;
 import org.apache.seata.server.session.Reloadable;
 import org.apache.seata.server.session.SessionCondition;
 import org.apache.seata.server.storage.file.ReloadableStore;
+import org.apache.seata.server.storage.file.SessionLogMode;
 import org.apache.seata.server.storage.file.TransactionWriteStore;
 import org.apache.seata.server.storage.file.store.FileTransactionStoreManager;
+import org.apache.seata.server.storage.file.store.SegmentFileTransactionStoreManager;
 import org.apache.seata.server.store.AbstractTransactionStoreManager;
 import org.apache.seata.server.store.SessionStorable;
+import org.apache.seata.server.store.StoreConfig;
 import org.apache.seata.server.store.TransactionStoreManager;
 
 import static org.apache.seata.common.DefaultValues.DEFAULT_SERVICE_SESSION_RELOAD_READ_SIZE;
@@ -68,6 +73,16 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
      */
     protected Map<String, GlobalSession> sessionMap = new ConcurrentHashMap<>(64);
 
+    /**
+     * The sessions of sessionMap indexed by status
+     */
+    protected final GlobalSessionStatusIndex statusIndex = new GlobalSessionStatusIndex();
+
+    /**
+     * The sessions of sessionMap indexed for the console queries
+     */
+    protected final GlobalSessionQueryIndex queryIndex = new GlobalSessionQueryIndex(statusIndex);
+
 
     /**
      * Instantiates a new File based session manager.
@@ -94,8 +109,12 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
     public FileSessionManager(String name, String sessionStoreFilePath) throws IOException {
         super(name);
         if (StringUtils.isNotBlank(sessionStoreFilePath)) {
-            transactionStoreManager =
-                new FileTransactionStoreManager(sessionStoreFilePath + File.separator + name, this);
+            String fullFileName = sessionStoreFilePath + File.separator + name;
+            if (StoreConfig.getSessionLogMode() == SessionLogMode.SEGMENT) {
+                transactionStoreManager = new SegmentFileTransactionStoreManager(fullFileName, this);
+            } else {
+                transactionStoreManager = new FileTransactionStoreManager(fullFileName, this);
+            }
         } else {
             transactionStoreManager = new AbstractTransactionStoreManager() {
                 @Override
@@ -119,6 +138,7 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
             } catch (TransactionException e) {
                 LOGGER.error("addGlobalSession fail, msg: {}", e.getMessage());
             }
+            index(session);
             return session;
         });
     }
@@ -136,7 +156,9 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
 
     @Override
     public void removeGlobalSession(GlobalSession session) throws TransactionException {
-        if (sessionMap.remove(session.getXid()) != null) {
+        GlobalSession removed = sessionMap.remove(session.getXid());
+        if (removed != null) {
+            unindex(removed);
             super.removeGlobalSession(session);
         }
     }
@@ -152,7 +174,14 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
         if (null != condition.getStatuses() && condition.getStatuses().length > 0) {
             globalStatuses = Arrays.asList(condition.getStatuses());
         }
-        Collection<GlobalSession> list = sessionMap.values();
+        Collection<GlobalSession> list;
+        if (null != globalStatuses && StringUtils.isEmpty(condition.getXid())
+            && (null == condition.getTransactionId() || condition.getTransactionId() <= 0)) {
+            // only the sessions in the statuses are filtered
+            list = statusIndex.find(condition.getStatuses());
+        } else {
+            list = sessionMap.values();
+        }
         List<GlobalStatus> finalGlobalStatuses = globalStatuses;
         return list.parallelStream().filter(globalSession -> {
 
@@ -278,15 +307,29 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
                     if (foundGlobalSession == null) {
                         if (this.checkSessionStatus(globalSession)) {
                             sessionMap.put(globalSession.getXid(), globalSession);
+                            index(globalSession);
+                            if (logOperation == TransactionStoreManager.LogOperation.GLOBAL_ADD) {
+                                // the branches of a rewritten session follow its add record, earlier ones are stale
+                                unhandledBranchBuffer.remove(globalSession.getXid());
+                            }
                         } else {
                             removedGlobalBuffer.add(globalSession.getXid());
                             unhandledBranchBuffer.remove(globalSession.getXid());
                         }
                     } else {
                         if (this.checkSessionStatus(globalSession)) {
-                            foundGlobalSession.setStatus(globalSession.getStatus());
+                            if (logOperation == TransactionStoreManager.LogOperation.GLOBAL_ADD) {
+                                // a relocated session is rewritten in full, drop what its earlier records restored
+                                unindex(foundGlobalSession);
+                                sessionMap.put(globalSession.getXid(), globalSession);
+                                index(globalSession);
+                                unhandledBranchBuffer.remove(globalSession.getXid());
+                            } else {
+                                foundGlobalSession.setStatus(globalSession.getStatus());
+                            }
                         } else {
                             sessionMap.remove(globalSession.getXid());
+                            unindex(foundGlobalSession);
                             removedGlobalBuffer.add(globalSession.getXid());
                             unhandledBranchBuffer.remove(globalSession.getXid());
                         }
@@ -304,10 +347,13 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
                     if (removedGlobalBuffer.contains(globalSession.getXid())) {
                         break;
                     }
-                    if (sessionMap.remove(globalSession.getXid()) == null) {
+                    GlobalSession removedGlobalSession = sessionMap.remove(globalSession.getXid());
+                    if (removedGlobalSession == null) {
                         if (LOGGER.isInfoEnabled()) {
                             LOGGER.info("GlobalSession To Be Removed Does Not Exists [" + globalSession.getXid() + "]");
                         }
+                    } else {
+                        unindex(removedGlobalSession);
                     }
                     removedGlobalBuffer.add(globalSession.getXid());
                     unhandledBranchBuffer.remove(globalSession.getXid());
@@ -382,6 +428,48 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
         return sessionMap;
     }
 
+    /**
+     * Replace all sessions, used when a full snapshot is loaded.
+     *
+     * @param sessions the sessions
+     */
+    public void resetSessions(Map<String, GlobalSession> sessions) {
+        statusIndex.clear();
+        queryIndex.clear();
+        sessionMap.clear();
+        sessionMap.putAll(sessions);
+        sessions.values().forEach(this::index);
+    }
+
+    /**
+     * Gets the index of the sessions for the console queries.
+     *
+     * @return the query index
+     */
+    public GlobalSessionQueryIndex getQueryIndex() {
+        return queryIndex;
+    }
+
+    /**
+     * Register the session put into the session map in the indexes.
+     *
+     * @param session the global session
+     */
+    protected void index(GlobalSession session) {
+        statusIndex.add(session);
+        queryIndex.add(session);
+    }
+
+    /**
+     * Unregister the session removed from the session map from the indexes.
+     *
+     * @param session the global session
+     */
+    protected void unindex(GlobalSession session) {
+        statusIndex.remove(session);
+        queryIndex.remove(session);
+    }
+
     public void setSessionMap(Map<String, GlobalSession> sessionMap) {
         this.sessionMap = sessionMap;
     }
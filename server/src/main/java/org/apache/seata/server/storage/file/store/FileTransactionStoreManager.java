@@ -25,12 +25,15 @@ import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 import org.apache.seata.common.exception.StoreException;
 import org.apache.seata.common.thread.NamedThreadFactory;
@@ -128,6 +131,24 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
 
     private static final int INT_BYTE_SIZE = 4;
 
+    private static final int GROUP_COMMIT_BATCH_SIZE = StoreConfig.getGroupCommitBatchSize();
+
+    private static final long GROUP_COMMIT_MAX_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(
+        StoreConfig.getGroupCommitMaxWaitMicros());
+
+    private static final long GROUP_COMMIT_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final FlushDiskMode flushDiskMode;
+
+    private final ConcurrentLinkedQueue<GroupCommitRequest> groupCommitQueue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger groupCommitPending = new AtomicInteger();
+
+    /**
+     * The count of the groups forced to disk, one force per group.
+     */
+    private final AtomicLong groupCommitCount = new AtomicLong();
+
     /**
      * Instantiates a new File transaction store manager.
      *
@@ -136,6 +157,20 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
      * @throws IOException the io exception
      */
     public FileTransactionStoreManager(String fullFileName, SessionManager sessionManager) throws IOException {
+        this(fullFileName, sessionManager, FLUSH_DISK_MODE);
+    }
+
+    /**
+     * Instantiates a new File transaction store manager.
+     *
+     * @param fullFileName   the dir path
+     * @param sessionManager the session manager
+     * @param flushDiskMode  the flush disk mode
+     * @throws IOException the io exception
+     */
+    public FileTransactionStoreManager(String fullFileName, SessionManager sessionManager,
+                                       FlushDiskMode flushDiskMode) throws IOException {
+        this.flushDiskMode = flushDiskMode;
         initFile(fullFileName);
         fileWriteExecutor = new ThreadPoolExecutor(MAX_THREAD_WRITE, MAX_THREAD_WRITE, Integer.MAX_VALUE,
             TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
@@ -172,6 +207,14 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
 
     @Override
     public boolean writeSession(LogOperation logOperation, SessionStorable session) {
+        if (flushDiskMode == FlushDiskMode.SYNC_MODEL) {
+            try {
+                return groupCommit(new TransactionWriteStore(session, logOperation).encode());
+            } catch (Exception exx) {
+                LOGGER.error("writeSession error, {}", exx.getMessage(), exx);
+                return false;
+            }
+        }
         long curFileTrxNum;
         writeSessionLock.lock();
         try {
@@ -190,18 +233,120 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
         } finally {
             writeSessionLock.unlock();
         }
-        flushDisk(curFileTrxNum, currFileChannel);
+        writeDataFileRunnable.putRequest(new AsyncFlushRequest(curFileTrxNum, currFileChannel));
         return true;
     }
 
-    private void flushDisk(long curFileNum, FileChannel currFileChannel) {
+    /**
+     * Append the data to the pending queue and wait until it is written and forced to disk.
+     * Whoever gets the write lock becomes the leader, it writes all pending data with one force
+     * and then completes the waiting followers. So the force count grows with the batch count
+     * rather than with the write count.
+     *
+     * @param data the encoded data
+     * @return true if the data was forced to disk
+     */
+    private boolean groupCommit(byte[] data) {
+        if (data == null || data.length >= Integer.MAX_VALUE - 3) {
+            return false;
+        }
+        GroupCommitRequest request = new GroupCommitRequest(data);
+        groupCommitQueue.offer(request);
+        if (groupCommitPending.incrementAndGet() >= GROUP_COMMIT_BATCH_SIZE) {
+            // the batch is full, wake up the oldest pending request waiting for it
+            GroupCommitRequest head = groupCommitQueue.peek();
+            if (head != null) {
+                LockSupport.unpark(head.waiter);
+            }
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MAX_WAIT_FOR_FLUSH_TIME_MILLS);
+        boolean waited = false;
+        while (!request.isDone()) {
+            if (!waited && groupCommitQueue.peek() == request) {
+                // the next leader waits for the batch without holding the write lock
+                waitForGroup();
+                waited = true;
+            }
+            if (writeSessionLock.tryLock()) {
+                try {
+                    commitGroup();
+                } finally {
+                    writeSessionLock.unlock();
+                }
+                // hand over the leadership to the oldest pending request
+                GroupCommitRequest next = groupCommitQueue.peek();
+                if (next != null) {
+                    LockSupport.unpark(next.waiter);
+                }
+            } else if (System.nanoTime() - deadline > 0 && request.cancel()) {
+                LOGGER.error("wait for group commit timeout, more than {} ms", MAX_WAIT_FOR_FLUSH_TIME_MILLS);
+                return false;
+            } else {
+                LockSupport.parkNanos(this, GROUP_COMMIT_PARK_NANOS);
+            }
+        }
+        return request.isSuccess();
+    }
 
-        if (FLUSH_DISK_MODE == FlushDiskMode.SYNC_MODEL) {
-            SyncFlushRequest syncFlushRequest = new SyncFlushRequest(curFileNum, currFileChannel);
-            writeDataFileRunnable.putRequest(syncFlushRequest);
-            syncFlushRequest.waitForFlush(MAX_WAIT_FOR_FLUSH_TIME_MILLS);
-        } else {
-            writeDataFileRunnable.putRequest(new AsyncFlushRequest(curFileNum, currFileChannel));
+    private void waitForGroup() {
+        if (GROUP_COMMIT_MAX_WAIT_NANOS <= 0) {
+            return;
+        }
+        long waitUntil = System.nanoTime() + GROUP_COMMIT_MAX_WAIT_NANOS;
+        long remaining;
+        while (groupCommitPending.get() < GROUP_COMMIT_BATCH_SIZE && (remaining = waitUntil - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+    private void commitGroup() {
+        List<GroupCommitRequest> group = new ArrayList<>(Math.min(groupCommitPending.get(), GROUP_COMMIT_BATCH_SIZE));
+        GroupCommitRequest request;
+        while (group.size() < GROUP_COMMIT_BATCH_SIZE && (request = groupCommitQueue.poll()) != null) {
+            groupCommitPending.decrementAndGet();
+            if (request.claim()) {
+                group.add(request);
+            }
+        }
+        if (group.isEmpty()) {
+            return;
+        }
+        boolean success = true;
+        try {
+            for (GroupCommitRequest groupRequest : group) {
+                if (!writeDataFrame(groupRequest.data)) {
+                    success = false;
+                    break;
+                }
+            }
+            if (success && flushWriteBuffer(writeBuffer)) {
+                currFileChannel.force(false);
+                groupCommitCount.incrementAndGet();
+            } else {
+                success = false;
+                BufferUtils.clear(writeBuffer);
+            }
+        } catch (Exception exx) {
+            LOGGER.error("group commit error, {}", exx.getMessage(), exx);
+            success = false;
+            BufferUtils.clear(writeBuffer);
+        }
+        if (success) {
+            lastModifiedTime = System.currentTimeMillis();
+            long curFileTrxNum = FILE_TRX_NUM.addAndGet(group.size());
+            FILE_FLUSH_NUM.addAndGet(group.size());
+            if ((curFileTrxNum - group.size()) / PER_FILE_BLOCK_SIZE != curFileTrxNum / PER_FILE_BLOCK_SIZE
+                && (System.currentTimeMillis() - trxStartTimeMills) > MAX_TRX_TIMEOUT_MILLS) {
+                try {
+                    success = saveHistory();
+                } catch (IOException exx) {
+                    LOGGER.error("save history error, {}", exx.getMessage(), exx);
+                    success = false;
+                }
+            }
+        }
+        for (GroupCommitRequest groupRequest : group) {
+            groupRequest.complete(success);
         }
     }
 
@@ -501,24 +646,56 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
         }
     }
 
-    class SyncFlushRequest extends AbstractFlushRequest {
+    /**
+     * The data waiting for the group commit.
+     */
+    static class GroupCommitRequest {
 
-        private final CountDownLatch countDownLatch = new CountDownLatch(1);
+        private static final int PENDING = 0;
 
-        public SyncFlushRequest(long curFileTrxNum, FileChannel curFileChannel) {
-            super(curFileTrxNum, curFileChannel);
+        private static final int CLAIMED = 1;
+
+        private static final int CANCELLED = 2;
+
+        private static final int SUCCESS = 3;
+
+        private static final int FAILED = 4;
+
+        private final byte[] data;
+
+        private final Thread waiter = Thread.currentThread();
+
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        GroupCommitRequest(byte[] data) {
+            this.data = data;
         }
 
-        public void wakeup() {
-            this.countDownLatch.countDown();
+        /**
+         * Called by the leader before writing, a cancelled request is skipped.
+         */
+        boolean claim() {
+            return state.compareAndSet(PENDING, CLAIMED);
         }
 
-        public void waitForFlush(long timeout) {
-            try {
-                this.countDownLatch.await(timeout, TimeUnit.MILLISECONDS);
-            } catch (InterruptedException e) {
-                LOGGER.error("Interrupted", e);
-            }
+        /**
+         * Called by the waiter on timeout, fails once the leader has claimed the request.
+         */
+        boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED);
+        }
+
+        void complete(boolean success) {
+            state.set(success ? SUCCESS : FAILED);
+            LockSupport.unpark(waiter);
+        }
+
+        boolean isDone() {
+            return state.get() >= SUCCESS;
+        }
+
+        boolean isSuccess() {
+            return state.get() == SUCCESS;
         }
     }
 
@@ -600,9 +777,7 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
             if (storeRequest == null) {
                 flushOnCondition(currFileChannel);
             }
-            if (storeRequest instanceof SyncFlushRequest) {
-                syncFlush((SyncFlushRequest)storeRequest);
-            } else if (storeRequest instanceof AsyncFlushRequest) {
+            if (storeRequest instanceof AsyncFlushRequest) {
                 async((AsyncFlushRequest)storeRequest);
             } else if (storeRequest instanceof CloseFileRequest) {
                 closeAndFlush((CloseFileRequest)storeRequest);
@@ -621,18 +796,8 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
             flushOnCondition(req.getCurFileChannel());
         }
 
-        private void syncFlush(SyncFlushRequest req) {
-            if (req.getCurFileTrxNum() > FILE_FLUSH_NUM.get()) {
-                long diff = FILE_TRX_NUM.get() - FILE_FLUSH_NUM.get();
-                flush(req.getCurFileChannel());
-                FILE_FLUSH_NUM.addAndGet(diff);
-            }
-            // notify
-            req.wakeup();
-        }
-
         private void flushOnCondition(FileChannel fileChannel) {
-            if (FLUSH_DISK_MODE == FlushDiskMode.SYNC_MODEL) {
+            if (flushDiskMode == FlushDiskMode.SYNC_MODEL) {
                 return;
             }
             long diff = FILE_TRX_NUM.get() - FILE_FLUSH_NUM.get();
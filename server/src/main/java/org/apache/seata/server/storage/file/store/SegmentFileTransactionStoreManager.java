@@ -0,0 +1,506 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.storage.file.store;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.seata.common.exception.StoreException;
+import org.apache.seata.common.thread.NamedThreadFactory;
+import org.apache.seata.common.util.BufferUtils;
+import org.apache.seata.server.session.BranchSession;
+import org.apache.seata.server.session.GlobalSession;
+import org.apache.seata.server.session.SessionCondition;
+import org.apache.seata.server.session.SessionManager;
+import org.apache.seata.server.storage.file.FlushDiskMode;
+import org.apache.seata.server.storage.file.ReloadableStore;
+import org.apache.seata.server.storage.file.TransactionWriteStore;
+import org.apache.seata.server.store.AbstractTransactionStoreManager;
+import org.apache.seata.server.store.SessionStorable;
+import org.apache.seata.server.store.StoreConfig;
+import org.apache.seata.server.store.TransactionStoreManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The transaction store manager writing to fixed size, memory mapped segment files.
+ * <p>
+ * Each record is framed as [length][data]. The store keeps the segment holding the first
+ * record of every live global session, the oldest of them is written to the checkpoint file
+ * when a segment is full, and the segments before the checkpoint are deleted. Restore only
+ * replays the segments after the checkpoint. When more than the max segment count is retained,
+ * the sessions pinning the oldest segment are rewritten to the current segment.
+ *
+ */
+public class SegmentFileTransactionStoreManager extends AbstractTransactionStoreManager
+    implements TransactionStoreManager, ReloadableStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SegmentFileTransactionStoreManager.class);
+
+    private static final String SEGMENT_DIR_POSTFIX = ".segments";
+
+    private static final String SEGMENT_FILE_POSTFIX = ".seg";
+
+    private static final String CHECKPOINT_FILE_NAME = "checkpoint";
+
+    private static final int MARK_SIZE = 4;
+
+    private static final int MAX_FLUSH_TIME_MILLS = 2 * 1000;
+
+    private static final FlushDiskMode FLUSH_DISK_MODE = StoreConfig.getFlushDiskMode();
+
+    private final File segmentDir;
+
+    private final int segmentSize;
+
+    private final int maxSegmentCount;
+
+    private final SessionManager sessionManager;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final Object flushLock = new Object();
+
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+    /**
+     * xid -> id of the segment holding the first record of the global session
+     */
+    private final Map<String, Long> xidIndex = new ConcurrentHashMap<>();
+
+    private final ScheduledThreadPoolExecutor flushExecutor;
+
+    private volatile Segment currSegment;
+
+    private volatile long writtenPosition;
+
+    private volatile long flushedPosition;
+
+    private Long recoverSegmentId;
+
+    private int recoverOffset;
+
+    /**
+     * Instantiates a new segment file transaction store manager.
+     *
+     * @param fullFileName   the file name prefix of the segment dir
+     * @param sessionManager the session manager
+     * @throws IOException the io exception
+     */
+    public SegmentFileTransactionStoreManager(String fullFileName, SessionManager sessionManager) throws IOException {
+        this(fullFileName, sessionManager, StoreConfig.getSegmentSize(), StoreConfig.getMaxSegmentCount());
+    }
+
+    /**
+     * Instantiates a new segment file transaction store manager.
+     *
+     * @param fullFileName    the file name prefix of the segment dir
+     * @param sessionManager  the session manager
+     * @param segmentSize     the size of each segment file
+     * @param maxSegmentCount the max count of retained segments
+     * @throws IOException the io exception
+     */
+    public SegmentFileTransactionStoreManager(String fullFileName, SessionManager sessionManager, int segmentSize,
+                                              int maxSegmentCount) throws IOException {
+        this.segmentDir = new File(fullFileName + SEGMENT_DIR_POSTFIX);
+        this.segmentSize = segmentSize;
+        this.maxSegmentCount = Math.max(2, maxSegmentCount);
+        this.sessionManager = sessionManager;
+        initSegments();
+        flushExecutor = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("segmentTransactionStore", 1, true));
+        if (FLUSH_DISK_MODE != FlushDiskMode.SYNC_MODEL) {
+            flushExecutor.scheduleAtFixedRate(() -> flush(writtenPosition), MAX_FLUSH_TIME_MILLS,
+                MAX_FLUSH_TIME_MILLS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void initSegments() throws IOException {
+        if (!segmentDir.exists() && !segmentDir.mkdirs()) {
+            throw new IOException("create segment dir failed: " + segmentDir.getAbsolutePath());
+        }
+        long checkpoint = readCheckpoint();
+        File[] files = segmentDir.listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_POSTFIX));
+        if (files != null) {
+            for (File file : files) {
+                long id;
+                try {
+                    id = Long.parseLong(file.getName().substring(0, file.getName().length()
+                        - SEGMENT_FILE_POSTFIX.length()));
+                } catch (NumberFormatException e) {
+                    LOGGER.warn("ignore unknown segment file: {}", file.getName());
+                    continue;
+                }
+                if (id < checkpoint) {
+                    deleteFile(file);
+                } else {
+                    segments.put(id, new Segment(id, file, segmentSize));
+                }
+            }
+        }
+        if (segments.isEmpty()) {
+            Segment segment = newSegment(checkpoint);
+            segments.put(segment.id, segment);
+        }
+        currSegment = segments.lastEntry().getValue();
+        currSegment.recoverWritePosition();
+        writtenPosition = position(currSegment);
+        flushedPosition = writtenPosition;
+        recoverSegmentId = segments.firstKey();
+        recoverOffset = 0;
+    }
+
+    @Override
+    public boolean writeSession(LogOperation logOperation, SessionStorable session) {
+        long position;
+        writeLock.lock();
+        try {
+            byte[] data = new TransactionWriteStore(session, logOperation).encode();
+            if (!append(data)) {
+                return false;
+            }
+            index(logOperation, session, currSegment.id);
+            position = writtenPosition;
+        } catch (Exception exx) {
+            LOGGER.error("writeSession error, {}", exx.getMessage(), exx);
+            return false;
+        } finally {
+            writeLock.unlock();
+        }
+        if (FLUSH_DISK_MODE == FlushDiskMode.SYNC_MODEL) {
+            flush(position);
+        }
+        return true;
+    }
+
+    private boolean append(byte[] data) throws IOException {
+        if (data == null || data.length + MARK_SIZE > segmentSize) {
+            LOGGER.error("data size exceeded the segment size: {}", segmentSize);
+            return false;
+        }
+        if (!currSegment.hasRoom(data.length)) {
+            rollSegment();
+        }
+        currSegment.append(data);
+        writtenPosition = position(currSegment);
+        return true;
+    }
+
+    private void index(LogOperation logOperation, SessionStorable session, long segmentId) {
+        switch (logOperation) {
+            case GLOBAL_ADD:
+            case GLOBAL_UPDATE:
+                xidIndex.putIfAbsent(((GlobalSession)session).getXid(), segmentId);
+                break;
+            case GLOBAL_REMOVE:
+                xidIndex.remove(((GlobalSession)session).getXid());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Open the next segment and move the checkpoint to the oldest segment still needed.
+     */
+    private void rollSegment() throws IOException {
+        currSegment.flush();
+        Segment next = newSegment(currSegment.id + 1);
+        segments.put(next.id, next);
+        currSegment = next;
+        if (sessionManager != null) {
+            xidIndex.keySet().removeIf(xid -> sessionManager.findGlobalSession(xid) == null);
+            if (segments.size() > maxSegmentCount) {
+                relocate(segments.firstKey());
+            }
+        }
+        long checkpoint = currSegment.id;
+        for (Long segmentId : xidIndex.values()) {
+            checkpoint = Math.min(checkpoint, segmentId);
+        }
+        writeCheckpoint(checkpoint);
+        while (segments.firstKey() < checkpoint) {
+            Segment obsolete = segments.pollFirstEntry().getValue();
+            obsolete.close();
+            deleteFile(obsolete.file);
+        }
+    }
+
+    /**
+     * Rewrite the live sessions pinning the segment to the current segment.
+     */
+    private void relocate(long segmentId) throws IOException {
+        List<String> pinned = new ArrayList<>();
+        xidIndex.forEach((xid, id) -> {
+            if (id == segmentId) {
+                pinned.add(xid);
+            }
+        });
+        for (String xid : pinned) {
+            GlobalSession globalSession = sessionManager.findGlobalSession(xid);
+            if (globalSession == null) {
+                xidIndex.remove(xid);
+                continue;
+            }
+            List<byte[]> records = new ArrayList<>();
+            records.add(new TransactionWriteStore(globalSession, LogOperation.GLOBAL_ADD).encode());
+            for (BranchSession branchSession : globalSession.getSortedBranches()) {
+                records.add(new TransactionWriteStore(branchSession, LogOperation.BRANCH_ADD).encode());
+            }
+            int size = 0;
+            for (byte[] record : records) {
+                size += record.length + MARK_SIZE;
+            }
+            if (size > segmentSize) {
+                LOGGER.error("global session {} exceeded the segment size, can not be relocated", xid);
+                continue;
+            }
+            if (!currSegment.hasRoom(size - MARK_SIZE)) {
+                currSegment.flush();
+                Segment next = newSegment(currSegment.id + 1);
+                segments.put(next.id, next);
+                currSegment = next;
+            }
+            for (byte[] record : records) {
+                currSegment.append(record);
+            }
+            xidIndex.put(xid, currSegment.id);
+        }
+        writtenPosition = position(currSegment);
+        currSegment.flush();
+    }
+
+    private void flush(long position) {
+        if (flushedPosition >= position) {
+            return;
+        }
+        synchronized (flushLock) {
+            if (flushedPosition >= position) {
+                return;
+            }
+            Segment segment;
+            long target;
+            writeLock.lock();
+            try {
+                segment = currSegment;
+                target = writtenPosition;
+            } finally {
+                writeLock.unlock();
+            }
+            segment.flush();
+            flushedPosition = target;
+        }
+    }
+
+    private long position(Segment segment) {
+        return segment.id * segmentSize + segment.writePosition;
+    }
+
+    private Segment newSegment(long id) throws IOException {
+        return new Segment(id, new File(segmentDir, String.format("%020d%s", id, SEGMENT_FILE_POSTFIX)), segmentSize);
+    }
+
+    private long readCheckpoint() throws IOException {
+        File file = new File(segmentDir, CHECKPOINT_FILE_NAME);
+        if (!file.exists()) {
+            return 0L;
+        }
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        if (bytes.length < Long.BYTES) {
+            LOGGER.warn("ignore broken checkpoint file: {}", file.getAbsolutePath());
+            return 0L;
+        }
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+
+    private void writeCheckpoint(long checkpoint) throws IOException {
+        File tmp = new File(segmentDir, CHECKPOINT_FILE_NAME + ".tmp");
+        try (RandomAccessFile raf = new RandomAccessFile(tmp, "rw")) {
+            raf.setLength(0);
+            raf.writeLong(checkpoint);
+            raf.getFD().sync();
+        }
+        Files.move(tmp.toPath(), new File(segmentDir, CHECKPOINT_FILE_NAME).toPath(),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteFile(File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            LOGGER.warn("delete segment file {} failed, it will be deleted on next start: {}", file.getName(),
+                e.getMessage());
+        }
+    }
+
+    @Override
+    public List<TransactionWriteStore> readWriteStore(int readSize, boolean isHistory) {
+        List<TransactionWriteStore> transactionWriteStores = new ArrayList<>(readSize);
+        if (isHistory) {
+            return transactionWriteStores;
+        }
+        while (transactionWriteStores.size() < readSize && hasRemaining(false)) {
+            Segment segment = segments.get(recoverSegmentId);
+            byte[] body = segment.read(recoverOffset);
+            recoverOffset += MARK_SIZE + body.length;
+            try {
+                TransactionWriteStore writeStore = new TransactionWriteStore();
+                writeStore.decode(body);
+                SessionStorable session = writeStore.getSessionRequest();
+                if (session instanceof GlobalSession) {
+                    index(writeStore.getOperate(), session, segment.id);
+                }
+                transactionWriteStores.add(writeStore);
+            } catch (Exception ex) {
+                LOGGER.error("decode segment {} at {} error:{}", segment.id, recoverOffset, ex.getMessage(), ex);
+            }
+        }
+        return transactionWriteStores;
+    }
+
+    @Override
+    public boolean hasRemaining(boolean isHistory) {
+        if (isHistory) {
+            return false;
+        }
+        while (recoverSegmentId != null) {
+            Segment segment = segments.get(recoverSegmentId);
+            if (segment != null && segment.hasRecord(recoverOffset)) {
+                return true;
+            }
+            recoverSegmentId = segments.higherKey(recoverSegmentId);
+            recoverOffset = 0;
+        }
+        return false;
+    }
+
+    @Override
+    public GlobalSession readSession(String xid) {
+        throw new StoreException("unsupport for read from file, xid:" + xid);
+    }
+
+    @Override
+    public List<GlobalSession> readSession(SessionCondition sessionCondition) {
+        throw new StoreException("unsupport for read from file");
+    }
+
+    @Override
+    public void shutdown() {
+        flushExecutor.shutdown();
+        writeLock.lock();
+        try {
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * A memory mapped segment file.
+     */
+    static class Segment {
+
+        private final long id;
+
+        private final File file;
+
+        private final RandomAccessFile raf;
+
+        private final FileChannel fileChannel;
+
+        private final MappedByteBuffer buffer;
+
+        private int writePosition;
+
+        Segment(long id, File file, int size) throws IOException {
+            this.id = id;
+            this.file = file;
+            this.raf = new RandomAccessFile(file, "rw");
+            this.fileChannel = raf.getChannel();
+            this.buffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+
+        void recoverWritePosition() {
+            int position = 0;
+            while (hasRecord(position)) {
+                position += MARK_SIZE + buffer.getInt(position);
+            }
+            writePosition = position;
+        }
+
+        boolean hasRecord(int offset) {
+            if (offset + MARK_SIZE > buffer.capacity()) {
+                return false;
+            }
+            int length = buffer.getInt(offset);
+            return length > 0 && offset + MARK_SIZE + length <= buffer.capacity();
+        }
+
+        boolean hasRoom(int dataLength) {
+            return writePosition + MARK_SIZE + dataLength <= buffer.capacity();
+        }
+
+        /**
+         * The data is put before its length, so a torn write is never taken as a record.
+         */
+        void append(byte[] data) {
+            ByteBuffer slice = buffer.duplicate();
+            BufferUtils.position(slice, writePosition + MARK_SIZE);
+            slice.put(data);
+            buffer.putInt(writePosition, data.length);
+            writePosition += MARK_SIZE + data.length;
+        }
+
+        byte[] read(int offset) {
+            int length = buffer.getInt(offset);
+            byte[] body = new byte[length];
+            ByteBuffer slice = buffer.duplicate();
+            BufferUtils.position(slice, offset + MARK_SIZE);
+            slice.get(body);
+            return body;
+        }
+
+        void flush() {
+            buffer.force();
+        }
+
+        void close() {
+            try {
+                flush();
+                fileChannel.close();
+                raf.close();
+            } catch (IOException e) {
+                LOGGER.error("close segment {} error: {}", id, e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -99,6 +99,7 @@ public class RaftSessionManager extends FileSessionManager {
     public void removeGlobalSession(GlobalSession session) throws TransactionException {
         GlobalSession globalSession = sessionMap.remove(session.getXid());
         if (globalSession != null) {
+            unindex(globalSession);
             List<BranchSession> branchSessionList = globalSession.getBranchSessions();
             // For the follower, the following code will not be executed because when the follower receives the remove global session
             // the branch session on the leader side has already been completely cleared.
@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.apache.seata.common.exception.StoreException;
@@ -35,6 +36,7 @@ import org.apache.seata.core.lock.AbstractLocker;
 import org.apache.seata.core.lock.RowLock;
 import org.apache.seata.core.model.LockStatus;
 import org.apache.seata.core.store.LockDO;
+import org.apache.seata.server.lock.HeldLockScanner;
 import org.apache.seata.server.storage.redis.JedisPooledFactory;
 
 import com.google.common.collect.Lists;
@@ -42,6 +44,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
 
 import static org.apache.seata.common.Constants.ROW_LOCK_KEY_SPLIT_CHAR;
 import static org.apache.seata.core.constants.RedisKeyConstants.DEFAULT_REDIS_SEATA_GLOBAL_LOCK_PREFIX;
@@ -52,7 +56,7 @@ import static org.apache.seata.core.exception.TransactionExceptionCode.LockKeyCo
  * The redis lock store operation
  *
  */
-public class RedisLocker extends AbstractLocker {
+public class RedisLocker extends AbstractLocker implements HeldLockScanner {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RedisLocker.class);
 
@@ -293,6 +297,35 @@ public class RedisLocker extends AbstractLocker {
         return DEFAULT_REDIS_SEATA_GLOBAL_LOCK_PREFIX + xid;
     }
 
+    @Override
+    public void scanHeldLocks(Consumer<LockDO> consumer) {
+        ScanParams scanParams = new ScanParams().match(DEFAULT_REDIS_SEATA_ROW_LOCK_PREFIX + "*").count(1000);
+        try (Jedis jedis = JedisPooledFactory.getJedisInstance()) {
+            String cursor = ScanParams.SCAN_POINTER_START;
+            do {
+                ScanResult<String> scanResult = jedis.scan(cursor, scanParams);
+                List<String> lockKeys = scanResult.getResult();
+                if (CollectionUtils.isNotEmpty(lockKeys)) {
+                    Pipeline pipeline = jedis.pipelined();
+                    lockKeys.forEach(lockKey -> pipeline.hmget(lockKey, XID, BRANCH_ID));
+                    List<Object> lockInfos = pipeline.syncAndReturnAll();
+                    for (int i = 0; i < lockKeys.size(); i++) {
+                        List<String> lockInfo = (List<String>)lockInfos.get(i);
+                        if (lockInfo == null || lockInfo.get(0) == null) {
+                            continue;
+                        }
+                        LockDO lockDO = new LockDO();
+                        lockDO.setXid(lockInfo.get(0));
+                        lockDO.setBranchId(lockInfo.get(1) == null ? null : Long.parseLong(lockInfo.get(1)));
+                        lockDO.setRowKey(lockKeys.get(i).substring(DEFAULT_REDIS_SEATA_ROW_LOCK_PREFIX.length()));
+                        consumer.accept(lockDO);
+                    }
+                }
+                cursor = scanResult.getCursor();
+            } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+        }
+    }
+
     protected String buildLockKey(String rowKey) {
         return DEFAULT_REDIS_SEATA_ROW_LOCK_PREFIX + rowKey;
     }
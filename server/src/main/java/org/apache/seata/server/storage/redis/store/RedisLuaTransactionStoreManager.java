@@ -26,7 +26,6 @@ import java.util.function.Function;
 
 import org.apache.seata.common.exception.RedisException;
 import org.apache.seata.common.exception.StoreException;
-import org.apache.seata.common.util.BeanUtils;
 import org.apache.seata.common.util.CollectionUtils;
 import org.apache.seata.core.model.GlobalStatus;
 import org.apache.seata.core.store.BranchTransactionDO;
@@ -130,11 +129,12 @@ public class RedisLuaTransactionStoreManager extends RedisTransactionStoreManage
         Date now = new Date();
         branchTransactionDO.setGmtCreate(now);
         branchTransactionDO.setGmtModified(now);
-        Map<String, String> branchTransactionDOMap = BeanUtils.objectToMap(branchTransactionDO);
         String luaSHA = LOCK_SHA_MAP.get(INSERT_TRANSACTION_DO_LUA_FILE_NAME);
-        if (luaSHA == null) {
+        // the binary layout can not be passed through the string arguments of the script
+        if (luaSHA == null || binaryEncoding) {
             return super.insertBranchTransactionDO(branchTransactionDO);
         }
+        Map<String, String> branchTransactionDOMap = RedisTransactionDOCodec.encodeBranchHash(branchTransactionDO);
         try (Jedis jedis = JedisPooledFactory.getJedisInstance()) {
             List<String> keys = new ArrayList<String>() {
                 {
@@ -232,11 +232,12 @@ public class RedisLuaTransactionStoreManager extends RedisTransactionStoreManage
         Date now = new Date();
         globalTransactionDO.setGmtCreate(now);
         globalTransactionDO.setGmtModified(now);
-        Map<String, String> globalTransactionDOMap = BeanUtils.objectToMap(globalTransactionDO);
         String luaSHA = LOCK_SHA_MAP.get(INSERT_TRANSACTION_DO_LUA_FILE_NAME);
-        if (luaSHA == null) {
+        // the binary layout can not be passed through the string arguments of the script
+        if (luaSHA == null || binaryEncoding) {
             return super.insertGlobalTransactionDO(globalTransactionDO);
         }
+        Map<String, String> globalTransactionDOMap = RedisTransactionDOCodec.encodeGlobalHash(globalTransactionDO);
         try (Jedis jedis = JedisPooledFactory.getJedisInstance()) {
             // lua mode
             List<String> keys = new ArrayList<String>() {
@@ -0,0 +1,501 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.storage.redis.store;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.seata.common.exception.StoreException;
+import org.apache.seata.common.util.CollectionUtils;
+import org.apache.seata.common.util.StringUtils;
+import org.apache.seata.core.store.BranchTransactionDO;
+import org.apache.seata.core.store.GlobalTransactionDO;
+
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_BRANCH_APPLICATION_DATA;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_BRANCH_BRANCH_ID;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_BRANCH_BRANCH_TYPE;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_BRANCH_CLIENT_ID;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_BRANCH_GMT_CREATE;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_BRANCH_GMT_MODIFIED;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_BRANCH_RESOURCE_GROUP_ID;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_BRANCH_RESOURCE_ID;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_BRANCH_STATUS;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_BRANCH_TRANSACTION_ID;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_BRANCH_XID;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_GLOBAL_APPLICATION_DATA;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_GLOBAL_APPLICATION_ID;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_GLOBAL_BEGIN_TIME;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_GLOBAL_GMT_CREATE;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_GLOBAL_GMT_MODIFIED;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_GLOBAL_STATUS;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_GLOBAL_TIMEOUT;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_GLOBAL_TRANSACTION_ID;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_GLOBAL_TRANSACTION_NAME;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_GLOBAL_TRANSACTION_SERVICE_GROUP;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_GLOBAL_XID;
+
+/**
+ * Encodes the global and branch transaction DOs stored in redis through fixed field tables instead of reflection.
+ * <p>
+ * The hash layout writes every field as a string, the same as the former bean reflection did.
+ * The binary layout writes the whole DO as one compact value, with the fields that are read or updated
+ * one by one (xid, status, gmtModified and the branch application data) kept beside it as strings,
+ * a value updated in place overrides the one in the binary value.
+ *
+ */
+public final class RedisTransactionDOCodec {
+
+    /**
+     * The hash field of the binary value.
+     */
+    public static final String BINARY_FIELD = "binary";
+
+    private static final byte[] BINARY_FIELD_BYTES = BINARY_FIELD.getBytes(StandardCharsets.UTF_8);
+
+    private static final byte VERSION = 1;
+
+    private static final Schema<GlobalTransactionDO> GLOBAL_SCHEMA = new Schema<>(GlobalTransactionDO::new,
+        new Field<>(REDIS_KEY_GLOBAL_XID, Kind.STRING, GlobalTransactionDO::getXid, (d, v) -> d.setXid((String)v), true),
+        new Field<>(REDIS_KEY_GLOBAL_TRANSACTION_ID, Kind.LONG, GlobalTransactionDO::getTransactionId, (d, v) -> d.setTransactionId((Long)v), false),
+        new Field<>(REDIS_KEY_GLOBAL_STATUS, Kind.INTEGER, GlobalTransactionDO::getStatus, (d, v) -> d.setStatus((Integer)v), true),
+        new Field<>(REDIS_KEY_GLOBAL_APPLICATION_ID, Kind.STRING, GlobalTransactionDO::getApplicationId, (d, v) -> d.setApplicationId((String)v), false),
+        new Field<>(REDIS_KEY_GLOBAL_TRANSACTION_SERVICE_GROUP, Kind.STRING, GlobalTransactionDO::getTransactionServiceGroup, (d, v) -> d.setTransactionServiceGroup((String)v), false),
+        new Field<>(REDIS_KEY_GLOBAL_TRANSACTION_NAME, Kind.STRING, GlobalTransactionDO::getTransactionName, (d, v) -> d.setTransactionName((String)v), false),
+        new Field<>(REDIS_KEY_GLOBAL_TIMEOUT, Kind.INTEGER, GlobalTransactionDO::getTimeout, (d, v) -> d.setTimeout((Integer)v), false),
+        new Field<>(REDIS_KEY_GLOBAL_BEGIN_TIME, Kind.LONG, GlobalTransactionDO::getBeginTime, (d, v) -> d.setBeginTime((Long)v), false),
+        new Field<>(REDIS_KEY_GLOBAL_APPLICATION_DATA, Kind.STRING, GlobalTransactionDO::getApplicationData, (d, v) -> d.setApplicationData((String)v), false),
+        new Field<>(REDIS_KEY_GLOBAL_GMT_CREATE, Kind.DATE, GlobalTransactionDO::getGmtCreate, (d, v) -> d.setGmtCreate((Date)v), false),
+        new Field<>(REDIS_KEY_GLOBAL_GMT_MODIFIED, Kind.DATE, GlobalTransactionDO::getGmtModified, (d, v) -> d.setGmtModified((Date)v), true));
+
+    private static final Schema<BranchTransactionDO> BRANCH_SCHEMA = new Schema<>(BranchTransactionDO::new,
+        new Field<>(REDIS_KEY_BRANCH_XID, Kind.STRING, BranchTransactionDO::getXid, (d, v) -> d.setXid((String)v), true),
+        new Field<>(REDIS_KEY_BRANCH_TRANSACTION_ID, Kind.LONG, BranchTransactionDO::getTransactionId, (d, v) -> d.setTransactionId((Long)v), false),
+        new Field<>(REDIS_KEY_BRANCH_BRANCH_ID, Kind.LONG, BranchTransactionDO::getBranchId, (d, v) -> d.setBranchId((Long)v), false),
+        new Field<>(REDIS_KEY_BRANCH_RESOURCE_GROUP_ID, Kind.STRING, BranchTransactionDO::getResourceGroupId, (d, v) -> d.setResourceGroupId((String)v), false),
+        new Field<>(REDIS_KEY_BRANCH_RESOURCE_ID, Kind.STRING, BranchTransactionDO::getResourceId, (d, v) -> d.setResourceId((String)v), false),
+        new Field<>(REDIS_KEY_BRANCH_BRANCH_TYPE, Kind.STRING, BranchTransactionDO::getBranchType, (d, v) -> d.setBranchType((String)v), false),
+        new Field<>(REDIS_KEY_BRANCH_STATUS, Kind.INTEGER, BranchTransactionDO::getStatus, (d, v) -> d.setStatus((Integer)v), true),
+        new Field<>(REDIS_KEY_BRANCH_CLIENT_ID, Kind.STRING, BranchTransactionDO::getClientId, (d, v) -> d.setClientId((String)v), false),
+        new Field<>(REDIS_KEY_BRANCH_APPLICATION_DATA, Kind.STRING, BranchTransactionDO::getApplicationData, (d, v) -> d.setApplicationData((String)v), true),
+        new Field<>(REDIS_KEY_BRANCH_GMT_CREATE, Kind.DATE, BranchTransactionDO::getGmtCreate, (d, v) -> d.setGmtCreate((Date)v), false),
+        new Field<>(REDIS_KEY_BRANCH_GMT_MODIFIED, Kind.DATE, BranchTransactionDO::getGmtModified, (d, v) -> d.setGmtModified((Date)v), true));
+
+    private RedisTransactionDOCodec() {
+    }
+
+    /**
+     * Encode the global transaction into the hash layout.
+     *
+     * @param globalTransactionDO the global transaction do
+     * @return the hash
+     */
+    public static Map<String, String> encodeGlobalHash(GlobalTransactionDO globalTransactionDO) {
+        return GLOBAL_SCHEMA.toHash(globalTransactionDO);
+    }
+
+    /**
+     * Decode the global transaction from the hash layout.
+     *
+     * @param hash the hash
+     * @return the global transaction do, null if the hash is empty
+     */
+    public static GlobalTransactionDO decodeGlobalHash(Map<String, String> hash) {
+        return GLOBAL_SCHEMA.fromHash(hash);
+    }
+
+    /**
+     * Encode the branch transaction into the hash layout.
+     *
+     * @param branchTransactionDO the branch transaction do
+     * @return the hash
+     */
+    public static Map<String, String> encodeBranchHash(BranchTransactionDO branchTransactionDO) {
+        return BRANCH_SCHEMA.toHash(branchTransactionDO);
+    }
+
+    /**
+     * Decode the branch transaction from the hash layout.
+     *
+     * @param hash the hash
+     * @return the branch transaction do, null if the hash is empty
+     */
+    public static BranchTransactionDO decodeBranchHash(Map<String, String> hash) {
+        return BRANCH_SCHEMA.fromHash(hash);
+    }
+
+    /**
+     * Encode the global transaction into the binary layout.
+     *
+     * @param globalTransactionDO the global transaction do
+     * @return the binary hash
+     */
+    public static Map<byte[], byte[]> encodeGlobalBinary(GlobalTransactionDO globalTransactionDO) {
+        return GLOBAL_SCHEMA.toBinaryHash(globalTransactionDO);
+    }
+
+    /**
+     * Decode the global transaction from the binary layout, a hash written in the hash layout is accepted too.
+     *
+     * @param hash the binary hash
+     * @return the global transaction do, null if the hash is empty
+     */
+    public static GlobalTransactionDO decodeGlobalBinary(Map<byte[], byte[]> hash) {
+        return GLOBAL_SCHEMA.fromBinaryHash(hash);
+    }
+
+    /**
+     * Encode the branch transaction into the binary layout.
+     *
+     * @param branchTransactionDO the branch transaction do
+     * @return the binary hash
+     */
+    public static Map<byte[], byte[]> encodeBranchBinary(BranchTransactionDO branchTransactionDO) {
+        return BRANCH_SCHEMA.toBinaryHash(branchTransactionDO);
+    }
+
+    /**
+     * Decode the branch transaction from the binary layout, a hash written in the hash layout is accepted too.
+     *
+     * @param hash the binary hash
+     * @return the branch transaction do, null if the hash is empty
+     */
+    public static BranchTransactionDO decodeBranchBinary(Map<byte[], byte[]> hash) {
+        return BRANCH_SCHEMA.fromBinaryHash(hash);
+    }
+
+    /**
+     * Encode the global transaction into one binary value.
+     *
+     * @param globalTransactionDO the global transaction do
+     * @return the bytes
+     */
+    public static byte[] encodeGlobal(GlobalTransactionDO globalTransactionDO) {
+        return GLOBAL_SCHEMA.encode(globalTransactionDO);
+    }
+
+    /**
+     * Decode the global transaction from one binary value.
+     *
+     * @param bytes the bytes
+     * @return the global transaction do
+     */
+    public static GlobalTransactionDO decodeGlobal(byte[] bytes) {
+        return GLOBAL_SCHEMA.decode(bytes);
+    }
+
+    /**
+     * Encode the branch transaction into one binary value.
+     *
+     * @param branchTransactionDO the branch transaction do
+     * @return the bytes
+     */
+    public static byte[] encodeBranch(BranchTransactionDO branchTransactionDO) {
+        return BRANCH_SCHEMA.encode(branchTransactionDO);
+    }
+
+    /**
+     * Decode the branch transaction from one binary value.
+     *
+     * @param bytes the bytes
+     * @return the branch transaction do
+     */
+    public static BranchTransactionDO decodeBranch(byte[] bytes) {
+        return BRANCH_SCHEMA.decode(bytes);
+    }
+
+    private enum Kind {
+        STRING, INTEGER, LONG, DATE
+    }
+
+    private static final class Field<T> {
+
+        private final String name;
+
+        private final byte[] nameBytes;
+
+        private final Kind kind;
+
+        private final Function<T, Object> getter;
+
+        private final BiConsumer<T, Object> setter;
+
+        /**
+         * whether the field is read or updated on its own, so it is kept as a string in the binary layout too
+         */
+        private final boolean standalone;
+
+        private Field(String name, Kind kind, Function<T, Object> getter, BiConsumer<T, Object> setter,
+                      boolean standalone) {
+            this.name = name;
+            this.nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            this.kind = kind;
+            this.getter = getter;
+            this.setter = setter;
+            this.standalone = standalone;
+        }
+
+        private String toText(T object) {
+            Object value = getter.apply(object);
+            if (value == null) {
+                return null;
+            }
+            return kind == Kind.DATE ? String.valueOf(((Date)value).getTime()) : value.toString();
+        }
+
+        private void fromText(T object, String text) {
+            switch (kind) {
+                case STRING:
+                    setter.accept(object, text);
+                    break;
+                case INTEGER:
+                    setter.accept(object, Integer.valueOf(text));
+                    break;
+                case LONG:
+                    setter.accept(object, Long.valueOf(text));
+                    break;
+                default:
+                    setter.accept(object, new Date(Long.parseLong(text)));
+            }
+        }
+    }
+
+    private static final class Schema<T> {
+
+        private final Supplier<T> factory;
+
+        private final Field<T>[] fields;
+
+        @SafeVarargs
+        private Schema(Supplier<T> factory, Field<T>... fields) {
+            this.factory = factory;
+            this.fields = fields;
+        }
+
+        private Map<String, String> toHash(T object) {
+            Map<String, String> hash = new HashMap<>(fields.length * 2);
+            for (Field<T> field : fields) {
+                String text = field.toText(object);
+                if (text != null) {
+                    hash.put(field.name, text);
+                } else if (field.kind != Kind.DATE) {
+                    // an absent field was written as empty by the bean reflection, keep it for the older readers
+                    hash.put(field.name, "");
+                }
+            }
+            return hash;
+        }
+
+        private T fromHash(Map<String, String> hash) {
+            if (CollectionUtils.isEmpty(hash)) {
+                return null;
+            }
+            T object = factory.get();
+            for (Field<T> field : fields) {
+                String text = hash.get(field.name);
+                if (StringUtils.isNotEmpty(text)) {
+                    field.fromText(object, text);
+                }
+            }
+            return object;
+        }
+
+        private Map<byte[], byte[]> toBinaryHash(T object) {
+            Map<byte[], byte[]> hash = new HashMap<>(8);
+            for (Field<T> field : fields) {
+                if (field.standalone) {
+                    String text = field.toText(object);
+                    hash.put(field.nameBytes, (text == null ? "" : text).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            hash.put(BINARY_FIELD_BYTES, encode(object));
+            return hash;
+        }
+
+        private T fromBinaryHash(Map<byte[], byte[]> hash) {
+            if (CollectionUtils.isEmpty(hash)) {
+                return null;
+            }
+            Map<String, byte[]> named = new HashMap<>(hash.size() * 2);
+            hash.forEach((name, value) -> named.put(new String(name, StandardCharsets.UTF_8), value));
+            byte[] binary = named.get(BINARY_FIELD);
+            if (binary == null) {
+                Map<String, String> texts = new HashMap<>(named.size() * 2);
+                named.forEach((name, value) -> texts.put(name, new String(value, StandardCharsets.UTF_8)));
+                return fromHash(texts);
+            }
+            T object = decode(binary);
+            for (Field<T> field : fields) {
+                byte[] value = field.standalone ? named.get(field.name) : null;
+                if (value != null && value.length > 0) {
+                    field.fromText(object, new String(value, StandardCharsets.UTF_8));
+                }
+            }
+            return object;
+        }
+
+        private byte[] encode(T object) {
+            ByteWriter writer = new ByteWriter();
+            writer.writeByte(VERSION);
+            long presence = 0;
+            Object[] values = new Object[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                values[i] = fields[i].getter.apply(object);
+                if (values[i] != null) {
+                    presence |= 1L << i;
+                }
+            }
+            writer.writeVarLong(presence);
+            for (int i = 0; i < fields.length; i++) {
+                Object value = values[i];
+                if (value == null) {
+                    continue;
+                }
+                switch (fields[i].kind) {
+                    case STRING:
+                        writer.writeString((String)value);
+                        break;
+                    case INTEGER:
+                        writer.writeVarLong(zigZag((Integer)value));
+                        break;
+                    case LONG:
+                        writer.writeVarLong(zigZag((Long)value));
+                        break;
+                    default:
+                        writer.writeVarLong(zigZag(((Date)value).getTime()));
+                }
+            }
+            return writer.toByteArray();
+        }
+
+        private T decode(byte[] bytes) {
+            ByteReader reader = new ByteReader(bytes);
+            byte version = reader.readByte();
+            if (version != VERSION) {
+                throw new StoreException("Unknown transaction DO encoding version:" + version);
+            }
+            long presence = reader.readVarLong();
+            T object = factory.get();
+            for (int i = 0; i < fields.length; i++) {
+                if ((presence & (1L << i)) == 0) {
+                    continue;
+                }
+                Field<T> field = fields[i];
+                switch (field.kind) {
+                    case STRING:
+                        field.setter.accept(object, reader.readString());
+                        break;
+                    case INTEGER:
+                        field.setter.accept(object, (int)unZigZag(reader.readVarLong()));
+                        break;
+                    case LONG:
+                        field.setter.accept(object, unZigZag(reader.readVarLong()));
+                        break;
+                    default:
+                        field.setter.accept(object, new Date(unZigZag(reader.readVarLong())));
+                }
+            }
+            return object;
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class ByteWriter {
+
+        private byte[] buffer = new byte[128];
+
+        private int position;
+
+        private void ensure(int length) {
+            if (position + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, position + length));
+            }
+        }
+
+        private void writeByte(byte value) {
+            ensure(1);
+            buffer[position++] = value;
+        }
+
+        private void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte)((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte)value;
+        }
+
+        private void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class ByteReader {
+
+        private final byte[] buffer;
+
+        private int position;
+
+        private ByteReader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private byte readByte() {
+            return buffer[position++];
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer[position++];
+                value |= (long)(b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new StoreException("Malformed varint in transaction DO");
+        }
+
+        private String readString() {
+            int length = (int)readVarLong();
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
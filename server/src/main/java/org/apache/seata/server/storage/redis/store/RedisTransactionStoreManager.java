@@ -35,7 +35,6 @@ import com.google.common.collect.ImmutableMap;
 import org.apache.seata.common.XID;
 import org.apache.seata.common.exception.RedisException;
 import org.apache.seata.common.exception.StoreException;
-import org.apache.seata.common.util.BeanUtils;
 import org.apache.seata.common.util.CollectionUtils;
 import org.apache.seata.common.util.StringUtils;
 import org.apache.seata.config.Configuration;
@@ -58,8 +57,12 @@ import org.slf4j.LoggerFactory;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.Transaction;
+import redis.clients.jedis.util.SafeEncoder;
 
 import static org.apache.seata.common.ConfigurationKeys.STORE_REDIS_QUERY_LIMIT;
+import static org.apache.seata.common.ConfigurationKeys.STORE_REDIS_SESSION_ENCODING;
+import static org.apache.seata.common.Constants.STORE_REDIS_SESSION_ENCODING_BINARY;
+import static org.apache.seata.common.DefaultValues.DEFAULT_STORE_REDIS_SESSION_ENCODING;
 import static org.apache.seata.common.DefaultValues.DEFAULT_QUERY_LIMIT;
 import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_BRANCH_APPLICATION_DATA;
 import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_BRANCH_GMT_MODIFIED;
@@ -114,6 +117,11 @@ public class RedisTransactionStoreManager extends AbstractTransactionStoreManage
      */
     protected int logQueryLimit;
 
+    /**
+     * Whether the transaction DOs are written in the binary layout.
+     */
+    protected boolean binaryEncoding;
+
     /**
      * Get the instance.
      */
@@ -136,12 +144,18 @@ public class RedisTransactionStoreManager extends AbstractTransactionStoreManage
         initGlobalMap();
         initBranchMap();
         initLogQueryLimit();
+        initSessionEncoding();
     }
 
     protected void initLogQueryLimit() {
         logQueryLimit = CONFIG.getInt(STORE_REDIS_QUERY_LIMIT, DEFAULT_QUERY_LIMIT);
     }
 
+    protected void initSessionEncoding() {
+        binaryEncoding = STORE_REDIS_SESSION_ENCODING_BINARY.equalsIgnoreCase(
+            CONFIG.getConfig(STORE_REDIS_SESSION_ENCODING, DEFAULT_STORE_REDIS_SESSION_ENCODING));
+    }
+
     /**
      * Map for LogOperation Global Operation
      */
@@ -202,7 +216,11 @@ public class RedisTransactionStoreManager extends AbstractTransactionStoreManage
             Date now = new Date();
             branchTransactionDO.setGmtCreate(now);
             branchTransactionDO.setGmtModified(now);
-            pipelined.hmset(branchKey, BeanUtils.objectToMap(branchTransactionDO));
+            if (binaryEncoding) {
+                pipelined.hmset(SafeEncoder.encode(branchKey), RedisTransactionDOCodec.encodeBranchBinary(branchTransactionDO));
+            } else {
+                pipelined.hmset(branchKey, RedisTransactionDOCodec.encodeBranchHash(branchTransactionDO));
+            }
             pipelined.rpush(branchListKey, branchKey);
             pipelined.sync();
             return true;
@@ -276,7 +294,11 @@ public class RedisTransactionStoreManager extends AbstractTransactionStoreManage
             Date now = new Date();
             globalTransactionDO.setGmtCreate(now);
             globalTransactionDO.setGmtModified(now);
-            pipelined.hmset(globalKey, BeanUtils.objectToMap(globalTransactionDO));
+            if (binaryEncoding) {
+                pipelined.hmset(SafeEncoder.encode(globalKey), RedisTransactionDOCodec.encodeGlobalBinary(globalTransactionDO));
+            } else {
+                pipelined.hmset(globalKey, RedisTransactionDOCodec.encodeGlobalHash(globalTransactionDO));
+            }
             String xid = globalTransactionDO.getXid();
             pipelined.rpush(buildGlobalStatus(globalTransactionDO.getStatus()), xid);
             pipelined.zadd(REDIS_SEATA_BEGIN_TRANSACTIONS_KEY,
@@ -418,11 +440,10 @@ public class RedisTransactionStoreManager extends AbstractTransactionStoreManage
         String transactionId = String.valueOf(XID.getTransactionId(xid));
         String globalKey = buildGlobalKeyByTransactionId(transactionId);
         try (Jedis jedis = JedisPooledFactory.getJedisInstance()) {
-            Map<String, String> map = jedis.hgetAll(globalKey);
-            if (CollectionUtils.isEmpty(map)) {
+            GlobalTransactionDO globalTransactionDO = readGlobalTransactionDO(jedis, globalKey);
+            if (globalTransactionDO == null) {
                 return null;
             }
-            GlobalTransactionDO globalTransactionDO = (GlobalTransactionDO) BeanUtils.mapToObject(map, GlobalTransactionDO.class);
             List<BranchTransactionDO> branchTransactionDOs = null;
             if (withBranchSessions) {
                 branchTransactionDOs = this.readBranchSessionByXid(jedis, xid);
@@ -490,16 +511,15 @@ public class RedisTransactionStoreManager extends AbstractTransactionStoreManage
             Set<String> values =
                 jedis.zrangeByScore(REDIS_SEATA_BEGIN_TRANSACTIONS_KEY, 0, System.currentTimeMillis(), 0,
                         (int) queryCount);
-            List<Map<String, String>> rep;
+            List<Object> rep;
             try (Pipeline pipeline = jedis.pipelined()) {
                 for (String value : values) {
-                    pipeline.hgetAll(value);
+                    hgetAll(pipeline, value);
                 }
-                rep = (List<Map<String, String>>) (List) pipeline.syncAndReturnAll();
+                rep = pipeline.syncAndReturnAll();
             }
             list = rep.stream().map(map -> {
-                GlobalTransactionDO globalTransactionDO = (GlobalTransactionDO) BeanUtils.mapToObject(map,
-                        GlobalTransactionDO.class);
+                GlobalTransactionDO globalTransactionDO = decodeGlobalTransactionDO(map);
                 if (globalTransactionDO != null) {
                     String xid = globalTransactionDO.getXid();
                     List<BranchTransactionDO> branchTransactionDOs = new ArrayList<>();
@@ -620,14 +640,11 @@ public class RedisTransactionStoreManager extends AbstractTransactionStoreManage
         String globalKey = buildGlobalKeyByTransactionId(transactionId);
         String xid = null;
         try (Jedis jedis = JedisPooledFactory.getJedisInstance()) {
-            Map<String, String> map = jedis.hgetAll(globalKey);
-            if (CollectionUtils.isEmpty(map)) {
+            GlobalTransactionDO globalTransactionDO = readGlobalTransactionDO(jedis, globalKey);
+            if (globalTransactionDO == null) {
                 return null;
             }
-            GlobalTransactionDO globalTransactionDO = (GlobalTransactionDO) BeanUtils.mapToObject(map, GlobalTransactionDO.class);
-            if (globalTransactionDO != null) {
-                xid = globalTransactionDO.getXid();
-            }
+            xid = globalTransactionDO.getXid();
             List<BranchTransactionDO> branchTransactionDOs = new ArrayList<>();
             if (withBranchSessions) {
                 branchTransactionDOs = this.readBranchSessionByXid(jedis, xid);
@@ -649,13 +666,12 @@ public class RedisTransactionStoreManager extends AbstractTransactionStoreManage
         List<String> branchKeys = lRange(jedis, branchListKey);
         if (CollectionUtils.isNotEmpty(branchKeys)) {
             try (Pipeline pipeline = jedis.pipelined()) {
-                branchKeys.stream().forEach(branchKey -> pipeline.hgetAll(branchKey));
+                branchKeys.stream().forEach(branchKey -> hgetAll(pipeline, branchKey));
                 List<Object> branchInfos = pipeline.syncAndReturnAll();
                 for (Object branchInfo : branchInfos) {
                     if (branchInfo != null) {
-                        Map<String, String> branchInfoMap = (Map<String, String>) branchInfo;
                         Optional<BranchTransactionDO> branchTransactionDO = Optional.ofNullable(
-                            (BranchTransactionDO) BeanUtils.mapToObject(branchInfoMap, BranchTransactionDO.class));
+                            decodeBranchTransactionDO(branchInfo));
                         branchTransactionDO.ifPresent(branchTransactionDOs::add);
                     }
                 }
@@ -667,6 +683,40 @@ public class RedisTransactionStoreManager extends AbstractTransactionStoreManage
         return branchTransactionDOs;
     }
 
+    /**
+     * Read the global transaction of the key in the configured layout
+     *
+     * @param jedis     the jedis
+     * @param globalKey the global key
+     * @return the global transaction do, null if not exist
+     */
+    private GlobalTransactionDO readGlobalTransactionDO(Jedis jedis, String globalKey) {
+        if (binaryEncoding) {
+            return RedisTransactionDOCodec.decodeGlobalBinary(jedis.hgetAll(SafeEncoder.encode(globalKey)));
+        }
+        return RedisTransactionDOCodec.decodeGlobalHash(jedis.hgetAll(globalKey));
+    }
+
+    private void hgetAll(Pipeline pipeline, String key) {
+        if (binaryEncoding) {
+            pipeline.hgetAll(SafeEncoder.encode(key));
+        } else {
+            pipeline.hgetAll(key);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private GlobalTransactionDO decodeGlobalTransactionDO(Object reply) {
+        return binaryEncoding ? RedisTransactionDOCodec.decodeGlobalBinary((Map<byte[], byte[]>)reply)
+            : RedisTransactionDOCodec.decodeGlobalHash((Map<String, String>)reply);
+    }
+
+    @SuppressWarnings("unchecked")
+    private BranchTransactionDO decodeBranchTransactionDO(Object reply) {
+        return binaryEncoding ? RedisTransactionDOCodec.decodeBranchBinary((Map<byte[], byte[]>)reply)
+            : RedisTransactionDOCodec.decodeBranchHash((Map<String, String>)reply);
+    }
+
     private List<String> lRange(Jedis jedis, String key) {
         List<String> keys = new ArrayList<>();
         List<String> values;
@@ -692,7 +742,8 @@ public class RedisTransactionStoreManager extends AbstractTransactionStoreManage
     }
 
     /**
-     * query globalSession by page
+     * query globalSession by page, the status lists are walked as one sequence
+     * and only the slices covered by the page are read
      *
      * @param pageNum
      * @param pageSize
@@ -700,25 +751,31 @@ public class RedisTransactionStoreManager extends AbstractTransactionStoreManage
      * @return List<GlobalSession>
      */
     public List<GlobalSession> findGlobalSessionByPage(int pageNum, int pageSize, boolean withBranchSessions) {
-        List<GlobalSession> globalSessions = new ArrayList<>();
-        int start = Math.max((pageNum - 1) * pageSize, 0);
-        int end = pageNum * pageSize - 1;
-
+        long offset = Math.max((long)(pageNum - 1) * pageSize, 0);
         List<String> statusKeys = convertStatusKeys(GlobalStatus.values());
-        Map<String, Integer> stringLongMap = calculateStatuskeysHasData(statusKeys);
-
-        List<List<String>> list = dogetXidsForTargetMap(stringLongMap, start, end, pageSize);
-
-        if (CollectionUtils.isNotEmpty(list)) {
-            List<String> xids = list.stream().flatMap(Collection::stream).collect(Collectors.toList());
-            xids.forEach(xid -> {
-                if (globalSessions.size() < pageSize) {
-                    GlobalSession globalSession = this.readSession(xid, withBranchSessions);
-                    if (globalSession != null) {
-                        globalSessions.add(globalSession);
-                    }
+        List<String> xids = new ArrayList<>(pageSize);
+        try (Jedis jedis = JedisPooledFactory.getJedisInstance()) {
+            List<Long> lengths;
+            try (Pipeline pipelined = jedis.pipelined()) {
+                statusKeys.forEach(pipelined::llen);
+                lengths = (List<Long>)(List)pipelined.syncAndReturnAll();
+            }
+            for (int i = 0; i < statusKeys.size() && xids.size() < pageSize; i++) {
+                long length = lengths.get(i);
+                if (offset >= length) {
+                    offset -= length;
+                    continue;
                 }
-            });
+                xids.addAll(jedis.lrange(statusKeys.get(i), offset, offset + pageSize - xids.size() - 1));
+                offset = 0;
+            }
+        }
+        List<GlobalSession> globalSessions = new ArrayList<>(xids.size());
+        for (String xid : xids) {
+            GlobalSession globalSession = this.readSession(xid, withBranchSessions);
+            if (globalSession != null) {
+                globalSessions.add(globalSession);
+            }
         }
         return globalSessions;
     }
@@ -826,24 +883,6 @@ public class RedisTransactionStoreManager extends AbstractTransactionStoreManage
         dogetXidsForTargetMapRecursive(targetMap, startNew, endNew, queryCount, listList);
     }
 
-    private List<List<String>> dogetXidsForTargetMap(Map<String, Integer> targetMap, int start, int end,
-        int totalCount) {
-        List<List<String>> listList = new ArrayList<>();
-        try (Jedis jedis = JedisPooledFactory.getJedisInstance()) {
-            for (String key : targetMap.keySet()) {
-                final List<String> list = jedis.lrange(key, start, end);
-                final long sum = listList.stream().mapToLong(List::size).sum();
-                if (list.size() > 0 && sum < totalCount) {
-                    listList.add(list);
-                } else {
-                    start = 0;
-                    end = totalCount - 1;
-                }
-            }
-        }
-        return listList;
-    }
-
     protected String buildBranchListKeyByXid(String xid) {
         return REDIS_SEATA_BRANCHES_PREFIX + xid;
     }
@@ -25,6 +25,8 @@ import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.constants.ConfigurationKeys;
 import org.apache.seata.server.env.ContainerHelper;
 import org.apache.seata.server.storage.file.FlushDiskMode;
+import org.apache.seata.server.storage.file.SessionLogMode;
+import org.apache.seata.server.storage.file.lock.LockTableMode;
 
 import static org.apache.seata.common.DefaultValues.SERVER_DEFAULT_STORE_MODE;
 import static org.apache.seata.core.constants.ConfigurationKeys.STORE_FILE_PREFIX;
@@ -72,6 +74,26 @@ public class StoreConfig {
      */
     private static final int DEFAULT_WRITE_BUFFER_SIZE = 1024 * 16;
 
+    /**
+     * Default 128.
+     */
+    private static final int DEFAULT_GROUP_COMMIT_BATCH_SIZE = 128;
+
+    /**
+     * Default 0, only the data arrived during the previous flush is batched.
+     */
+    private static final int DEFAULT_GROUP_COMMIT_MAX_WAIT_MICROS = 0;
+
+    /**
+     * Default 64mb.
+     */
+    private static final int DEFAULT_SEGMENT_SIZE = 1024 * 1024 * 64;
+
+    /**
+     * Default 16.
+     */
+    private static final int DEFAULT_MAX_SEGMENT_COUNT = 16;
+
     public static int getMaxBranchSessionSize() {
         return CONFIGURATION.getInt(STORE_FILE_PREFIX + "maxBranchSessionSize", DEFAULT_MAX_BRANCH_SESSION_SIZE);
     }
@@ -88,6 +110,31 @@ public class StoreConfig {
         return FlushDiskMode.findDiskMode(CONFIGURATION.getConfig(STORE_FILE_PREFIX + "flushDiskMode"));
     }
 
+    public static int getGroupCommitBatchSize() {
+        return Math.max(1, CONFIGURATION.getInt(STORE_FILE_PREFIX + "groupCommitBatchSize",
+            DEFAULT_GROUP_COMMIT_BATCH_SIZE));
+    }
+
+    public static int getGroupCommitMaxWaitMicros() {
+        return CONFIGURATION.getInt(STORE_FILE_PREFIX + "groupCommitMaxWaitMicros", DEFAULT_GROUP_COMMIT_MAX_WAIT_MICROS);
+    }
+
+    public static SessionLogMode getSessionLogMode() {
+        return SessionLogMode.findLogMode(CONFIGURATION.getConfig(STORE_FILE_PREFIX + "logMode"));
+    }
+
+    public static int getSegmentSize() {
+        return CONFIGURATION.getInt(STORE_FILE_PREFIX + "segmentSize", DEFAULT_SEGMENT_SIZE);
+    }
+
+    public static int getMaxSegmentCount() {
+        return CONFIGURATION.getInt(STORE_FILE_PREFIX + "maxSegmentCount", DEFAULT_MAX_SEGMENT_COUNT);
+    }
+
+    public static LockTableMode getLockTableMode() {
+        return LockTableMode.findLockTableMode(CONFIGURATION.getConfig(STORE_FILE_PREFIX + "lockTable"));
+    }
+
     /**
      * only for inner call
      *
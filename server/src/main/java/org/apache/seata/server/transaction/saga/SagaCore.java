@@ -18,6 +18,7 @@ package org.apache.seata.server.transaction.saga;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 import io.netty.channel.Channel;
 import org.apache.seata.common.util.CollectionUtils;
@@ -77,6 +78,19 @@ public class SagaCore extends AbstractCore {
         return response.getBranchStatus();
     }
 
+    @Override
+    protected CompletableFuture<BranchStatus> branchCommitSendAsync(BranchCommitRequest request,
+                                                                    GlobalSession globalSession,
+                                                                    BranchSession branchSession) {
+        CompletableFuture<BranchStatus> future = new CompletableFuture<>();
+        try {
+            future.complete(branchCommitSend(request, globalSession, branchSession));
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
     @Override
     public BranchStatus branchRollbackSend(BranchRollbackRequest request, GlobalSession globalSession,
                                            BranchSession branchSession) throws IOException, TimeoutException {
@@ -96,6 +110,19 @@ public class SagaCore extends AbstractCore {
         return response.getBranchStatus();
     }
 
+    @Override
+    protected CompletableFuture<BranchStatus> branchRollbackSendAsync(BranchRollbackRequest request,
+                                                                      GlobalSession globalSession,
+                                                                      BranchSession branchSession) {
+        CompletableFuture<BranchStatus> future = new CompletableFuture<>();
+        try {
+            future.complete(branchRollbackSend(request, globalSession, branchSession));
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
     @Override
     public boolean doGlobalCommit(GlobalSession globalSession, boolean retrying) throws TransactionException {
         try {
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.cluster.raft.serializer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.seata.core.model.BranchStatus;
+import org.apache.seata.core.model.GlobalStatus;
+import org.apache.seata.core.serializer.SerializerType;
+import org.apache.seata.server.cluster.raft.snapshot.session.RaftSessionSnapshot;
+import org.apache.seata.server.cluster.raft.sync.RaftSyncMessageSerializer;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBaseMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBatchSyncMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBranchSessionSyncMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftClusterMetadataMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftGlobalSessionSyncMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMessage;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMsgType;
+import org.apache.seata.server.cluster.raft.sync.msg.dto.BranchTransactionDTO;
+import org.apache.seata.server.cluster.raft.sync.msg.dto.GlobalTransactionDTO;
+import org.apache.seata.server.cluster.raft.sync.msg.dto.RaftClusterMetadata;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * The type Raft binary serializer test.
+ *
+ */
+@SpringBootTest
+public class RaftBinarySerializerTest {
+
+    private final RaftBinarySerializer serializer = new RaftBinarySerializer();
+
+    @Test
+    public void testSyncMessage() throws Exception {
+        GlobalTransactionDTO globalTransactionDTO = globalTransaction();
+        RaftSyncMessage raftSyncMessage = new RaftSyncMessage();
+        raftSyncMessage.setCodec(SerializerType.RAFT_BINARY.getCode());
+        raftSyncMessage.setBody(new RaftGlobalSessionSyncMsg(RaftSyncMsgType.ADD_GLOBAL_SESSION, globalTransactionDTO));
+
+        RaftSyncMessage decoded = RaftSyncMessageSerializer.decode(RaftSyncMessageSerializer.encode(raftSyncMessage));
+        RaftGlobalSessionSyncMsg msg = (RaftGlobalSessionSyncMsg)decoded.getBody();
+        Assertions.assertEquals(RaftSyncMsgType.ADD_GLOBAL_SESSION, msg.getMsgType());
+        GlobalTransactionDTO dto = msg.getGlobalSession();
+        Assertions.assertEquals(globalTransactionDTO.getXid(), dto.getXid());
+        Assertions.assertEquals(globalTransactionDTO.getTransactionId(), dto.getTransactionId());
+        Assertions.assertEquals(globalTransactionDTO.getStatus(), dto.getStatus());
+        Assertions.assertEquals(globalTransactionDTO.getTransactionName(), dto.getTransactionName());
+        Assertions.assertEquals(globalTransactionDTO.getTimeout(), dto.getTimeout());
+        Assertions.assertEquals(globalTransactionDTO.getBeginTime(), dto.getBeginTime());
+        Assertions.assertEquals(globalTransactionDTO.getGmtCreate(), dto.getGmtCreate());
+        Assertions.assertNull(dto.getApplicationData());
+    }
+
+    @Test
+    public void testBatchMessage() {
+        BranchTransactionDTO branchTransactionDTO = new BranchTransactionDTO("127.0.0.1:8091:2000042948", 2000042949L);
+        branchTransactionDTO.setTransactionId(2000042948L);
+        branchTransactionDTO.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        branchTransactionDTO.setBranchType("AT");
+        branchTransactionDTO.setStatus(BranchStatus.Registered.getCode());
+        branchTransactionDTO.setLockKey("t:1,2");
+        List<RaftBaseMsg> msgs = new ArrayList<>();
+        msgs.add(new RaftGlobalSessionSyncMsg(RaftSyncMsgType.ADD_GLOBAL_SESSION, globalTransaction()));
+        msgs.add(new RaftBranchSessionSyncMsg(RaftSyncMsgType.ADD_BRANCH_SESSION, branchTransactionDTO));
+        msgs.add(new RaftGlobalSessionSyncMsg(RaftSyncMsgType.REMOVE_GLOBAL_SESSION, null));
+
+        RaftBatchSyncMsg batch = serializer.deserialize(serializer.serialize(new RaftBatchSyncMsg(msgs)));
+        Assertions.assertEquals(RaftSyncMsgType.BATCH_SYNC_MSG, batch.getMsgType());
+        Assertions.assertEquals(3, batch.getMsgs().size());
+        BranchTransactionDTO dto = ((RaftBranchSessionSyncMsg)batch.getMsgs().get(1)).getBranchSession();
+        Assertions.assertEquals(2000042949L, dto.getBranchId());
+        Assertions.assertEquals("t:1,2", dto.getLockKey());
+        Assertions.assertEquals(BranchStatus.Registered.getCode(), dto.getStatus());
+        Assertions.assertNull(dto.getClientId());
+        Assertions.assertEquals(RaftSyncMsgType.REMOVE_GLOBAL_SESSION, batch.getMsgs().get(2).getMsgType());
+        Assertions.assertNull(((RaftGlobalSessionSyncMsg)batch.getMsgs().get(2)).getGlobalSession());
+    }
+
+    @Test
+    public void testUnknownMsgTypeCode() {
+        byte[] bytes = serializer.serialize(new RaftGlobalSessionSyncMsg(RaftSyncMsgType.ADD_GLOBAL_SESSION, globalTransaction()));
+        Assertions.assertEquals(0, bytes[2]);
+        bytes[2] = 99;
+        IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class, () -> serializer.deserialize(bytes));
+        Assertions.assertTrue(e.getMessage().contains("99"));
+    }
+
+    @Test
+    public void testSessionSnapshotAndOtherBodies() {
+        Map<byte[], List<byte[]>> globalSessions = new LinkedHashMap<>();
+        globalSessions.put(new byte[] {1, 2, 3}, Arrays.asList(new byte[] {4}, new byte[] {5, 6}));
+        globalSessions.put(new byte[] {7}, Collections.emptyList());
+        RaftSessionSnapshot sessionSnapshot = new RaftSessionSnapshot();
+        sessionSnapshot.setGlobalsessions(globalSessions);
+        RaftSessionSnapshot decoded = serializer.deserialize(serializer.serialize(sessionSnapshot));
+        List<Map.Entry<byte[], List<byte[]>>> entries = new ArrayList<>(decoded.getGlobalsessions().entrySet());
+        Assertions.assertEquals(2, entries.size());
+        Assertions.assertArrayEquals(new byte[] {1, 2, 3}, entries.get(0).getKey());
+        Assertions.assertArrayEquals(new byte[] {5, 6}, entries.get(0).getValue().get(1));
+        Assertions.assertTrue(entries.get(1).getValue().isEmpty());
+
+        RaftClusterMetadata metadata = new RaftClusterMetadata();
+        metadata.setTerm(3);
+        RaftClusterMetadataMsg metadataMsg = serializer.deserialize(serializer.serialize(new RaftClusterMetadataMsg(metadata)));
+        Assertions.assertEquals(3, metadataMsg.getRaftClusterMetadata().getTerm());
+
+        byte[] bytes = serializer.serialize(sessionSnapshot);
+        bytes[0] = RaftBinarySerializer.VERSION_1 + 1;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> serializer.deserialize(bytes));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> serializer.deserialize(Arrays.copyOf(serializer.serialize(sessionSnapshot), 6)));
+    }
+
+    private static GlobalTransactionDTO globalTransaction() {
+        GlobalTransactionDTO globalTransactionDTO = new GlobalTransactionDTO("127.0.0.1:8091:2000042948");
+        globalTransactionDTO.setTransactionId(2000042948L);
+        globalTransactionDTO.setStatus(GlobalStatus.Begin.getCode());
+        globalTransactionDTO.setApplicationId("order-service");
+        globalTransactionDTO.setTransactionServiceGroup("default_tx_group");
+        globalTransactionDTO.setTransactionName("createOrder");
+        globalTransactionDTO.setTimeout(60000);
+        globalTransactionDTO.setBeginTime(System.currentTimeMillis());
+        globalTransactionDTO.setGmtCreate(new Date());
+        return globalTransactionDTO;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.cluster.raft.serializer;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.seata.common.holder.ObjectHolder;
+import org.apache.seata.core.model.BranchStatus;
+import org.apache.seata.core.serializer.SerializerType;
+import org.apache.seata.server.cluster.raft.sync.RaftSyncMessageSerializer;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBranchSessionSyncMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMessage;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMsgType;
+import org.apache.seata.server.cluster.raft.sync.msg.dto.BranchTransactionDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.StandardEnvironment;
+
+import static org.apache.seata.common.Constants.OBJECT_KEY_SPRING_CONFIGURABLE_ENVIRONMENT;
+
+/**
+ * Compare the jackson serializer with {@link RaftBinarySerializer} on the raft log entry of a branch registration,
+ * from the sync message to the bytes appended to the log and back. The bytes of an entry of each codec are
+ * logged on setup, the encode benchmarks return them as well.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RaftSyncMessageSerializerBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RaftSyncMessageSerializerBenchmark.class);
+
+    @Param({"JACKSON", "RAFT_BINARY"})
+    private String codec;
+
+    private byte[] entry;
+
+    @Setup
+    public void setUp() throws IOException {
+        // the configuration is read from the spring environment, the defaults are used out of a server
+        if (ObjectHolder.INSTANCE.getObject(OBJECT_KEY_SPRING_CONFIGURABLE_ENVIRONMENT) == null) {
+            ObjectHolder.INSTANCE.setObject(OBJECT_KEY_SPRING_CONFIGURABLE_ENVIRONMENT, new StandardEnvironment());
+        }
+        entry = RaftSyncMessageSerializer.encode(newMessage());
+        LOGGER.info("{} bytes per entry: {}", codec, entry.length);
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        return RaftSyncMessageSerializer.encode(newMessage()).length;
+    }
+
+    @Benchmark
+    public Object decode() {
+        return RaftSyncMessageSerializer.decode(entry).getBody();
+    }
+
+    private RaftSyncMessage newMessage() {
+        BranchTransactionDTO branchTransactionDTO = new BranchTransactionDTO("192.168.1.1:8091:2000042948", 2000042949L);
+        branchTransactionDTO.setTransactionId(2000042948L);
+        branchTransactionDTO.setResourceGroupId("my_test_tx_group");
+        branchTransactionDTO.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        branchTransactionDTO.setBranchType("AT");
+        branchTransactionDTO.setStatus(BranchStatus.Registered.getCode());
+        branchTransactionDTO.setClientId("order-service:127.0.0.1:53412");
+        branchTransactionDTO.setLockKey("order_tbl:1001,1002");
+        branchTransactionDTO.setGmtCreate(new Date());
+        RaftSyncMessage raftSyncMessage = new RaftSyncMessage();
+        raftSyncMessage.setCodec(SerializerType.getByName(codec).getCode());
+        raftSyncMessage.setBody(new RaftBranchSessionSyncMsg(RaftSyncMsgType.ADD_BRANCH_SESSION, branchTransactionDTO));
+        return raftSyncMessage;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RaftSyncMessageSerializerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
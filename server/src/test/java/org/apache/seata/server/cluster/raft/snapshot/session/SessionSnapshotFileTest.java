@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.cluster.raft.snapshot.session;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import com.alipay.sofa.jraft.entity.LocalFileMetaOutter.LocalFileMeta;
+import com.alipay.sofa.jraft.entity.RaftOutter.SnapshotMeta;
+import com.alipay.sofa.jraft.storage.snapshot.Snapshot;
+import com.alipay.sofa.jraft.storage.snapshot.SnapshotReader;
+import com.alipay.sofa.jraft.storage.snapshot.SnapshotWriter;
+import com.google.protobuf.Message;
+import org.apache.seata.core.model.BranchType;
+import org.apache.seata.core.model.GlobalStatus;
+import org.apache.seata.server.session.GlobalSession;
+import org.apache.seata.server.session.SessionHelper;
+import org.apache.seata.server.storage.raft.session.RaftSessionManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * The type Session snapshot file test.
+ *
+ */
+@SpringBootTest
+public class SessionSnapshotFileTest {
+
+    private static final int CHUNKS = 4;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testSaveLinksUnchangedChunksAndLoad() throws IOException {
+        Map<String, GlobalSession> sessionMap = new HashMap<>();
+        for (int i = 0; i < 32; i++) {
+            GlobalSession globalSession = GlobalSession.createGlobalSession("test", "test", "test" + i, 60000);
+            globalSession.setStatus(GlobalStatus.Begin);
+            globalSession.add(
+                SessionHelper.newBranchByGlobal(globalSession, BranchType.AT, "resource", null, "test", "test"));
+            sessionMap.put(globalSession.getXid(), globalSession);
+        }
+        SessionSnapshotFile snapshotFile = new SessionSnapshotFile("test", CHUNKS);
+
+        TestSnapshot first = new TestSnapshot(dir.resolve("temp"), 1);
+        Assertions.assertTrue(snapshotFile.save(first, sessionMap).isOk());
+        Assertions.assertEquals(CHUNKS, first.listFiles().size());
+        Path firstPath = Files.move(dir.resolve("temp"), dir.resolve(Snapshot.JRAFT_SNAPSHOT_PREFIX + 1));
+
+        GlobalSession changed = sessionMap.values().iterator().next();
+        changed.setStatus(GlobalStatus.Committing);
+        String changedChunk = "session_" + Math.floorMod(changed.getXid().hashCode(), CHUNKS);
+
+        TestSnapshot second = new TestSnapshot(dir.resolve("temp"), 2);
+        Assertions.assertTrue(snapshotFile.save(second, sessionMap).isOk());
+        for (String name : second.listFiles()) {
+            boolean unchanged = !name.equals(changedChunk);
+            Assertions.assertEquals(unchanged, Files.isSameFile(firstPath.resolve(name), second.path.resolve(name)));
+            Assertions.assertEquals(unchanged, first.getFileMeta(name).equals(second.getFileMeta(name)));
+        }
+        Path secondPath = Files.move(dir.resolve("temp"), dir.resolve(Snapshot.JRAFT_SNAPSHOT_PREFIX + 2));
+
+        RaftSessionManager raftSessionManager = new RaftSessionManager("test-snapshot");
+        SessionSnapshotFile loaded = new SessionSnapshotFile("test", CHUNKS);
+        Assertions.assertTrue(loaded.load(new TestSnapshot(secondPath, 2, second.files).reader(), raftSessionManager));
+        Map<String, GlobalSession> loadedMap = raftSessionManager.getSessionMap();
+        Assertions.assertEquals(sessionMap.size(), loadedMap.size());
+        Assertions.assertEquals(GlobalStatus.Committing, loadedMap.get(changed.getXid()).getStatus());
+        loadedMap.values().forEach(session -> Assertions.assertEquals(1, session.getBranchSessions().size()));
+
+        // nothing changed since the loaded snapshot, every chunk is linked
+        TestSnapshot third = new TestSnapshot(dir.resolve("temp"), 3);
+        Assertions.assertTrue(loaded.save(third, loadedMap).isOk());
+        for (String name : third.listFiles()) {
+            Assertions.assertTrue(Files.isSameFile(secondPath.resolve(name), third.path.resolve(name)));
+        }
+    }
+
+    @Test
+    public void testApplicationDataChangeIsSaved() throws IOException {
+        Map<String, GlobalSession> sessionMap = new HashMap<>();
+        for (int i = 0; i < 8; i++) {
+            GlobalSession globalSession = GlobalSession.createGlobalSession("test", "test", "test" + i, 60000);
+            globalSession.setStatus(GlobalStatus.Begin);
+            globalSession.add(
+                SessionHelper.newBranchByGlobal(globalSession, BranchType.AT, "resource", null, "test", "test"));
+            sessionMap.put(globalSession.getXid(), globalSession);
+        }
+        SessionSnapshotFile snapshotFile = new SessionSnapshotFile("test", CHUNKS);
+        TestSnapshot first = new TestSnapshot(dir.resolve("temp"), 1);
+        Assertions.assertTrue(snapshotFile.save(first, sessionMap).isOk());
+        Path firstPath = Files.move(dir.resolve("temp"), dir.resolve(Snapshot.JRAFT_SNAPSHOT_PREFIX + 1));
+
+        // a branch report changes the application data only
+        GlobalSession changed = sessionMap.values().iterator().next();
+        changed.getBranchSessions().get(0).setApplicationData("{\"reported\":true}");
+        String changedChunk = "session_" + Math.floorMod(changed.getXid().hashCode(), CHUNKS);
+
+        TestSnapshot second = new TestSnapshot(dir.resolve("temp"), 2);
+        Assertions.assertTrue(snapshotFile.save(second, sessionMap).isOk());
+        Assertions.assertFalse(Files.isSameFile(firstPath.resolve(changedChunk), second.path.resolve(changedChunk)));
+        Assertions.assertNotEquals(first.getFileMeta(changedChunk), second.getFileMeta(changedChunk));
+    }
+
+    @Test
+    public void testOneChunkIsTheSingleFile() throws IOException {
+        Map<String, GlobalSession> sessionMap = new HashMap<>();
+        GlobalSession globalSession = GlobalSession.createGlobalSession("test", "test", "test", 60000);
+        globalSession.setStatus(GlobalStatus.Begin);
+        sessionMap.put(globalSession.getXid(), globalSession);
+        SessionSnapshotFile snapshotFile = new SessionSnapshotFile("test", 1);
+        TestSnapshot snapshot = new TestSnapshot(dir.resolve("single"), 1);
+        Assertions.assertTrue(snapshotFile.save(snapshot, sessionMap).isOk());
+        Assertions.assertEquals(Collections.singleton("session"), snapshot.listFiles());
+
+        RaftSessionManager raftSessionManager = new RaftSessionManager("test-single-snapshot");
+        Assertions.assertTrue(new SessionSnapshotFile("test", CHUNKS).load(snapshot.reader(), raftSessionManager));
+        Assertions.assertEquals(1, raftSessionManager.getSessionMap().size());
+    }
+
+    /**
+     * A snapshot kept in a local directory, both written and read.
+     */
+    private static class TestSnapshot extends SnapshotWriter {
+
+        private final Path path;
+
+        private final long index;
+
+        private final Map<String, Message> files;
+
+        TestSnapshot(Path path, long index) throws IOException {
+            this(Files.createDirectories(path), index, new HashMap<>());
+        }
+
+        TestSnapshot(Path path, long index, Map<String, Message> files) {
+            this.path = path;
+            this.index = index;
+            this.files = files;
+        }
+
+        @Override
+        public SnapshotMeta getCurrentMeta() {
+            return SnapshotMeta.newBuilder().setLastIncludedIndex(index).setLastIncludedTerm(1).build();
+        }
+
+        @Override
+        public boolean saveMeta(SnapshotMeta meta) {
+            return true;
+        }
+
+        @Override
+        public boolean addFile(String fileName, Message fileMeta) {
+            files.put(fileName, fileMeta == null ? LocalFileMeta.getDefaultInstance() : fileMeta);
+            return true;
+        }
+
+        @Override
+        public boolean removeFile(String fileName) {
+            return files.remove(fileName) != null;
+        }
+
+        @Override
+        public void close(boolean keepDataOnError) {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String getPath() {
+            return path.toString();
+        }
+
+        @Override
+        public Set<String> listFiles() {
+            return files.keySet();
+        }
+
+        @Override
+        public Message getFileMeta(String fileName) {
+            return files.get(fileName);
+        }
+
+        @Override
+        public boolean init(Void opts) {
+            return true;
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        SnapshotReader reader() {
+            return new SnapshotReader() {
+                @Override
+                public SnapshotMeta load() {
+                    return getCurrentMeta();
+                }
+
+                @Override
+                public String generateURIForCopy() {
+                    return null;
+                }
+
+                @Override
+                public void close() {
+                }
+
+                @Override
+                public boolean init(Void opts) {
+                    return true;
+                }
+
+                @Override
+                public void shutdown() {
+                }
+
+                @Override
+                public String getPath() {
+                    return path.toString();
+                }
+
+                @Override
+                public Set<String> listFiles() {
+                    return files.keySet();
+                }
+
+                @Override
+                public Message getFileMeta(String fileName) {
+                    return files.get(fileName);
+                }
+            };
+        }
+    }
+}
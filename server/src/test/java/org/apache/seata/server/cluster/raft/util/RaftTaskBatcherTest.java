@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.cluster.raft.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import com.alipay.sofa.jraft.Status;
+import com.alipay.sofa.jraft.entity.Task;
+import com.alipay.sofa.jraft.error.RaftError;
+import org.apache.seata.server.cluster.raft.sync.RaftSyncMessageSerializer;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBaseMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBatchSyncMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftBranchSessionSyncMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.RaftGlobalSessionSyncMsg;
+import org.apache.seata.server.cluster.raft.sync.msg.dto.BranchTransactionDTO;
+import org.apache.seata.server.cluster.raft.sync.msg.dto.GlobalTransactionDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMsgType.ADD_BRANCH_SESSION;
+import static org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMsgType.ADD_GLOBAL_SESSION;
+import static org.apache.seata.server.cluster.raft.sync.msg.RaftSyncMsgType.UPDATE_GLOBAL_SESSION_STATUS;
+
+/**
+ * The type Raft task batcher test.
+ *
+ */
+@SpringBootTest
+public class RaftTaskBatcherTest {
+
+    @Test
+    public void testMessagesAppliedInOneEntry() throws InterruptedException {
+        BlockingQueue<Task> tasks = new LinkedBlockingQueue<>();
+        RaftTaskBatcher batcher = new RaftTaskBatcher("batch-test", 16, 200, tasks::add);
+        List<String> completed = new ArrayList<>();
+        batcher.submit(new RaftGlobalSessionSyncMsg(ADD_GLOBAL_SESSION, new GlobalTransactionDTO("xid")),
+            status -> completed.add("begin:" + status.isOk()));
+        batcher.submit(new RaftBranchSessionSyncMsg(ADD_BRANCH_SESSION, new BranchTransactionDTO("xid", 1L)),
+            status -> completed.add("branch:" + status.isOk()));
+        batcher.submit(new RaftGlobalSessionSyncMsg(UPDATE_GLOBAL_SESSION_STATUS, new GlobalTransactionDTO("xid")),
+            status -> completed.add("status:" + status.isOk()));
+
+        Task task = tasks.poll(5, TimeUnit.SECONDS);
+        Assertions.assertNotNull(task);
+        RaftBaseMsg msg = (RaftBaseMsg)RaftSyncMessageSerializer.decode(task.getData().array()).getBody();
+        Assertions.assertTrue(msg instanceof RaftBatchSyncMsg);
+        List<RaftBaseMsg> msgs = ((RaftBatchSyncMsg)msg).getMsgs();
+        Assertions.assertEquals(3, msgs.size());
+        Assertions.assertEquals(ADD_GLOBAL_SESSION, msgs.get(0).getMsgType());
+        Assertions.assertEquals(1L, ((RaftBranchSessionSyncMsg)msgs.get(1)).getBranchSession().getBranchId());
+        Assertions.assertEquals("xid", ((RaftGlobalSessionSyncMsg)msgs.get(2)).getGlobalSession().getXid());
+
+        task.getDone().run(Status.OK());
+        Assertions.assertEquals(3, completed.size());
+        Assertions.assertEquals("begin:true", completed.get(0));
+        Assertions.assertEquals("status:true", completed.get(2));
+    }
+
+    @Test
+    public void testFailedEntryFailsEveryMessage() throws InterruptedException {
+        BlockingQueue<Task> tasks = new LinkedBlockingQueue<>();
+        RaftTaskBatcher batcher = new RaftTaskBatcher("batch-test", 2, 200, tasks::add);
+        List<Boolean> completed = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            batcher.submit(new RaftGlobalSessionSyncMsg(ADD_GLOBAL_SESSION, new GlobalTransactionDTO("xid" + i)),
+                status -> completed.add(status.isOk()));
+        }
+        Task first = tasks.poll(5, TimeUnit.SECONDS);
+        Task second = tasks.poll(5, TimeUnit.SECONDS);
+        Assertions.assertNotNull(first);
+        Assertions.assertNotNull(second);
+        // the batch size is reached, the last message is applied alone
+        Assertions.assertTrue(RaftSyncMessageSerializer.decode(second.getData().array())
+            .getBody() instanceof RaftGlobalSessionSyncMsg);
+        first.getDone().run(new Status(RaftError.EPERM, "not leader"));
+        Assertions.assertEquals(2, completed.size());
+        Assertions.assertFalse(completed.get(0));
+        Assertions.assertFalse(completed.get(1));
+    }
+
+    @Test
+    public void testShutdownFailsPendingMessages() throws InterruptedException {
+        BlockingQueue<Task> tasks = new LinkedBlockingQueue<>();
+        RaftTaskBatcher batcher = new RaftTaskBatcher("batch-test", 16, 0, tasks::add);
+        batcher.shutdown();
+        BlockingQueue<Status> completed = new LinkedBlockingQueue<>();
+        batcher.submit(new RaftGlobalSessionSyncMsg(ADD_GLOBAL_SESSION, new GlobalTransactionDTO("xid")), completed::add);
+        Status status = completed.poll(5, TimeUnit.SECONDS);
+        Assertions.assertNotNull(status);
+        Assertions.assertEquals(RaftError.EINTR, status.getRaftError());
+        Assertions.assertNull(tasks.poll(200, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.coordinator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.seata.common.holder.ObjectHolder;
+import org.apache.seata.core.exception.BranchTransactionException;
+import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.exception.TransactionExceptionCode;
+import org.apache.seata.core.model.BranchStatus;
+import org.apache.seata.server.session.BranchSession;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+
+import static org.apache.seata.common.Constants.OBJECT_KEY_SPRING_CONFIGURABLE_ENVIRONMENT;
+
+/**
+ * The type Branch request pipeline test.
+ *
+ */
+public class BranchRequestPipelineTest {
+
+    @BeforeAll
+    public static void setUp() {
+        // the server configuration is read from the spring environment, the defaults are used out of a server
+        if (ObjectHolder.INSTANCE.getObject(OBJECT_KEY_SPRING_CONFIGURABLE_ENVIRONMENT) == null) {
+            ObjectHolder.INSTANCE.setObject(OBJECT_KEY_SPRING_CONFIGURABLE_ENVIRONMENT, new StandardEnvironment());
+        }
+    }
+
+    @Test
+    public void testDispatchBoundedPerClient() throws TransactionException {
+        BranchRequestPipeline pipeline = new BranchRequestPipeline(2, 10);
+        List<BranchSession> branchSessions = Arrays.asList(branch(1, "r1", "c1"), branch(2, "r2", "c1"),
+            branch(3, "r3", "c1"), branch(4, "r1", "c2"));
+        List<CompletableFuture<BranchStatus>> sent = new ArrayList<>();
+        Map<Long, CompletableFuture<BranchStatus>> dispatched = pipeline.dispatch(branchSessions, branchSession -> {
+            CompletableFuture<BranchStatus> future = new CompletableFuture<>();
+            sent.add(future);
+            return future;
+        });
+        // the third request to c1 exceeds the bound and is left to the caller
+        Assertions.assertEquals(3, dispatched.size());
+        Assertions.assertFalse(dispatched.containsKey(3L));
+        Assertions.assertEquals(2, pipeline.inFlight("c1"));
+        Assertions.assertEquals(1, pipeline.inFlight("c2"));
+
+        sent.forEach(future -> future.complete(BranchStatus.PhaseTwo_Committed));
+        Assertions.assertEquals(0, pipeline.inFlight("c1"));
+        Assertions.assertEquals(0, pipeline.inFlight("c2"));
+        Assertions.assertEquals(BranchStatus.PhaseTwo_Committed, BranchRequestPipeline.await(dispatched.get(1L)));
+    }
+
+    @Test
+    public void testAwaitFailure() {
+        BranchRequestPipeline pipeline = new BranchRequestPipeline(1, 10);
+        Map<Long, CompletableFuture<BranchStatus>> dispatched = pipeline.dispatch(
+            Arrays.asList(branch(1, "r1", "c1"), branch(2, "r1", "c2")), branchSession -> {
+                if (branchSession.getBranchId() == 1L) {
+                    throw new IllegalStateException("channel closed");
+                }
+                CompletableFuture<BranchStatus> future = new CompletableFuture<>();
+                future.completeExceptionally(new BranchTransactionException(
+                    TransactionExceptionCode.FailedToSendBranchCommitRequest, "send failed"));
+                return future;
+            });
+        TransactionException e = Assertions.assertThrows(TransactionException.class,
+            () -> BranchRequestPipeline.await(dispatched.get(1L)));
+        Assertions.assertTrue(e.getCause() instanceof IllegalStateException);
+        e = Assertions.assertThrows(BranchTransactionException.class,
+            () -> BranchRequestPipeline.await(dispatched.get(2L)));
+        Assertions.assertEquals(TransactionExceptionCode.FailedToSendBranchCommitRequest, e.getCode());
+        Assertions.assertEquals(0, pipeline.inFlight("c1"));
+    }
+
+    @Test
+    public void testRounds() {
+        List<List<BranchSession>> rounds = BranchRequestPipeline.rounds(Arrays.asList(branch(5, "r1", "c1"),
+            branch(4, "r2", "c1"), branch(3, "r1", "c1"), branch(2, "r1", "c1"), branch(1, "r2", "c1")));
+        Assertions.assertEquals(3, rounds.size());
+        Assertions.assertEquals(Arrays.asList(5L, 4L), branchIds(rounds.get(0)));
+        Assertions.assertEquals(Arrays.asList(3L, 1L), branchIds(rounds.get(1)));
+        Assertions.assertEquals(Arrays.asList(2L), branchIds(rounds.get(2)));
+    }
+
+    private static List<Long> branchIds(List<BranchSession> branchSessions) {
+        List<Long> branchIds = new ArrayList<>();
+        branchSessions.forEach(branchSession -> branchIds.add(branchSession.getBranchId()));
+        return branchIds;
+    }
+
+    private static BranchSession branch(long branchId, String resourceId, String clientId) {
+        BranchSession branchSession = new BranchSession();
+        branchSession.setBranchId(branchId);
+        branchSession.setResourceId(resourceId);
+        branchSession.setClientId(clientId);
+        return branchSession;
+    }
+}
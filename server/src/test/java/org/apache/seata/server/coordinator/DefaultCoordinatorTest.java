@@ -36,6 +36,7 @@ import org.apache.seata.core.constants.ConfigurationKeys;
 import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.model.BranchStatus;
 import org.apache.seata.core.model.BranchType;
+import org.apache.seata.core.model.GlobalStatus;
 import org.apache.seata.core.protocol.RpcMessage;
 import org.apache.seata.core.protocol.transaction.BranchCommitRequest;
 import org.apache.seata.core.protocol.transaction.BranchCommitResponse;
@@ -141,6 +142,31 @@ public class DefaultCoordinatorTest {
     }
 
 
+    @Test
+    public void test_timeoutByTimingWheel() throws TransactionException, InterruptedException {
+        String xid = core.begin(applicationId, txServiceGroup, txName, 100);
+        Assertions.assertTrue(core.getTimeoutScheduler().isScheduled(xid));
+
+        GlobalSession globalSession = SessionHolder.findGlobalSession(xid);
+        for (int i = 0; i < 100
+            && (globalSession.getStatus() == GlobalStatus.Begin || core.getTimeoutScheduler().isScheduled(xid)); i++) {
+            Thread.sleep(20);
+        }
+        // the retry rollbacking task may have finished it already
+        Assertions.assertTrue(globalSession.getStatus() == GlobalStatus.TimeoutRollbacking
+            || globalSession.getStatus() == GlobalStatus.TimeoutRollbacked);
+        Assertions.assertFalse(core.getTimeoutScheduler().isScheduled(xid));
+        globalSession.end();
+    }
+
+    @Test
+    public void test_cancelTimeoutOnCommit() throws TransactionException {
+        String xid = core.begin(applicationId, txServiceGroup, txName, timeout);
+        Assertions.assertTrue(core.getTimeoutScheduler().isScheduled(xid));
+        core.commit(xid);
+        Assertions.assertFalse(core.getTimeoutScheduler().isScheduled(xid));
+    }
+
     @Test
     public void test_handleRetryRollbacking() throws TransactionException, InterruptedException {
 
@@ -17,9 +17,12 @@
 package org.apache.seata.server.coordinator;
 
 import java.util.Collection;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import org.apache.seata.common.store.SessionMode;
+import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.model.BranchStatus;
 import org.apache.seata.core.model.BranchType;
@@ -40,6 +43,8 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.ApplicationContext;
 
+import static org.apache.seata.common.ConfigurationKeys.ENABLE_PIPELINE_HANDLE_BRANCH_KEY;
+
 /**
  * The type Default core test.
  *
@@ -193,6 +198,34 @@ public class DefaultCoreTest {
         Assertions.assertEquals(globalSession.getStatus(), GlobalStatus.Committed);
     }
 
+    /**
+     * Do global commit of a saga annotation branch with the branch requests pipelined.
+     *
+     * @param xid the xid
+     * @throws Exception the exception
+     */
+    @ParameterizedTest
+    @MethodSource("xidProvider")
+    public void doGlobalCommitSagaAnnotationPipelineTest(String xid) throws Exception {
+        globalSession = SessionHolder.findGlobalSession(xid);
+        BranchSession branchSession = SessionHelper.newBranchByGlobal(globalSession, BranchType.SAGA_ANNOTATION,
+            resourceId, applicationData, null, clientId);
+        globalSession.addBranch(branchSession);
+        globalSession.changeBranchStatus(branchSession, BranchStatus.PhaseOne_Done);
+        CountingServerMessageSender countingServer = new CountingServerMessageSender();
+        ConfigurationFactory.getInstance().putConfig(ENABLE_PIPELINE_HANDLE_BRANCH_KEY, "true");
+        try {
+            DefaultCore pipelineCore = new DefaultCore(countingServer);
+            Assertions.assertTrue(pipelineCore.doGlobalCommit(globalSession, false));
+            Assertions.assertEquals(GlobalStatus.Committed, globalSession.getStatus());
+            // the saga annotation branch is committed by the tc alone, as without pipelining
+            Assertions.assertEquals(0, countingServer.sent.get());
+        } finally {
+            ConfigurationFactory.getInstance().putConfig(ENABLE_PIPELINE_HANDLE_BRANCH_KEY, "false");
+            core = new DefaultCore(remotingServer);
+        }
+    }
+
     /**
      * Do global commit test.
      *
@@ -353,6 +386,18 @@ public class DefaultCoreTest {
         }
     }
 
+    private static class CountingServerMessageSender extends DefaultCoordinatorTest.MockServerMessageSender {
+
+        private final AtomicInteger sent = new AtomicInteger();
+
+        @Override
+        public Object sendSyncRequest(String resourceId, String clientId, Object message, boolean tryOtherApp)
+            throws TimeoutException {
+            sent.incrementAndGet();
+            return super.sendSyncRequest(resourceId, clientId, message, tryOtherApp);
+        }
+    }
+
     private static class MockCore extends AbstractCore {
 
         private BranchStatus commitStatus;
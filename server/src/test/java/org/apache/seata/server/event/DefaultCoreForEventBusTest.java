@@ -143,10 +143,9 @@ public class DefaultCoreForEventBusTest {
             subscriber.setDownLatch(new CountDownLatch(1));
             core.begin("test_app_id", "default_group", "test_tran_name3", 0);
 
-            //sleep for check ->  DefaultCoordinator.timeoutCheck
+            //sleep for the timing wheel of DefaultCore to time out the transaction
             Thread.sleep(2000);
 
-            //at lease retry once because DefaultCoordinator.timeoutCheck is 1 second
             subscriber.downLatch.await(5000, TimeUnit.MILLISECONDS);
             Assertions.assertTrue(subscriber.getEventCounters().get(GlobalStatus.TimeoutRollbacking.name()).get() >= 1);
         } finally {
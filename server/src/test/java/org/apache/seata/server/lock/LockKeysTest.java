@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.lock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.seata.common.util.StringUtils;
+import org.apache.seata.core.lock.RowLock;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Lock keys test.
+ *
+ */
+public class LockKeysTest {
+
+    @Test
+    public void testParse() {
+        LockKeys lockKeys = LockKeys.parse("t1:1,2;t2:3");
+        Assertions.assertEquals(3, lockKeys.size());
+        Assertions.assertEquals(2, lockKeys.getTableCount());
+        Assertions.assertEquals("t1", lockKeys.getTableName(0));
+        Assertions.assertEquals(0, lockKeys.getTableStart(0));
+        Assertions.assertEquals(2, lockKeys.getTableEnd(0));
+        Assertions.assertEquals("t2", lockKeys.getTableName(1));
+        Assertions.assertEquals(2, lockKeys.getTableStart(1));
+        Assertions.assertEquals(3, lockKeys.getTableEnd(1));
+        Assertions.assertEquals("3", lockKeys.getPk(2));
+
+        Assertions.assertTrue(LockKeys.parse(null).isEmpty());
+        Assertions.assertTrue(LockKeys.parse(" ").isEmpty());
+        Assertions.assertTrue(LockKeys.parse("t1").isEmpty());
+    }
+
+    @Test
+    public void testSameRowLocksAsSplitting() {
+        String[] lockKeys = {"t1:1", "t1:1,2;t2:3", "t1:1,2;", "t1:1;;", "t1:1;;t2:2", "t1:1;t2;t3:3", "t1:1;t2:;t3:3",
+            "t1:1;t2: ;t3:3", "t1:1;t2:,,;t3:3", "t1:,1, ,2,", "t1:1:2;t2:3", ":1", "t1:1,2;t2:3,4;t3:5"};
+        for (String lockKey : lockKeys) {
+            List<RowLock> expected = split(lockKey);
+            List<RowLock> actual = LockKeys.parse(lockKey).toRowLocks("xid", 1L, 2L, "resource");
+            Assertions.assertEquals(expected.size(), actual.size(), lockKey);
+            for (int i = 0; i < expected.size(); i++) {
+                Assertions.assertEquals(expected.get(i).getTableName(), actual.get(i).getTableName(), lockKey);
+                Assertions.assertEquals(expected.get(i).getPk(), actual.get(i).getPk(), lockKey);
+            }
+        }
+    }
+
+    @Test
+    public void testRowLocksOfTables() {
+        LockKeys lockKeys = LockKeys.parse("t1:1,2;t2:3;t1_his:4");
+        List<RowLock> rowLocks = lockKeys.toRowLocks("xid", 1L, 2L, "resource", name -> name.contains("t1"));
+        Assertions.assertEquals(3, rowLocks.size());
+        Assertions.assertEquals("t1_his", rowLocks.get(2).getTableName());
+        Assertions.assertEquals("4", rowLocks.get(2).getPk());
+        Assertions.assertEquals("xid", rowLocks.get(2).getXid());
+        Assertions.assertEquals(1L, rowLocks.get(2).getTransactionId());
+        Assertions.assertEquals(2L, rowLocks.get(2).getBranchId());
+        Assertions.assertEquals("resource", rowLocks.get(2).getResourceId());
+
+        List<String> rows = new ArrayList<>();
+        lockKeys.forEach((tableName, pk) -> rows.add(tableName + ":" + pk));
+        Assertions.assertEquals("[t1:1, t1:2, t2:3, t1_his:4]", rows.toString());
+    }
+
+    /**
+     * The row locks built by splitting the lock key.
+     */
+    private static List<RowLock> split(String lockKey) {
+        List<RowLock> locks = new ArrayList<>();
+        for (String tableGroupedLockKey : lockKey.split(";")) {
+            int idx = tableGroupedLockKey.indexOf(":");
+            if (idx < 0) {
+                return locks;
+            }
+            String mergedPKs = tableGroupedLockKey.substring(idx + 1);
+            if (StringUtils.isBlank(mergedPKs)) {
+                return locks;
+            }
+            String[] pks = mergedPKs.split(",");
+            if (pks.length == 0) {
+                return locks;
+            }
+            for (String pk : pks) {
+                if (StringUtils.isNotBlank(pk)) {
+                    RowLock rowLock = new RowLock();
+                    rowLock.setTableName(tableGroupedLockKey.substring(0, idx));
+                    rowLock.setPk(pk);
+                    locks.add(rowLock);
+                }
+            }
+        }
+        return locks;
+    }
+}
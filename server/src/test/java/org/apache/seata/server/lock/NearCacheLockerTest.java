@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.lock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.apache.seata.core.lock.AbstractLocker;
+import org.apache.seata.core.lock.RowLock;
+import org.apache.seata.core.model.LockStatus;
+import org.apache.seata.core.store.LockDO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Near cache locker test.
+ *
+ */
+public class NearCacheLockerTest {
+
+    @Test
+    public void testLookupAfterAcquireAndRelease() {
+        StoreLocker store = new StoreLocker();
+        NearCacheLocker locker = new NearCacheLocker(store, 1024);
+
+        List<RowLock> rowLocks = Collections.singletonList(rowLock("xid-1", 1L, "1"));
+        // never locked, answered by the near cache
+        Assertions.assertTrue(locker.isLockable(Collections.singletonList(rowLock("xid-2", null, "1"))));
+        Assertions.assertEquals(0, store.lockableQueries);
+
+        Assertions.assertTrue(locker.acquireLock(rowLocks));
+        Assertions.assertFalse(locker.isLockable(Collections.singletonList(rowLock("xid-2", null, "1"))));
+        Assertions.assertEquals(1, store.lockableQueries);
+
+        Assertions.assertTrue(locker.releaseLock("xid-1", 1L));
+        Assertions.assertTrue(locker.isLockable(Collections.singletonList(rowLock("xid-2", null, "1"))));
+        Assertions.assertEquals(1, store.lockableQueries);
+        Assertions.assertEquals(2.0 / 3, locker.getHitRate(), 0.0001);
+    }
+
+    @Test
+    public void testFailedAcquireAndGlobalRelease() {
+        StoreLocker store = new StoreLocker();
+        NearCacheLocker locker = new NearCacheLocker(store, 1024);
+
+        Assertions.assertTrue(locker.acquireLock(Collections.singletonList(rowLock("xid-1", 1L, "1"))));
+        Assertions.assertTrue(locker.acquireLock(Collections.singletonList(rowLock("xid-1", 2L, "2"))));
+        // the conflicting acquisition leaves nothing behind
+        Assertions.assertFalse(locker.acquireLock(Collections.singletonList(rowLock("xid-2", 3L, "1"))));
+        Assertions.assertTrue(locker.releaseLock("xid-1"));
+        Assertions.assertTrue(locker.isLockable(Collections.singletonList(rowLock("xid-2", null, "1"))));
+        Assertions.assertTrue(locker.isLockable(Collections.singletonList(rowLock("xid-2", null, "2"))));
+        Assertions.assertEquals(0, store.lockableQueries);
+    }
+
+    @Test
+    public void testWarmUpFromStore() {
+        StoreLocker store = new StoreLocker();
+        Assertions.assertTrue(store.acquireLock(Collections.singletonList(rowLock("xid-1", 1L, "1"))));
+        NearCacheLocker locker = new NearCacheLocker(store, 1024);
+        Assertions.assertFalse(locker.isLockable(Collections.singletonList(rowLock("xid-2", null, "1"))));
+        Assertions.assertEquals(1, store.lockableQueries);
+        Assertions.assertTrue(locker.releaseLock("xid-1", 1L));
+        Assertions.assertTrue(locker.isLockable(Collections.singletonList(rowLock("xid-2", null, "1"))));
+    }
+
+    @Test
+    public void testFilterFalsePositivesOnly() {
+        RowLockFilter filter = new RowLockFilter(64);
+        List<int[]> added = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int[] slots = filter.slots("row-" + i);
+            filter.add(slots);
+            added.add(slots);
+        }
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertTrue(filter.mightContain("row-" + i));
+        }
+        added.forEach(filter::remove);
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertFalse(filter.mightContain("row-" + i));
+        }
+    }
+
+    private static RowLock rowLock(String xid, Long branchId, String pk) {
+        RowLock rowLock = new RowLock();
+        rowLock.setXid(xid);
+        rowLock.setBranchId(branchId);
+        rowLock.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        rowLock.setTableName("t");
+        rowLock.setPk(pk);
+        return rowLock;
+    }
+
+    /**
+     * A lock store kept in memory.
+     */
+    private static class StoreLocker extends AbstractLocker implements HeldLockScanner {
+
+        private final Map<String, LockDO> locks = new ConcurrentHashMap<>();
+
+        private int lockableQueries;
+
+        @Override
+        public boolean acquireLock(List<RowLock> rowLocks) {
+            return acquireLock(rowLocks, true, false);
+        }
+
+        @Override
+        public boolean acquireLock(List<RowLock> rowLocks, boolean autoCommit, boolean skipCheckLock) {
+            List<LockDO> lockDOs = convertToLockDO(rowLocks);
+            for (LockDO lockDO : lockDOs) {
+                LockDO held = locks.get(lockDO.getRowKey());
+                if (held != null && !held.getXid().equals(lockDO.getXid())) {
+                    return false;
+                }
+            }
+            lockDOs.forEach(lockDO -> locks.putIfAbsent(lockDO.getRowKey(), lockDO));
+            return true;
+        }
+
+        @Override
+        public boolean releaseLock(String xid, Long branchId) {
+            locks.values().removeIf(lockDO -> lockDO.getBranchId().equals(branchId));
+            return true;
+        }
+
+        @Override
+        public boolean releaseLock(String xid) {
+            locks.values().removeIf(lockDO -> lockDO.getXid().equals(xid));
+            return true;
+        }
+
+        @Override
+        public boolean isLockable(List<RowLock> rowLocks) {
+            lockableQueries++;
+            for (LockDO lockDO : convertToLockDO(rowLocks)) {
+                LockDO held = locks.get(lockDO.getRowKey());
+                if (held != null && !held.getXid().equals(lockDO.getXid())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void updateLockStatus(String xid, LockStatus lockStatus) {
+        }
+
+        @Override
+        public void scanHeldLocks(Consumer<LockDO> consumer) {
+            locks.values().forEach(consumer);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.lock.db;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.seata.common.ConfigurationKeys;
+import org.apache.seata.common.exception.StoreException;
+import org.apache.seata.common.util.IOUtil;
+import org.apache.seata.config.ConfigurationFactory;
+import org.apache.seata.core.exception.BranchTransactionException;
+import org.apache.seata.core.exception.TransactionExceptionCode;
+import org.apache.seata.core.model.LockStatus;
+import org.apache.seata.core.store.LockDO;
+import org.apache.seata.server.storage.db.lock.DataBaseLockBatcher;
+import org.apache.seata.server.storage.db.lock.LockStoreDataBaseDAO;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * The type Data base lock batcher test.
+ *
+ */
+@SpringBootTest
+public class DataBaseLockBatcherTest {
+
+    static LockStoreDataBaseDAO dataBaseLockStoreDAO = null;
+
+    static DataBaseLockBatcher lockBatcher = null;
+
+    static BasicDataSource dataSource = null;
+
+    @BeforeAll
+    public static void start(ApplicationContext context) {
+        dataSource = new BasicDataSource();
+        dataSource.setDriverClassName("org.h2.Driver");
+        dataSource.setUrl("jdbc:h2:./db_store/lock_batch");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+
+        ConfigurationFactory.getInstance().putConfig(ConfigurationKeys.STORE_DB_TYPE, "h2");
+        ConfigurationFactory.getInstance().putConfig(ConfigurationKeys.LOCK_DB_TABLE, "lock_table");
+        dataBaseLockStoreDAO = new LockStoreDataBaseDAO(dataSource);
+        lockBatcher = new DataBaseLockBatcher(dataBaseLockStoreDAO, 64, 1);
+
+        Connection conn = null;
+        Statement stmt = null;
+        try {
+            conn = dataSource.getConnection();
+            stmt = conn.createStatement();
+            stmt.execute("drop table if exists lock_table");
+            stmt.execute("CREATE TABLE lock_table ( xid varchar(96) ,  transaction_id long , branch_id long, resource_id varchar(32) ,table_name varchar(32) ,pk varchar(32) ,  row_key  varchar(128) primary key not null , status  integer , gmt_create TIMESTAMP(6) ,gmt_modified TIMESTAMP(6) ) ");
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            IOUtil.close(stmt, conn);
+        }
+    }
+
+    @Test
+    public void testConcurrentAcquire() throws Exception {
+        int branches = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(branches);
+        CountDownLatch startGate = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < branches; i++) {
+                String xid = "batch-xid:" + i;
+                List<LockDO> lockDOs = Arrays.asList(lock(xid, i, "own-" + i), lock(xid, i, "shared"));
+                results.add(executor.submit(() -> {
+                    startGate.await();
+                    return lockBatcher.acquireLock(lockDOs, true, false);
+                }));
+            }
+            startGate.countDown();
+            int winners = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    winners++;
+                }
+            }
+            // the shared row is granted to exactly one branch, the others leave no lock behind
+            Assertions.assertEquals(1, winners);
+            Assertions.assertEquals(2, count("select count(1) from lock_table where xid like 'batch-xid:%'"));
+        } finally {
+            executor.shutdownNow();
+            unLockByXidPrefix("batch-xid:");
+        }
+    }
+
+    @Test
+    public void testReentrantAndFailFast() {
+        String xid = "fail-fast-xid:1";
+        LockDO lockDO = lock(xid, 1, "fail-fast-row");
+        Assertions.assertTrue(lockBatcher.acquireLock(Collections.singletonList(lockDO), true, false));
+        // acquired again by the same global transaction
+        Assertions.assertTrue(lockBatcher.acquireLock(Collections.singletonList(lock(xid, 2, "fail-fast-row")), true, false));
+
+        dataBaseLockStoreDAO.updateLockStatus(xid, LockStatus.Rollbacking);
+        List<LockDO> conflict = Collections.singletonList(lock("fail-fast-xid:2", 3, "fail-fast-row"));
+        Assertions.assertFalse(lockBatcher.acquireLock(conflict, true, false));
+        StoreException e = Assertions.assertThrows(StoreException.class,
+            () -> lockBatcher.acquireLock(conflict, false, false));
+        Assertions.assertEquals(TransactionExceptionCode.LockKeyConflictFailFast,
+            ((BranchTransactionException)e.getCause()).getCode());
+        Assertions.assertTrue(dataBaseLockStoreDAO.unLock(xid));
+    }
+
+    @Test
+    public void testHolderQueryIsChunked() throws Exception {
+        ProbeDataSource probe = new ProbeDataSource(Integer.MAX_VALUE);
+        DataBaseLockBatcher batcher = new DataBaseLockBatcher(new LockStoreDataBaseDAO(probe.dataSource()), 64, 1);
+        try {
+            // the last row of the third branch is in the second chunk of the merged check
+            Assertions.assertTrue(dataBaseLockStoreDAO.acquireLock(
+                Collections.singletonList(lock("chunk-xid:foreign", 0, "chunk-2-599")), true, false));
+            List<Boolean> results = acquireMerged(batcher, probe, 3, 600, "chunk");
+            Assertions.assertEquals(Arrays.asList(true, true, false), results);
+            // the two merged branches check 1200 row keys, at most 1000 per statement
+            Assertions.assertEquals(1000, probe.maxCheckedRowKeys.get());
+            Assertions.assertEquals(1200, count("select count(1) from lock_table where xid in ('chunk-xid:0', 'chunk-xid:1')"));
+        } finally {
+            unLockByXidPrefix("chunk-xid:");
+        }
+    }
+
+    @Test
+    public void testSqlErrorFallsBackToAcquireAlone() throws Exception {
+        // a check of more than one branch fails, as a db rejecting a large statement would
+        ProbeDataSource probe = new ProbeDataSource(2);
+        DataBaseLockBatcher batcher = new DataBaseLockBatcher(new LockStoreDataBaseDAO(probe.dataSource()), 64, 1);
+        try {
+            List<Boolean> results = acquireMerged(batcher, probe, 3, 2, "fallback");
+            Assertions.assertEquals(Arrays.asList(true, true, true), results);
+            Assertions.assertEquals(4, probe.maxCheckedRowKeys.get());
+            Assertions.assertEquals(6, count("select count(1) from lock_table where xid like 'fallback-xid:%'"));
+        } finally {
+            unLockByXidPrefix("fallback-xid:");
+        }
+    }
+
+    /**
+     * Acquire the locks of the branches, the first one holds the stripe until the others are queued behind it,
+     * so the others are merged into one batch.
+     */
+    private static List<Boolean> acquireMerged(DataBaseLockBatcher batcher, ProbeDataSource probe, int branches,
+                                               int rows, String prefix) throws Exception {
+        CountDownLatch firstEntered = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        probe.gate.set(new CountDownLatch[] {firstEntered, releaseFirst});
+        ExecutorService executor = Executors.newFixedThreadPool(branches);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            List<Thread> waiters = Collections.synchronizedList(new ArrayList<>());
+            for (int i = 0; i < branches; i++) {
+                List<LockDO> lockDOs = new ArrayList<>();
+                for (int r = 0; r < rows; r++) {
+                    lockDOs.add(lock(prefix + "-xid:" + i, i, prefix + "-" + i + "-" + r));
+                }
+                boolean first = i == 0;
+                futures.add(executor.submit(() -> {
+                    if (!first) {
+                        waiters.add(Thread.currentThread());
+                    }
+                    return batcher.acquireLock(lockDOs, true, false);
+                }));
+                if (first) {
+                    firstEntered.await();
+                }
+            }
+            // the others are queued once they wait for the stripe held by the first
+            while (waiters.size() < branches - 1
+                || waiters.stream().anyMatch(thread -> thread.getState() != Thread.State.WAITING)) {
+                Thread.sleep(10);
+            }
+            releaseFirst.countDown();
+            List<Boolean> results = new ArrayList<>();
+            for (Future<Boolean> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Wraps the test data source, it records the row keys of the largest lock check,
+     * fails the checks of more row keys than allowed, and may hold the first connection on a gate.
+     */
+    private static class ProbeDataSource {
+
+        private final int maxAllowedRowKeys;
+
+        private final AtomicInteger maxCheckedRowKeys = new AtomicInteger();
+
+        private final AtomicReference<CountDownLatch[]> gate = new AtomicReference<>();
+
+        ProbeDataSource(int maxAllowedRowKeys) {
+            this.maxAllowedRowKeys = maxAllowedRowKeys;
+        }
+
+        DataSource dataSource() {
+            return (DataSource)Proxy.newProxyInstance(getClass().getClassLoader(), new Class[] {DataSource.class},
+                (proxy, method, args) -> {
+                    if ("getConnection".equals(method.getName())) {
+                        CountDownLatch[] latches = gate.getAndSet(null);
+                        if (latches != null) {
+                            latches[0].countDown();
+                            latches[1].await();
+                        }
+                        return connection(dataSource.getConnection());
+                    }
+                    return invoke(method, dataSource, args);
+                });
+        }
+
+        private Connection connection(Connection target) {
+            return (Connection)Proxy.newProxyInstance(getClass().getClassLoader(), new Class[] {Connection.class},
+                (proxy, method, args) -> {
+                    if ("prepareStatement".equals(method.getName()) && args.length == 1
+                        && ((String)args[0]).contains("row_key in")) {
+                        int rowKeys = ((String)args[0]).replaceAll("[^?]", "").length();
+                        maxCheckedRowKeys.accumulateAndGet(rowKeys, Math::max);
+                        if (rowKeys > maxAllowedRowKeys) {
+                            throw new SQLException("too many row keys: " + rowKeys);
+                        }
+                    }
+                    return invoke(method, target, args);
+                });
+        }
+
+        private static Object invoke(Method method, Object target, Object[] args)
+            throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static LockDO lock(String xid, long branchId, String rowKey) {
+        LockDO lock = new LockDO();
+        lock.setResourceId("abc");
+        lock.setXid(xid);
+        lock.setTransactionId(123L);
+        lock.setBranchId(branchId);
+        lock.setRowKey(rowKey);
+        lock.setPk(rowKey);
+        lock.setTableName("t");
+        return lock;
+    }
+
+    private static int count(String sql) throws SQLException {
+        Connection conn = null;
+        ResultSet rs = null;
+        try {
+            conn = dataSource.getConnection();
+            rs = conn.createStatement().executeQuery(sql);
+            rs.next();
+            return rs.getInt(1);
+        } finally {
+            IOUtil.close(rs, conn);
+        }
+    }
+
+    private static void unLockByXidPrefix(String prefix) throws SQLException {
+        Connection conn = null;
+        Statement stmt = null;
+        try {
+            conn = dataSource.getConnection();
+            stmt = conn.createStatement();
+            stmt.execute("delete from lock_table where xid like '" + prefix + "%'");
+        } finally {
+            IOUtil.close(stmt, conn);
+        }
+    }
+
+    @AfterAll
+    public static void clearDataResource() throws SQLException {
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+}
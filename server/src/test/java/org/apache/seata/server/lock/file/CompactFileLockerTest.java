@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.lock.file;
+
+import org.apache.seata.common.ConfigurationKeys;
+import org.apache.seata.common.XID;
+import org.apache.seata.common.exception.StoreException;
+import org.apache.seata.common.holder.ObjectHolder;
+import org.apache.seata.common.util.UUIDGenerator;
+import org.apache.seata.config.ConfigurationCache;
+import org.apache.seata.core.model.BranchType;
+import org.apache.seata.core.model.LockStatus;
+import org.apache.seata.server.session.BranchSession;
+import org.apache.seata.server.storage.file.lock.CompactFileLocker;
+import org.apache.seata.server.storage.file.lock.FileLockManager;
+import org.apache.seata.server.storage.file.lock.FileLocker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+
+import static org.apache.seata.common.Constants.OBJECT_KEY_SPRING_CONFIGURABLE_ENVIRONMENT;
+import static org.apache.seata.common.DefaultValues.DEFAULT_TX_GROUP;
+
+/**
+ * The type Compact file locker test.
+ *
+ */
+public class CompactFileLockerTest {
+
+    private static final String LOCK_TABLE_KEY = ConfigurationKeys.STORE_FILE_PREFIX + "lockTable";
+
+    private FileLockManager lockManager;
+
+    @BeforeAll
+    public static void setUp() {
+        // the server configuration is read from the spring environment, the defaults are used out of a server
+        if (ObjectHolder.INSTANCE.getObject(OBJECT_KEY_SPRING_CONFIGURABLE_ENVIRONMENT) == null) {
+            ObjectHolder.INSTANCE.setObject(OBJECT_KEY_SPRING_CONFIGURABLE_ENVIRONMENT, new StandardEnvironment());
+        }
+        System.setProperty(LOCK_TABLE_KEY, "compact");
+        ConfigurationCache.clear();
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        System.clearProperty(LOCK_TABLE_KEY);
+        ConfigurationCache.clear();
+    }
+
+    @BeforeEach
+    public void init() {
+        lockManager = new FileLockManager();
+    }
+
+    @AfterEach
+    public void clean() throws Exception {
+        lockManager.cleanAllLocks();
+    }
+
+    @Test
+    public void testLockTableSwitch() {
+        BranchSession branchSession = newBranchSession(UUIDGenerator.generateUUID(), "t:1");
+        Assertions.assertTrue(lockManager.getLocker(branchSession) instanceof CompactFileLocker);
+        System.setProperty(LOCK_TABLE_KEY, "bucket");
+        ConfigurationCache.clear();
+        try {
+            Assertions.assertTrue(new FileLockManager().getLocker(branchSession) instanceof FileLocker);
+        } finally {
+            System.setProperty(LOCK_TABLE_KEY, "compact");
+            ConfigurationCache.clear();
+        }
+    }
+
+    @Test
+    public void testAcquireAndRelease() throws Exception {
+        BranchSession branchSession1 = newBranchSession(UUIDGenerator.generateUUID(), "t:1,2;t2:3");
+        BranchSession branchSession2 = newBranchSession(UUIDGenerator.generateUUID(), "t:2");
+
+        Assertions.assertTrue(lockManager.acquireLock(branchSession1));
+        Assertions.assertTrue(lockManager.isLockHolder(branchSession1));
+        Assertions.assertFalse(lockManager.acquireLock(branchSession2));
+        Assertions.assertFalse(lockManager.isLockHolder(branchSession2));
+        Assertions.assertFalse(lockManager.isLockable(branchSession2.getXid(), branchSession2.getResourceId(), "t:2"));
+        Assertions.assertTrue(lockManager.isLockable(branchSession2.getXid(), branchSession2.getResourceId(), "t:4"));
+
+        Assertions.assertTrue(lockManager.releaseLock(branchSession1));
+        Assertions.assertFalse(lockManager.isLockHolder(branchSession1));
+        Assertions.assertTrue(lockManager.acquireLock(branchSession2));
+        Assertions.assertTrue(lockManager.releaseLock(branchSession2));
+    }
+
+    @Test
+    public void testConflictReleaseAcquired() throws Exception {
+        BranchSession branchSession1 = newBranchSession(UUIDGenerator.generateUUID(), "t:3");
+        BranchSession branchSession2 = newBranchSession(UUIDGenerator.generateUUID(), "t:1,2,3");
+        BranchSession branchSession3 = newBranchSession(UUIDGenerator.generateUUID(), "t:1,2");
+
+        Assertions.assertTrue(lockManager.acquireLock(branchSession1));
+        Assertions.assertFalse(lockManager.acquireLock(branchSession2));
+        // the rows acquired before the conflict have been released
+        Assertions.assertTrue(lockManager.acquireLock(branchSession3));
+    }
+
+    @Test
+    public void testFailFastOnRollbacking() throws Exception {
+        BranchSession branchSession1 = newBranchSession(UUIDGenerator.generateUUID(), "t:1");
+        BranchSession branchSession2 = newBranchSession(UUIDGenerator.generateUUID(), "t:1");
+
+        Assertions.assertTrue(lockManager.acquireLock(branchSession1));
+        branchSession1.setLockStatus(LockStatus.Rollbacking);
+        Assertions.assertThrows(StoreException.class, () -> lockManager.acquireLock(branchSession2, false, false));
+    }
+
+    private static BranchSession newBranchSession(long transactionId, String lockKey) {
+        BranchSession branchSession = new BranchSession();
+        branchSession.setXid(XID.generateXID(transactionId));
+        branchSession.setBranchId(UUIDGenerator.generateUUID());
+        branchSession.setTransactionId(transactionId);
+        branchSession.setClientId("c1");
+        branchSession.setResourceGroupId(DEFAULT_TX_GROUP);
+        branchSession.setResourceId("jdbc:mysql://127.0.0.1/seata");
+        branchSession.setLockKey(lockKey);
+        branchSession.setBranchType(BranchType.AT);
+        return branchSession;
+    }
+}
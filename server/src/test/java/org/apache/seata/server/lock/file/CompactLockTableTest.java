@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.lock.file;
+
+import org.apache.seata.server.storage.file.lock.CompactLockTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.apache.seata.server.storage.file.lock.CompactLockTable.NO_HOLDER;
+
+/**
+ * The type Compact lock table test.
+ *
+ */
+public class CompactLockTableTest {
+
+    @Test
+    public void testLockAndUnlock() {
+        CompactLockTable table = new CompactLockTable(16);
+        long key = table.fingerprint("jdbc:mysql://127.0.0.1/seata", "t_order", "1");
+        Assertions.assertEquals(NO_HOLDER, table.tryLock(key, 100L, 1L));
+        // reentrant for the same transaction
+        Assertions.assertEquals(NO_HOLDER, table.tryLock(key, 100L, 2L));
+        Assertions.assertEquals(1L, table.tryLock(key, 200L, 3L));
+        Assertions.assertEquals(100L, table.getHolderTransactionId(key));
+        Assertions.assertEquals(1L, table.getHolderBranchId(key));
+        // only the holding branch can release
+        Assertions.assertFalse(table.unlock(key, 2L));
+        Assertions.assertTrue(table.unlock(key, 1L));
+        Assertions.assertEquals(NO_HOLDER, table.getHolderTransactionId(key));
+        Assertions.assertEquals(NO_HOLDER, table.tryLock(key, 200L, 3L));
+        Assertions.assertEquals(1, table.size());
+    }
+
+    @Test
+    public void testFingerprint() {
+        CompactLockTable table = new CompactLockTable();
+        long key = table.fingerprint("res1", "t_order", "1");
+        Assertions.assertEquals(key, table.fingerprint("res1", "t_order", "1"));
+        Assertions.assertNotEquals(key, table.fingerprint("res2", "t_order", "1"));
+        Assertions.assertNotEquals(key, table.fingerprint("res1", "t_stock", "1"));
+        Assertions.assertNotEquals(key, table.fingerprint("res1", "t_order", "2"));
+    }
+
+    @Test
+    public void testGrowAndDelete() {
+        CompactLockTable table = new CompactLockTable(16);
+        int count = 100000;
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = table.fingerprint("res", "t_order", String.valueOf(i));
+            Assertions.assertEquals(NO_HOLDER, table.tryLock(keys[i], 100L, i + 1));
+        }
+        Assertions.assertEquals(count, table.size());
+        for (int i = 0; i < count; i += 2) {
+            Assertions.assertTrue(table.unlock(keys[i], i + 1));
+        }
+        Assertions.assertEquals(count / 2, table.size());
+        for (int i = 0; i < count; i++) {
+            long expected = i % 2 == 0 ? NO_HOLDER : i + 1;
+            Assertions.assertEquals(expected, table.getHolderBranchId(keys[i]));
+        }
+        table.clear();
+        Assertions.assertEquals(0, table.size());
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.lock.file;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.seata.common.XID;
+import org.apache.seata.common.holder.ObjectHolder;
+import org.apache.seata.core.lock.Locker;
+import org.apache.seata.core.lock.RowLock;
+import org.apache.seata.core.model.BranchType;
+import org.apache.seata.server.session.BranchSession;
+import org.apache.seata.server.storage.file.lock.CompactFileLocker;
+import org.apache.seata.server.storage.file.lock.FileLocker;
+import org.apache.seata.server.storage.file.lock.LockTableMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.env.StandardEnvironment;
+
+import static org.apache.seata.common.Constants.OBJECT_KEY_SPRING_CONFIGURABLE_ENVIRONMENT;
+
+/**
+ * Compare the bucket lock map of {@link FileLocker} with the {@link CompactFileLocker}
+ * while many row locks are already held. Run with gc profiler to compare the allocation rate.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class LockTableBenchmark {
+
+    private static final String RESOURCE_ID = "jdbc:mysql://127.0.0.1:3306/seata";
+
+    private static final AtomicLong ID = new AtomicLong(1);
+
+    @Param({"bucket", "compact"})
+    private String lockTable;
+
+    @Param({"100000"})
+    private int heldRows;
+
+    @Param({"10"})
+    private int rowsPerBranch;
+
+    private final List<BranchSession> heldBranches = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // the server configuration is read from the spring environment
+        ObjectHolder.INSTANCE.setObject(OBJECT_KEY_SPRING_CONFIGURABLE_ENVIRONMENT, new StandardEnvironment());
+        int branches = heldRows / rowsPerBranch;
+        for (int i = 0; i < branches; i++) {
+            BranchSession branchSession = newBranchSession();
+            newLocker(branchSession).acquireLock(rowLocks(branchSession, "t_held", (long)i * rowsPerBranch));
+            heldBranches.add(branchSession);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        newLocker(null).cleanAllLocks();
+        heldBranches.clear();
+    }
+
+    @Benchmark
+    public boolean acquireAndRelease() {
+        BranchSession branchSession = newBranchSession();
+        List<RowLock> rowLocks = rowLocks(branchSession, "t_order", branchSession.getBranchId() * rowsPerBranch);
+        Locker locker = newLocker(branchSession);
+        boolean locked = locker.acquireLock(rowLocks);
+        locker.releaseLock(rowLocks);
+        return locked;
+    }
+
+    @Benchmark
+    public boolean isLockable() {
+        BranchSession branchSession = newBranchSession();
+        return newLocker(branchSession).isLockable(rowLocks(branchSession, "t_held", 0));
+    }
+
+    private Locker newLocker(BranchSession branchSession) {
+        return LockTableMode.findLockTableMode(lockTable) == LockTableMode.COMPACT
+            ? new CompactFileLocker(branchSession) : new FileLocker(branchSession);
+    }
+
+    private BranchSession newBranchSession() {
+        long id = ID.getAndIncrement();
+        BranchSession branchSession = new BranchSession(BranchType.AT);
+        branchSession.setTransactionId(id);
+        branchSession.setBranchId(id);
+        branchSession.setXid(XID.generateXID(id));
+        branchSession.setResourceId(RESOURCE_ID);
+        return branchSession;
+    }
+
+    private List<RowLock> rowLocks(BranchSession branchSession, String tableName, long fromPk) {
+        List<RowLock> rowLocks = new ArrayList<>(rowsPerBranch);
+        for (int i = 0; i < rowsPerBranch; i++) {
+            RowLock rowLock = new RowLock();
+            rowLock.setXid(branchSession.getXid());
+            rowLock.setTransactionId(branchSession.getTransactionId());
+            rowLock.setBranchId(branchSession.getBranchId());
+            rowLock.setResourceId(RESOURCE_ID);
+            rowLock.setTableName(tableName);
+            rowLock.setPk(String.valueOf(fromPk + i));
+            rowLocks.add(rowLock);
+        }
+        return rowLocks;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LockTableBenchmark.class.getSimpleName()).build()).run();
+    }
+}
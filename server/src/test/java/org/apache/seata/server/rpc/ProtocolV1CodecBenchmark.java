@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.rpc;
+
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.apache.seata.common.holder.ObjectHolder;
+import org.apache.seata.core.compressor.Compressor;
+import org.apache.seata.core.compressor.CompressorFactory;
+import org.apache.seata.core.compressor.CompressorType;
+import org.apache.seata.core.model.BranchType;
+import org.apache.seata.core.protocol.ProtocolConstants;
+import org.apache.seata.core.protocol.RpcMessage;
+import org.apache.seata.core.protocol.transaction.BranchCommitRequest;
+import org.apache.seata.core.rpc.netty.v1.ProtocolDecoderV1;
+import org.apache.seata.core.rpc.netty.v1.ProtocolEncoderV1;
+import org.apache.seata.core.serializer.Serializer;
+import org.apache.seata.core.serializer.SerializerServiceLoader;
+import org.apache.seata.core.serializer.SerializerType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.env.StandardEnvironment;
+
+import static org.apache.seata.common.Constants.OBJECT_KEY_SPRING_CONFIGURABLE_ENVIRONMENT;
+
+/**
+ * Compare the buffer serialization of {@link ProtocolEncoderV1} and {@link ProtocolDecoderV1}
+ * with serializing the body into byte arrays and copying them into the frame, as the codec did before.
+ * Run with gc profiler to compare the allocation rate.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ProtocolV1CodecBenchmark {
+
+    @Param({"SEATA", "PROTOBUF", "KRYO"})
+    private String serializer;
+
+    @Param({"NONE", "GZIP"})
+    private String compressor;
+
+    private ProtocolEncoderV1 encoder;
+
+    private ProtocolDecoderV1 decoder;
+
+    private RpcMessage rpcMessage;
+
+    private ByteBuf frame;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // the server configuration is read from the spring environment
+        ObjectHolder.INSTANCE.setObject(OBJECT_KEY_SPRING_CONFIGURABLE_ENVIRONMENT, new StandardEnvironment());
+        encoder = new ProtocolEncoderV1();
+        decoder = new ProtocolDecoderV1();
+        BranchCommitRequest request = new BranchCommitRequest();
+        request.setXid("192.168.1.1:8091:2000042948");
+        request.setBranchId(2000042949L);
+        request.setBranchType(BranchType.AT);
+        request.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        request.setApplicationData("{\"autoCommit\":false}");
+        rpcMessage = new RpcMessage();
+        rpcMessage.setId(1);
+        rpcMessage.setMessageType(ProtocolConstants.MSGTYPE_RESQUEST_SYNC);
+        rpcMessage.setCodec(SerializerType.valueOf(serializer).getCode());
+        rpcMessage.setCompressor(CompressorType.valueOf(compressor).getCode());
+        rpcMessage.setBody(request);
+        frame = PooledByteBufAllocator.DEFAULT.directBuffer();
+        encoder.encode(rpcMessage, frame);
+    }
+
+    @Benchmark
+    public int encode() {
+        ByteBuf out = PooledByteBufAllocator.DEFAULT.directBuffer();
+        try {
+            encoder.encode(rpcMessage, out);
+            return out.readableBytes();
+        } finally {
+            out.release();
+        }
+    }
+
+    @Benchmark
+    public int encodeArray() {
+        ByteBuf out = PooledByteBufAllocator.DEFAULT.directBuffer();
+        try {
+            Serializer bodySerializer = SerializerServiceLoader.load(SerializerType.getByCode(rpcMessage.getCodec()),
+                ProtocolConstants.VERSION_1);
+            Compressor bodyCompressor = CompressorFactory.getCompressor(rpcMessage.getCompressor());
+            out.writerIndex(ProtocolConstants.V1_HEAD_LENGTH);
+            out.writeBytes(bodyCompressor.compress(bodySerializer.serialize(rpcMessage.getBody())));
+            return out.readableBytes();
+        } finally {
+            out.release();
+        }
+    }
+
+    @Benchmark
+    public Object decode() {
+        return decoder.decodeFrame(frame.duplicate());
+    }
+
+    @Benchmark
+    public Object decodeArray() {
+        ByteBuf in = frame.duplicate();
+        in.skipBytes(ProtocolConstants.V1_HEAD_LENGTH);
+        byte[] body = new byte[in.readableBytes()];
+        in.readBytes(body);
+        Serializer bodySerializer = SerializerServiceLoader.load(SerializerType.getByCode(rpcMessage.getCodec()),
+            ProtocolConstants.VERSION_1);
+        return bodySerializer.deserialize(CompressorFactory.getCompressor(rpcMessage.getCompressor()).decompress(body));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProtocolV1CodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
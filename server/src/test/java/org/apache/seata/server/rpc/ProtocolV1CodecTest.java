@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.rpc;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.apache.seata.core.compressor.CompressorFactory;
+import org.apache.seata.core.compressor.CompressorType;
+import org.apache.seata.core.model.BranchType;
+import org.apache.seata.core.protocol.ProtocolConstants;
+import org.apache.seata.core.protocol.RpcMessage;
+import org.apache.seata.core.protocol.transaction.BranchCommitRequest;
+import org.apache.seata.core.rpc.netty.v1.ProtocolDecoderV1;
+import org.apache.seata.core.rpc.netty.v1.ProtocolEncoderV1;
+import org.apache.seata.core.serializer.SerializerServiceLoader;
+import org.apache.seata.core.serializer.SerializerType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * The type Protocol v1 codec test.
+ *
+ */
+@SpringBootTest
+public class ProtocolV1CodecTest {
+
+    private static ProtocolEncoderV1 encoder;
+
+    private static ProtocolDecoderV1 decoder;
+
+    @BeforeAll
+    public static void setUp(ApplicationContext context) {
+        encoder = new ProtocolEncoderV1();
+        decoder = new ProtocolDecoderV1();
+    }
+
+    @Test
+    public void testBufferCodecKeepsTheFrame() {
+        for (SerializerType serializerType : new SerializerType[] {SerializerType.SEATA, SerializerType.PROTOBUF,
+            SerializerType.KRYO}) {
+            // lz4 is not a buffer compressor, its body still goes through the byte array
+            for (CompressorType compressorType : new CompressorType[] {CompressorType.NONE, CompressorType.GZIP,
+                CompressorType.LZ4}) {
+                RpcMessage rpcMessage = newRpcMessage(serializerType, compressorType);
+                ByteBuf out = PooledByteBufAllocator.DEFAULT.directBuffer();
+                try {
+                    encoder.encode(rpcMessage, out);
+                    // the same frame as serializing and compressing into a byte array
+                    byte[] body = CompressorFactory.getCompressor(compressorType.getCode()).compress(
+                        SerializerServiceLoader.load(serializerType, ProtocolConstants.VERSION_1).serialize(rpcMessage.getBody()));
+                    Assertions.assertEquals(out.getInt(3), out.readableBytes());
+                    Assertions.assertEquals(out.getShort(7) + body.length, out.readableBytes(),
+                        serializerType + " " + compressorType);
+
+                    RpcMessage decoded = decoder.decodeFrame(out);
+                    Assertions.assertEquals(0, out.readableBytes());
+                    Assertions.assertEquals(rpcMessage.getId(), decoded.getId());
+                    Assertions.assertEquals("v", decoded.getHead("k"));
+                    BranchCommitRequest request = (BranchCommitRequest)decoded.getBody();
+                    Assertions.assertEquals("127.0.0.1:8091:123", request.getXid());
+                    Assertions.assertEquals(456L, request.getBranchId());
+                    Assertions.assertEquals(BranchType.AT, request.getBranchType());
+                } finally {
+                    out.release();
+                }
+            }
+        }
+    }
+
+    private static RpcMessage newRpcMessage(SerializerType serializerType, CompressorType compressorType) {
+        BranchCommitRequest request = new BranchCommitRequest();
+        request.setXid("127.0.0.1:8091:123");
+        request.setBranchId(456L);
+        request.setBranchType(BranchType.AT);
+        request.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        request.setApplicationData("{\"autoCommit\":false}");
+        RpcMessage rpcMessage = new RpcMessage();
+        rpcMessage.setId(789);
+        rpcMessage.setMessageType(ProtocolConstants.MSGTYPE_RESQUEST_SYNC);
+        rpcMessage.setCodec(serializerType.getCode());
+        rpcMessage.setCompressor(compressorType.getCode());
+        rpcMessage.putHead("k", "v");
+        rpcMessage.setBody(request);
+        return rpcMessage;
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.rpc;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import org.apache.seata.common.holder.ObjectHolder;
+import org.apache.seata.common.thread.NamedThreadFactory;
+import org.apache.seata.core.compressor.CompressorType;
+import org.apache.seata.core.model.BranchType;
+import org.apache.seata.core.protocol.AbstractResultMessage;
+import org.apache.seata.core.protocol.ProtocolConstants;
+import org.apache.seata.core.protocol.ResultCode;
+import org.apache.seata.core.protocol.RpcMessage;
+import org.apache.seata.core.protocol.transaction.BranchRegisterRequest;
+import org.apache.seata.core.protocol.transaction.BranchRegisterResponse;
+import org.apache.seata.core.protocol.transaction.GlobalBeginRequest;
+import org.apache.seata.core.protocol.transaction.GlobalBeginResponse;
+import org.apache.seata.core.rpc.TransportProtocolType;
+import org.apache.seata.core.rpc.netty.NettyTransport;
+import org.apache.seata.core.rpc.netty.v1.ProtocolDecoderV1;
+import org.apache.seata.core.rpc.netty.v1.ProtocolEncoderV1;
+import org.apache.seata.core.serializer.SerializerType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.env.StandardEnvironment;
+
+import static org.apache.seata.common.Constants.OBJECT_KEY_SPRING_CONFIGURABLE_ENVIRONMENT;
+
+/**
+ * Compare the round trips of {@link GlobalBeginRequest} and {@link BranchRegisterRequest} over the loopback
+ * on each {@link NettyTransport}. The throughput mode gives the requests per second,
+ * the sample time mode gives the p99 latency. A transport not available on the machine fails its setup.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class TransportLoopbackBenchmark {
+
+    @Param({"NIO", "EPOLL", "IO_URING"})
+    private String transport;
+
+    @Param({"GLOBAL_BEGIN", "BRANCH_REGISTER"})
+    private String request;
+
+    private final AtomicInteger ids = new AtomicInteger();
+
+    private final Map<Integer, CompletableFuture<Object>> pending = new ConcurrentHashMap<>();
+
+    private EventLoopGroup serverGroup;
+
+    private EventLoopGroup clientGroup;
+
+    private Channel serverChannel;
+
+    private Channel clientChannel;
+
+    private Object body;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        // the server configuration is read from the spring environment
+        ObjectHolder.INSTANCE.setObject(OBJECT_KEY_SPRING_CONFIGURABLE_ENVIRONMENT, new StandardEnvironment());
+        NettyTransport nettyTransport = NettyTransport.valueOf(transport);
+        if (!nettyTransport.isAvailable()) {
+            throw new IllegalStateException(transport + " transport is not available on this machine");
+        }
+        body = "GLOBAL_BEGIN".equals(request) ? globalBeginRequest() : branchRegisterRequest();
+        serverGroup = nettyTransport.newEventLoopGroup(2, new NamedThreadFactory("loopbackServer", 2));
+        clientGroup = nettyTransport.newEventLoopGroup(1, new NamedThreadFactory("loopbackClient", 1));
+        ServerBootstrap serverBootstrap = new ServerBootstrap().group(serverGroup)
+            .channel(nettyTransport.getServerChannelClass(TransportProtocolType.TCP))
+            .childHandler(new ChannelInitializer<Channel>() {
+                @Override
+                protected void initChannel(Channel ch) {
+                    ch.pipeline().addLast(new ProtocolDecoderV1(), new ProtocolEncoderV1(), new Responder());
+                }
+            });
+        Bootstrap bootstrap = new Bootstrap().group(clientGroup)
+            .channel(nettyTransport.getChannelClass(TransportProtocolType.TCP))
+            .handler(new ChannelInitializer<Channel>() {
+                @Override
+                protected void initChannel(Channel ch) {
+                    ch.pipeline().addLast(new ProtocolDecoderV1(), new ProtocolEncoderV1(), new Receiver());
+                }
+            });
+        nettyTransport.getSocketOptions(true, true, 0).forEach((option, value) -> {
+            serverBootstrap.childOption(option(option), value);
+            bootstrap.option(option(option), value);
+        });
+        serverChannel = serverBootstrap.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0)).sync()
+            .channel();
+        clientChannel = bootstrap.connect(serverChannel.localAddress()).sync().channel();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (clientChannel != null) {
+            clientChannel.close();
+        }
+        if (serverChannel != null) {
+            serverChannel.close();
+        }
+        if (clientGroup != null) {
+            clientGroup.shutdownGracefully();
+        }
+        if (serverGroup != null) {
+            serverGroup.shutdownGracefully();
+        }
+    }
+
+    @Benchmark
+    public Object roundTrip() throws Exception {
+        int id = ids.incrementAndGet();
+        CompletableFuture<Object> response = new CompletableFuture<>();
+        pending.put(id, response);
+        RpcMessage rpcMessage = new RpcMessage();
+        rpcMessage.setId(id);
+        rpcMessage.setMessageType(ProtocolConstants.MSGTYPE_RESQUEST_SYNC);
+        rpcMessage.setCodec(SerializerType.SEATA.getCode());
+        rpcMessage.setCompressor(CompressorType.NONE.getCode());
+        rpcMessage.setBody(body);
+        clientChannel.writeAndFlush(rpcMessage);
+        return response.get(5, TimeUnit.SECONDS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ChannelOption<Object> option(ChannelOption<?> option) {
+        return (ChannelOption<Object>)option;
+    }
+
+    private static GlobalBeginRequest globalBeginRequest() {
+        GlobalBeginRequest request = new GlobalBeginRequest();
+        request.setTransactionName("loopback-benchmark");
+        request.setTimeout(60000);
+        return request;
+    }
+
+    private static BranchRegisterRequest branchRegisterRequest() {
+        BranchRegisterRequest request = new BranchRegisterRequest();
+        request.setXid("192.168.1.1:8091:2000042948");
+        request.setBranchType(BranchType.AT);
+        request.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        request.setLockKey("t_order:1,2,3");
+        request.setApplicationData("{\"autoCommit\":false}");
+        return request;
+    }
+
+    /**
+     * Answer each request as the coordinator would, without touching any session.
+     */
+    private static class Responder extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            RpcMessage rpcMessage = (RpcMessage)msg;
+            AbstractResultMessage result;
+            if (rpcMessage.getBody() instanceof GlobalBeginRequest) {
+                GlobalBeginResponse response = new GlobalBeginResponse();
+                response.setXid("192.168.1.1:8091:2000042948");
+                result = response;
+            } else {
+                BranchRegisterResponse response = new BranchRegisterResponse();
+                response.setBranchId(2000042949L);
+                result = response;
+            }
+            result.setResultCode(ResultCode.Success);
+            RpcMessage response = new RpcMessage();
+            response.setId(rpcMessage.getId());
+            response.setMessageType(ProtocolConstants.MSGTYPE_RESPONSE);
+            response.setCodec(rpcMessage.getCodec());
+            response.setCompressor(rpcMessage.getCompressor());
+            response.setBody(result);
+            ctx.writeAndFlush(response);
+        }
+    }
+
+    private class Receiver extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            RpcMessage rpcMessage = (RpcMessage)msg;
+            CompletableFuture<Object> response = pending.remove(rpcMessage.getId());
+            if (response != null) {
+                response.complete(rpcMessage.getBody());
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TransportLoopbackBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -43,6 +43,7 @@ import org.apache.seata.server.util.StoreUtil;
 import org.apache.commons.lang.time.DateUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -270,6 +271,42 @@ public class FileSessionManagerTest {
         }
     }
 
+    /**
+     * Find global sessions by status test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void findGlobalSessionsByStatusTest() throws Exception {
+        for (SessionManager sessionManager : sessionManagerList) {
+            GlobalSession begin = new GlobalSession("demo-app", DEFAULT_TX_GROUP, "test", 6000);
+            GlobalSession committing = new GlobalSession("demo-app", DEFAULT_TX_GROUP, "test", 6000);
+            sessionManager.addGlobalSession(begin);
+            sessionManager.addGlobalSession(committing);
+            sessionManager.updateGlobalSessionStatus(committing, GlobalStatus.Committing);
+
+            Collection<GlobalSession> found = sessionManager.findGlobalSessions(new SessionCondition(GlobalStatus.Begin));
+            Assertions.assertTrue(found.contains(begin));
+            Assertions.assertFalse(found.contains(committing));
+            found = sessionManager.findGlobalSessions(
+                new SessionCondition(GlobalStatus.Committing, GlobalStatus.CommitRetrying));
+            Assertions.assertTrue(found.contains(committing));
+            Assertions.assertFalse(found.contains(begin));
+
+            // a status set without the manager, e.g. applied by a raft follower
+            committing.setStatus(GlobalStatus.CommitRetrying);
+            found = sessionManager.findGlobalSessions(new SessionCondition(GlobalStatus.CommitRetrying));
+            Assertions.assertTrue(found.contains(committing));
+
+            sessionManager.removeGlobalSession(begin);
+            sessionManager.removeGlobalSession(committing);
+            found = sessionManager.findGlobalSessions(
+                new SessionCondition(GlobalStatus.Begin, GlobalStatus.CommitRetrying));
+            Assertions.assertFalse(found.contains(begin));
+            Assertions.assertFalse(found.contains(committing));
+        }
+    }
+
     /**
      * Find global sessions with PageResult test.
      *
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.session;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.seata.core.model.BranchType;
+import org.apache.seata.core.model.GlobalStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Global session query index test.
+ *
+ */
+public class GlobalSessionQueryIndexTest {
+
+    private GlobalSessionStatusIndex statusIndex;
+
+    private GlobalSessionQueryIndex queryIndex;
+
+    @BeforeEach
+    public void setUp() {
+        statusIndex = new GlobalSessionStatusIndex();
+        queryIndex = new GlobalSessionQueryIndex(statusIndex);
+    }
+
+    @Test
+    public void testScanNewestFirstAndStop() {
+        for (int i = 0; i < 10; i++) {
+            register(session("127.0.0.1:8091:" + i, 1000L * i, GlobalStatus.Begin));
+        }
+        List<String> xids = new ArrayList<>();
+        queryIndex.scan(new GlobalSessionQueryIndex.Condition(), session -> {
+            xids.add(session.getXid());
+            return xids.size() < 3;
+        });
+        Assertions.assertEquals(3, xids.size());
+        Assertions.assertEquals("127.0.0.1:8091:9", xids.get(0));
+        Assertions.assertEquals("127.0.0.1:8091:7", xids.get(2));
+        Assertions.assertEquals(10, queryIndex.count(new GlobalSessionQueryIndex.Condition()));
+    }
+
+    @Test
+    public void testBeginTimeRangeAndStatus() {
+        for (int i = 0; i < 10; i++) {
+            register(session("127.0.0.1:8091:" + i, 1000L * i,
+                i % 2 == 0 ? GlobalStatus.Begin : GlobalStatus.Committing));
+        }
+        List<String> xids = scan(new GlobalSessionQueryIndex.Condition().setBeginTimeRange(3000L, 6000L));
+        Assertions.assertEquals(4, xids.size());
+        Assertions.assertEquals("127.0.0.1:8091:6", xids.get(0));
+        Assertions.assertEquals("127.0.0.1:8091:3", xids.get(3));
+
+        GlobalSessionQueryIndex.Condition condition = new GlobalSessionQueryIndex.Condition()
+            .setStatus(GlobalStatus.Committing).setBeginTimeRange(null, 5000L);
+        Assertions.assertEquals(3, scan(condition).size());
+        Assertions.assertEquals(-1, queryIndex.count(condition));
+        Assertions.assertEquals(0, scan(new GlobalSessionQueryIndex.Condition().setBeginTimeRange(6000L, 3000L)).size());
+        Assertions.assertEquals(5, queryIndex.count(new GlobalSessionQueryIndex.Condition().setStatus(GlobalStatus.Begin)));
+    }
+
+    @Test
+    public void testXidAndTable() {
+        GlobalSession first = session("127.0.0.1:8091:1", 1000L, GlobalStatus.Begin);
+        GlobalSession second = session("127.0.0.1:8091:12", 2000L, GlobalStatus.Begin);
+        GlobalSession third = session("127.0.0.1:8091:2", 3000L, GlobalStatus.Begin);
+        register(first);
+        register(second);
+        register(third);
+        // a text in the form of a xid is matched as a prefix, others anywhere in the xid
+        Assertions.assertEquals(2, scan(new GlobalSessionQueryIndex.Condition().setXid("127.0.0.1:8091:1")).size());
+        Assertions.assertEquals(3, scan(new GlobalSessionQueryIndex.Condition().setXid("8091")).size());
+
+        BranchSession branch = branch(first, "order:1,2;stock:3");
+        first.add(branch);
+        second.add(branch(second, "stock:4"));
+        List<String> xids = scan(new GlobalSessionQueryIndex.Condition().setTableName("stock"));
+        Assertions.assertEquals(2, xids.size());
+        Assertions.assertEquals(second.getXid(), xids.get(0));
+        Assertions.assertEquals(1, scan(new GlobalSessionQueryIndex.Condition().setTableName("ord")).size());
+
+        first.remove(branch);
+        Assertions.assertEquals(0, scan(new GlobalSessionQueryIndex.Condition().setTableName("order")).size());
+        unregister(second);
+        Assertions.assertEquals(0, scan(new GlobalSessionQueryIndex.Condition().setTableName("stock")).size());
+        Assertions.assertNull(second.getQueryIndex());
+        Assertions.assertEquals(2, queryIndex.size());
+    }
+
+    private List<String> scan(GlobalSessionQueryIndex.Condition condition) {
+        List<String> xids = new ArrayList<>();
+        queryIndex.scan(condition, session -> xids.add(session.getXid()));
+        return xids;
+    }
+
+    private void register(GlobalSession session) {
+        statusIndex.add(session);
+        queryIndex.add(session);
+    }
+
+    private void unregister(GlobalSession session) {
+        statusIndex.remove(session);
+        queryIndex.remove(session);
+    }
+
+    private static GlobalSession session(String xid, long beginTime, GlobalStatus status) {
+        GlobalSession session = new GlobalSession("demo-app", "my_test_tx_group", "test", 6000);
+        session.setXid(xid);
+        session.setBeginTime(beginTime);
+        session.setStatus(status);
+        return session;
+    }
+
+    private static BranchSession branch(GlobalSession session, String lockKey) {
+        BranchSession branchSession = new BranchSession();
+        branchSession.setXid(session.getXid());
+        branchSession.setTransactionId(session.getTransactionId());
+        branchSession.setBranchId(session.getBranchSessions().size() + 1L);
+        branchSession.setBranchType(BranchType.AT);
+        branchSession.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        branchSession.setLockKey(lockKey);
+        return branchSession;
+    }
+}
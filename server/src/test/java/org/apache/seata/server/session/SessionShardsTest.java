@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.seata.core.exception.GlobalTransactionException;
+import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.exception.TransactionExceptionCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Session shards test.
+ *
+ */
+public class SessionShardsTest {
+
+    private SessionShards sessionShards;
+
+    @BeforeEach
+    public void setUp() {
+        sessionShards = new SessionShards(4, 200);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sessionShards.shutdown();
+    }
+
+    @Test
+    public void testSameTransactionOnSameThread() throws Exception {
+        long transactionId = 9215200070282315631L;
+        Thread first = sessionShards.execute(transactionId, Thread::currentThread);
+        Thread second = sessionShards.execute(transactionId, Thread::currentThread);
+        Assertions.assertSame(first, second);
+        Assertions.assertNotSame(Thread.currentThread(), first);
+        Assertions.assertFalse(sessionShards.inShard(transactionId));
+        // nested calls of the owning shard run in place
+        Assertions.assertTrue(sessionShards.execute(transactionId,
+            () -> sessionShards.execute(transactionId, () -> sessionShards.inShard(transactionId))));
+        Assertions.assertSame(first, sessionShards.execute("127.0.0.1:8091:" + transactionId, Thread::currentThread));
+    }
+
+    @Test
+    public void testSerializedWithoutLock() throws Exception {
+        long transactionId = 1L;
+        int[] counter = new int[1];
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    try {
+                        sessionShards.execute(transactionId, () -> counter[0]++);
+                    } catch (TransactionException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        Assertions.assertEquals(8000, counter[0]);
+    }
+
+    @Test
+    public void testException() {
+        TransactionException expected = new TransactionException(TransactionExceptionCode.GlobalTransactionNotExist);
+        TransactionException thrown = Assertions.assertThrows(TransactionException.class,
+            () -> sessionShards.execute(1L, () -> {
+                throw expected;
+            }));
+        Assertions.assertSame(expected, thrown);
+        Assertions.assertThrows(IllegalStateException.class, () -> sessionShards.execute(1L, () -> {
+            throw new IllegalStateException();
+        }));
+    }
+
+    @Test
+    public void testDroppedIfNotStartedInTime() throws Exception {
+        long transactionId = 2L;
+        CountDownLatch release = new CountDownLatch(1);
+        sessionShards.submit(transactionId, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException ignore) {
+            }
+        });
+        AtomicBoolean executed = new AtomicBoolean();
+        GlobalTransactionException e = Assertions.assertThrows(GlobalTransactionException.class,
+            () -> sessionShards.execute(transactionId, () -> executed.getAndSet(true)));
+        Assertions.assertEquals(TransactionExceptionCode.FailedLockGlobalTransaction, e.getCode());
+        release.countDown();
+        // the dropped task never runs
+        Assertions.assertFalse(sessionShards.execute(transactionId, executed::get));
+    }
+}
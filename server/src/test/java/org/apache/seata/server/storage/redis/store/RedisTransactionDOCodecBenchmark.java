@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.storage.redis.store;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.seata.common.util.BeanUtils;
+import org.apache.seata.core.model.BranchStatus;
+import org.apache.seata.core.store.BranchTransactionDO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import redis.clients.jedis.util.SafeEncoder;
+
+/**
+ * Compare the bean reflection of {@link BeanUtils} with the field tables of {@link RedisTransactionDOCodec}
+ * when a branch transaction is written to and read from redis. The write benchmarks return the bytes of the
+ * hmset arguments that a pipelined writeSession sends. Run with gc profiler to compare the allocation rate.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class RedisTransactionDOCodecBenchmark {
+
+    private BranchTransactionDO branchTransactionDO;
+
+    private Map<String, String> hash;
+
+    private Map<byte[], byte[]> binaryHash;
+
+    @Setup
+    public void setUp() {
+        branchTransactionDO = new BranchTransactionDO();
+        branchTransactionDO.setXid("192.168.1.1:8091:2000042948");
+        branchTransactionDO.setTransactionId(2000042948L);
+        branchTransactionDO.setBranchId(2000042949L);
+        branchTransactionDO.setResourceGroupId("my_test_tx_group");
+        branchTransactionDO.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        branchTransactionDO.setBranchType("AT");
+        branchTransactionDO.setStatus(BranchStatus.Registered.getCode());
+        branchTransactionDO.setClientId("order-service:127.0.0.1:53412");
+        branchTransactionDO.setGmtCreate(new Date());
+        branchTransactionDO.setGmtModified(new Date());
+        hash = RedisTransactionDOCodec.encodeBranchHash(branchTransactionDO);
+        binaryHash = RedisTransactionDOCodec.encodeBranchBinary(branchTransactionDO);
+    }
+
+    @Benchmark
+    public int writeBeanUtils() {
+        return hashBytes(BeanUtils.objectToMap(branchTransactionDO));
+    }
+
+    @Benchmark
+    public int writeHash() {
+        return hashBytes(RedisTransactionDOCodec.encodeBranchHash(branchTransactionDO));
+    }
+
+    @Benchmark
+    public int writeBinary() {
+        int bytes = 0;
+        for (Map.Entry<byte[], byte[]> entry : RedisTransactionDOCodec.encodeBranchBinary(branchTransactionDO).entrySet()) {
+            bytes += entry.getKey().length + entry.getValue().length;
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public Object readBeanUtils() {
+        return BeanUtils.mapToObject(hash, BranchTransactionDO.class);
+    }
+
+    @Benchmark
+    public BranchTransactionDO readHash() {
+        return RedisTransactionDOCodec.decodeBranchHash(hash);
+    }
+
+    @Benchmark
+    public BranchTransactionDO readBinary() {
+        return RedisTransactionDOCodec.decodeBranchBinary(binaryHash);
+    }
+
+    private static int hashBytes(Map<String, String> hash) {
+        int bytes = 0;
+        for (Map.Entry<String, String> entry : hash.entrySet()) {
+            bytes += SafeEncoder.encode(entry.getKey()).length + SafeEncoder.encode(entry.getValue()).length;
+        }
+        return bytes;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RedisTransactionDOCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.storage.redis.store;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.seata.common.util.BeanUtils;
+import org.apache.seata.core.model.BranchStatus;
+import org.apache.seata.core.model.GlobalStatus;
+import org.apache.seata.core.store.BranchTransactionDO;
+import org.apache.seata.core.store.GlobalTransactionDO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_BRANCH_STATUS;
+import static org.apache.seata.core.constants.RedisKeyConstants.REDIS_KEY_GLOBAL_STATUS;
+
+/**
+ * The type Redis transaction do codec test.
+ *
+ */
+public class RedisTransactionDOCodecTest {
+
+    @Test
+    public void testHashLayoutCompatibleWithBeanUtils() {
+        GlobalTransactionDO globalTransactionDO = newGlobalTransactionDO();
+        globalTransactionDO.setApplicationData(null);
+        Map<String, String> expected = BeanUtils.objectToMap(globalTransactionDO);
+        // the reflection also wrote the static serial version
+        expected.remove("serialVersionUID");
+        Assertions.assertEquals(expected, RedisTransactionDOCodec.encodeGlobalHash(globalTransactionDO));
+
+        BranchTransactionDO branchTransactionDO = newBranchTransactionDO();
+        Map<String, String> hash = RedisTransactionDOCodec.encodeBranchHash(branchTransactionDO);
+        expected = BeanUtils.objectToMap(branchTransactionDO);
+        expected.remove("serialVersionUID");
+        Assertions.assertEquals(expected, hash);
+        assertBranchEquals(branchTransactionDO, RedisTransactionDOCodec.decodeBranchHash(hash));
+        assertGlobalEquals(globalTransactionDO, RedisTransactionDOCodec.decodeGlobalHash(
+            BeanUtils.objectToMap(globalTransactionDO)));
+        Assertions.assertNull(RedisTransactionDOCodec.decodeGlobalHash(new HashMap<>()));
+    }
+
+    @Test
+    public void testBinaryRoundTrip() {
+        GlobalTransactionDO globalTransactionDO = newGlobalTransactionDO();
+        assertGlobalEquals(globalTransactionDO,
+            RedisTransactionDOCodec.decodeGlobal(RedisTransactionDOCodec.encodeGlobal(globalTransactionDO)));
+        assertGlobalEquals(globalTransactionDO, RedisTransactionDOCodec.decodeGlobalBinary(
+            RedisTransactionDOCodec.encodeGlobalBinary(globalTransactionDO)));
+
+        BranchTransactionDO branchTransactionDO = newBranchTransactionDO();
+        branchTransactionDO.setApplicationData(null);
+        branchTransactionDO.setGmtCreate(null);
+        assertBranchEquals(branchTransactionDO,
+            RedisTransactionDOCodec.decodeBranch(RedisTransactionDOCodec.encodeBranch(branchTransactionDO)));
+        assertBranchEquals(branchTransactionDO, RedisTransactionDOCodec.decodeBranchBinary(
+            RedisTransactionDOCodec.encodeBranchBinary(branchTransactionDO)));
+
+        Assertions.assertTrue(RedisTransactionDOCodec.encodeGlobal(globalTransactionDO).length
+            < RedisTransactionDOCodec.encodeGlobalHash(globalTransactionDO).entrySet().stream()
+                .mapToInt(e -> e.getKey().length() + e.getValue().length()).sum());
+    }
+
+    @Test
+    public void testBinaryLayoutReadsStandaloneUpdates() {
+        GlobalTransactionDO globalTransactionDO = newGlobalTransactionDO();
+        Map<byte[], byte[]> hash = RedisTransactionDOCodec.encodeGlobalBinary(globalTransactionDO);
+        // the status is updated in place by the store manager and the lua scripts
+        hset(hash, REDIS_KEY_GLOBAL_STATUS, String.valueOf(GlobalStatus.Committing.getCode()));
+        Assertions.assertEquals(GlobalStatus.Committing.getCode(),
+            RedisTransactionDOCodec.decodeGlobalBinary(hash).getStatus());
+
+        BranchTransactionDO branchTransactionDO = newBranchTransactionDO();
+        Map<byte[], byte[]> branchHash = RedisTransactionDOCodec.encodeBranchBinary(branchTransactionDO);
+        hset(branchHash, REDIS_KEY_BRANCH_STATUS, String.valueOf(BranchStatus.PhaseTwo_Committed.getCode()));
+        Assertions.assertEquals(BranchStatus.PhaseTwo_Committed.getCode(),
+            RedisTransactionDOCodec.decodeBranchBinary(branchHash).getStatus());
+    }
+
+    @Test
+    public void testBinaryLayoutReadsHashLayout() {
+        BranchTransactionDO branchTransactionDO = newBranchTransactionDO();
+        Map<byte[], byte[]> hash = new HashMap<>();
+        RedisTransactionDOCodec.encodeBranchHash(branchTransactionDO).forEach(
+            (k, v) -> hash.put(k.getBytes(StandardCharsets.UTF_8), v.getBytes(StandardCharsets.UTF_8)));
+        assertBranchEquals(branchTransactionDO, RedisTransactionDOCodec.decodeBranchBinary(hash));
+    }
+
+    private static void hset(Map<byte[], byte[]> hash, String field, String value) {
+        hash.keySet().removeIf(key -> field.equals(new String(key, StandardCharsets.UTF_8)));
+        hash.put(field.getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static GlobalTransactionDO newGlobalTransactionDO() {
+        GlobalTransactionDO globalTransactionDO = new GlobalTransactionDO();
+        globalTransactionDO.setXid("192.168.1.1:8091:2000042948");
+        globalTransactionDO.setTransactionId(2000042948L);
+        globalTransactionDO.setStatus(GlobalStatus.Begin.getCode());
+        globalTransactionDO.setApplicationId("order-service");
+        globalTransactionDO.setTransactionServiceGroup("default_tx_group");
+        globalTransactionDO.setTransactionName("createOrder(java.lang.String, int)");
+        globalTransactionDO.setTimeout(60000);
+        globalTransactionDO.setBeginTime(System.currentTimeMillis());
+        globalTransactionDO.setApplicationData("{\"k\":\"中文\"}");
+        globalTransactionDO.setGmtCreate(new Date());
+        globalTransactionDO.setGmtModified(new Date());
+        return globalTransactionDO;
+    }
+
+    private static BranchTransactionDO newBranchTransactionDO() {
+        BranchTransactionDO branchTransactionDO = new BranchTransactionDO();
+        branchTransactionDO.setXid("192.168.1.1:8091:2000042948");
+        branchTransactionDO.setTransactionId(2000042948L);
+        branchTransactionDO.setBranchId(2000042949L);
+        branchTransactionDO.setResourceGroupId("my_test_tx_group");
+        branchTransactionDO.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        branchTransactionDO.setBranchType("AT");
+        branchTransactionDO.setStatus(BranchStatus.Registered.getCode());
+        branchTransactionDO.setClientId("order-service:127.0.0.1:53412");
+        branchTransactionDO.setApplicationData("{\"actionContext\":{}}");
+        branchTransactionDO.setGmtCreate(new Date());
+        branchTransactionDO.setGmtModified(new Date());
+        return branchTransactionDO;
+    }
+
+    private static void assertGlobalEquals(GlobalTransactionDO expected, GlobalTransactionDO actual) {
+        Assertions.assertEquals(expected.getXid(), actual.getXid());
+        Assertions.assertEquals(expected.getTransactionId(), actual.getTransactionId());
+        Assertions.assertEquals(expected.getStatus(), actual.getStatus());
+        Assertions.assertEquals(expected.getApplicationId(), actual.getApplicationId());
+        Assertions.assertEquals(expected.getTransactionServiceGroup(), actual.getTransactionServiceGroup());
+        Assertions.assertEquals(expected.getTransactionName(), actual.getTransactionName());
+        Assertions.assertEquals(expected.getTimeout(), actual.getTimeout());
+        Assertions.assertEquals(expected.getBeginTime(), actual.getBeginTime());
+        Assertions.assertEquals(expected.getApplicationData(), actual.getApplicationData());
+        Assertions.assertEquals(expected.getGmtCreate(), actual.getGmtCreate());
+        Assertions.assertEquals(expected.getGmtModified(), actual.getGmtModified());
+    }
+
+    private static void assertBranchEquals(BranchTransactionDO expected, BranchTransactionDO actual) {
+        Assertions.assertEquals(expected.getXid(), actual.getXid());
+        Assertions.assertEquals(expected.getTransactionId(), actual.getTransactionId());
+        Assertions.assertEquals(expected.getBranchId(), actual.getBranchId());
+        Assertions.assertEquals(expected.getResourceGroupId(), actual.getResourceGroupId());
+        Assertions.assertEquals(expected.getResourceId(), actual.getResourceId());
+        Assertions.assertEquals(expected.getBranchType(), actual.getBranchType());
+        Assertions.assertEquals(expected.getStatus(), actual.getStatus());
+        Assertions.assertEquals(expected.getClientId(), actual.getClientId());
+        Assertions.assertEquals(expected.getApplicationData(), actual.getApplicationData());
+        Assertions.assertEquals(expected.getGmtCreate(), actual.getGmtCreate());
+        Assertions.assertEquals(expected.getGmtModified(), actual.getGmtModified());
+    }
+}
@@ -17,11 +17,16 @@
 package org.apache.seata.server.store.file;
 
 import java.io.File;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.seata.common.store.SessionMode;
 import org.apache.seata.server.session.SessionHolder;
@@ -38,6 +43,7 @@ import org.apache.seata.common.util.UUIDGenerator;
 import org.apache.seata.server.session.BranchSession;
 import org.apache.seata.server.session.GlobalSession;
 import org.apache.seata.server.session.SessionManager;
+import org.apache.seata.server.storage.file.FlushDiskMode;
 import org.apache.seata.server.storage.file.TransactionWriteStore;
 import org.apache.seata.server.storage.file.session.FileSessionManager;
 import org.apache.seata.server.storage.file.store.FileTransactionStoreManager;
@@ -45,6 +51,8 @@ import org.apache.seata.server.store.StoreConfig;
 import org.apache.seata.server.store.TransactionStoreManager;
 import org.springframework.context.ApplicationContext;
 
+import static org.apache.seata.common.DefaultValues.DEFAULT_TX_GROUP;
+
 /**
  */
 @SpringBootTest
@@ -93,6 +101,44 @@ public class FileTransactionStoreManagerTest {
         }
     }
 
+    @Test
+    public void testGroupCommit() throws Exception {
+        File seataFile = Files.newTemporaryFile();
+        FileTransactionStoreManager fileTransactionStoreManager = null;
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        try {
+            fileTransactionStoreManager = new FileTransactionStoreManager(seataFile.getAbsolutePath(), null,
+                FlushDiskMode.SYNC_MODEL);
+            int count = 1000;
+            List<Future<Boolean>> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                GlobalSession globalSession = new GlobalSession("demo-app", DEFAULT_TX_GROUP, "test", 60000);
+                FileTransactionStoreManager storeManager = fileTransactionStoreManager;
+                results.add(executorService.submit(
+                    () -> storeManager.writeSession(TransactionStoreManager.LogOperation.GLOBAL_ADD, globalSession)));
+            }
+            for (Future<Boolean> result : results) {
+                Assertions.assertTrue(result.get());
+            }
+            int loaded = 0;
+            List<TransactionWriteStore> list;
+            while ((list = fileTransactionStoreManager.readWriteStore(100, false)) != null && !list.isEmpty()) {
+                loaded += list.size();
+            }
+            Assertions.assertEquals(count, loaded);
+            Field groupCommitCountField = FileTransactionStoreManager.class.getDeclaredField("groupCommitCount");
+            groupCommitCountField.setAccessible(true);
+            long groups = ((AtomicLong) groupCommitCountField.get(fileTransactionStoreManager)).get();
+            Assertions.assertTrue(groups > 0 && groups < count, "the writes should share forces, groups: " + groups);
+        } finally {
+            executorService.shutdownNow();
+            if (fileTransactionStoreManager != null) {
+                fileTransactionStoreManager.shutdown();
+            }
+            Assertions.assertTrue(seataFile.delete());
+        }
+    }
+
     @Test
     public void testFindTimeoutAndSave() throws Exception {
         File seataFile = Files.newTemporaryFile();
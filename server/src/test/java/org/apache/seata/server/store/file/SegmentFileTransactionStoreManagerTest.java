@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.store.file;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.seata.core.model.BranchType;
+import org.apache.seata.core.model.GlobalStatus;
+import org.apache.seata.server.session.BranchSession;
+import org.apache.seata.server.session.GlobalSession;
+import org.apache.seata.server.session.SessionHelper;
+import org.apache.seata.server.storage.file.ReloadableStore;
+import org.apache.seata.server.storage.file.TransactionWriteStore;
+import org.apache.seata.server.storage.file.session.FileSessionManager;
+import org.apache.seata.server.storage.file.store.SegmentFileTransactionStoreManager;
+import org.apache.seata.server.store.AbstractTransactionStoreManager;
+import org.apache.seata.server.store.SessionStorable;
+import org.apache.seata.server.store.TransactionStoreManager.LogOperation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import static org.apache.seata.common.DefaultValues.DEFAULT_TX_GROUP;
+
+/**
+ */
+@SpringBootTest
+public class SegmentFileTransactionStoreManagerTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    private static final int MAX_SEGMENT_COUNT = 3;
+
+    @BeforeAll
+    public static void setUp(ApplicationContext context) {
+    }
+
+    @Test
+    public void testRollAndRecover() throws Exception {
+        File dir = Files.createTempDirectory("segment").toFile();
+        String fullFileName = dir.getAbsolutePath() + File.separator + "root.data";
+        File segmentDir = new File(fullFileName + ".segments");
+        FileSessionManager sessionManager = new FileSessionManager("test");
+        SegmentFileTransactionStoreManager storeManager =
+            new SegmentFileTransactionStoreManager(fullFileName, sessionManager, SEGMENT_SIZE, MAX_SEGMENT_COUNT);
+        sessionManager.setTransactionStoreManager(storeManager);
+        try {
+            GlobalSession longLived = new GlobalSession("demo-app", DEFAULT_TX_GROUP, "long", 60000);
+            sessionManager.addGlobalSession(longLived);
+            BranchSession kept = SessionHelper.newBranchByGlobal(longLived, BranchType.AT, "res", "t:1", "client");
+            sessionManager.addBranchSession(longLived, kept);
+            longLived.add(kept);
+            BranchSession removed = SessionHelper.newBranchByGlobal(longLived, BranchType.AT, "res", "t:2", "client");
+            sessionManager.addBranchSession(longLived, removed);
+            longLived.add(removed);
+            GlobalSession last = null;
+            for (int i = 0; i < 500; i++) {
+                GlobalSession globalSession = new GlobalSession("demo-app", DEFAULT_TX_GROUP, "short", 60000);
+                sessionManager.addGlobalSession(globalSession);
+                if (i == 100) {
+                    sessionManager.removeBranchSession(longLived, removed);
+                    longLived.remove(removed);
+                }
+                if (i == 499) {
+                    last = globalSession;
+                } else {
+                    sessionManager.removeGlobalSession(globalSession);
+                }
+            }
+            String[] segments = segmentDir.list((d, name) -> name.endsWith(".seg"));
+            Assertions.assertNotNull(segments);
+            Assertions.assertTrue(segments.length <= MAX_SEGMENT_COUNT, "segments: " + segments.length);
+            Assertions.assertTrue(new File(segmentDir, "checkpoint").exists());
+            storeManager.shutdown();
+
+            FileSessionManager reloadManager = new FileSessionManager("test");
+            storeManager =
+                new SegmentFileTransactionStoreManager(fullFileName, reloadManager, SEGMENT_SIZE, MAX_SEGMENT_COUNT);
+            reloadManager.setTransactionStoreManager(storeManager);
+            reloadManager.reload();
+            Assertions.assertEquals(2, reloadManager.allSessions().size());
+            GlobalSession reloaded = reloadManager.findGlobalSession(longLived.getXid());
+            Assertions.assertNotNull(reloaded);
+            Assertions.assertEquals(1, reloaded.getBranchSessions().size());
+            Assertions.assertEquals(kept.getBranchId(), reloaded.getBranchSessions().get(0).getBranchId());
+            Assertions.assertNotNull(reloadManager.findGlobalSession(last.getXid()));
+        } finally {
+            storeManager.shutdown();
+            File[] files = segmentDir.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+            segmentDir.delete();
+            dir.delete();
+        }
+    }
+
+    @Test
+    public void testRestoreRelocatedSessionAfterUpdate() throws Exception {
+        GlobalSession globalSession = new GlobalSession("demo-app", DEFAULT_TX_GROUP, "long", 60000);
+        globalSession.setStatus(GlobalStatus.Committing);
+        BranchSession kept = SessionHelper.newBranchByGlobal(globalSession, BranchType.AT, "res", "t:1", "client");
+        BranchSession removed = SessionHelper.newBranchByGlobal(globalSession, BranchType.AT, "res", "t:2", "client");
+        // the replay from the checkpoint, the session was added in a dropped segment and relocated at the end
+        ReplayStore store = new ReplayStore();
+        store.add(LogOperation.BRANCH_ADD, kept);
+        store.add(LogOperation.BRANCH_ADD, removed);
+        store.add(LogOperation.GLOBAL_UPDATE, globalSession);
+        store.add(LogOperation.BRANCH_REMOVE, removed);
+        store.add(LogOperation.GLOBAL_ADD, globalSession);
+        store.add(LogOperation.BRANCH_ADD, kept);
+
+        FileSessionManager sessionManager = new FileSessionManager("test");
+        sessionManager.setTransactionStoreManager(store);
+        sessionManager.reload();
+
+        GlobalSession reloaded = sessionManager.findGlobalSession(globalSession.getXid());
+        Assertions.assertNotNull(reloaded);
+        Assertions.assertEquals(GlobalStatus.Committing, reloaded.getStatus());
+        Assertions.assertEquals(1, reloaded.getBranchSessions().size());
+        Assertions.assertEquals(kept.getBranchId(), reloaded.getBranchSessions().get(0).getBranchId());
+    }
+
+    /**
+     * Replays the given records once, decoded as they are read from a file.
+     */
+    private static class ReplayStore extends AbstractTransactionStoreManager implements ReloadableStore {
+
+        private final List<TransactionWriteStore> stores = new ArrayList<>();
+
+        void add(LogOperation logOperation, SessionStorable session) {
+            TransactionWriteStore store = new TransactionWriteStore();
+            store.decode(new TransactionWriteStore(session, logOperation).encode());
+            stores.add(store);
+        }
+
+        @Override
+        public boolean writeSession(LogOperation logOperation, SessionStorable session) {
+            return true;
+        }
+
+        @Override
+        public List<TransactionWriteStore> readWriteStore(int readSize, boolean isHistory) {
+            List<TransactionWriteStore> read = new ArrayList<>(stores);
+            stores.clear();
+            return read;
+        }
+
+        @Override
+        public boolean hasRemaining(boolean isHistory) {
+            return !isHistory && !stores.isEmpty();
+        }
+    }
+}